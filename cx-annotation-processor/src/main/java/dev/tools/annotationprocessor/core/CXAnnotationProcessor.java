@@ -3,14 +3,22 @@ package dev.tools.annotationprocessor.core;
 import com.google.auto.service.AutoService;
 import com.squareup.javapoet.JavaFile;
 import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
-import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.EntityModelException;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.profile.CXProcessingProfiler;
+import dev.tools.annotationprocessor.core.writer.reactive.ReactiveRestApiWriter;
 import dev.tools.annotationprocessor.core.writer.spring.SpringRestApiWriter;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
@@ -18,10 +26,13 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 
 /**
  * Main class for the CXAnnotationProcessor
@@ -33,12 +44,37 @@ import javax.lang.model.element.TypeElement;
  */
 @SupportedAnnotationTypes("dev.tools.annotationprocessor.core.annotations.*")
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
+@SupportedOptions({
+  CXAnnotationProcessor.REACTIVE_OPTION,
+  CXAnnotationProcessor.METRICS_OPTION,
+  CXAnnotationProcessor.PROFILE_OPTION,
+  CXAnnotationProcessor.PARALLELISM_OPTION
+})
 @AutoService(Processor.class)
 public class CXAnnotationProcessor extends AbstractProcessor {
 
+  /** Processor option, -Acx.reactive=true generates the reactive API for every entity */
+  public static final String REACTIVE_OPTION = "cx.reactive";
+
+  /** Processor option, -Acx.metrics=false generates repositories and controllers without metrics */
+  public static final String METRICS_OPTION = "cx.metrics";
+
+  /** Processor option, -Acx.profile=true reports time and allocations per round and writer */
+  public static final String PROFILE_OPTION = "cx.profile";
+
+  /**
+   * Processor option, -Acx.parallelism=N generates the entities of a round on N threads, defaults
+   * to the available processors and 1 generates them on the javac thread
+   */
+  public static final String PARALLELISM_OPTION = "cx.parallelism";
+
   private SpringRestApiWriter springRestApiWriter;
+  private ReactiveRestApiWriter reactiveRestApiWriter;
+  private boolean reactive;
+  private CXProcessingProfiler profiler;
   private Filer filer;
   private Messager messager;
+  private ForkJoinPool pool;
 
   /**
    * Initialization method for annotation processing
@@ -47,14 +83,47 @@ public class CXAnnotationProcessor extends AbstractProcessor {
    */
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
-    springRestApiWriter = new SpringRestApiWriter();
+    springRestApiWriter =
+        new SpringRestApiWriter(
+            !"false".equalsIgnoreCase(processingEnv.getOptions().get(METRICS_OPTION)));
+    reactiveRestApiWriter = new ReactiveRestApiWriter();
+    reactive = Boolean.parseBoolean(processingEnv.getOptions().get(REACTIVE_OPTION));
+    profiler =
+        Boolean.parseBoolean(processingEnv.getOptions().get(PROFILE_OPTION))
+            ? new CXProcessingProfiler()
+            : CXProcessingProfiler.DISABLED;
+    springRestApiWriter.setProfiler(profiler);
+    reactiveRestApiWriter.setProfiler(profiler);
     filer = processingEnv.getFiler();
     messager = processingEnv.getMessager();
+    final int threads = parallelism(processingEnv.getOptions().get(PARALLELISM_OPTION));
+    pool = threads > 1 ? new ForkJoinPool(threads) : null;
+  }
+
+  private int parallelism(final String option) {
+    if (option != null) {
+      try {
+        return Math.max(1, Integer.parseInt(option.trim()));
+      } catch (NumberFormatException e) {
+        messager.printMessage(
+            Diagnostic.Kind.WARNING,
+            "CX-Annotation-Processor: invalid "
+                + PARALLELISM_OPTION
+                + " '"
+                + option
+                + "', ignored");
+      }
+    }
+    return Runtime.getRuntime().availableProcessors();
   }
 
   /**
    * Process source code elements and get annotations to generate code
    *
+   * <p>Entities are analyzed on the javac thread, their files are generated and rendered in
+   * parallel and written by the Filer on the javac thread again, in the order the entities were
+   * found
+   *
    * @param annotations allowed annotations
    * @param roundEnv source code environment
    * @return
@@ -62,46 +131,189 @@ public class CXAnnotationProcessor extends AbstractProcessor {
   @Override
   public boolean process(
       final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
-    annotations.forEach(
-        annotation -> {
-          Collection<JavaFile> javaFiles;
-          try {
-            javaFiles = applyAnnotations(annotation, roundEnv);
-            javaFiles.stream()
-                .forEach(
-                    jf -> {
-                      try {
-                        jf.writeTo(filer);
-                      } catch (IOException e) {
-                        e.printStackTrace();
-                      }
-                    });
-          } catch (Exception e) {
-            e.printStackTrace();
-          }
-        });
+    profiler.startRound();
+    int generatedFiles = 0;
+    try {
+      final List<TypeElement> entities = new ArrayList<>();
+      annotations.forEach(annotation -> entities.addAll(applyAnnotations(annotation, roundEnv)));
+      for (RenderedFile file : generate(entities)) {
+        if (profiler.time("Filer", () -> writeFile(file))) generatedFiles++;
+      }
+    } finally {
+      EntityModel.clear();
+      if (roundEnv.processingOver() && pool != null) pool.shutdown();
+    }
 
+    if (profiler.isEnabled()) {
+      profiler.endRound(
+          roundEnv.getElementsAnnotatedWith(CXSpringRestCrudApi.class).size(), generatedFiles);
+      if (roundEnv.processingOver()) {
+        messager.printMessage(Diagnostic.Kind.NOTE, profiler.report());
+      }
+    }
     return true;
   }
 
   /**
-   * Apply annotations based on CX entity persistence logic
+   * Write a rendered file with the Filer, failures are reported on the entity it was generated for
+   *
+   * @param file rendered java file
+   * @return false when the file could not be written
+   */
+  private boolean writeFile(final RenderedFile file) {
+    try {
+      final JavaFileObject source = filer.createSourceFile(file.name, file.origins);
+      try (Writer writer = source.openWriter()) {
+        writer.write(file.source);
+      }
+      return true;
+    } catch (IOException e) {
+      messager.printMessage(
+          Diagnostic.Kind.ERROR,
+          "CX-Annotation-Processor: could not write " + file.name + ": " + e.getMessage(),
+          file.origins.length == 0 ? null : file.origins[0]);
+      return false;
+    }
+  }
+
+  /**
+   * Profile of this processor, measures nothing unless -Acx.profile=true
+   *
+   * @return processing profiler
+   */
+  public CXProcessingProfiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Analyze the entities of an annotation, invalid entities are reported as errors on the entity
+   * and skipped. Runs on the javac thread: the Messager is not thread safe and javac completes the
+   * symbols read here, so worker threads only read completed ones
    *
    * @param annotation target annotation
    * @param roundEnv source code environment
-   * @return Collection<JavaFile> generated by javapoet features, to be generated
+   * @return valid entities, in round order
    */
-  private Collection<JavaFile> applyAnnotations(
+  private List<TypeElement> applyAnnotations(
       final TypeElement annotation, final RoundEnvironment roundEnv) {
-    final List<JavaFile> javaFileList = new ArrayList<>();
+    final List<TypeElement> entities = new ArrayList<>();
     for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
       if (CXSpringRestCrudApi.class.getName().equals(annotation.asType().toString())) {
-        final String packageName = NameGenerationTool.getPackageName(element);
-        final Collection<JavaFile> javaFiles =
-            springRestApiWriter.write((TypeElement) element, packageName);
-        javaFileList.addAll(javaFiles);
+        final TypeElement clazz = (TypeElement) element;
+        try {
+          profiler.time("EntityModel", () -> EntityModel.of(clazz));
+          if (!profiler.time("checkIndexes", () -> checkIndexes(clazz))) continue;
+          entities.add(clazz);
+        } catch (EntityModelException e) {
+          messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.getElement());
+        }
       }
     }
-    return javaFileList;
+    return entities;
+  }
+
+  /**
+   * Generate and render the files of every entity, on the fork-join pool when there is more than
+   * one entity and -Acx.parallelism is not 1. Generation failures are reported as errors on the
+   * entity and skipped
+   *
+   * @param entities analyzed entities
+   * @return rendered files, in entity order
+   */
+  private List<RenderedFile> generate(final List<TypeElement> entities) {
+    final List<Generation> generations = new ArrayList<>(entities.size());
+    if (pool == null || entities.size() < 2) {
+      entities.forEach(clazz -> generations.add(generate(clazz)));
+    } else {
+      final List<ForkJoinTask<Generation>> tasks = new ArrayList<>(entities.size());
+      entities.forEach(clazz -> tasks.add(pool.submit(() -> generate(clazz))));
+      tasks.forEach(task -> generations.add(task.join()));
+    }
+
+    final List<RenderedFile> files = new ArrayList<>();
+    for (Generation generation : generations) {
+      if (generation.failure == null) {
+        files.addAll(generation.files);
+      } else {
+        messager.printMessage(
+            Diagnostic.Kind.ERROR,
+            "CX-Annotation-Processor: code generation failed for "
+                + generation.clazz.getSimpleName()
+                + ": "
+                + generation.failure,
+            generation.clazz);
+      }
+    }
+    return files;
+  }
+
+  private Generation generate(final TypeElement clazz) {
+    try {
+      final String packageName = EntityModel.of(clazz).getPackageName();
+      final Collection<JavaFile> javaFiles =
+          reactive || EntityModel.of(clazz).getApi().reactive()
+              ? reactiveRestApiWriter.write(clazz, packageName)
+              : springRestApiWriter.write(clazz, packageName);
+      final List<RenderedFile> files = new ArrayList<>(javaFiles.size());
+      for (JavaFile javaFile : javaFiles) {
+        files.add(profiler.time("render", () -> new RenderedFile(javaFile)));
+      }
+      return new Generation(clazz, files, null);
+    } catch (RuntimeException e) {
+      return new Generation(clazz, null, e);
+    }
+  }
+
+  /**
+   * Check CXIndex declarations, warn for filterable columns without an index
+   *
+   * @param clazz CXEntity annotated class
+   * @return false when the index declarations are invalid and no code should be generated
+   */
+  private boolean checkIndexes(final TypeElement clazz) {
+    try {
+      for (FieldModel column : EntityMetaCreator.getUncoveredFilterColumns(clazz)) {
+        messager.printMessage(
+            Diagnostic.Kind.WARNING,
+            "CX-Annotation-Processor: filterable column '"
+                + column.getSimpleName()
+                + "' is not covered by any @CXIndex, filters on it scan the whole table",
+            column.getElement());
+      }
+      return true;
+    } catch (IllegalStateException e) {
+      messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), clazz);
+      return false;
+    }
+  }
+
+  /** Java file rendered to its source, ready to be written by the Filer */
+  private static class RenderedFile {
+    private final String name;
+    private final Element[] origins;
+    private final String source;
+
+    private RenderedFile(final JavaFile javaFile) {
+      this.name =
+          javaFile.packageName.isEmpty()
+              ? javaFile.typeSpec.name
+              : javaFile.packageName + "." + javaFile.typeSpec.name;
+      this.origins = javaFile.typeSpec.originatingElements.toArray(new Element[0]);
+      this.source = javaFile.toString();
+    }
+  }
+
+  /** Files generated for an entity, or the failure that stopped its generation */
+  private static class Generation {
+    private final TypeElement clazz;
+    private final List<RenderedFile> files;
+    private final RuntimeException failure;
+
+    private Generation(
+        final TypeElement clazz, final List<RenderedFile> files, final RuntimeException failure) {
+      this.clazz = clazz;
+      this.files = files;
+      this.failure = failure;
+    }
   }
 }
@@ -0,0 +1,38 @@
+package dev.tools.annotationprocessor.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CX read-through cache for the generated service layer, entities read by id are kept in a bounded
+ * LRU cache with time to live, update and delete invalidate the cached id
+ *
+ * @author josue.rojas
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CXCache {
+  /**
+   * Max cached entities, least recently used entities are evicted first
+   *
+   * @return
+   */
+  int maxEntries() default 1000;
+
+  /**
+   * Time to live for cached entities, 0 for no expiration
+   *
+   * @return
+   */
+  long ttl() default 60;
+
+  /**
+   * Time unit for ttl
+   *
+   * @return
+   */
+  TimeUnit ttlUnit() default TimeUnit.SECONDS;
+}
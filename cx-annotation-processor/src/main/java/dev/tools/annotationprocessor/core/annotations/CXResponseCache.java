@@ -0,0 +1,31 @@
+package dev.tools.annotationprocessor.core.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CX response cache for the generated read endpoints, serialized responses are kept per query shape
+ * until a generated write bumps the entity version, clients revalidating with If-None-Match get 304
+ * Not Modified while nothing changed
+ *
+ * @author josue.rojas
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CXResponseCache {
+  /**
+   * Max cached responses (query shapes), least recently used responses are evicted first
+   *
+   * @return
+   */
+  int maxEntries() default 256;
+
+  /**
+   * Keep a gzip copy of cached responses for clients accepting gzip encoding
+   *
+   * @return
+   */
+  boolean gzip() default true;
+}
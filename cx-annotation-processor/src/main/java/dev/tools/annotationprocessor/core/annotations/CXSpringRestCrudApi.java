@@ -19,4 +19,63 @@ public @interface CXSpringRestCrudApi {
    * @return
    */
   String path() default "/";
+
+  /**
+   * Default page size for the list endpoint when no limit is requested
+   *
+   * @return
+   */
+  int defaultPageSize() default 100;
+
+  /**
+   * Max page size accepted by the list endpoint, bigger limits are clamped
+   *
+   * @return
+   */
+  int maxPageSize() default 1000;
+
+  /**
+   * JDBC fetch size for the streaming list endpoint, rows are written to the response as they are
+   * read from the forward-only cursor
+   *
+   * @return
+   */
+  int streamFetchSize() default 1000;
+
+  /**
+   * Max items per JDBC batch for the bulk create endpoint, all chunks run in one transaction
+   *
+   * @return
+   */
+  int bulkChunkSize() default 500;
+
+  /**
+   * Async flag, generated controller and service methods return CompletableFuture and run the
+   * database calls on an executor of the entity instead of the request thread
+   *
+   * @return
+   */
+  boolean async() default false;
+
+  /**
+   * Threads of the entity executor for async APIs, usually no more than the connection pool size
+   *
+   * @return
+   */
+  int asyncPoolSize() default 16;
+
+  /**
+   * Pending calls queued for the entity executor, calls over it answer 503
+   *
+   * @return
+   */
+  int asyncQueueSize() default 1000;
+
+  /**
+   * Reactive flag, generates WebFlux routes over an R2DBC ConnectionFactory instead of the servlet
+   * layers; also enabled for every entity with the cx.reactive processor option
+   *
+   * @return
+   */
+  boolean reactive() default false;
 }
@@ -0,0 +1,15 @@
+package dev.tools.annotationprocessor.core.annotations.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CX filterable column, generated filter endpoint accepts equality, range and IN predicates on it
+ *
+ * @author josue.rojas
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CXFilterable {}
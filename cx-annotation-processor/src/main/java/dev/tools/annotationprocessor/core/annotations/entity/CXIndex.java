@@ -0,0 +1,53 @@
+package dev.tools.annotationprocessor.core.annotations.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * CX index, created by TableCreator alongside the table. On a field the index column defaults to
+ * the field itself, on the entity class {@link #columns()} lists the attributes of a composite
+ * index
+ *
+ * @author josue.rojas
+ */
+@Target({ElementType.FIELD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(CXIndexes.class)
+public @interface CXIndex {
+
+  /**
+   * Index name
+   *
+   * @return index name, generated from table and column names when empty
+   */
+  String name() default "";
+
+  /**
+   * Unique flag for unique indexes
+   *
+   * @return
+   */
+  boolean unique() default false;
+
+  /**
+   * Sort order for the index columns
+   *
+   * @return
+   */
+  Order order() default Order.ASC;
+
+  /**
+   * Attribute names of the index columns, in index order
+   *
+   * @return attribute names, the annotated field when empty
+   */
+  String[] columns() default {};
+
+  enum Order {
+    ASC,
+    DESC
+  }
+}
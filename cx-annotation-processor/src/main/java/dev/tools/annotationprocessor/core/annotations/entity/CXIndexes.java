@@ -0,0 +1,17 @@
+package dev.tools.annotationprocessor.core.annotations.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Container for repeated CXIndex annotations, composite indexes are declared at class level
+ *
+ * @author josue.rojas
+ */
+@Target({ElementType.FIELD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CXIndexes {
+  CXIndex[] value();
+}
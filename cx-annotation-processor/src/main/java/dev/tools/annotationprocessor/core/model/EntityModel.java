@@ -0,0 +1,244 @@
+package dev.tools.annotationprocessor.core.model;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import dev.tools.annotationprocessor.core.annotations.CXCache;
+import dev.tools.annotationprocessor.core.annotations.CXResponseCache;
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXIndex;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * CX entity analyzed once per processing round: names, table, fields, columns, id and the CX
+ * annotations, validated when it is built. Models are built on the javac thread and writers, tools
+ * and SQL generators read the entity through them only, javac symbols are completed lazily and are
+ * not safe to read from the generation workers. Generated SQL sentences are memoized here as well
+ *
+ * @author josue.rojas
+ */
+public class EntityModel {
+
+  private static final List<Class<? extends Annotation>> ANNOTATIONS =
+      Arrays.asList(
+          CXSpringRestCrudApi.class, CXEntity.class, CXCache.class, CXResponseCache.class);
+  private static final Map<TypeElement, EntityModel> MODELS = new ConcurrentHashMap<>();
+
+  private final TypeElement element;
+  private final ClassName className;
+  private final String simpleName;
+  private final String packageName;
+  private final String tableName;
+  private final Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>();
+  private final List<CXIndex> indexes;
+  private final List<FieldModel> fields;
+  private final List<FieldModel> columns;
+  private final FieldModel idField;
+  private final Map<String, String> sentences = new ConcurrentHashMap<>();
+
+  private EntityModel(
+      final TypeElement element, final List<FieldModel> fields, final FieldModel idField) {
+    this.element = element;
+    this.className = ClassName.get(element);
+    this.simpleName = element.getSimpleName().toString();
+    this.packageName = NameGenerationTool.getPackageName(element);
+    for (Class<? extends Annotation> type : ANNOTATIONS) {
+      final Annotation annotation = element.getAnnotation(type);
+      if (annotation != null) annotations.put(type, annotation);
+    }
+    this.tableName = getAnnotation(CXEntity.class).tableName();
+    this.indexes =
+        Collections.unmodifiableList(Arrays.asList(element.getAnnotationsByType(CXIndex.class)));
+    this.fields = Collections.unmodifiableList(fields);
+    final List<FieldModel> columnFields = new ArrayList<>();
+    for (FieldModel field : fields) {
+      if (field.getColumnName() != null) columnFields.add(field);
+    }
+    this.columns = Collections.unmodifiableList(columnFields);
+    this.idField = idField;
+  }
+
+  /**
+   * Model of a CX entity, analyzed on first use in the round
+   *
+   * @param element CXEntity annotated class
+   * @return entity model
+   * @throws EntityModelException when the entity declaration is not valid
+   */
+  public static EntityModel of(final TypeElement element) {
+    final EntityModel model = MODELS.get(element);
+    return model != null ? model : MODELS.computeIfAbsent(element, EntityModel::analyze);
+  }
+
+  /** Forget the analyzed entities, called by the processor when a round ends */
+  public static void clear() {
+    MODELS.clear();
+  }
+
+  private static EntityModel analyze(final TypeElement element) {
+    final CXEntity entity = element.getAnnotation(CXEntity.class);
+    if (entity == null) {
+      throw new EntityModelException(
+          "CX-Annotation-Processor: "
+              + element.getSimpleName()
+              + " must be annotated with @CXEntity",
+          element);
+    }
+    if (entity.tableName().trim().isEmpty()) {
+      throw new EntityModelException(
+          "CX-Annotation-Processor: @CXEntity tableName is required for " + element.getSimpleName(),
+          element);
+    }
+    final List<FieldModel> fields = new ArrayList<>();
+    for (Element field : ClassReflectionTool.getDeclaredFields(element)) {
+      fields.add(new FieldModel(field));
+    }
+    FieldModel idField = null;
+    for (FieldModel field : fields) {
+      if (!field.isId()) continue;
+      if (field.getColumnName() == null) {
+        throw new EntityModelException(
+            "CX-Annotation-Processor: @CXId field '"
+                + field.getSimpleName()
+                + "' must be annotated with @CXColumn",
+            field.getElement());
+      }
+      if (idField != null) {
+        throw new EntityModelException(
+            "CX-Annotation-Processor: "
+                + element.getSimpleName()
+                + " declares more than one @CXId field, composite ids are not supported",
+            field.getElement());
+      }
+      idField = field;
+    }
+    if (idField == null) {
+      throw new EntityModelException(
+          "CX-Annotation-Processor: Id field must be annotated with @CXId for "
+              + element.getSimpleName()
+              + " class",
+          element);
+    }
+    return new EntityModel(element, fields, idField);
+  }
+
+  /**
+   * SQL sentence of the entity, built once per round. Builders may ask for other sentences, so they
+   * run outside the map and concurrent builds of the same sentence keep the first stored one
+   *
+   * @param name sentence name, unique for the entity
+   * @param builder builds the sentence on first use
+   * @return sentence
+   */
+  public String sentence(final String name, final Supplier<String> builder) {
+    final String sentence = sentences.get(name);
+    if (sentence != null) return sentence;
+    final String built = builder.get();
+    final String stored = sentences.putIfAbsent(name, built);
+    return stored != null ? stored : built;
+  }
+
+  /**
+   * Entity element, used as model key and for diagnostics reported on the javac thread
+   *
+   * @return entity element
+   */
+  public TypeElement getElement() {
+    return element;
+  }
+
+  public ClassName getClassName() {
+    return className;
+  }
+
+  public String getSimpleName() {
+    return simpleName;
+  }
+
+  /**
+   * Base package of the generated classes
+   *
+   * @return package name
+   */
+  public String getPackageName() {
+    return packageName;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * CX annotation of the entity, read when the model was built
+   *
+   * @param type CX entity annotation type
+   * @return annotation or null when the entity does not have it
+   * @throws IllegalArgumentException when the annotation type is not captured by the model
+   */
+  public <A extends Annotation> A getAnnotation(final Class<A> type) {
+    if (!ANNOTATIONS.contains(type)) {
+      throw new IllegalArgumentException(type.getName() + " is not read by the entity model");
+    }
+    return type.cast(annotations.get(type));
+  }
+
+  /**
+   * API declaration of the entity
+   *
+   * @return CXSpringRestCrudApi annotation
+   */
+  public CXSpringRestCrudApi getApi() {
+    return getAnnotation(CXSpringRestCrudApi.class);
+  }
+
+  /**
+   * CXIndex declarations of the entity, composite indexes
+   *
+   * @return indexes, empty when the entity declares none
+   */
+  public List<CXIndex> getIndexes() {
+    return indexes;
+  }
+
+  /**
+   * Declared fields, in declaration order
+   *
+   * @return fields
+   */
+  public List<FieldModel> getFields() {
+    return fields;
+  }
+
+  /**
+   * CXColumn annotated fields in declaration order, the select list order
+   *
+   * @return columns
+   */
+  public List<FieldModel> getColumns() {
+    return columns;
+  }
+
+  public FieldModel getIdField() {
+    return idField;
+  }
+
+  public String getIdColumnName() {
+    return idField.getColumnName();
+  }
+
+  public TypeName getIdTypeName() {
+    return idField.getTypeName();
+  }
+}
@@ -0,0 +1,28 @@
+package dev.tools.annotationprocessor.core.model;
+
+import javax.lang.model.element.Element;
+
+/**
+ * CX entity declaration is not valid, reported by the processor as a compilation error on the
+ * offending element
+ *
+ * @author josue.rojas
+ */
+public class EntityModelException extends IllegalStateException {
+
+  private final transient Element element;
+
+  public EntityModelException(final String message, final Element element) {
+    super(message);
+    this.element = element;
+  }
+
+  /**
+   * Entity class or field the error refers to
+   *
+   * @return element
+   */
+  public Element getElement() {
+    return element;
+  }
+}
@@ -0,0 +1,138 @@
+package dev.tools.annotationprocessor.core.model;
+
+import com.squareup.javapoet.TypeName;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXFilterable;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.CXIndex;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Date;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Decimal;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Int;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.Element;
+import javax.lang.model.type.TypeKind;
+
+/**
+ * Declared field of a CX entity, name, type and CX annotations are read from the element when the
+ * entity model is built so writers running on worker threads never touch javac symbols
+ *
+ * @author josue.rojas
+ */
+public class FieldModel {
+
+  private static final List<Class<? extends Annotation>> ANNOTATIONS =
+      Arrays.asList(
+          CXColumn.class,
+          CXId.class,
+          CXFilterable.class,
+          BigInt.class,
+          Date.class,
+          Decimal.class,
+          Int.class,
+          Varchar.class);
+
+  private final Element element;
+  private final String simpleName;
+  private final TypeName typeName;
+  private final boolean primitiveBoolean;
+  private final Map<Class<? extends Annotation>, Annotation> annotations = new HashMap<>();
+  private final List<CXIndex> indexes;
+
+  FieldModel(final Element element) {
+    this.element = element;
+    this.simpleName = element.getSimpleName().toString();
+    this.typeName = TypeName.get(element.asType());
+    this.primitiveBoolean = TypeKind.BOOLEAN.equals(element.asType().getKind());
+    for (Class<? extends Annotation> type : ANNOTATIONS) {
+      final Annotation annotation = element.getAnnotation(type);
+      if (annotation != null) annotations.put(type, annotation);
+    }
+    this.indexes =
+        Collections.unmodifiableList(Arrays.asList(element.getAnnotationsByType(CXIndex.class)));
+  }
+
+  /**
+   * Field element, only for diagnostics reported on the javac thread
+   *
+   * @return field element
+   */
+  public Element getElement() {
+    return element;
+  }
+
+  public String getSimpleName() {
+    return simpleName;
+  }
+
+  public TypeName getTypeName() {
+    return typeName;
+  }
+
+  /**
+   * True for primitive boolean fields, their getters follow the isX convention
+   *
+   * @return primitive boolean
+   */
+  public boolean isPrimitiveBoolean() {
+    return primitiveBoolean;
+  }
+
+  /**
+   * CX annotation of the field, read when the model was built
+   *
+   * @param type CX field annotation type
+   * @return annotation or null when the field does not have it
+   * @throws IllegalArgumentException when the annotation type is not captured by the model
+   */
+  public <A extends Annotation> A getAnnotation(final Class<A> type) {
+    if (!ANNOTATIONS.contains(type)) {
+      throw new IllegalArgumentException(type.getName() + " is not read by the field model");
+    }
+    return type.cast(annotations.get(type));
+  }
+
+  /**
+   * CXIndex declarations of the field
+   *
+   * @return indexes, empty when the field declares none
+   */
+  public List<CXIndex> getIndexes() {
+    return indexes;
+  }
+
+  /**
+   * Column name, null when the field is not a CXColumn
+   *
+   * @return column name
+   */
+  public String getColumnName() {
+    final CXColumn column = getAnnotation(CXColumn.class);
+    return column == null ? null : column.name();
+  }
+
+  public boolean isId() {
+    return annotations.containsKey(CXId.class);
+  }
+
+  /**
+   * True for ids generated by the database
+   *
+   * @return generated id
+   */
+  public boolean isGeneratedId() {
+    final CXId id = getAnnotation(CXId.class);
+    return id != null && id.generated();
+  }
+
+  @Override
+  public String toString() {
+    return simpleName;
+  }
+}
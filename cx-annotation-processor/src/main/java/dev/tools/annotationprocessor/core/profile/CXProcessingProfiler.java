@@ -0,0 +1,178 @@
+package dev.tools.annotationprocessor.core.profile;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Compile time profile of the processor, time and allocations per round and per writer. Enabled
+ * with -Acx.profile=true, the disabled instance runs the steps without measuring them
+ *
+ * @author josue.rojas
+ */
+public class CXProcessingProfiler {
+
+  /** Profiler that measures nothing */
+  public static final CXProcessingProfiler DISABLED = new CXProcessingProfiler(false);
+
+  private final boolean enabled;
+  private final com.sun.management.ThreadMXBean threads;
+  private final Map<String, Step> steps = new ConcurrentHashMap<>();
+  private final List<CXRoundTiming> rounds = Collections.synchronizedList(new ArrayList<>());
+  private long roundStart;
+  private long roundAllocatedBytes;
+
+  public CXProcessingProfiler() {
+    this(true);
+  }
+
+  private CXProcessingProfiler(final boolean enabled) {
+    this.enabled = enabled;
+    final ThreadMXBean bean = enabled ? ManagementFactory.getThreadMXBean() : null;
+    this.threads =
+        bean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+            ? (com.sun.management.ThreadMXBean) bean
+            : null;
+    if (threads != null && !threads.isThreadAllocatedMemoryEnabled()) {
+      threads.setThreadAllocatedMemoryEnabled(true);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Run a step and add its time and allocations to the step totals
+   *
+   * @param name step name
+   * @param body step
+   * @return step result
+   */
+  public <T> T time(final String name, final Supplier<T> body) {
+    if (!enabled) return body.get();
+    final long allocated = allocatedBytes();
+    final long start = System.nanoTime();
+    try {
+      return body.get();
+    } finally {
+      final long nanos = System.nanoTime() - start;
+      steps
+          .computeIfAbsent(name, Step::new)
+          .add(nanos, allocated < 0 ? -1 : allocatedBytes() - allocated);
+    }
+  }
+
+  /** Start measuring a round, called from the processor thread */
+  public void startRound() {
+    if (!enabled) return;
+    roundAllocatedBytes = allocatedBytes();
+    roundStart = System.nanoTime();
+  }
+
+  /**
+   * Record the round started by the last {@link #startRound()}, round allocations are the ones of
+   * the calling thread while steps also count the ones of worker threads
+   *
+   * @param elements CX entities processed in the round
+   * @param generatedFiles files written in the round
+   */
+  public void endRound(final int elements, final int generatedFiles) {
+    if (!enabled) return;
+    rounds.add(
+        new CXRoundTiming(
+            rounds.size() + 1,
+            elements,
+            generatedFiles,
+            System.nanoTime() - roundStart,
+            roundAllocatedBytes < 0 ? -1 : allocatedBytes() - roundAllocatedBytes));
+  }
+
+  /**
+   * Step totals, slowest first
+   *
+   * @return step timings
+   */
+  public List<CXStepTiming> getSteps() {
+    final List<CXStepTiming> timings = new ArrayList<>();
+    steps.values().forEach(step -> timings.add(step.toTiming()));
+    timings.sort(Comparator.comparingLong(CXStepTiming::getNanos).reversed());
+    return timings;
+  }
+
+  public List<CXRoundTiming> getRounds() {
+    synchronized (rounds) {
+      return new ArrayList<>(rounds);
+    }
+  }
+
+  /**
+   * Printable report of the rounds and steps
+   *
+   * @return report
+   */
+  public String report() {
+    final StringBuilder report = new StringBuilder("CX-Annotation-Processor: processing profile\n");
+    for (CXRoundTiming round : getRounds()) {
+      report.append(
+          String.format(
+              "  round %d: %d entities, %d files, %.2f ms, %s%n",
+              round.getRound(),
+              round.getElements(),
+              round.getGeneratedFiles(),
+              round.getNanos() / 1e6,
+              formatBytes(round.getAllocatedBytes())));
+    }
+    for (CXStepTiming step : getSteps()) {
+      report.append(
+          String.format(
+              "  %-32s %6d calls %10.2f ms %12s%n",
+              step.getName(),
+              step.getCalls(),
+              step.getNanos() / 1e6,
+              formatBytes(step.getAllocatedBytes())));
+    }
+    return report.toString();
+  }
+
+  private static String formatBytes(final long bytes) {
+    return bytes < 0 ? "n/a" : String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+  }
+
+  private long allocatedBytes() {
+    return threads == null ? -1 : threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /** Totals of one step name */
+  private static class Step {
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private volatile boolean unmeasuredAllocations;
+
+    private Step(final String name) {
+      this.name = name;
+    }
+
+    private void add(final long elapsedNanos, final long allocated) {
+      calls.increment();
+      nanos.add(elapsedNanos);
+      if (allocated < 0) unmeasuredAllocations = true;
+      else allocatedBytes.add(allocated);
+    }
+
+    private CXStepTiming toTiming() {
+      return new CXStepTiming(
+          name, calls.sum(), nanos.sum(), unmeasuredAllocations ? -1 : allocatedBytes.sum());
+    }
+  }
+}
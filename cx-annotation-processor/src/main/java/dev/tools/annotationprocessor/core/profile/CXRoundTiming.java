@@ -0,0 +1,63 @@
+package dev.tools.annotationprocessor.core.profile;
+
+/**
+ * Time, allocations and output of one annotation processing round
+ *
+ * @author josue.rojas
+ */
+public class CXRoundTiming {
+
+  private final int round;
+  private final int elements;
+  private final int generatedFiles;
+  private final long nanos;
+  private final long allocatedBytes;
+
+  public CXRoundTiming(
+      final int round,
+      final int elements,
+      final int generatedFiles,
+      final long nanos,
+      final long allocatedBytes) {
+    this.round = round;
+    this.elements = elements;
+    this.generatedFiles = generatedFiles;
+    this.nanos = nanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * Round number, starting at 1
+   *
+   * @return round
+   */
+  public int getRound() {
+    return round;
+  }
+
+  /**
+   * CX entities processed in the round
+   *
+   * @return elements
+   */
+  public int getElements() {
+    return elements;
+  }
+
+  public int getGeneratedFiles() {
+    return generatedFiles;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Bytes allocated by the processor thread during the round, -1 when it cannot be measured
+   *
+   * @return allocated bytes
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+}
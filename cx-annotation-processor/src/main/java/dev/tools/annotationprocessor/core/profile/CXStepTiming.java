@@ -0,0 +1,48 @@
+package dev.tools.annotationprocessor.core.profile;
+
+/**
+ * Time and allocations of one processing step, summed over every entity of the compilation
+ *
+ * @author josue.rojas
+ */
+public class CXStepTiming {
+
+  private final String name;
+  private final long calls;
+  private final long nanos;
+  private final long allocatedBytes;
+
+  public CXStepTiming(
+      final String name, final long calls, final long nanos, final long allocatedBytes) {
+    this.name = name;
+    this.calls = calls;
+    this.nanos = nanos;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * Step name, the writer class for code generation steps
+   *
+   * @return name
+   */
+  public String getName() {
+    return name;
+  }
+
+  public long getCalls() {
+    return calls;
+  }
+
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Bytes allocated by the step, -1 when the JVM cannot measure thread allocations
+   *
+   * @return allocated bytes
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+}
@@ -1,11 +1,19 @@
 package dev.tools.annotationprocessor.core.reflection;
 
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
 import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
 import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
 import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMetaRegistry;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -51,6 +59,16 @@ public class ClassReflectionTool {
    */
   public static Field getIdField(final Class<?> clazz) {
 
+    final CXEntityMeta<?> meta = CXEntityMetaRegistry.get(clazz);
+    if (meta != null) {
+      try {
+        return clazz.getDeclaredField(meta.getIdColumn().getFieldName());
+      } catch (NoSuchFieldException e) {
+        throw new IllegalStateException(
+            "Id field " + meta.getIdColumn().getFieldName() + " not found for " + clazz.getName());
+      }
+    }
+
     final Optional<Field> idFieldOptional =
         Arrays.stream(clazz.getDeclaredFields())
             .filter(
@@ -72,24 +90,10 @@ public class ClassReflectionTool {
    *
    * @param clazz type element generated by annotation processing
    * @throws IllegalStateException when id field does not exist for CX annotated class
-   * @return annotated element.field id
+   * @return id field of the entity model
    */
-  public static Element getIdField(final TypeElement clazz) {
-
-    final Optional<? extends Element> idFieldOptional =
-        ClassReflectionTool.getDeclaredFields(clazz).stream()
-            .filter(
-                field ->
-                    field.getAnnotation(CXColumn.class) != null
-                        && field.getAnnotation(CXId.class) != null)
-            .findFirst();
-
-    if (!idFieldOptional.isPresent()) {
-      throw new IllegalStateException(
-          "Id field must be annotated with @CXId for " + clazz.getSimpleName() + " class");
-    }
-
-    return idFieldOptional.get();
+  public static FieldModel getIdField(final TypeElement clazz) {
+    return EntityModel.of(clazz).getIdField();
   }
 
   /**
@@ -103,7 +107,7 @@ public class ClassReflectionTool {
       final TypeElement clazz, final Class<?> annotationClass) {
 
     if (CXSpringRestCrudApi.class.equals(annotationClass)) {
-      String path = clazz.getAnnotation(CXSpringRestCrudApi.class).path();
+      String path = EntityModel.of(clazz).getApi().path();
       return "/CX" + ((path.startsWith("/")) ? path : "/" + path);
     }
 
@@ -122,7 +126,7 @@ public class ClassReflectionTool {
       final TypeElement clazz, final Class<?> annotationClass, final String paramName) {
 
     if (CXSpringRestCrudApi.class.equals(annotationClass)) {
-      String path = clazz.getAnnotation(CXSpringRestCrudApi.class).path();
+      String path = EntityModel.of(clazz).getApi().path();
       path = ((path.startsWith("/")) ? path : "/" + path);
       return String.format("/CX%s/{%s}", path, paramName);
     }
@@ -156,4 +160,26 @@ public class ClassReflectionTool {
     }
     return null;
   }
+
+  /**
+   * Get {@link java.sql.Types} constant name for field, used to bind parameters without asking the
+   * driver for parameter metadata
+   *
+   * @param field field of the entity model
+   * @return java.sql.Types constant name, null when the type is not known at compile time
+   */
+  public static String getSqlTypeName(final FieldModel field) {
+    final TypeName type = field.getTypeName().box();
+    if (type.equals(TypeName.get(Integer.class))) return "INTEGER";
+    else if (type.equals(TypeName.get(Long.class))) return "BIGINT";
+    else if (type.equals(TypeName.get(String.class))) return "VARCHAR";
+    else if (type.equals(TypeName.get(Boolean.class))) return "BOOLEAN";
+    else if (type.equals(TypeName.get(Float.class))) return "REAL";
+    else if (type.equals(TypeName.get(Double.class))) return "DOUBLE";
+    else if (type.equals(TypeName.get(BigDecimal.class))) return "DECIMAL";
+    else if (type.equals(TypeName.get(java.sql.Date.class))) return "DATE";
+    else if (type.equals(TypeName.get(Date.class)) || type.equals(TypeName.get(Timestamp.class)))
+      return "TIMESTAMP";
+    return null;
+  }
 }
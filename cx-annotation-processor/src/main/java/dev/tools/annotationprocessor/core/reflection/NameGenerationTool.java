@@ -4,7 +4,15 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMetaRegistry;
+import dev.tools.annotationprocessor.db.pagination.CXPage;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
@@ -16,6 +24,10 @@ import javax.lang.model.element.TypeElement;
  */
 public class NameGenerationTool {
 
+  private static final Pattern DOT = Pattern.compile("\\.");
+  private static final Pattern PACKAGE_PART = Pattern.compile("[a-z_]+");
+  private static final Pattern CLASS_PART = Pattern.compile("[A-Z][a-zA-Z]+");
+
   /**
    * Get type name from type element
    *
@@ -24,7 +36,7 @@ public class NameGenerationTool {
    */
   public static TypeName getTypeNameFromTypeElement(TypeElement typeElement) {
 
-    return ClassName.get(typeElement);
+    return EntityModel.of(typeElement).getClassName();
   }
 
   /**
@@ -34,7 +46,7 @@ public class NameGenerationTool {
    * @return path
    */
   public static String getTableName(TypeElement clazz) {
-    return clazz.getAnnotation(CXEntity.class).tableName();
+    return EntityModel.of(clazz).getTableName();
   }
 
   /**
@@ -44,6 +56,8 @@ public class NameGenerationTool {
    * @return path
    */
   public static String getTableName(final Class<?> clazz) {
+    final CXEntityMeta<?> meta = CXEntityMetaRegistry.get(clazz);
+    if (meta != null) return meta.getTableName();
     return clazz.getAnnotation(CXEntity.class).tableName();
   }
 
@@ -54,8 +68,19 @@ public class NameGenerationTool {
    * @return pa.ck.ag.e
    */
   public static String getPackageName(Element element) {
-    return Arrays.stream(element.toString().split("\\."))
-        .filter(part -> part.matches("[a-z_]+"))
+    return getPackageName(element.toString());
+  }
+
+  /**
+   * Get simple package name, same rule used at compile time so runtime lookups resolve the
+   * generated classes
+   *
+   * @param qualifiedName class name like pa.ck.ag.e.Class
+   * @return pa.ck.ag.e
+   */
+  public static String getPackageName(final String qualifiedName) {
+    return Arrays.stream(DOT.split(qualifiedName))
+        .filter(part -> PACKAGE_PART.matcher(part).matches())
         .collect(Collectors.joining("."));
   }
 
@@ -67,8 +92,8 @@ public class NameGenerationTool {
    */
   public static String getSimpleNameForAttr(TypeName element) {
     final String simpleName =
-        Arrays.stream(element.toString().split("\\."))
-            .filter(part -> part.matches("[A-Z][a-zA-Z]+"))
+        Arrays.stream(DOT.split(element.toString()))
+            .filter(part -> CLASS_PART.matcher(part).matches())
             .findFirst()
             .get();
     return ("" + simpleName.charAt(0)).toLowerCase() + simpleName.substring(1);
@@ -81,12 +106,58 @@ public class NameGenerationTool {
    * @return typename for template list
    */
   public static TypeName getTypeNameForTemplateList(final TypeElement clazz) {
-    ClassName clazzType = ClassName.get(clazz);
+    ClassName clazzType = EntityModel.of(clazz).getClassName();
     ClassName list = ClassName.get("java.util", "List");
     TypeName instanceList = ParameterizedTypeName.get(list, clazzType);
     return instanceList;
   }
 
+  /**
+   * Get type name for keyset page
+   *
+   * @param clazz type element from annotation processing
+   * @return typename for CXPage of entity and boxed id
+   */
+  public static TypeName getTypeNameForPage(final TypeElement clazz) {
+    return ParameterizedTypeName.get(
+        ClassName.get(CXPage.class),
+        EntityModel.of(clazz).getClassName(),
+        getTypeNameForId(clazz).box());
+  }
+
+  /**
+   * Get type name for projected row, selected attributes by name
+   *
+   * @return typename for map of attribute name and value
+   */
+  public static TypeName getTypeNameForProjectedRow() {
+    return ParameterizedTypeName.get(
+        ClassName.get(Map.class), ClassName.get(String.class), TypeName.OBJECT);
+  }
+
+  /**
+   * Get type name for filter parameters, every value of every request parameter by name
+   *
+   * @return typename for map of parameter name and values
+   */
+  public static TypeName getTypeNameForFilterParameters() {
+    return ParameterizedTypeName.get(
+        ClassName.get(Map.class),
+        ClassName.get(String.class),
+        ParameterizedTypeName.get(ClassName.get(List.class), ClassName.get(String.class)));
+  }
+
+  /**
+   * Get type name for keyset page of projected rows
+   *
+   * @param clazz type element from annotation processing
+   * @return typename for CXPage of projected rows and boxed id
+   */
+  public static TypeName getTypeNameForProjectedPage(final TypeElement clazz) {
+    return ParameterizedTypeName.get(
+        ClassName.get(CXPage.class), getTypeNameForProjectedRow(), getTypeNameForId(clazz).box());
+  }
+
   /**
    * Get type name for id
    *
@@ -94,6 +165,30 @@ public class NameGenerationTool {
    * @return type name for id field from parent
    */
   public static TypeName getTypeNameForId(TypeElement parentClass) {
-    return TypeName.get(ClassReflectionTool.getIdField(parentClass).asType());
+    return EntityModel.of(parentClass).getIdTypeName();
+  }
+
+  /**
+   * Get getter method name for field, following java beans convention (isX for primitive boolean)
+   *
+   * @param field field of the entity model
+   * @return getter method name
+   */
+  public static String getGetterName(final FieldModel field) {
+    return (field.isPrimitiveBoolean() ? "is" : "get") + capitalize(field.getSimpleName());
+  }
+
+  /**
+   * Get setter method name for field, following java beans convention
+   *
+   * @param field field of the entity model
+   * @return setter method name
+   */
+  public static String getSetterName(final FieldModel field) {
+    return "set" + capitalize(field.getSimpleName());
+  }
+
+  private static String capitalize(final String name) {
+    return ("" + name.charAt(0)).toUpperCase() + name.substring(1);
   }
 }
@@ -1,6 +1,7 @@
 package dev.tools.annotationprocessor.core.writer;
 
 import com.squareup.javapoet.JavaFile;
+import dev.tools.annotationprocessor.core.profile.CXProcessingProfiler;
 import java.util.Collection;
 import javax.lang.model.element.TypeElement;
 
@@ -11,6 +12,19 @@ import javax.lang.model.element.TypeElement;
  */
 public abstract class ClassWriter {
 
+  protected CXProcessingProfiler profiler = CXProcessingProfiler.DISABLED;
+
+  /**
+   * Measure the writers used by this class with the given profiler
+   *
+   * @param profiler processing profiler
+   * @return this writer
+   */
+  public ClassWriter setProfiler(final CXProcessingProfiler profiler) {
+    this.profiler = profiler;
+    return this;
+  }
+
   /**
    * Write java classes files based on clazz
    *
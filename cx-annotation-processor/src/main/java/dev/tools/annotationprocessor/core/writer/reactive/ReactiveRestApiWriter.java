@@ -0,0 +1,87 @@
+package dev.tools.annotationprocessor.core.writer.reactive;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.JavaFile;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.writer.ClassWriter;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.core.writer.reactive.layers.ReactiveRepositoryClassWriter;
+import dev.tools.annotationprocessor.core.writer.reactive.layers.ReactiveRouterClassWriter;
+import dev.tools.annotationprocessor.core.writer.reactive.layers.ReactiveServiceClassWriter;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import dev.tools.annotationprocessor.db.rowmapping.ReactiveRowMapperCreator;
+import java.util.Arrays;
+import java.util.Collection;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * ReactiveRestApiWriter class WebFlux and R2DBC layer writer, generates Mono/Flux repository,
+ * service and router classes instead of the servlet ones. Cache, projection, filter, bulk and async
+ * options of the API annotation only apply to the servlet writer
+ *
+ * @see dev.tools.annotationprocessor.core.writer.spring.SpringRestApiWriter
+ * @author josue.rojas
+ */
+public class ReactiveRestApiWriter extends ClassWriter {
+
+  /**
+   * Write reactive java files based on API annotations
+   *
+   * @param clazz entity class
+   * @param targetPackage base package name where the files are going to be located
+   * @return Collection<JavaFile> java class files based on CX annotations
+   */
+  @Override
+  public Collection<JavaFile> write(final TypeElement clazz, final String targetPackage) {
+
+    // entity metadata
+    final JavaClassFile metaJavaFile =
+        profiler.time(
+            "EntityMetaCreator",
+            () -> new EntityMetaCreator().buildMetaJavaClassFile(clazz, targetPackage));
+
+    // repository layer
+    final JavaClassFile mapperJavaFile =
+        profiler.time(
+            "ReactiveRowMapperCreator",
+            () -> new ReactiveRowMapperCreator().buildRowMapperJavaClassFile(clazz, targetPackage));
+    final JavaClassFile repositoryJavaFile =
+        profiler.time(
+            "ReactiveRepositoryClassWriter",
+            () ->
+                new ReactiveRepositoryClassWriter()
+                    .writeFile(
+                        clazz,
+                        targetPackage,
+                        ClassReflectionTool.getClassNameFromClassName(
+                            mapperJavaFile.getPackageName(), mapperJavaFile.getClassName())));
+    final ClassName classNameForRepo =
+        ClassReflectionTool.getClassNameFromClassName(
+            repositoryJavaFile.getPackageName(), repositoryJavaFile.getClassName());
+
+    // service layer
+    final JavaClassFile serviceJavaFile =
+        profiler.time(
+            "ReactiveServiceClassWriter",
+            () ->
+                new ReactiveServiceClassWriter().writeFile(clazz, classNameForRepo, targetPackage));
+    final ClassName classNameForService =
+        ClassReflectionTool.getClassNameFromClassName(
+            serviceJavaFile.getPackageName(), serviceJavaFile.getClassName());
+
+    // router layer
+    final JavaClassFile routerJavaFile =
+        profiler.time(
+            "ReactiveRouterClassWriter",
+            () ->
+                new ReactiveRouterClassWriter()
+                    .writeFile(clazz, classNameForService, targetPackage));
+
+    return Arrays.asList(
+        metaJavaFile.getJavaFile(),
+        mapperJavaFile.getJavaFile(),
+        repositoryJavaFile.getJavaFile(),
+        serviceJavaFile.getJavaFile(),
+        routerJavaFile.getJavaFile());
+  }
+}
@@ -0,0 +1,35 @@
+package dev.tools.annotationprocessor.core.writer.reactive;
+
+import com.squareup.javapoet.ClassName;
+
+/**
+ * Type names for the reactive backend, referenced by name so the processor does not depend on
+ * Reactor, R2DBC or WebFlux; only the application compiling the generated code does
+ *
+ * @author josue.rojas
+ */
+public class ReactiveTypeNames {
+
+  public static final ClassName MONO = ClassName.get("reactor.core.publisher", "Mono");
+  public static final ClassName FLUX = ClassName.get("reactor.core.publisher", "Flux");
+
+  public static final ClassName CONNECTION_FACTORY =
+      ClassName.get("io.r2dbc.spi", "ConnectionFactory");
+  public static final ClassName CONNECTION = ClassName.get("io.r2dbc.spi", "Connection");
+  public static final ClassName STATEMENT = ClassName.get("io.r2dbc.spi", "Statement");
+  public static final ClassName RESULT = ClassName.get("io.r2dbc.spi", "Result");
+  public static final ClassName ROW = ClassName.get("io.r2dbc.spi", "Row");
+
+  public static final ClassName ROUTER_FUNCTION =
+      ClassName.get("org.springframework.web.reactive.function.server", "RouterFunction");
+  public static final ClassName ROUTER_FUNCTIONS =
+      ClassName.get("org.springframework.web.reactive.function.server", "RouterFunctions");
+  public static final ClassName SERVER_REQUEST =
+      ClassName.get("org.springframework.web.reactive.function.server", "ServerRequest");
+  public static final ClassName SERVER_RESPONSE =
+      ClassName.get("org.springframework.web.reactive.function.server", "ServerResponse");
+  public static final ClassName SERVER_WEB_INPUT_EXCEPTION =
+      ClassName.get("org.springframework.web.server", "ServerWebInputException");
+
+  private ReactiveTypeNames() {}
+}
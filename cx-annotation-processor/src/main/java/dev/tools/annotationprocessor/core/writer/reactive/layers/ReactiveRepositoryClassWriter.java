@@ -0,0 +1,345 @@
+package dev.tools.annotationprocessor.core.writer.reactive.layers;
+
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.CONNECTION;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.CONNECTION_FACTORY;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.FLUX;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.MONO;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.STATEMENT;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.reactive.CXR2dbcValues;
+import dev.tools.annotationprocessor.db.rowmapping.ReactiveRowMapperCreator;
+import dev.tools.annotationprocessor.db.sqlwriter.IndexedSqlSentence;
+import dev.tools.annotationprocessor.db.sqlwriter.SqlReadSentenceGenerator;
+import dev.tools.annotationprocessor.db.sqlwriter.SqlWriteSentenceGenerator;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive repository class writer, R2DBC statements with indexed bind markers; every call takes a
+ * connection from the ConnectionFactory (usually a pool) and closes it when the publisher ends
+ *
+ * @author josue.rojas
+ */
+public class ReactiveRepositoryClassWriter {
+
+  private static final String CONNECTION_FACTORY_ATTR = "connectionFactory";
+  private static final String BIND_METHOD = "bind";
+
+  private ClassName mapperClassName;
+
+  /**
+   * Builder for repository class
+   *
+   * @return builder method
+   */
+  public MethodSpec writeBuilder() {
+    return MethodSpec.constructorBuilder()
+        .addAnnotation(Autowired.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(CONNECTION_FACTORY, CONNECTION_FACTORY_ATTR, Modifier.FINAL)
+        .addStatement("this.$N = $N", CONNECTION_FACTORY_ATTR, CONNECTION_FACTORY_ATTR)
+        .build();
+  }
+
+  /**
+   * Bind helper, null values are bound with the attribute type
+   *
+   * @return bind method
+   */
+  public MethodSpec buildBindMethod() {
+    return MethodSpec.methodBuilder(BIND_METHOD)
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .addParameter(STATEMENT, "statement", Modifier.FINAL)
+        .addParameter(int.class, "index", Modifier.FINAL)
+        .addParameter(Object.class, "value", Modifier.FINAL)
+        .addParameter(
+            ParameterizedTypeName.get(
+                ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)),
+            "type",
+            Modifier.FINAL)
+        .addStatement(
+            "return value == null\n"
+                + "    ? statement.bindNull(index, $T.bindType(type))\n"
+                + "    : statement.bind(index, $T.bindable(value))",
+            CXR2dbcValues.class,
+            CXR2dbcValues.class)
+        .returns(STATEMENT)
+        .build();
+  }
+
+  /**
+   * Get method, all rows streamed as they are read; the driver only fetches what subscribers
+   * request
+   *
+   * @return get method
+   */
+  public MethodSpec buildGetMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("get")
+        .addModifiers(Modifier.PUBLIC)
+        .addCode(
+            usingWhen(
+                FLUX,
+                CodeBlock.builder()
+                    .addStatement(
+                        "return $T.from(connection.createStatement($S).execute())\n"
+                            + "    .concatMap(result -> result.map((row, metadata) -> $T.$N(row)))",
+                        FLUX,
+                        SqlReadSentenceGenerator.writeSelectSentence(clazz),
+                        mapperClassName,
+                        ReactiveRowMapperCreator.MAP_METHOD)
+                    .build()))
+        .returns(
+            ParameterizedTypeName.get(FLUX, NameGenerationTool.getTypeNameFromTypeElement(clazz)))
+        .build();
+  }
+
+  /**
+   * Get by id method
+   *
+   * @return get by id method, empty when there is no row for the id
+   */
+  public MethodSpec buildGetByIdMethod(final TypeElement clazz) {
+    final IndexedSqlSentence sentence =
+        IndexedSqlSentence.of(SqlReadSentenceGenerator.writeSelectSentenceById(clazz));
+    return MethodSpec.methodBuilder("getById")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(getIdType(clazz), "id", Modifier.FINAL)
+        .addCode(
+            usingWhen(
+                MONO,
+                prepare(clazz, sentence, "id", null)
+                    .addStatement(
+                        "return $T.from(statement.execute())\n"
+                            + "    .concatMap(result -> result.map((row, metadata) -> $T.$N(row)))\n"
+                            + "    .next()",
+                        FLUX,
+                        mapperClassName,
+                        ReactiveRowMapperCreator.MAP_METHOD)
+                    .build()))
+        .returns(
+            ParameterizedTypeName.get(MONO, NameGenerationTool.getTypeNameFromTypeElement(clazz)))
+        .build();
+  }
+
+  /**
+   * Create method, generated ids are read back from the driver and set on the instance
+   *
+   * @return create method, empty when no row was inserted
+   */
+  public MethodSpec buildCreateMethod(final TypeElement clazz) {
+    final IndexedSqlSentence sentence =
+        IndexedSqlSentence.of(SqlWriteSentenceGenerator.writeInsertSentence(clazz));
+    final FieldModel idField = ClassReflectionTool.getIdField(clazz);
+    final CodeBlock.Builder body = prepare(clazz, sentence, null, "instance");
+    if (idField.isGeneratedId()) {
+      body.addStatement(
+          "return $T.from(statement.returnGeneratedValues($S).execute())\n"
+              + "    .concatMap(result -> result.map((row, metadata) -> $T.as(row.get(0), $T.class)))\n"
+              + "    .next()\n"
+              + "    .map(\n"
+              + "        id -> {\n"
+              + "          instance.$N(id);\n"
+              + "          return instance;\n"
+              + "        })",
+          FLUX,
+          idField.getColumnName(),
+          CXR2dbcValues.class,
+          getIdType(clazz),
+          NameGenerationTool.getSetterName(idField));
+    } else {
+      body.addStatement(
+          "return $L\n    .flatMap(rows -> rows > 0 ? $T.just(instance) : $T.empty())",
+          buildRowsUpdated(),
+          MONO,
+          MONO);
+    }
+    return MethodSpec.methodBuilder("create")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
+        .addCode(usingWhen(MONO, body.build()))
+        .returns(
+            ParameterizedTypeName.get(MONO, NameGenerationTool.getTypeNameFromTypeElement(clazz)))
+        .build();
+  }
+
+  /**
+   * Update method
+   *
+   * @return update method, true when a row was updated
+   */
+  public MethodSpec buildUpdateMethod(final TypeElement clazz) {
+    final IndexedSqlSentence sentence =
+        IndexedSqlSentence.of(SqlWriteSentenceGenerator.writeUpdateSentence(clazz));
+    return buildRowsUpdatedMethod(
+        MethodSpec.methodBuilder("update")
+            .addParameter(getIdType(clazz), "id", Modifier.FINAL)
+            .addParameter(
+                NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL),
+        prepare(clazz, sentence, "id", "instance"));
+  }
+
+  /**
+   * Delete method
+   *
+   * @return delete method, true when a row was deleted
+   */
+  public MethodSpec buildDeleteMethod(final TypeElement clazz) {
+    final IndexedSqlSentence sentence =
+        IndexedSqlSentence.of(SqlWriteSentenceGenerator.writeDeleteSentence(clazz));
+    return buildRowsUpdatedMethod(
+        MethodSpec.methodBuilder("delete").addParameter(getIdType(clazz), "id", Modifier.FINAL),
+        prepare(clazz, sentence, "id", null));
+  }
+
+  private MethodSpec buildRowsUpdatedMethod(
+      final MethodSpec.Builder builder, final CodeBlock.Builder body) {
+    return builder
+        .addModifiers(Modifier.PUBLIC)
+        .addCode(
+            usingWhen(
+                MONO,
+                body.addStatement("return $L\n    .map(rows -> rows > 0)", buildRowsUpdated())
+                    .build()))
+        .returns(ParameterizedTypeName.get(MONO, ClassName.get(Boolean.class)))
+        .build();
+  }
+
+  /**
+   * Run a body on a connection of the factory, the connection is closed when the publisher
+   * completes, fails or is cancelled
+   *
+   * @param publisher Mono or Flux
+   * @param body statements with a connection variable in scope, returning the publisher
+   * @return return statement
+   */
+  private CodeBlock usingWhen(final ClassName publisher, final CodeBlock body) {
+    return CodeBlock.builder()
+        .add(
+            "return $T.usingWhen(\n$>$>$N.create(),\nconnection -> {\n$>",
+            publisher,
+            CONNECTION_FACTORY_ATTR)
+        .add(body)
+        .add("$<},\n$T::close);\n$<$<", CONNECTION)
+        .build();
+  }
+
+  /**
+   * Rows updated by the statement, summed over results; counts are Integer or Long depending on the
+   * R2DBC SPI version
+   *
+   * @return Mono of the updated rows as long
+   */
+  private CodeBlock buildRowsUpdated() {
+    return CodeBlock.of(
+        "$T.from(statement.execute())\n"
+            + "    .concatMap(result -> result.getRowsUpdated())\n"
+            + "    .reduce(0L, (total, rows) -> total + rows.longValue())",
+        FLUX);
+  }
+
+  /**
+   * Statement creation and binds for an indexed sentence, the id column is bound from the id
+   * parameter and the other columns from the instance getters
+   *
+   * @param clazz CXEntity annotated class
+   * @param sentence indexed sentence
+   * @param idName id parameter name, null to read the id from the instance
+   * @param instanceName instance parameter name
+   * @return statements declaring a bound statement variable
+   */
+  private CodeBlock.Builder prepare(
+      final TypeElement clazz,
+      final IndexedSqlSentence sentence,
+      final String idName,
+      final String instanceName) {
+    final List<FieldModel> columns = SqlReadSentenceGenerator.getSelectColumns(clazz);
+    final CodeBlock.Builder code =
+        CodeBlock.builder()
+            .addStatement(
+                "final $T statement = connection.createStatement($S)",
+                STATEMENT,
+                sentence.getSql());
+    final List<String> names = sentence.getParameterNames();
+    for (int i = 0; i < names.size(); i++) {
+      final String name = names.get(i);
+      final FieldModel column =
+          columns.stream()
+              .filter(field -> field.getColumnName().equals(name))
+              .findFirst()
+              .orElseThrow(() -> new IllegalStateException("Unknown sql parameter :" + name));
+      final CodeBlock value =
+          column.isId() && idName != null
+              ? CodeBlock.of("$N", idName)
+              : CodeBlock.of("$N.$N()", instanceName, NameGenerationTool.getGetterName(column));
+      code.addStatement(
+          "$N(statement, $L, $L, $T.class)", BIND_METHOD, i, value, column.getTypeName().box());
+    }
+    return code;
+  }
+
+  private TypeName getIdType(final TypeElement clazz) {
+    return NameGenerationTool.getTypeNameForId(clazz).box();
+  }
+
+  /**
+   * Write JavaClassFile for reactive repository layer
+   *
+   * @param clazz CXEntity annotated class
+   * @param targetPackage package where CXEntity class is located
+   * @param mapperClassName generated reactive row mapper
+   * @return reactive repository class file
+   */
+  public JavaClassFile writeFile(
+      final TypeElement clazz, final String targetPackage, final ClassName mapperClassName) {
+    this.mapperClassName = mapperClassName;
+    final String packageName = targetPackage + ".repository";
+    final String className =
+        String.format("%sReactiveRepository", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec typeSpec =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(Repository.class)
+            .addField(
+                FieldSpec.builder(
+                        CONNECTION_FACTORY,
+                        CONNECTION_FACTORY_ATTR,
+                        Modifier.PRIVATE,
+                        Modifier.FINAL)
+                    .build())
+            .addMethod(writeBuilder())
+            .addMethod(buildGetMethod(clazz))
+            .addMethod(buildGetByIdMethod(clazz))
+            .addMethod(buildCreateMethod(clazz))
+            .addMethod(buildUpdateMethod(clazz))
+            .addMethod(buildDeleteMethod(clazz))
+            .addMethod(buildBindMethod())
+            .build();
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpec).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(packageName)
+        .setFileName(String.format("%s.%s.java", packageName, className))
+        .setName((String.format("%s.%s", packageName, className)));
+  }
+}
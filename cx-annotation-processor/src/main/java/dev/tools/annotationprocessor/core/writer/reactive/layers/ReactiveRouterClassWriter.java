@@ -0,0 +1,296 @@
+package dev.tools.annotationprocessor.core.writer.reactive.layers;
+
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.MONO;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.ROUTER_FUNCTION;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.ROUTER_FUNCTIONS;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.SERVER_REQUEST;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.SERVER_RESPONSE;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.SERVER_WEB_INPUT_EXCEPTION;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import java.util.function.Function;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+/**
+ * Reactive router class writer, WebFlux functional endpoints on the same paths as the generated
+ * controllers
+ *
+ * @author josue.rojas
+ */
+public class ReactiveRouterClassWriter {
+
+  private static final String SERVICE_ATTR = "service";
+  private static final String ID_PARSER = "ID";
+  private static final String STREAM_TYPE = "STREAM_TYPE";
+  private static final String REQUEST = "request";
+
+  private static final TypeName RESPONSE_MONO = ParameterizedTypeName.get(MONO, SERVER_RESPONSE);
+
+  /**
+   * Builder for router class
+   *
+   * @param previousClassLayer reactive service class generated type name
+   * @return builder method
+   */
+  public MethodSpec writeBuilder(final ClassName previousClassLayer) {
+    return MethodSpec.constructorBuilder()
+        .addAnnotation(Autowired.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(previousClassLayer, SERVICE_ATTR, Modifier.FINAL)
+        .addStatement("this.$N = $N", SERVICE_ATTR, SERVICE_ATTR)
+        .build();
+  }
+
+  /**
+   * Routes bean for the entity endpoints
+   *
+   * @param clazz CXEntity annotated class
+   * @return routes bean method
+   */
+  public MethodSpec buildRoutesMethod(final TypeElement clazz) {
+    final String name = EntityModel.of(clazz).getSimpleName();
+    return MethodSpec.methodBuilder(
+            Character.toLowerCase(name.charAt(0)) + name.substring(1) + "Routes")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(Bean.class)
+        .addStatement(
+            "return $T.route()\n"
+                + "    .GET($S, this::get)\n"
+                + "    .GET($S, this::getById)\n"
+                + "    .POST($S, this::create)\n"
+                + "    .PUT($S, this::update)\n"
+                + "    .DELETE($S, this::delete)\n"
+                + "    .build()",
+            ROUTER_FUNCTIONS,
+            ClassReflectionTool.getPathFromMainApiAnnotation(clazz, CXSpringRestCrudApi.class),
+            ClassReflectionTool.getPathFromMainApiAnnotation(
+                clazz, CXSpringRestCrudApi.class, "id"),
+            ClassReflectionTool.getPathFromMainApiAnnotation(clazz, CXSpringRestCrudApi.class),
+            ClassReflectionTool.getPathFromMainApiAnnotation(
+                clazz, CXSpringRestCrudApi.class, "id"),
+            ClassReflectionTool.getPathFromMainApiAnnotation(
+                clazz, CXSpringRestCrudApi.class, "id"))
+        .returns(ParameterizedTypeName.get(ROUTER_FUNCTION, SERVER_RESPONSE))
+        .build();
+  }
+
+  /**
+   * Get handler, rows are written as newline delimited JSON while they are read so the client
+   * demand drives the database reads
+   *
+   * @param clazz CXEntity annotated class
+   * @return get handler
+   */
+  public MethodSpec buildGetMethod(final TypeElement clazz) {
+    return handler("get")
+        .addStatement(
+            "return $T.ok().contentType($N).body($N.get(), $T.class)",
+            SERVER_RESPONSE,
+            STREAM_TYPE,
+            SERVICE_ATTR,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz))
+        .build();
+  }
+
+  /**
+   * Get by id handler
+   *
+   * @return get by id handler, 404 when there is no row for the id
+   */
+  public MethodSpec buildGetByIdMethod() {
+    return handler("getById")
+        .addStatement(
+            "return $N.getById($N($N))\n"
+                + "    .flatMap(instance -> $T.ok().bodyValue(instance))\n"
+                + "    .switchIfEmpty($T.notFound().build())",
+            SERVICE_ATTR,
+            "id",
+            REQUEST,
+            SERVER_RESPONSE,
+            SERVER_RESPONSE)
+        .build();
+  }
+
+  /**
+   * Create handler
+   *
+   * @param clazz CXEntity annotated class
+   * @return create handler, 201 with the created instance (generated id included)
+   */
+  public MethodSpec buildCreateMethod(final TypeElement clazz) {
+    return handler("create")
+        .addStatement(
+            "return $N.bodyToMono($T.class)\n"
+                + "    .flatMap($N::create)\n"
+                + "    .flatMap(instance -> $T.status($T.CREATED).bodyValue(instance))\n"
+                + "    .switchIfEmpty($T.unprocessableEntity().build())",
+            REQUEST,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            SERVICE_ATTR,
+            SERVER_RESPONSE,
+            HttpStatus.class,
+            SERVER_RESPONSE)
+        .build();
+  }
+
+  /**
+   * Update handler
+   *
+   * @param clazz CXEntity annotated class
+   * @return update handler, true when a row was updated
+   */
+  public MethodSpec buildUpdateMethod(final TypeElement clazz) {
+    return handler("update")
+        .addStatement(
+            "return $N.bodyToMono($T.class)\n"
+                + "    .flatMap(body -> $N.update($N($N), body))\n"
+                + "    .flatMap(updated -> $T.ok().bodyValue(updated))",
+            REQUEST,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            SERVICE_ATTR,
+            "id",
+            REQUEST,
+            SERVER_RESPONSE)
+        .build();
+  }
+
+  /**
+   * Delete handler
+   *
+   * @return delete handler, true when a row was deleted
+   */
+  public MethodSpec buildDeleteMethod() {
+    return handler("delete")
+        .addStatement(
+            "return $N.delete($N($N)).flatMap(deleted -> $T.ok().bodyValue(deleted))",
+            SERVICE_ATTR,
+            "id",
+            REQUEST,
+            SERVER_RESPONSE)
+        .build();
+  }
+
+  /**
+   * Id path variable parser, invalid ids answer 400
+   *
+   * @param clazz CXEntity annotated class
+   * @return id method
+   */
+  public MethodSpec buildIdMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("id")
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+        .addParameter(SERVER_REQUEST, REQUEST, Modifier.FINAL)
+        .addStatement("final String value = $N.pathVariable($S)", REQUEST, "id")
+        .beginControlFlow("try")
+        .addStatement("return $N.apply(value)", ID_PARSER)
+        .nextControlFlow("catch ($T e)", IllegalArgumentException.class)
+        .addStatement("throw new $T($S + value)", SERVER_WEB_INPUT_EXCEPTION, "Invalid id ")
+        .endControlFlow()
+        .returns(NameGenerationTool.getTypeNameForId(clazz).box())
+        .build();
+  }
+
+  /**
+   * Id parser field, same conversion as the filter parameters
+   *
+   * @param clazz CXEntity annotated class
+   * @return id parser field
+   * @throws IllegalStateException when the id type cannot be parsed from a path variable
+   */
+  public FieldSpec buildIdParserField(final TypeElement clazz) {
+    final FieldModel idField = ClassReflectionTool.getIdField(clazz);
+    final CodeBlock converter = EntityMetaCreator.buildFilterConverter(idField);
+    if (converter == null) {
+      throw new IllegalStateException(
+          "Reactive API id type " + idField.getTypeName() + " cannot be read from a path variable");
+    }
+    return FieldSpec.builder(
+            ParameterizedTypeName.get(
+                ClassName.get(Function.class),
+                ClassName.get(String.class),
+                NameGenerationTool.getTypeNameForId(clazz).box()),
+            ID_PARSER,
+            Modifier.PRIVATE,
+            Modifier.STATIC,
+            Modifier.FINAL)
+        .initializer(converter)
+        .build();
+  }
+
+  private MethodSpec.Builder handler(final String name) {
+    return MethodSpec.methodBuilder(name)
+        .addModifiers(Modifier.PRIVATE)
+        .addParameter(SERVER_REQUEST, REQUEST, Modifier.FINAL)
+        .returns(RESPONSE_MONO);
+  }
+
+  /**
+   * Write JavaClassFile for reactive router layer
+   *
+   * @param clazz CXEntity annotated class
+   * @param previousClassLayer generated reactive service class
+   * @param targetPackage package where CXEntity class is located
+   * @return reactive router class file
+   */
+  public JavaClassFile writeFile(
+      final TypeElement clazz, final ClassName previousClassLayer, final String targetPackage) {
+    final String packageName = targetPackage + ".controller";
+    final String className = String.format("%sRouter", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec typeSpec =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(Configuration.class)
+            .addField(buildIdParserField(clazz))
+            .addField(
+                FieldSpec.builder(
+                        MediaType.class,
+                        STREAM_TYPE,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                    .initializer("$T.parseMediaType($S)", MediaType.class, "application/x-ndjson")
+                    .build())
+            .addField(
+                FieldSpec.builder(
+                        previousClassLayer, SERVICE_ATTR, Modifier.PRIVATE, Modifier.FINAL)
+                    .build())
+            .addMethod(writeBuilder(previousClassLayer))
+            .addMethod(buildRoutesMethod(clazz))
+            .addMethod(buildGetMethod(clazz))
+            .addMethod(buildGetByIdMethod())
+            .addMethod(buildCreateMethod(clazz))
+            .addMethod(buildUpdateMethod(clazz))
+            .addMethod(buildDeleteMethod())
+            .addMethod(buildIdMethod(clazz))
+            .build();
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpec).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(packageName)
+        .setFileName(String.format("%s.%s.java", packageName, className))
+        .setName((String.format("%s.%s", packageName, className)));
+  }
+}
@@ -0,0 +1,114 @@
+package dev.tools.annotationprocessor.core.writer.reactive.layers;
+
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.FLUX;
+import static dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames.MONO;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import java.util.Arrays;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reactive service class writer, passes the publishers of the reactive repository through
+ *
+ * @author josue.rojas
+ */
+public class ReactiveServiceClassWriter {
+
+  private static final String REPOSITORY_ATTR = "repository";
+
+  /**
+   * Builder for service class
+   *
+   * @param previousClassLayer reactive repository class generated type name
+   * @return builder method for service class
+   */
+  public MethodSpec writeBuilder(final ClassName previousClassLayer) {
+    return MethodSpec.constructorBuilder()
+        .addAnnotation(Autowired.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(previousClassLayer, REPOSITORY_ATTR, Modifier.FINAL)
+        .addStatement("this.$N = $N", REPOSITORY_ATTR, REPOSITORY_ATTR)
+        .build();
+  }
+
+  /**
+   * Data methods, same signatures as the repository ones
+   *
+   * @param clazz CXEntity annotated class
+   * @return get, get by id, create, update and delete methods
+   */
+  public List<MethodSpec> buildDataMethods(final TypeElement clazz) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
+    final TypeName idType = NameGenerationTool.getTypeNameForId(clazz).box();
+    final TypeName booleanMono = ParameterizedTypeName.get(MONO, ClassName.get(Boolean.class));
+    return Arrays.asList(
+        delegate("get", ParameterizedTypeName.get(FLUX, entityType)).build(),
+        delegate("getById", ParameterizedTypeName.get(MONO, entityType), "id")
+            .addParameter(idType, "id", Modifier.FINAL)
+            .build(),
+        delegate("create", ParameterizedTypeName.get(MONO, entityType), "instance")
+            .addParameter(entityType, "instance", Modifier.FINAL)
+            .build(),
+        delegate("update", booleanMono, "id", "instance")
+            .addParameter(idType, "id", Modifier.FINAL)
+            .addParameter(entityType, "instance", Modifier.FINAL)
+            .build(),
+        delegate("delete", booleanMono, "id").addParameter(idType, "id", Modifier.FINAL).build());
+  }
+
+  private MethodSpec.Builder delegate(
+      final String name, final TypeName returnType, final String... arguments) {
+    return MethodSpec.methodBuilder(name)
+        .addModifiers(Modifier.PUBLIC)
+        .addStatement("return $N.$N($L)", REPOSITORY_ATTR, name, String.join(", ", arguments))
+        .returns(returnType);
+  }
+
+  /**
+   * Write class for reactive service layer
+   *
+   * @param clazz CXEntity annotated class
+   * @param previousClassLayer reactive repository class name
+   * @param targetPackage package where CXEntity class is located
+   * @return reactive service class file
+   */
+  public JavaClassFile writeFile(
+      final TypeElement clazz, final ClassName previousClassLayer, final String targetPackage) {
+    final String packageName = targetPackage + ".service";
+    final String className =
+        String.format("%sReactiveService", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec typeSpec =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(Service.class)
+            .addField(
+                FieldSpec.builder(
+                        previousClassLayer, REPOSITORY_ATTR, Modifier.PRIVATE, Modifier.FINAL)
+                    .build())
+            .addMethod(writeBuilder(previousClassLayer))
+            .addMethods(buildDataMethods(clazz))
+            .build();
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpec).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(packageName)
+        .setFileName(String.format("%s.%s.java", packageName, className))
+        .setName((String.format("%s.%s", packageName, className)));
+  }
+}
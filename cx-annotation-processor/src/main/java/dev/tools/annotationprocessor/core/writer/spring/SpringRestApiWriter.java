@@ -9,6 +9,8 @@ import dev.tools.annotationprocessor.core.writer.spring.config.SpringRestApiConf
 import dev.tools.annotationprocessor.core.writer.spring.layers.SpringControllerClassWriter;
 import dev.tools.annotationprocessor.core.writer.spring.layers.SpringRepositoryClassWriter;
 import dev.tools.annotationprocessor.core.writer.spring.layers.SpringServiceClassWriter;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import dev.tools.annotationprocessor.db.paramresolver.ParameterSourceCreator;
 import dev.tools.annotationprocessor.db.rowmapping.RowMapperCreator;
 import java.util.Arrays;
 import java.util.Collection;
@@ -29,6 +31,17 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
  */
 public class SpringRestApiWriter extends ClassWriter {
 
+  private final boolean instrumented;
+
+  public SpringRestApiWriter() {
+    this(true);
+  }
+
+  /** @param instrumented generate latency, error and row metrics in repositories and controllers */
+  public SpringRestApiWriter(final boolean instrumented) {
+    this.instrumented = instrumented;
+  }
+
   /**
    * Write java files based on API annotations
    *
@@ -39,45 +52,77 @@ public class SpringRestApiWriter extends ClassWriter {
   @Override
   public Collection<JavaFile> write(final TypeElement clazz, final String targetPackage) {
 
+    // entity metadata
+    final JavaClassFile metaJavaFile =
+        profiler.time(
+            "EntityMetaCreator",
+            () -> new EntityMetaCreator().buildMetaJavaClassFile(clazz, targetPackage));
+
     // repository layer
     final ClassName classNameForJdbcTemplate = ClassName.get(NamedParameterJdbcTemplate.class);
     final JavaClassFile mapperJavaFile =
-        new RowMapperCreator().buildRowMapperJavaClassFile(clazz, targetPackage);
+        profiler.time(
+            "RowMapperCreator",
+            () -> new RowMapperCreator().buildRowMapperJavaClassFile(clazz, targetPackage));
+    final JavaClassFile parameterSourceJavaFile =
+        profiler.time(
+            "ParameterSourceCreator",
+            () ->
+                new ParameterSourceCreator()
+                    .buildParameterSourceJavaClassFile(clazz, targetPackage));
     final JavaClassFile repositoryJavaFile =
-        new SpringRepositoryClassWriter()
-            .writeFile(
-                clazz,
-                targetPackage,
-                mapperJavaFile.getPackageName(),
-                mapperJavaFile.getClassName());
+        profiler.time(
+            "SpringRepositoryClassWriter",
+            () ->
+                new SpringRepositoryClassWriter(instrumented)
+                    .writeFile(
+                        clazz,
+                        targetPackage,
+                        mapperJavaFile.getPackageName(),
+                        mapperJavaFile.getClassName(),
+                        parameterSourceJavaFile.getPackageName(),
+                        parameterSourceJavaFile.getClassName()));
     final ClassName classNameForRepo =
         ClassReflectionTool.getClassNameFromClassName(
             repositoryJavaFile.getPackageName(), repositoryJavaFile.getClassName());
 
     // service layer
     final JavaClassFile serviceJavaFile =
-        new SpringServiceClassWriter().writeFile(clazz, classNameForRepo, targetPackage);
+        profiler.time(
+            "SpringServiceClassWriter",
+            () -> new SpringServiceClassWriter().writeFile(clazz, classNameForRepo, targetPackage));
     final ClassName classNameForService =
         ClassReflectionTool.getClassNameFromClassName(
             serviceJavaFile.getPackageName(), serviceJavaFile.getClassName());
 
     // controller layer
     final JavaClassFile controllerJavaFile =
-        new SpringControllerClassWriter().writeFile(clazz, classNameForService, targetPackage);
+        profiler.time(
+            "SpringControllerClassWriter",
+            () ->
+                new SpringControllerClassWriter(instrumented)
+                    .writeFile(clazz, classNameForService, targetPackage));
     final ClassName classNameForController =
         ClassReflectionTool.getClassNameFromClassName(
             controllerJavaFile.getPackageName(), controllerJavaFile.getClassName());
 
     // config java file
     final JavaFile beansConfigJavaFile =
-        getBeansConfigJavaClass(
-            targetPackage,
-            Arrays.asList(classNameForRepo, classNameForService, classNameForController),
-            Arrays.asList(classNameForJdbcTemplate, classNameForRepo, classNameForService));
+        profiler.time(
+            "SpringRestApiConfigWriter",
+            () ->
+                getBeansConfigJavaClass(
+                    targetPackage,
+                    clazz,
+                    Arrays.asList(classNameForRepo, classNameForService, classNameForController),
+                    Arrays.asList(
+                        classNameForJdbcTemplate, classNameForRepo, classNameForService)));
 
     // java files to be generated
     return Arrays.asList(
+        metaJavaFile.getJavaFile(),
         mapperJavaFile.getJavaFile(),
+        parameterSourceJavaFile.getJavaFile(),
         repositoryJavaFile.getJavaFile(),
         serviceJavaFile.getJavaFile(),
         controllerJavaFile.getJavaFile(),
@@ -88,14 +133,19 @@ public class SpringRestApiWriter extends ClassWriter {
    * Get java class file for beans for CX API
    *
    * @param packageName package name as string
+   * @param clazz entity class
    * @param layers classname list
    * @param dependencies classname for dependencies
    * @return JavaFIle java file class
    */
   @Description("Beans class files generation based CX annotation")
   public JavaFile getBeansConfigJavaClass(
-      final String packageName, final List<ClassName> layers, final List<ClassName> dependencies) {
+      final String packageName,
+      final TypeElement clazz,
+      final List<ClassName> layers,
+      final List<ClassName> dependencies) {
     return new SpringRestApiConfigWriter()
-        .writeBeansConfigForApi(packageName + ".configuration", layers, dependencies);
+        .writeBeansConfigForApi(
+            packageName + ".configuration", clazz, layers, dependencies, instrumented);
   }
 }
@@ -1,26 +1,32 @@
 package dev.tools.annotationprocessor.core.writer.spring.config;
 
+import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.db.executer.CXDataSourceConfiguration;
 import dev.tools.annotationprocessor.db.executer.JdbcTemplateHolder;
+import dev.tools.annotationprocessor.db.metrics.CXMetricsConfiguration;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 public class SpringRestApiConfigWriter {
 
-  private static String CONFIG_CLASS_NAME = "BeansConfiguration";
+  private static String CONFIG_CLASS_SUFFIX = "BeansConfiguration";
 
   private String getBeanName(final String className) {
     return ("" + className.charAt(0)).toLowerCase() + className.substring(1);
@@ -30,15 +36,28 @@ public class SpringRestApiConfigWriter {
     final ClassName classNameForJdbcTemplate = ClassName.get(NamedParameterJdbcTemplate.class);
     return MethodSpec.methodBuilder(getBeanName(classNameForJdbcTemplate.simpleName()))
         .addAnnotation(Bean.class)
-        .addStatement("return $T.getConnection()", JdbcTemplateHolder.getConnection())
+        .addStatement("return $T.getConnection()", JdbcTemplateHolder.class)
         .returns(NamedParameterJdbcTemplate.class)
         .build();
   }
 
+  /**
+   * Write the configuration class of one CX entity, one class per entity so the file has a single
+   * originating element and entities sharing a package do not write the same class
+   *
+   * @param packageName configuration package
+   * @param clazz CX entity, originating element of the configuration
+   * @param layers generated layer classes
+   * @param layersDependencies dependency of each layer
+   * @param instrumented import the metrics configuration
+   * @return configuration java file, {@code <Entity>BeansConfiguration}
+   */
   public JavaFile writeBeansConfigForApi(
       final String packageName,
+      final TypeElement clazz,
       final List<ClassName> layers,
-      final List<ClassName> layersDependencies) {
+      final List<ClassName> layersDependencies,
+      final boolean instrumented) {
     final Collection<MethodSpec> beanMethods =
         IntStream.range(0, layers.size())
             .mapToObj(
@@ -60,9 +79,22 @@ public class SpringRestApiConfigWriter {
     // beanMethods.add(methodSpecForBeanConfigForNamedJdbcTemplate());
 
     final TypeSpec.Builder typeSpecBuilder =
-        TypeSpec.classBuilder(CONFIG_CLASS_NAME)
+        TypeSpec.classBuilder(EntityModel.of(clazz).getSimpleName() + CONFIG_CLASS_SUFFIX)
             .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
             .addAnnotation(Configuration.class)
+            .addAnnotation(
+                instrumented
+                    ? AnnotationSpec.builder(Import.class)
+                        .addMember(
+                            "value",
+                            "{$T.class, $T.class}",
+                            CXDataSourceConfiguration.class,
+                            CXMetricsConfiguration.class)
+                        .build()
+                    : AnnotationSpec.builder(Import.class)
+                        .addMember("value", "$T.class", CXDataSourceConfiguration.class)
+                        .build())
             .addField(
                 FieldSpec.builder(Environment.class, "env", Modifier.PRIVATE)
                     .addAnnotation(Autowired.class)
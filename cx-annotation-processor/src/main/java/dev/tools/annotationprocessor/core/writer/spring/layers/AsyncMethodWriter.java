@@ -0,0 +1,53 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async method writer, turns generated blocking methods into CompletableFuture methods whose body
+ * runs on the entity executor
+ *
+ * @author josue.rojas
+ */
+public class AsyncMethodWriter {
+
+  private AsyncMethodWriter() {}
+
+  /**
+   * Async method with the blocking method body as task
+   *
+   * @param method blocking method, parameters must be final
+   * @param supplier call that runs a Supplier and returns its CompletableFuture
+   * @return method with the same name and parameters returning CompletableFuture
+   */
+  public static MethodSpec wrap(final MethodSpec method, final CodeBlock supplier) {
+    return copySignature(method, method.name)
+        .addCode("return $L(() -> {\n$>", supplier)
+        .addCode(method.code)
+        .addCode("$<});\n")
+        .build();
+  }
+
+  private static MethodSpec.Builder copySignature(final MethodSpec method, final String name) {
+    return MethodSpec.methodBuilder(name)
+        .addJavadoc(method.javadoc)
+        .addAnnotations(method.annotations)
+        .addModifiers(method.modifiers)
+        .addParameters(method.parameters)
+        .returns(getFutureType(method.returnType));
+  }
+
+  /**
+   * Get CompletableFuture type for a blocking return type
+   *
+   * @param returnType blocking return type
+   * @return CompletableFuture of the boxed type
+   */
+  public static TypeName getFutureType(final TypeName returnType) {
+    return ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), returnType.box());
+  }
+}
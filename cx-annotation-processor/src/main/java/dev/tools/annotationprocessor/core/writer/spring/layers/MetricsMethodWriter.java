@@ -0,0 +1,127 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.db.metrics.CXMetricsRegistry;
+import dev.tools.annotationprocessor.db.metrics.CXOperationMetrics;
+import dev.tools.annotationprocessor.db.sqlwriter.IndexedSqlSentence;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Metrics method writer, wraps generated method bodies so each call records its latency, errors and
+ * rows in the operation metrics of the entity
+ *
+ * @author josue.rojas
+ */
+public class MetricsMethodWriter {
+
+  private MetricsMethodWriter() {}
+
+  /**
+   * Operation metrics field for a generated method
+   *
+   * @param clazz CXEntity annotated class
+   * @param layer layer name like repository
+   * @param method generated method
+   * @return static field registered on class initialization
+   */
+  public static FieldSpec buildField(
+      final TypeElement clazz, final String layer, final MethodSpec method) {
+    return FieldSpec.builder(
+            CXOperationMetrics.class,
+            getFieldName(method.name),
+            Modifier.PRIVATE,
+            Modifier.STATIC,
+            Modifier.FINAL)
+        .initializer(
+            "$T.operation($S, $S)",
+            CXMetricsRegistry.class,
+            EntityModel.of(clazz).getSimpleName(),
+            layer + "." + method.name)
+        .build();
+  }
+
+  /**
+   * Operation metrics field for a generated method running a SQL statement, slow executions are
+   * logged with the statement
+   *
+   * @param clazz CXEntity annotated class
+   * @param layer layer name like repository
+   * @param method generated method
+   * @param sql named parameter statement from the sql generators, or its template when the
+   *     statement is built per call
+   * @return static field registered on class initialization
+   */
+  public static FieldSpec buildField(
+      final TypeElement clazz, final String layer, final MethodSpec method, final String sql) {
+    return FieldSpec.builder(
+            CXOperationMetrics.class,
+            getFieldName(method.name),
+            Modifier.PRIVATE,
+            Modifier.STATIC,
+            Modifier.FINAL)
+        .initializer(
+            "$T.operation($S, $S, $S, $L)",
+            CXMetricsRegistry.class,
+            EntityModel.of(clazz).getSimpleName(),
+            layer + "." + method.name,
+            sql,
+            IndexedSqlSentence.of(sql).getParameterNames().size())
+        .build();
+  }
+
+  /**
+   * Instrumented method, results are recorded through a supplier so rows can be counted; void
+   * methods are recorded in a try block that rethrows their checked exceptions as they are
+   *
+   * @param method generated method, parameters must be final
+   * @return method with the same signature
+   */
+  public static MethodSpec instrument(final MethodSpec method) {
+    final MethodSpec.Builder instrumented = copySignature(method);
+    if (!TypeName.VOID.equals(method.returnType)) {
+      if (!method.exceptions.isEmpty()) {
+        throw new IllegalArgumentException(
+            "Method " + method.name + " declares checked exceptions, it cannot run as a supplier");
+      }
+      return instrumented
+          .addCode("return $N.record(() -> {\n$>", getFieldName(method.name))
+          .addCode(method.code)
+          .addCode("$<});\n")
+          .build();
+    }
+    return instrumented
+        .addStatement("final long start = System.nanoTime()")
+        .beginControlFlow("try")
+        .addCode(method.code)
+        .nextControlFlow("catch (final Throwable e)")
+        .addStatement("$N.record(System.nanoTime() - start, 0, true)", getFieldName(method.name))
+        .addStatement("throw e")
+        .endControlFlow()
+        .addStatement("$N.record(System.nanoTime() - start, 0, false)", getFieldName(method.name))
+        .build();
+  }
+
+  private static MethodSpec.Builder copySignature(final MethodSpec method) {
+    return MethodSpec.methodBuilder(method.name)
+        .addJavadoc(method.javadoc)
+        .addAnnotations(method.annotations)
+        .addModifiers(method.modifiers)
+        .addParameters(method.parameters)
+        .addExceptions(method.exceptions)
+        .returns(method.returnType);
+  }
+
+  /**
+   * Operation metrics field name
+   *
+   * @param methodName generated method name
+   * @return field name like GET_BY_ID_METRICS
+   */
+  public static String getFieldName(final String methodName) {
+    return methodName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase() + "_METRICS";
+  }
+}
@@ -1,26 +1,51 @@
 package dev.tools.annotationprocessor.core.writer.spring.layers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import dev.tools.annotationprocessor.core.annotations.CXCache;
+import dev.tools.annotationprocessor.core.annotations.CXResponseCache;
 import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.model.EntityModel;
 import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
 import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
 import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.batch.CXBulkResult;
+import dev.tools.annotationprocessor.db.cache.CXCacheStats;
+import dev.tools.annotationprocessor.db.cache.CXEntityVersions;
+import dev.tools.annotationprocessor.db.cache.CXVersionedResponseCache;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import dev.tools.annotationprocessor.db.pagination.CXPage;
+import java.util.ArrayList;
+import java.util.List;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * SpringControllerClassWriter Writes a Spring-like controller class, where the request will be
@@ -30,8 +55,31 @@ import org.springframework.web.bind.annotation.RestController;
  */
 public class SpringControllerClassWriter {
 
+  public static final String METRICS_LAYER = "controller";
+
   private final String fileSuffixPackageName = "controller";
+  private final boolean instrumented;
   private String lastLayerAttributeName = "service";
+  private ClassName metaClassName;
+
+  public static final String STREAM_PATH = "/_stream";
+  public static final String BULK_PATH = "/_bulk";
+  public static final String CACHE_PATH = "/_cache";
+  public static final String FILTER_PATH = "/_filter";
+  public static final String RESPONSE_CACHE = "responseCache";
+  private static final String PROJECTION = EntityMetaCreator.PROJECTION_FIELD_NAME;
+
+  private static final TypeName RESPONSE_BYTES =
+      ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), TypeName.get(byte[].class));
+
+  public SpringControllerClassWriter() {
+    this(true);
+  }
+
+  /** @param instrumented record latency, errors and rows of every data endpoint */
+  public SpringControllerClassWriter(final boolean instrumented) {
+    this.instrumented = instrumented;
+  }
 
   /**
    * Builder for controller class
@@ -51,12 +99,13 @@ public class SpringControllerClassWriter {
   }
 
   /**
-   * Create method for controller class
+   * Create method for controller class, 201 with the created instance (generated id included)
    *
    * @param clazz
    * @return create method
    */
   public MethodSpec buildCreateMethod(final TypeElement clazz) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
     return MethodSpec.methodBuilder("create")
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(
@@ -67,24 +116,160 @@ public class SpringControllerClassWriter {
                     ClassReflectionTool.getPathFromMainApiAnnotation(
                         clazz, CXSpringRestCrudApi.class))
                 .build())
+        .addParameter(
+            ParameterSpec.builder(entityType, "body", Modifier.FINAL)
+                .addAnnotation(RequestBody.class)
+                .build())
+        .addStatement("final $T instance = $N.create(body)", entityType, lastLayerAttributeName)
+        .beginControlFlow("if (instance == null)")
+        .addStatement("return $T.unprocessableEntity().build()", ResponseEntity.class)
+        .endControlFlow()
+        .addStatement(
+            "return $T.status($T.CREATED).body(instance)", ResponseEntity.class, HttpStatus.class)
+        .returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), entityType))
+        .build();
+  }
+
+  /**
+   * Bulk create method for controller class, receives a JSON array and reports a result per item
+   *
+   * @param clazz
+   * @return create all method
+   */
+  public MethodSpec buildCreateAllMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("createAll")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(
+            AnnotationSpec.builder(PostMapping.class)
+                .addMember(
+                    "path",
+                    "$S",
+                    ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class)
+                        + BULK_PATH)
+                .build())
         .addParameter(
             ParameterSpec.builder(
-                    NameGenerationTool.getTypeNameFromTypeElement(clazz), "body", Modifier.FINAL)
+                    NameGenerationTool.getTypeNameForTemplateList(clazz), "body", Modifier.FINAL)
                 .addAnnotation(RequestBody.class)
                 .build())
-        .addStatement("return $N.create(body)", lastLayerAttributeName)
-        .returns(boolean.class)
+        .addStatement("return $N.createAll(body)", lastLayerAttributeName)
+        .returns(CXBulkResult.class)
         .build();
   }
 
   /**
-   * Get method for controller class
+   * Get method for controller class, keyset paginated with ?after=<id>&limit=N
    *
    * @param clazz
    * @return get method
    */
   public MethodSpec buildGetMethod(final TypeElement clazz) {
-    return MethodSpec.methodBuilder("get")
+    final CXSpringRestCrudApi api = EntityModel.of(clazz).getApi();
+    final MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("get")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(GetMapping.class)
+                    .addMember(
+                        "path",
+                        "$S",
+                        ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class))
+                    .build())
+            .addParameter(
+                ParameterSpec.builder(
+                        NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+                    .addAnnotation(
+                        AnnotationSpec.builder(RequestParam.class)
+                            .addMember("value", "$S", "after")
+                            .addMember("required", "$L", false)
+                            .build())
+                    .build())
+            .addParameter(
+                ParameterSpec.builder(Integer.class, "limit", Modifier.FINAL)
+                    .addAnnotation(
+                        AnnotationSpec.builder(RequestParam.class)
+                            .addMember("value", "$S", "limit")
+                            .addMember("required", "$L", false)
+                            .build())
+                    .build());
+    if (isProjected(clazz)) {
+      addFieldsParameter(builder);
+    }
+    if (isResponseCached(clazz)) {
+      addResponseCacheHeaders(builder);
+    }
+    builder.addStatement(
+        "final int pageLimit = $T.resolveLimit(limit, $L, $L)",
+        CXPage.class,
+        api.defaultPageSize(),
+        api.maxPageSize());
+
+    if (isResponseCached(clazz) && isProjected(clazz)) {
+      return builder
+          .addStatement("final long mask = $T.$N.mask(fields)", metaClassName, PROJECTION)
+          .addStatement(
+              "return $N.get(\n"
+                  + "    \"page:\" + after + \":\" + pageLimit + \":\" + mask,\n"
+                  + "    ifNoneMatch,\n"
+                  + "    acceptEncoding,\n"
+                  + "    () ->\n"
+                  + "        fields == null\n"
+                  + "            ? $N.getPage(after, pageLimit)\n"
+                  + "            : $N.getPageProjected(after, pageLimit, mask))",
+              RESPONSE_CACHE,
+              lastLayerAttributeName,
+              lastLayerAttributeName)
+          .returns(RESPONSE_BYTES)
+          .build();
+    }
+    if (isResponseCached(clazz)) {
+      return builder
+          .addStatement(
+              "return $N.get(\n"
+                  + "    \"page:\" + after + \":\" + pageLimit,\n"
+                  + "    ifNoneMatch,\n"
+                  + "    acceptEncoding,\n"
+                  + "    () -> $N.getPage(after, pageLimit))",
+              RESPONSE_CACHE,
+              lastLayerAttributeName)
+          .returns(RESPONSE_BYTES)
+          .build();
+    }
+    if (isProjected(clazz)) {
+      return builder
+          .beginControlFlow("if (fields == null)")
+          .addStatement("return $N.getPage(after, pageLimit)", lastLayerAttributeName)
+          .endControlFlow()
+          .addStatement(
+              "return $N.getPageProjected(after, pageLimit, $T.$N.mask(fields))",
+              lastLayerAttributeName,
+              metaClassName,
+              PROJECTION)
+          .returns(
+              ParameterizedTypeName.get(
+                  ClassName.get(CXPage.class),
+                  WildcardTypeName.subtypeOf(Object.class),
+                  NameGenerationTool.getTypeNameForId(clazz).box()))
+          .build();
+    }
+    return builder
+        .addStatement("return $N.getPage(after, pageLimit)", lastLayerAttributeName)
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Filter method for controller class, every request parameter other than after and limit is a
+   * predicate like ?field=v, ?field.gte=v or ?field.in=a,b on a filterable column
+   *
+   * @param clazz
+   * @return filter method
+   */
+  public MethodSpec buildFilterMethod(final TypeElement clazz) {
+    final CXSpringRestCrudApi api = EntityModel.of(clazz).getApi();
+    return MethodSpec.methodBuilder("filter")
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(
             AnnotationSpec.builder(GetMapping.class)
@@ -92,10 +277,268 @@ public class SpringControllerClassWriter {
                     "path",
                     "$S",
                     ClassReflectionTool.getPathFromMainApiAnnotation(
-                        clazz, CXSpringRestCrudApi.class))
+                            clazz, CXSpringRestCrudApi.class)
+                        + FILTER_PATH)
                 .build())
-        .addStatement("return $N.get()", lastLayerAttributeName)
-        .returns(NameGenerationTool.getTypeNameForTemplateList(clazz))
+        .addParameter(
+            ParameterSpec.builder(
+                    ParameterizedTypeName.get(MultiValueMap.class, String.class, String.class),
+                    "params",
+                    Modifier.FINAL)
+                .addAnnotation(RequestParam.class)
+                .build())
+        .addParameter(
+            ParameterSpec.builder(
+                    NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+                .addAnnotation(
+                    AnnotationSpec.builder(RequestParam.class)
+                        .addMember("value", "$S", "after")
+                        .addMember("required", "$L", false)
+                        .build())
+                .build())
+        .addParameter(
+            ParameterSpec.builder(Integer.class, "limit", Modifier.FINAL)
+                .addAnnotation(
+                    AnnotationSpec.builder(RequestParam.class)
+                        .addMember("value", "$S", "limit")
+                        .addMember("required", "$L", false)
+                        .build())
+                .build())
+        .addStatement(
+            "return $N.filter(params, after, $T.resolveLimit(limit, $L, $L))",
+            lastLayerAttributeName,
+            CXPage.class,
+            api.defaultPageSize(),
+            api.maxPageSize())
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Get by id method for controller class, 404 when there is no row for the id
+   *
+   * @param clazz
+   * @return get by id method
+   */
+  public MethodSpec buildGetByIdMethod(final TypeElement clazz) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
+    final MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("getById")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(GetMapping.class)
+                    .addMember(
+                        "path",
+                        "$S",
+                        ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class, "id"))
+                    .build())
+            .addParameter(
+                ParameterSpec.builder(
+                        NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
+                    .addAnnotation(
+                        AnnotationSpec.builder(PathVariable.class)
+                            .addMember("value", "$S", "id")
+                            .build())
+                    .build());
+    if (isProjected(clazz)) {
+      addFieldsParameter(builder);
+    }
+    if (isResponseCached(clazz) && isProjected(clazz)) {
+      return addResponseCacheHeaders(builder)
+          .addStatement("final long mask = $T.$N.mask(fields)", metaClassName, PROJECTION)
+          .addStatement(
+              "return $N.get(\n"
+                  + "    \"id:\" + id + \":\" + mask,\n"
+                  + "    ifNoneMatch,\n"
+                  + "    acceptEncoding,\n"
+                  + "    () -> fields == null ? $N.getById(id) : $N.getByIdProjected(id, mask))",
+              RESPONSE_CACHE,
+              lastLayerAttributeName,
+              lastLayerAttributeName)
+          .returns(RESPONSE_BYTES)
+          .build();
+    }
+    if (isResponseCached(clazz)) {
+      return addResponseCacheHeaders(builder)
+          .addStatement(
+              "return $N.get($S + id, ifNoneMatch, acceptEncoding, () -> $N.getById(id))",
+              RESPONSE_CACHE,
+              "id:",
+              lastLayerAttributeName)
+          .returns(RESPONSE_BYTES)
+          .build();
+    }
+    if (isProjected(clazz)) {
+      return builder
+          .addStatement(
+              "final $T instance =\n"
+                  + "    fields == null\n"
+                  + "        ? $N.getById(id)\n"
+                  + "        : $N.getByIdProjected(id, $T.$N.mask(fields))",
+              Object.class,
+              lastLayerAttributeName,
+              lastLayerAttributeName,
+              metaClassName,
+              PROJECTION)
+          .beginControlFlow("if (instance == null)")
+          .addStatement("return $T.notFound().build()", ResponseEntity.class)
+          .endControlFlow()
+          .addStatement("return $T.ok(instance)", ResponseEntity.class)
+          .returns(
+              ParameterizedTypeName.get(
+                  ClassName.get(ResponseEntity.class), WildcardTypeName.subtypeOf(Object.class)))
+          .build();
+    }
+    return builder
+        .addStatement("final $T instance = $N.getById(id)", entityType, lastLayerAttributeName)
+        .beginControlFlow("if (instance == null)")
+        .addStatement("return $T.notFound().build()", ResponseEntity.class)
+        .endControlFlow()
+        .addStatement("return $T.ok(instance)", ResponseEntity.class)
+        .returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), entityType))
+        .build();
+  }
+
+  /**
+   * Add If-None-Match and Accept-Encoding header parameters used by {@link
+   * CXVersionedResponseCache}
+   *
+   * @param builder method builder
+   * @return method builder
+   */
+  private MethodSpec.Builder addResponseCacheHeaders(final MethodSpec.Builder builder) {
+    return builder
+        .addParameter(
+            ParameterSpec.builder(String.class, "ifNoneMatch", Modifier.FINAL)
+                .addAnnotation(
+                    AnnotationSpec.builder(RequestHeader.class)
+                        .addMember("value", "$T.IF_NONE_MATCH", HttpHeaders.class)
+                        .addMember("required", "$L", false)
+                        .build())
+                .build())
+        .addParameter(
+            ParameterSpec.builder(String.class, "acceptEncoding", Modifier.FINAL)
+                .addAnnotation(
+                    AnnotationSpec.builder(RequestHeader.class)
+                        .addMember("value", "$T.ACCEPT_ENCODING", HttpHeaders.class)
+                        .addMember("required", "$L", false)
+                        .build())
+                .build());
+  }
+
+  /**
+   * Response cache field, serialized read responses per query shape and entity version
+   *
+   * @param clazz
+   * @return response cache field
+   */
+  public FieldSpec buildResponseCacheField(final TypeElement clazz) {
+    final CXResponseCache responseCache =
+        EntityModel.of(clazz).getAnnotation(CXResponseCache.class);
+    return FieldSpec.builder(
+            CXVersionedResponseCache.class, RESPONSE_CACHE, Modifier.PRIVATE, Modifier.FINAL)
+        .initializer(
+            "new $T($T.of($T.class), $L, $L)",
+            CXVersionedResponseCache.class,
+            CXEntityVersions.class,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            responseCache.maxEntries(),
+            responseCache.gzip())
+        .build();
+  }
+
+  /**
+   * Object mapper setter, cached responses use the application object mapper when there is one
+   *
+   * @return object mapper setter
+   */
+  public MethodSpec buildSetObjectMapperMethod() {
+    return MethodSpec.methodBuilder("setObjectMapper")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(
+            AnnotationSpec.builder(Autowired.class).addMember("required", "$L", false).build())
+        .addParameter(ObjectMapper.class, "objectMapper", Modifier.FINAL)
+        .addStatement("$N.setObjectMapper(objectMapper)", RESPONSE_CACHE)
+        .build();
+  }
+
+  /**
+   * Add fields request parameter for sparse fieldsets, comma separated attribute names
+   *
+   * @param builder method builder
+   * @return method builder
+   */
+  private MethodSpec.Builder addFieldsParameter(final MethodSpec.Builder builder) {
+    return builder.addParameter(
+        ParameterSpec.builder(String.class, "fields", Modifier.FINAL)
+            .addAnnotation(
+                AnnotationSpec.builder(RequestParam.class)
+                    .addMember("value", "$S", "fields")
+                    .addMember("required", "$L", false)
+                    .build())
+            .build());
+  }
+
+  private boolean isProjected(final TypeElement clazz) {
+    return EntityMetaCreator.supportsProjection(clazz);
+  }
+
+  private boolean isResponseCached(final TypeElement clazz) {
+    return EntityModel.of(clazz).getAnnotation(CXResponseCache.class) != null;
+  }
+
+  /**
+   * Stream method for controller class, full table as a JSON array written while rows are read
+   *
+   * @param clazz
+   * @return stream method
+   */
+  public MethodSpec buildStreamMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("stream")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(
+            AnnotationSpec.builder(GetMapping.class)
+                .addMember(
+                    "path",
+                    "$S",
+                    ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class)
+                        + STREAM_PATH)
+                .addMember("produces", "$T.APPLICATION_JSON_VALUE", MediaType.class)
+                .build())
+        .addStatement(
+            "final $T body = $N::stream", StreamingResponseBody.class, lastLayerAttributeName)
+        .addStatement(
+            "return $T.ok().contentType($T.APPLICATION_JSON).body(body)",
+            ResponseEntity.class,
+            MediaType.class)
+        .returns(
+            ParameterizedTypeName.get(
+                ClassName.get(ResponseEntity.class), ClassName.get(StreamingResponseBody.class)))
+        .build();
+  }
+
+  /**
+   * Cache stats method for controller class, only generated for {@link CXCache} entities
+   *
+   * @param clazz
+   * @return cache stats method
+   */
+  public MethodSpec buildGetCacheStatsMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getCacheStats")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(
+            AnnotationSpec.builder(GetMapping.class)
+                .addMember(
+                    "path",
+                    "$S",
+                    ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class)
+                        + CACHE_PATH)
+                .build())
+        .addStatement("return $N.getCacheStats()", lastLayerAttributeName)
+        .returns(CXCacheStats.class)
         .build();
   }
 
@@ -133,6 +576,92 @@ public class SpringControllerClassWriter {
         .build();
   }
 
+  /**
+   * Upsert method for controller class, PUT without id in the path creates the instance or updates
+   * the row with its id, 400 when the body has no id
+   *
+   * @param clazz
+   * @return upsert method
+   */
+  public MethodSpec buildUpsertMethod(final TypeElement clazz) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
+    final MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("upsert")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(PutMapping.class)
+                    .addMember(
+                        "path",
+                        "$S",
+                        ClassReflectionTool.getPathFromMainApiAnnotation(
+                            clazz, CXSpringRestCrudApi.class))
+                    .build())
+            .addParameter(
+                ParameterSpec.builder(entityType, "body", Modifier.FINAL)
+                    .addAnnotation(RequestBody.class)
+                    .build());
+    if (!NameGenerationTool.getTypeNameForId(clazz).isPrimitive()) {
+      builder
+          .beginControlFlow("if (body.$N() == null)", getIdGetterName(clazz))
+          .addStatement("return $T.badRequest().build()", ResponseEntity.class)
+          .endControlFlow();
+    }
+    return builder
+        .beginControlFlow("if (!$N.upsert(body))", lastLayerAttributeName)
+        .addStatement("return $T.unprocessableEntity().build()", ResponseEntity.class)
+        .endControlFlow()
+        .addStatement("return $T.ok(body)", ResponseEntity.class)
+        .returns(ParameterizedTypeName.get(ClassName.get(ResponseEntity.class), entityType))
+        .build();
+  }
+
+  /**
+   * Bulk upsert method for controller class, receives a JSON array and reports a result per item,
+   * 400 when an item has no id
+   *
+   * @param clazz
+   * @return upsert all method
+   */
+  public MethodSpec buildUpsertAllMethod(final TypeElement clazz) {
+    final MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("upsertAll")
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(
+                AnnotationSpec.builder(PutMapping.class)
+                    .addMember(
+                        "path",
+                        "$S",
+                        ClassReflectionTool.getPathFromMainApiAnnotation(
+                                clazz, CXSpringRestCrudApi.class)
+                            + BULK_PATH)
+                    .build())
+            .addParameter(
+                ParameterSpec.builder(
+                        NameGenerationTool.getTypeNameForTemplateList(clazz),
+                        "body",
+                        Modifier.FINAL)
+                    .addAnnotation(RequestBody.class)
+                    .build());
+    if (!NameGenerationTool.getTypeNameForId(clazz).isPrimitive()) {
+      builder
+          .beginControlFlow(
+              "if (body.stream().anyMatch(item -> item.$N() == null))", getIdGetterName(clazz))
+          .addStatement("return $T.badRequest().build()", ResponseEntity.class)
+          .endControlFlow();
+    }
+    return builder
+        .addStatement(
+            "return $T.ok($N.upsertAll(body))", ResponseEntity.class, lastLayerAttributeName)
+        .returns(
+            ParameterizedTypeName.get(
+                ClassName.get(ResponseEntity.class), ClassName.get(CXBulkResult.class)))
+        .build();
+  }
+
+  private String getIdGetterName(final TypeElement clazz) {
+    return NameGenerationTool.getGetterName(ClassReflectionTool.getIdField(clazz));
+  }
+
   /**
    * Delete method for controller class
    *
@@ -151,10 +680,7 @@ public class SpringControllerClassWriter {
                         clazz, CXSpringRestCrudApi.class, "id"))
                 .build())
         .addParameter(
-            ParameterSpec.builder(
-                    NameGenerationTool.getTypeNameForId(clazz),
-                    ClassReflectionTool.getIdField(clazz).getSimpleName().toString(),
-                    Modifier.FINAL)
+            ParameterSpec.builder(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
                 .addAnnotation(
                     AnnotationSpec.builder(PathVariable.class)
                         .addMember("value", "$S", "id")
@@ -176,26 +702,56 @@ public class SpringControllerClassWriter {
   public JavaClassFile writeFile(
       TypeElement clazz, TypeName previousLayerClazz, final String targetPackage) {
     lastLayerAttributeName = NameGenerationTool.getSimpleNameForAttr(previousLayerClazz);
+    metaClassName = EntityMetaCreator.getMetaClassName(clazz, targetPackage);
     final String packageName = targetPackage + "." + fileSuffixPackageName;
-    final String className = String.format("%sController", clazz.getSimpleName());
-    final JavaFile javaFile =
-        JavaFile.builder(
-                targetPackage + "." + fileSuffixPackageName,
-                TypeSpec.classBuilder(className)
-                    .addModifiers(Modifier.PUBLIC)
-                    .addAnnotation(RestController.class)
-                    .addField(
-                        previousLayerClazz,
-                        lastLayerAttributeName,
-                        Modifier.FINAL,
-                        Modifier.PRIVATE)
-                    .addMethod(writeBuilder(previousLayerClazz))
-                    .addMethod(buildGetMethod(clazz))
-                    .addMethod(buildCreateMethod(clazz))
-                    .addMethod(buildDeleteMethod(clazz))
-                    .addMethod(buildUpdateMethod(clazz))
-                    .build())
-            .build();
+    final String className = String.format("%sController", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec.Builder typeSpecBuilder =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(RestController.class)
+            .addField(previousLayerClazz, lastLayerAttributeName, Modifier.FINAL, Modifier.PRIVATE);
+    if (isResponseCached(clazz)) {
+      typeSpecBuilder
+          .addField(buildResponseCacheField(clazz))
+          .addMethod(buildSetObjectMapperMethod());
+    }
+    typeSpecBuilder.addMethod(writeBuilder(previousLayerClazz));
+
+    final List<MethodSpec> dataMethods = new ArrayList<>();
+    dataMethods.add(buildGetMethod(clazz));
+    dataMethods.add(buildGetByIdMethod(clazz));
+    if (EntityMetaCreator.supportsFilter(clazz)) {
+      dataMethods.add(buildFilterMethod(clazz));
+    }
+    dataMethods.add(buildCreateMethod(clazz));
+    dataMethods.add(buildCreateAllMethod(clazz));
+    dataMethods.add(buildDeleteMethod(clazz));
+    dataMethods.add(buildUpdateMethod(clazz));
+    dataMethods.add(buildUpsertMethod(clazz));
+    dataMethods.add(buildUpsertAllMethod(clazz));
+    // async endpoints run the same body on the service executor, servlet threads are released
+    for (MethodSpec dataMethod : dataMethods) {
+      final MethodSpec method;
+      if (instrumented) {
+        typeSpecBuilder.addField(MetricsMethodWriter.buildField(clazz, METRICS_LAYER, dataMethod));
+        method = MetricsMethodWriter.instrument(dataMethod);
+      } else {
+        method = dataMethod;
+      }
+      typeSpecBuilder.addMethod(
+          EntityModel.of(clazz).getApi().async()
+              ? AsyncMethodWriter.wrap(
+                  method,
+                  CodeBlock.of(
+                      "$N.$N", lastLayerAttributeName, SpringServiceClassWriter.SUPPLY_ASYNC))
+              : method);
+    }
+    typeSpecBuilder.addMethod(buildStreamMethod(clazz));
+    if (EntityModel.of(clazz).getAnnotation(CXCache.class) != null) {
+      typeSpecBuilder.addMethod(buildGetCacheStatsMethod(clazz));
+    }
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpecBuilder.build()).build();
 
     return new JavaClassFile()
         .setJavaFile(javaFile)
@@ -1,20 +1,42 @@
 package dev.tools.annotationprocessor.core.writer.spring.layers;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.squareup.javapoet.*;
-import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
 import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
 import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
 import dev.tools.annotationprocessor.core.writer.JavaClassFile;
-import dev.tools.annotationprocessor.db.paramresolver.ParameterMapCreator;
+import dev.tools.annotationprocessor.db.batch.CXBatchUpdater;
+import dev.tools.annotationprocessor.db.batch.CXBulkResult;
+import dev.tools.annotationprocessor.db.filter.CXFilterQuery;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import dev.tools.annotationprocessor.db.pagination.CXPage;
+import dev.tools.annotationprocessor.db.projection.CXProjection;
+import dev.tools.annotationprocessor.db.rowmapping.RowMapperCreator;
+import dev.tools.annotationprocessor.db.sqlwriter.CXSqlDialect;
+import dev.tools.annotationprocessor.db.sqlwriter.IndexedSqlSentence;
 import dev.tools.annotationprocessor.db.sqlwriter.SqlReadSentenceGenerator;
 import dev.tools.annotationprocessor.db.sqlwriter.SqlWriteSentenceGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Spring Repository class writer
@@ -24,6 +46,21 @@ import org.springframework.stereotype.Repository;
 public class SpringRepositoryClassWriter {
 
   public static final String NAMED_PARAMETER_JDBC_TEMPLATE = "namedParameterJdbcTemplate";
+  public static final String JSON_FACTORY = "JSON_FACTORY";
+  public static final String TRANSACTION_TEMPLATE = "transactionTemplate";
+  public static final String METRICS_LAYER = "repository";
+  public static final String UPSERT_SENTENCE = "upsertSentence";
+
+  private final boolean instrumented;
+
+  public SpringRepositoryClassWriter() {
+    this(true);
+  }
+
+  /** @param instrumented record latency, errors and rows of every data method */
+  public SpringRepositoryClassWriter(final boolean instrumented) {
+    this.instrumented = instrumented;
+  }
 
   /**
    * Builder method for repository class
@@ -36,30 +73,127 @@ public class SpringRepositoryClassWriter {
         .addModifiers(Modifier.PUBLIC)
         .addParameter(NamedParameterJdbcTemplate.class, NAMED_PARAMETER_JDBC_TEMPLATE)
         .addStatement("this.$N = $N", NAMED_PARAMETER_JDBC_TEMPLATE, NAMED_PARAMETER_JDBC_TEMPLATE)
+        .addStatement(
+            "this.$N = $T.transactionTemplate($N)",
+            TRANSACTION_TEMPLATE,
+            CXBatchUpdater.class,
+            NAMED_PARAMETER_JDBC_TEMPLATE)
+        .build();
+  }
+
+  /**
+   * Creator method for repository class, generated ids are read back with a key holder and set on
+   * the instance
+   *
+   * @return create method, created instance or null when no row was inserted
+   */
+  public MethodSpec buildCreateMethod(
+      final TypeElement clazz, final ClassName parameterSourceClassName) {
+    final FieldModel idField = ClassReflectionTool.getIdField(clazz);
+    final MethodSpec.Builder builder =
+        MethodSpec.methodBuilder("create")
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(
+                NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
+            .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz));
+    if (!idField.isGeneratedId()) {
+      return builder
+          .addStatement(
+              "return namedParameterJdbcTemplate.update(\n"
+                  + "            $S,\n"
+                  + "            new $T(instance)\n"
+                  + "            ) > 0 ? instance : null",
+              SqlWriteSentenceGenerator.writeInsertSentence(clazz),
+              parameterSourceClassName)
+          .build();
+    }
+    return builder
+        .addStatement("final $T keyHolder = new $T()", KeyHolder.class, GeneratedKeyHolder.class)
+        .beginControlFlow(
+            "if (namedParameterJdbcTemplate.update(\n"
+                + "    $S,\n"
+                + "    new $T(instance),\n"
+                + "    keyHolder,\n"
+                + "    new String[] {$S}) == 0)",
+            SqlWriteSentenceGenerator.writeInsertSentence(clazz),
+            parameterSourceClassName,
+            idField.getColumnName())
+        .addStatement("return null")
+        .endControlFlow()
+        .addStatement(
+            "instance.$N($L)",
+            NameGenerationTool.getSetterName(idField),
+            convertKey(idField, "keyHolder.getKey()"))
+        .addStatement("return instance")
         .build();
   }
 
   /**
-   * Creator method for repository class
+   * Bulk creator method for repository class, inserts are sent with JDBC batchUpdate in chunks of
+   * bulkChunkSize inside one transaction, generated ids are set on the instances when the driver
+   * returns generated keys
    *
-   * @return create method
+   * @return create all method
    */
-  public MethodSpec buildCreateMethod(final TypeElement clazz) {
-    return MethodSpec.methodBuilder("create")
+  public MethodSpec buildCreateAllMethod(
+      final TypeElement clazz, final ClassName parameterSourceClassName) {
+    final FieldModel idField = ClassReflectionTool.getIdField(clazz);
+    final CodeBlock keyArguments =
+        idField.isGeneratedId()
+            ? CodeBlock.of(
+                ",\n                $S,\n                (instance, key) -> instance.$N($L)",
+                idField.getColumnName(),
+                NameGenerationTool.getSetterName(idField),
+                convertKey(idField, "key"))
+            : CodeBlock.of("");
+    return MethodSpec.methodBuilder("createAll")
         .addModifiers(Modifier.PUBLIC)
         .addParameter(
-            NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
+            NameGenerationTool.getTypeNameForTemplateList(clazz), "instances", Modifier.FINAL)
         .addStatement(
-            "return namedParameterJdbcTemplate.update(\n"
-                + "            $S,\n"
-                + "            $T.buildParamsMap(instance)\n"
-                + "            ) > 0",
+            "return $N.execute(\n"
+                + "    status ->\n"
+                + "        $T.of(\n"
+                + "            $T.batchUpdate(\n"
+                + "                namedParameterJdbcTemplate,\n"
+                + "                $S,\n"
+                + "                instances,\n"
+                + "                $L,\n"
+                + "                $T::new$L),\n"
+                + "            instances,\n"
+                + "            $T::$N))",
+            TRANSACTION_TEMPLATE,
+            CXBulkResult.class,
+            CXBatchUpdater.class,
             SqlWriteSentenceGenerator.writeInsertSentence(clazz),
-            ParameterMapCreator.class)
-        .returns(boolean.class)
+            EntityModel.of(clazz).getApi().bulkChunkSize(),
+            parameterSourceClassName,
+            keyArguments,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            NameGenerationTool.getGetterName(idField))
+        .returns(CXBulkResult.class)
         .build();
   }
 
+  /**
+   * Convert generated key (a Number) to the id field type
+   *
+   * @param idField id field element
+   * @param key expression for the key
+   * @return conversion expression
+   */
+  private CodeBlock convertKey(final FieldModel idField, final String key) {
+    final TypeName idType = idField.getTypeName();
+    final TypeName primitiveType = idType.isBoxedPrimitive() ? idType.unbox() : idType;
+    if (primitiveType.isPrimitive()) {
+      return CodeBlock.of("$L.$NValue()", key, primitiveType.toString());
+    }
+    if (idType.equals(ClassName.get(String.class))) {
+      return CodeBlock.of("$L.toString()", key);
+    }
+    return CodeBlock.of("($T) $L", idType, key);
+  }
+
   /**
    * Get method for repository class
    *
@@ -77,12 +211,306 @@ public class SpringRepositoryClassWriter {
         .build();
   }
 
+  /**
+   * Get by id method for repository class
+   *
+   * @return get by id method, null when there is no row for the id
+   */
+  public MethodSpec buildGetByIdMethod(final TypeElement clazz, final ClassName mapperClassName) {
+    return MethodSpec.methodBuilder("getById")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            ParameterSpec.builder(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
+                .build())
+        .addStatement(
+            "final $T items =\n"
+                + "    namedParameterJdbcTemplate.query(\n"
+                + "        $S,\n"
+                + "        new $T($S, id),\n"
+                + "        new $T())",
+            NameGenerationTool.getTypeNameForTemplateList(clazz),
+            SqlReadSentenceGenerator.writeSelectSentenceById(clazz),
+            MapSqlParameterSource.class,
+            EntityModel.of(clazz).getIdColumnName(),
+            mapperClassName)
+        .addStatement("return items.isEmpty() ? null : items.get(0)")
+        .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
+        .build();
+  }
+
+  /**
+   * Keyset page method for repository class, first page when after is null
+   *
+   * @return get page method
+   */
+  public MethodSpec buildGetPageMethod(final TypeElement clazz, final ClassName mapperClassName) {
+    return MethodSpec.methodBuilder("getPage")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addCode(
+            buildStatementMetrics(
+                "getPage",
+                CodeBlock.of(
+                    "after == null ? $S : $S",
+                    SqlReadSentenceGenerator.writeSelectPageSentence(clazz, false),
+                    SqlReadSentenceGenerator.writeSelectPageSentence(clazz, true)),
+                CodeBlock.of("after == null ? 1 : 2")))
+        .addStatement(
+            "final $T items =\n"
+                + "    after == null\n"
+                + "        ? namedParameterJdbcTemplate.query(\n"
+                + "            $S,\n"
+                + "            new $T($S, limit),\n"
+                + "            new $T())\n"
+                + "        : namedParameterJdbcTemplate.query(\n"
+                + "            $S,\n"
+                + "            new $T($S, after).addValue($S, limit),\n"
+                + "            new $T())",
+            NameGenerationTool.getTypeNameForTemplateList(clazz),
+            SqlReadSentenceGenerator.writeSelectPageSentence(clazz, false),
+            MapSqlParameterSource.class,
+            "limit",
+            mapperClassName,
+            SqlReadSentenceGenerator.writeSelectPageSentence(clazz, true),
+            MapSqlParameterSource.class,
+            "after",
+            "limit",
+            mapperClassName)
+        .addStatement(
+            "return $T.of(items, limit, $T::$N)",
+            CXPage.class,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            NameGenerationTool.getGetterName(ClassReflectionTool.getIdField(clazz)))
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Projected keyset page method for repository class, only columns in the mask are selected and
+   * read by the generated partial row mapper
+   *
+   * @return get page projected method
+   */
+  public MethodSpec buildGetPageProjectedMethod(
+      final TypeElement clazz, final ClassName mapperClassName, final ClassName metaClassName) {
+    return MethodSpec.methodBuilder("getPageProjected")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addParameter(long.class, "mask", Modifier.FINAL)
+        .addCode(
+            buildStatementMetrics(
+                "getPageProjected",
+                CodeBlock.of(
+                    "$T.$N.sql(mask, after == null ? $T.PAGE : $T.PAGE_AFTER)",
+                    metaClassName,
+                    EntityMetaCreator.PROJECTION_FIELD_NAME,
+                    CXProjection.class,
+                    CXProjection.class),
+                CodeBlock.of("after == null ? 1 : 2")))
+        .addStatement(
+            "final $T<$T> items =\n"
+                + "    after == null\n"
+                + "        ? namedParameterJdbcTemplate.query(\n"
+                + "            $T.$N.sql(mask, $T.PAGE),\n"
+                + "            new $T($S, limit),\n"
+                + "            (rs, rowNum) -> $T.$N(rs, mask))\n"
+                + "        : namedParameterJdbcTemplate.query(\n"
+                + "            $T.$N.sql(mask, $T.PAGE_AFTER),\n"
+                + "            new $T($S, after).addValue($S, limit),\n"
+                + "            (rs, rowNum) -> $T.$N(rs, mask))",
+            List.class,
+            NameGenerationTool.getTypeNameForProjectedRow(),
+            metaClassName,
+            EntityMetaCreator.PROJECTION_FIELD_NAME,
+            CXProjection.class,
+            MapSqlParameterSource.class,
+            "limit",
+            mapperClassName,
+            RowMapperCreator.MAP_PROJECTED_METHOD,
+            metaClassName,
+            EntityMetaCreator.PROJECTION_FIELD_NAME,
+            CXProjection.class,
+            MapSqlParameterSource.class,
+            "after",
+            "limit",
+            mapperClassName,
+            RowMapperCreator.MAP_PROJECTED_METHOD)
+        .addStatement(
+            "return $T.of(items, limit, row -> ($T) row.get($S))",
+            CXPage.class,
+            NameGenerationTool.getTypeNameForId(clazz).box(),
+            ClassReflectionTool.getIdField(clazz).getSimpleName().toString())
+        .returns(NameGenerationTool.getTypeNameForProjectedPage(clazz))
+        .build();
+  }
+
+  /**
+   * Projected get by id method for repository class
+   *
+   * @return get by id projected method, null when there is no row for the id
+   */
+  public MethodSpec buildGetByIdProjectedMethod(
+      final TypeElement clazz, final ClassName mapperClassName, final ClassName metaClassName) {
+    return MethodSpec.methodBuilder("getByIdProjected")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
+        .addParameter(long.class, "mask", Modifier.FINAL)
+        .addCode(
+            buildStatementMetrics(
+                "getByIdProjected",
+                CodeBlock.of(
+                    "$T.$N.sql(mask, $T.BY_ID)",
+                    metaClassName,
+                    EntityMetaCreator.PROJECTION_FIELD_NAME,
+                    CXProjection.class),
+                CodeBlock.of("1")))
+        .addStatement(
+            "final $T<$T> items =\n"
+                + "    namedParameterJdbcTemplate.query(\n"
+                + "        $T.$N.sql(mask, $T.BY_ID),\n"
+                + "        new $T($S, id),\n"
+                + "        (rs, rowNum) -> $T.$N(rs, mask))",
+            List.class,
+            NameGenerationTool.getTypeNameForProjectedRow(),
+            metaClassName,
+            EntityMetaCreator.PROJECTION_FIELD_NAME,
+            CXProjection.class,
+            MapSqlParameterSource.class,
+            EntityModel.of(clazz).getIdColumnName(),
+            mapperClassName,
+            RowMapperCreator.MAP_PROJECTED_METHOD)
+        .addStatement("return items.isEmpty() ? null : items.get(0)")
+        .returns(NameGenerationTool.getTypeNameForProjectedRow())
+        .build();
+  }
+
+  /**
+   * Filter method for repository class, the where clause is composed by the entity meta filter from
+   * vetted column fragments and every value is bound as a parameter. Request parameters are
+   * validated before the query runs, so invalid filters are not recorded as failed statements
+   *
+   * @return filter method
+   */
+  public MethodSpec buildFilterMethod(final TypeElement clazz, final ClassName metaClassName) {
+    return MethodSpec.methodBuilder("filter")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForFilterParameters(), "params", Modifier.FINAL)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addStatement(
+            "return filter($T.$N.query(params, after, limit), limit)",
+            metaClassName,
+            EntityMetaCreator.FILTER_FIELD_NAME)
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Filter query method for repository class, runs a statement composed by the entity meta filter
+   *
+   * @return filter query method
+   */
+  public MethodSpec buildFilterQueryMethod(
+      final TypeElement clazz, final ClassName mapperClassName) {
+    return MethodSpec.methodBuilder("filter")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(CXFilterQuery.class, "query", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addCode(
+            buildStatementMetrics(
+                "filter",
+                CodeBlock.of("query.getSql()"),
+                CodeBlock.of("query.getParameters().getValues().size()")))
+        .addStatement(
+            "final $T items =\n"
+                + "    namedParameterJdbcTemplate.query(\n"
+                + "        query.getSql(), query.getParameters(), new $T())",
+            NameGenerationTool.getTypeNameForTemplateList(clazz),
+            mapperClassName)
+        .addStatement(
+            "return $T.of(items, limit, $T::$N)",
+            CXPage.class,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            NameGenerationTool.getGetterName(ClassReflectionTool.getIdField(clazz)))
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Statement of the current call for methods whose SQL is chosen or built per call, so slow query
+   * entries show the executed SQL
+   *
+   * @param methodName generated method name
+   * @param sql statement expression
+   * @param bindCount bind count expression
+   * @return statement call, empty when the repository is not instrumented
+   */
+  private CodeBlock buildStatementMetrics(
+      final String methodName, final CodeBlock sql, final CodeBlock bindCount) {
+    if (!instrumented) return CodeBlock.of("");
+    return CodeBlock.builder()
+        .addStatement(
+            "$N.statement($L, $L)", MetricsMethodWriter.getFieldName(methodName), sql, bindCount)
+        .build();
+  }
+
+  /**
+   * Stream method for repository class, rows are written as a JSON array to the output stream while
+   * they are read from a forward-only cursor, no entity list is kept in memory
+   *
+   * @return stream method
+   */
+  public MethodSpec buildStreamMethod(final TypeElement clazz, final ClassName mapperClassName) {
+    return MethodSpec.methodBuilder("stream")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(OutputStream.class, "outputStream", Modifier.FINAL)
+        .addException(IOException.class)
+        .beginControlFlow(
+            "try ($T json = $N.createGenerator(outputStream))", JsonGenerator.class, JSON_FACTORY)
+        .addStatement("json.writeStartArray()")
+        .addStatement(
+            "namedParameterJdbcTemplate\n"
+                + "    .getJdbcOperations()\n"
+                + "    .query(\n"
+                + "        connection -> {\n"
+                + "          final $T statement =\n"
+                + "              connection.prepareStatement(\n"
+                + "                  $S, $T.TYPE_FORWARD_ONLY, $T.CONCUR_READ_ONLY);\n"
+                + "          statement.setFetchSize($L);\n"
+                + "          return statement;\n"
+                + "        },\n"
+                + "        ($T)\n"
+                + "            rs -> {\n"
+                + "              try {\n"
+                + "                $T.$N(rs, json);\n"
+                + "              } catch ($T e) {\n"
+                + "                throw new $T(e);\n"
+                + "              }\n"
+                + "            })",
+            PreparedStatement.class,
+            SqlReadSentenceGenerator.writeSelectSentence(clazz),
+            ResultSet.class,
+            ResultSet.class,
+            EntityModel.of(clazz).getApi().streamFetchSize(),
+            RowCallbackHandler.class,
+            mapperClassName,
+            RowMapperCreator.WRITE_JSON_METHOD,
+            IOException.class,
+            UncheckedIOException.class)
+        .addStatement("json.writeEndArray()")
+        .endControlFlow()
+        .build();
+  }
+
   /**
    * Update method for repository class
    *
    * @return update method
    */
-  public MethodSpec buildUpdateMethod(final TypeElement clazz) {
+  public MethodSpec buildUpdateMethod(
+      final TypeElement clazz, final ClassName parameterSourceClassName) {
     return MethodSpec.methodBuilder("update")
         .addModifiers(Modifier.PUBLIC)
         .addParameter(
@@ -93,15 +521,106 @@ public class SpringRepositoryClassWriter {
         .addStatement(
             "return namedParameterJdbcTemplate.update(\n"
                 + "            $S,\n"
-                + "            $T.buildParamsMap(instance).addValue($S, id)\n"
+                + "            new $T(instance, id)\n"
                 + "            ) > 0",
             SqlWriteSentenceGenerator.writeUpdateSentence(clazz),
-            ParameterMapCreator.class,
-            ClassReflectionTool.getIdField(clazz).getAnnotation(CXColumn.class).name())
+            parameterSourceClassName)
         .returns(boolean.class)
         .build();
   }
 
+  /**
+   * Upsert method for repository class, inserts the instance or updates the row with its id in one
+   * statement
+   *
+   * @return upsert method
+   */
+  public MethodSpec buildUpsertMethod(
+      final TypeElement clazz, final ClassName parameterSourceClassName) {
+    return MethodSpec.methodBuilder("upsert")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
+        .addStatement("final String sql = $N()", UPSERT_SENTENCE)
+        .addCode(buildStatementMetrics("upsert", CodeBlock.of("sql"), getUpsertBindCount(clazz)))
+        .addStatement(
+            "return namedParameterJdbcTemplate.update(sql, new $T(instance)) > 0",
+            parameterSourceClassName)
+        .returns(boolean.class)
+        .build();
+  }
+
+  /**
+   * Bulk upsert method for repository class, upserts are sent with JDBC batchUpdate in chunks of
+   * bulkChunkSize inside one transaction
+   *
+   * @return upsert all method
+   */
+  public MethodSpec buildUpsertAllMethod(
+      final TypeElement clazz, final ClassName parameterSourceClassName) {
+    return MethodSpec.methodBuilder("upsertAll")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameForTemplateList(clazz), "instances", Modifier.FINAL)
+        .addStatement("final String sql = $N()", UPSERT_SENTENCE)
+        .addCode(buildStatementMetrics("upsertAll", CodeBlock.of("sql"), getUpsertBindCount(clazz)))
+        .addStatement(
+            "return $N.execute(\n"
+                + "    status ->\n"
+                + "        $T.of(\n"
+                + "            $T.batchUpdate(\n"
+                + "                namedParameterJdbcTemplate, sql, instances, $L, $T::new),\n"
+                + "            instances,\n"
+                + "            $T::$N))",
+            TRANSACTION_TEMPLATE,
+            CXBulkResult.class,
+            CXBatchUpdater.class,
+            EntityModel.of(clazz).getApi().bulkChunkSize(),
+            parameterSourceClassName,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz),
+            NameGenerationTool.getGetterName(ClassReflectionTool.getIdField(clazz)))
+        .returns(CXBulkResult.class)
+        .build();
+  }
+
+  /**
+   * Upsert sentence of the database dialect, resolved from the driver on first use
+   *
+   * @return upsert sentence method
+   */
+  public MethodSpec buildUpsertSentenceMethod(final TypeElement clazz) {
+    final CodeBlock.Builder cases = CodeBlock.builder();
+    for (CXSqlDialect dialect : CXSqlDialect.values()) {
+      cases
+          .add(dialect == CXSqlDialect.STANDARD ? "default:\n" : "case $N:\n", dialect.name())
+          .indent()
+          .addStatement("sql = $S", SqlWriteSentenceGenerator.writeUpsertSentence(clazz, dialect))
+          .addStatement("break")
+          .unindent();
+    }
+    return MethodSpec.methodBuilder(UPSERT_SENTENCE)
+        .addModifiers(Modifier.PRIVATE)
+        .addStatement("String sql = $N", UPSERT_SENTENCE)
+        .beginControlFlow("if (sql == null)")
+        .beginControlFlow("switch ($T.of(namedParameterJdbcTemplate))", CXSqlDialect.class)
+        .addCode(cases.build())
+        .endControlFlow()
+        .addStatement("$N = sql", UPSERT_SENTENCE)
+        .endControlFlow()
+        .addStatement("return sql")
+        .returns(String.class)
+        .build();
+  }
+
+  private CodeBlock getUpsertBindCount(final TypeElement clazz) {
+    return CodeBlock.of(
+        "$L",
+        IndexedSqlSentence.of(
+                SqlWriteSentenceGenerator.writeUpsertSentence(clazz, CXSqlDialect.STANDARD))
+            .getParameterNames()
+            .size());
+  }
+
   /**
    * Delete method for repository class
    *
@@ -120,11 +639,46 @@ public class SpringRepositoryClassWriter {
                 + "            ) > 0",
             SqlWriteSentenceGenerator.writeDeleteSentence(clazz),
             MapSqlParameterSource.class,
-            ClassReflectionTool.getIdField(clazz).getAnnotation(CXColumn.class).name())
+            EntityModel.of(clazz).getIdColumnName())
         .returns(boolean.class)
         .build();
   }
 
+  /**
+   * Statement of a generated method for the slow query log, methods choosing their statement per
+   * call report the executed one
+   *
+   * @param clazz CXEntity annotated class
+   * @param methodName generated method name
+   * @return named parameter statement or template
+   */
+  private String getStatement(final TypeElement clazz, final String methodName) {
+    switch (methodName) {
+      case "get":
+      case "stream":
+        return SqlReadSentenceGenerator.writeSelectSentence(clazz);
+      case "getById":
+      case "getByIdProjected":
+        return SqlReadSentenceGenerator.writeSelectSentenceById(clazz);
+      case "getPage":
+      case "getPageProjected":
+      case "filter":
+        return SqlReadSentenceGenerator.writeSelectPageSentence(clazz, false);
+      case "create":
+      case "createAll":
+        return SqlWriteSentenceGenerator.writeInsertSentence(clazz);
+      case "update":
+        return SqlWriteSentenceGenerator.writeUpdateSentence(clazz);
+      case "upsert":
+      case "upsertAll":
+        return SqlWriteSentenceGenerator.writeUpsertSentence(clazz, CXSqlDialect.STANDARD);
+      case "delete":
+        return SqlWriteSentenceGenerator.writeDeleteSentence(clazz);
+      default:
+        throw new IllegalStateException("No statement for repository method " + methodName);
+    }
+  }
+
   /**
    * Write repository layer class
    *
@@ -132,37 +686,84 @@ public class SpringRepositoryClassWriter {
    * @param targetPackage package where entity is located
    * @param mapperPackageName mapper package name
    * @param mapperClassName mapper class name
+   * @param parameterSourcePackageName parameter source package name
+   * @param parameterSourceClassName parameter source class name
    * @return JavaClassFile for repository generated class
    */
   public JavaClassFile writeFile(
       TypeElement clazz,
       final String targetPackage,
       final String mapperPackageName,
-      final String mapperClassName) {
+      final String mapperClassName,
+      final String parameterSourcePackageName,
+      final String parameterSourceClassName) {
+    final ClassName parameterSourceClass =
+        ClassReflectionTool.getClassNameFromClassName(
+            parameterSourcePackageName, parameterSourceClassName);
+    final ClassName mapperClass =
+        ClassReflectionTool.getClassNameFromClassName(mapperPackageName, mapperClassName);
+    final ClassName metaClass = EntityMetaCreator.getMetaClassName(clazz, targetPackage);
     final String packageName = targetPackage + ".repository";
-    final String className = String.format("%sRepository", clazz.getSimpleName());
-    final JavaFile javaFile =
-        JavaFile.builder(
-                packageName,
-                TypeSpec.classBuilder(className)
-                    .addModifiers(Modifier.PUBLIC)
-                    .addAnnotation(Repository.class)
-                    .addField(
-                        NamedParameterJdbcTemplate.class,
-                        NAMED_PARAMETER_JDBC_TEMPLATE,
-                        Modifier.FINAL,
-                        Modifier.PRIVATE)
-                    .addMethod(writeBuilder())
-                    .addMethod(
-                        buildGetMethod(
-                            clazz,
-                            ClassReflectionTool.getClassNameFromClassName(
-                                mapperPackageName, mapperClassName)))
-                    .addMethod(buildCreateMethod(clazz))
-                    .addMethod(buildDeleteMethod(clazz))
-                    .addMethod(buildUpdateMethod(clazz))
+    final String className = String.format("%sRepository", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec.Builder typeSpecBuilder =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(Repository.class)
+            .addField(
+                NamedParameterJdbcTemplate.class,
+                NAMED_PARAMETER_JDBC_TEMPLATE,
+                Modifier.FINAL,
+                Modifier.PRIVATE)
+            .addField(
+                TransactionTemplate.class, TRANSACTION_TEMPLATE, Modifier.FINAL, Modifier.PRIVATE)
+            .addField(String.class, UPSERT_SENTENCE, Modifier.PRIVATE, Modifier.VOLATILE)
+            .addField(
+                FieldSpec.builder(
+                        JsonFactory.class,
+                        JSON_FACTORY,
+                        Modifier.PRIVATE,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                    .initializer(
+                        "new $T().disable($T.Feature.AUTO_CLOSE_TARGET)",
+                        JsonFactory.class,
+                        JsonGenerator.class)
                     .build())
-            .build();
+            .addMethod(writeBuilder())
+            .addMethod(buildUpsertSentenceMethod(clazz));
+
+    final List<MethodSpec> dataMethods = new ArrayList<>();
+    dataMethods.add(buildGetMethod(clazz, mapperClass));
+    dataMethods.add(buildGetByIdMethod(clazz, mapperClass));
+    dataMethods.add(buildGetPageMethod(clazz, mapperClass));
+    if (EntityMetaCreator.supportsProjection(clazz)) {
+      dataMethods.add(buildGetPageProjectedMethod(clazz, mapperClass, metaClass));
+      dataMethods.add(buildGetByIdProjectedMethod(clazz, mapperClass, metaClass));
+    }
+    if (EntityMetaCreator.supportsFilter(clazz)) {
+      typeSpecBuilder.addMethod(buildFilterMethod(clazz, metaClass));
+      dataMethods.add(buildFilterQueryMethod(clazz, mapperClass));
+    }
+    dataMethods.add(buildStreamMethod(clazz, mapperClass));
+    dataMethods.add(buildCreateMethod(clazz, parameterSourceClass));
+    dataMethods.add(buildCreateAllMethod(clazz, parameterSourceClass));
+    dataMethods.add(buildDeleteMethod(clazz));
+    dataMethods.add(buildUpdateMethod(clazz, parameterSourceClass));
+    dataMethods.add(buildUpsertMethod(clazz, parameterSourceClass));
+    dataMethods.add(buildUpsertAllMethod(clazz, parameterSourceClass));
+    for (MethodSpec method : dataMethods) {
+      if (instrumented) {
+        typeSpecBuilder
+            .addField(
+                MetricsMethodWriter.buildField(
+                    clazz, METRICS_LAYER, method, getStatement(clazz, method.name)))
+            .addMethod(MetricsMethodWriter.instrument(method));
+      } else {
+        typeSpecBuilder.addMethod(method);
+      }
+    }
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpecBuilder.build()).build();
 
     return new JavaClassFile()
         .setJavaFile(javaFile)
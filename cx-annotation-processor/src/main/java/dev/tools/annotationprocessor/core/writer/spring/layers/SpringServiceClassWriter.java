@@ -1,14 +1,37 @@
 package dev.tools.annotationprocessor.core.writer.spring.layers;
 
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import dev.tools.annotationprocessor.core.annotations.CXCache;
+import dev.tools.annotationprocessor.core.annotations.CXResponseCache;
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
 import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
 import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.batch.CXBulkResult;
+import dev.tools.annotationprocessor.db.cache.CXCacheStats;
+import dev.tools.annotationprocessor.db.cache.CXEntityCache;
+import dev.tools.annotationprocessor.db.cache.CXEntityVersions;
+import dev.tools.annotationprocessor.db.executer.CXAsyncExecutor;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +44,11 @@ public class SpringServiceClassWriter {
 
   private String lastLayerAttributeName = "repository";
 
+  public static final String CACHE = "cache";
+  public static final String VERSION = "VERSION";
+  public static final String EXECUTOR = "executor";
+  public static final String SUPPLY_ASYNC = "supplyAsync";
+
   /**
    * Builder method
    *
@@ -40,15 +68,31 @@ public class SpringServiceClassWriter {
    * Creator method
    *
    * @param clazz CXEntity annotated class
-   * @return create method for service class
+   * @return create method for service class, returns the created instance with its id
    */
   public MethodSpec buildCreateMethod(final TypeElement clazz) {
     return MethodSpec.methodBuilder("create")
         .addModifiers(Modifier.PUBLIC)
         .addParameter(
             NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
-        .addStatement("return $N.create(instance)", lastLayerAttributeName)
-        .returns(boolean.class)
+        .addCode(buildWriteCode(clazz, "create(instance)", false))
+        .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
+        .build();
+  }
+
+  /**
+   * Bulk creator method
+   *
+   * @param clazz CXEntity annotated class
+   * @return create all method for service class
+   */
+  public MethodSpec buildCreateAllMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("createAll")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameForTemplateList(clazz), "instances", Modifier.FINAL)
+        .addCode(buildWriteCode(clazz, "createAll(instances)", false))
+        .returns(CXBulkResult.class)
         .build();
   }
 
@@ -66,6 +110,265 @@ public class SpringServiceClassWriter {
         .build();
   }
 
+  /**
+   * Get by id method
+   *
+   * @param clazz CXEntity annotated class
+   * @return get by id method for service class
+   */
+  public MethodSpec buildGetByIdMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getById")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
+        .addCode(
+            isCached(clazz)
+                ? CodeBlock.of("return $N.get(id, $N::getById);\n", CACHE, lastLayerAttributeName)
+                : CodeBlock.of("return $N.getById(id);\n", lastLayerAttributeName))
+        .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
+        .build();
+  }
+
+  /**
+   * Cache stats method, only generated for {@link CXCache} entities
+   *
+   * @param clazz CXEntity annotated class
+   * @return cache stats method for service class
+   */
+  public MethodSpec buildGetCacheStatsMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getCacheStats")
+        .addModifiers(Modifier.PUBLIC)
+        .addStatement("return $N.stats()", CACHE)
+        .returns(CXCacheStats.class)
+        .build();
+  }
+
+  /**
+   * Cache field, bounded LRU/TTL cache keyed by id
+   *
+   * @param clazz CXEntity annotated class
+   * @return cache field for service class
+   */
+  public FieldSpec buildCacheField(final TypeElement clazz) {
+    final CXCache cache = EntityModel.of(clazz).getAnnotation(CXCache.class);
+    return FieldSpec.builder(
+            ParameterizedTypeName.get(
+                ClassName.get(CXEntityCache.class),
+                NameGenerationTool.getTypeNameForId(clazz).box(),
+                NameGenerationTool.getTypeNameFromTypeElement(clazz)),
+            CACHE,
+            Modifier.PRIVATE,
+            Modifier.FINAL)
+        .initializer(
+            "new $T<>($L, $LL, $T.$N)",
+            CXEntityCache.class,
+            cache.maxEntries(),
+            cache.ttl(),
+            TimeUnit.class,
+            cache.ttlUnit().name())
+        .build();
+  }
+
+  /**
+   * Version field, bumped by every write so cached responses ({@link CXResponseCache}) are rebuilt
+   *
+   * @param clazz CXEntity annotated class
+   * @return version field for service class
+   */
+  public FieldSpec buildVersionField(final TypeElement clazz) {
+    return FieldSpec.builder(
+            AtomicLong.class, VERSION, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(
+            "$T.of($T.class)",
+            CXEntityVersions.class,
+            NameGenerationTool.getTypeNameFromTypeElement(clazz))
+        .build();
+  }
+
+  /**
+   * Write method body, delegates to repository and then invalidates the cached id and bumps the
+   * entity version when the entity uses them (also when the write fails)
+   *
+   * @param clazz CXEntity annotated class
+   * @param call repository call
+   * @param invalidatesId true when the call changes an existing id
+   * @return write method body
+   */
+  private CodeBlock buildWriteCode(
+      final TypeElement clazz, final String call, final boolean invalidatesId) {
+    return buildWriteCode(
+        clazz, call, invalidatesId ? CodeBlock.of("$N.invalidate(id)", CACHE) : null);
+  }
+
+  /**
+   * Write method body, delegates to repository and then runs the cache invalidation and bumps the
+   * entity version when the entity uses them (also when the write fails)
+   *
+   * @param clazz CXEntity annotated class
+   * @param call repository call
+   * @param invalidation cache invalidation statement, null when the call changes no existing id
+   * @return write method body
+   */
+  private CodeBlock buildWriteCode(
+      final TypeElement clazz, final String call, final CodeBlock invalidation) {
+    final boolean invalidate = invalidation != null && isCached(clazz);
+    if (!invalidate && !isVersioned(clazz)) {
+      return CodeBlock.of("return $N.$L;\n", lastLayerAttributeName, call);
+    }
+    final CodeBlock.Builder body =
+        CodeBlock.builder()
+            .beginControlFlow("try")
+            .addStatement("return $N.$L", lastLayerAttributeName, call)
+            .nextControlFlow("finally");
+    if (invalidate) {
+      body.addStatement("$L", invalidation);
+    }
+    if (isVersioned(clazz)) {
+      body.addStatement("$N.incrementAndGet()", VERSION);
+    }
+    return body.endControlFlow().build();
+  }
+
+  /**
+   * Executor field, bounded pool for the blocking repository calls of the entity
+   *
+   * @param clazz CXEntity annotated class
+   * @return executor field for service class
+   */
+  public FieldSpec buildExecutorField(final TypeElement clazz) {
+    final CXSpringRestCrudApi api = EntityModel.of(clazz).getApi();
+    return FieldSpec.builder(CXAsyncExecutor.class, EXECUTOR, Modifier.PRIVATE, Modifier.FINAL)
+        .initializer(
+            "new $T($S, $L, $L)",
+            CXAsyncExecutor.class,
+            EntityModel.of(clazz).getSimpleName(),
+            api.asyncPoolSize(),
+            api.asyncQueueSize())
+        .build();
+  }
+
+  /**
+   * Supply async method, runs a blocking call on the entity executor
+   *
+   * @return supply async method for service class
+   */
+  public MethodSpec buildSupplyAsyncMethod() {
+    final TypeVariableName type = TypeVariableName.get("T");
+    return MethodSpec.methodBuilder(SUPPLY_ASYNC)
+        .addModifiers(Modifier.PUBLIC)
+        .addTypeVariable(type)
+        .addParameter(
+            ParameterizedTypeName.get(ClassName.get(Supplier.class), type), "task", Modifier.FINAL)
+        .addStatement("return $N.supply(task)", EXECUTOR)
+        .returns(ParameterizedTypeName.get(ClassName.get(CompletableFuture.class), type))
+        .build();
+  }
+
+  /**
+   * Destroy method, stops the entity executor with the application context
+   *
+   * @return destroy method for service class
+   */
+  public MethodSpec buildDestroyMethod() {
+    return MethodSpec.methodBuilder("destroy")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addStatement("$N.shutdown()", EXECUTOR)
+        .build();
+  }
+
+  private boolean isAsync(final TypeElement clazz) {
+    return EntityModel.of(clazz).getApi().async();
+  }
+
+  private boolean isCached(final TypeElement clazz) {
+    return EntityModel.of(clazz).getAnnotation(CXCache.class) != null;
+  }
+
+  private boolean isVersioned(final TypeElement clazz) {
+    return EntityModel.of(clazz).getAnnotation(CXResponseCache.class) != null;
+  }
+
+  /**
+   * Get page method
+   *
+   * @param clazz CXEntity annotated class
+   * @return get keyset page method for service class
+   */
+  public MethodSpec buildGetPageMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getPage")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addStatement("return $N.getPage(after, limit)", lastLayerAttributeName)
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Projected get page method
+   *
+   * @param clazz CXEntity annotated class
+   * @return get keyset page of projected rows method for service class
+   */
+  public MethodSpec buildGetPageProjectedMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getPageProjected")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addParameter(long.class, "mask", Modifier.FINAL)
+        .addStatement("return $N.getPageProjected(after, limit, mask)", lastLayerAttributeName)
+        .returns(NameGenerationTool.getTypeNameForProjectedPage(clazz))
+        .build();
+  }
+
+  /**
+   * Filter method
+   *
+   * @param clazz CXEntity annotated class
+   * @return filtered keyset page method for service class
+   */
+  public MethodSpec buildFilterMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("filter")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForFilterParameters(), "params", Modifier.FINAL)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz).box(), "after", Modifier.FINAL)
+        .addParameter(int.class, "limit", Modifier.FINAL)
+        .addStatement("return $N.filter(params, after, limit)", lastLayerAttributeName)
+        .returns(NameGenerationTool.getTypeNameForPage(clazz))
+        .build();
+  }
+
+  /**
+   * Projected get by id method
+   *
+   * @param clazz CXEntity annotated class
+   * @return get by id projected method for service class
+   */
+  public MethodSpec buildGetByIdProjectedMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("getByIdProjected")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
+        .addParameter(long.class, "mask", Modifier.FINAL)
+        .addStatement("return $N.getByIdProjected(id, mask)", lastLayerAttributeName)
+        .returns(NameGenerationTool.getTypeNameForProjectedRow())
+        .build();
+  }
+
+  /**
+   * Stream method
+   *
+   * @param clazz CXEntity annotated class
+   * @return stream method for service class, writes all rows as JSON to the output stream
+   */
+  public MethodSpec buildStreamMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("stream")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(OutputStream.class, "outputStream", Modifier.FINAL)
+        .addException(IOException.class)
+        .addStatement("$N.stream(outputStream)", lastLayerAttributeName)
+        .build();
+  }
+
   /**
    * Delete method
    *
@@ -76,7 +379,7 @@ public class SpringServiceClassWriter {
     return MethodSpec.methodBuilder("delete")
         .addModifiers(Modifier.PUBLIC)
         .addParameter(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
-        .addStatement("return $N.delete(id)", lastLayerAttributeName)
+        .addCode(buildWriteCode(clazz, "delete(id)", true))
         .returns(boolean.class)
         .build();
   }
@@ -93,11 +396,58 @@ public class SpringServiceClassWriter {
         .addParameter(NameGenerationTool.getTypeNameForId(clazz), "id", Modifier.FINAL)
         .addParameter(
             NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
-        .addStatement("return $N.update(id, instance)", lastLayerAttributeName)
+        .addCode(buildWriteCode(clazz, "update(id, instance)", true))
+        .returns(boolean.class)
+        .build();
+  }
+
+  /**
+   * Upsert method, the cached id is invalidated as an upsert may change an existing row
+   *
+   * @param clazz CXEntity annotated class
+   * @return upsert method for service class
+   */
+  public MethodSpec buildUpsertMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("upsert")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameFromTypeElement(clazz), "instance", Modifier.FINAL)
+        .addCode(
+            buildWriteCode(
+                clazz,
+                "upsert(instance)",
+                CodeBlock.of("$N.invalidate(instance.$N())", CACHE, getIdGetterName(clazz))))
         .returns(boolean.class)
         .build();
   }
 
+  /**
+   * Bulk upsert method, the cached ids of every item are invalidated
+   *
+   * @param clazz CXEntity annotated class
+   * @return upsert all method for service class
+   */
+  public MethodSpec buildUpsertAllMethod(final TypeElement clazz) {
+    return MethodSpec.methodBuilder("upsertAll")
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(
+            NameGenerationTool.getTypeNameForTemplateList(clazz), "instances", Modifier.FINAL)
+        .addCode(
+            buildWriteCode(
+                clazz,
+                "upsertAll(instances)",
+                CodeBlock.of(
+                    "instances.forEach(instance -> $N.invalidate(instance.$N()))",
+                    CACHE,
+                    getIdGetterName(clazz))))
+        .returns(CXBulkResult.class)
+        .build();
+  }
+
+  private String getIdGetterName(final TypeElement clazz) {
+    return NameGenerationTool.getGetterName(ClassReflectionTool.getIdField(clazz));
+  }
+
   /**
    * Write class for Service layer
    *
@@ -110,25 +460,51 @@ public class SpringServiceClassWriter {
       final TypeElement clazz, final TypeName previousLayerClazz, final String targetPackage) {
     lastLayerAttributeName = NameGenerationTool.getSimpleNameForAttr(previousLayerClazz);
     final String packageName = targetPackage + ".service";
-    final String className = String.format("%sService", clazz.getSimpleName());
-    final JavaFile javaFile =
-        JavaFile.builder(
-                packageName,
-                TypeSpec.classBuilder(className)
-                    .addModifiers(Modifier.PUBLIC)
-                    .addAnnotation(Service.class)
-                    .addField(
-                        previousLayerClazz,
-                        lastLayerAttributeName,
-                        Modifier.FINAL,
-                        Modifier.PRIVATE)
-                    .addMethod(writeBuilder(previousLayerClazz))
-                    .addMethod(buildGetMethod(clazz))
-                    .addMethod(buildUpdateMethod(clazz))
-                    .addMethod(buildCreateMethod(clazz))
-                    .addMethod(buildDeleteMethod(clazz))
-                    .build())
-            .build();
+    final String className = String.format("%sService", EntityModel.of(clazz).getSimpleName());
+    final TypeSpec.Builder typeSpecBuilder =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addAnnotation(Service.class)
+            .addField(previousLayerClazz, lastLayerAttributeName, Modifier.FINAL, Modifier.PRIVATE);
+    if (isCached(clazz)) {
+      typeSpecBuilder.addField(buildCacheField(clazz));
+    }
+    if (isVersioned(clazz)) {
+      typeSpecBuilder.addField(buildVersionField(clazz));
+    }
+    typeSpecBuilder
+        .addMethod(writeBuilder(previousLayerClazz))
+        .addMethod(buildGetMethod(clazz))
+        .addMethod(buildGetByIdMethod(clazz))
+        .addMethod(buildGetPageMethod(clazz));
+    if (EntityMetaCreator.supportsProjection(clazz)) {
+      typeSpecBuilder
+          .addMethod(buildGetPageProjectedMethod(clazz))
+          .addMethod(buildGetByIdProjectedMethod(clazz));
+    }
+    if (EntityMetaCreator.supportsFilter(clazz)) {
+      typeSpecBuilder.addMethod(buildFilterMethod(clazz));
+    }
+    typeSpecBuilder
+        .addMethod(buildStreamMethod(clazz))
+        .addMethod(buildUpdateMethod(clazz))
+        .addMethod(buildCreateMethod(clazz))
+        .addMethod(buildCreateAllMethod(clazz))
+        .addMethod(buildDeleteMethod(clazz))
+        .addMethod(buildUpsertMethod(clazz))
+        .addMethod(buildUpsertAllMethod(clazz));
+    if (isCached(clazz)) {
+      typeSpecBuilder.addMethod(buildGetCacheStatsMethod(clazz));
+    }
+    if (isAsync(clazz)) {
+      typeSpecBuilder
+          .addSuperinterface(DisposableBean.class)
+          .addField(buildExecutorField(clazz))
+          .addMethod(buildSupplyAsyncMethod())
+          .addMethod(buildDestroyMethod());
+    }
+    final JavaFile javaFile = JavaFile.builder(packageName, typeSpecBuilder.build()).build();
 
     return new JavaClassFile()
         .setJavaFile(javaFile)
@@ -0,0 +1,158 @@
+package dev.tools.annotationprocessor.db.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Batch updates for generated repositories, statements are sent in chunks with JDBC batchUpdate
+ *
+ * @author josue.rojas
+ */
+public class CXBatchUpdater {
+
+  private CXBatchUpdater() {}
+
+  /**
+   * Execute the same statement for every item, chunkSize items per JDBC batch
+   *
+   * @param namedParameterJdbcTemplate jdbc template
+   * @param sql named parameter statement
+   * @param items items to bind
+   * @param chunkSize max items per JDBC batch
+   * @param parameterSource parameter source factory for item
+   * @return update counts, one per item
+   */
+  public static <T> int[] batchUpdate(
+      final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+      final String sql,
+      final List<T> items,
+      final int chunkSize,
+      final Function<T, SqlParameterSource> parameterSource) {
+    return batchUpdate(
+        namedParameterJdbcTemplate, sql, items, chunkSize, parameterSource, null, null);
+  }
+
+  /**
+   * Execute the same statement for every item, chunkSize items per JDBC batch, generated keys are
+   * handed to keySetter in item order when the driver supports getGeneratedKeys for batches
+   *
+   * @param namedParameterJdbcTemplate jdbc template
+   * @param sql named parameter statement
+   * @param items items to bind
+   * @param chunkSize max items per JDBC batch
+   * @param parameterSource parameter source factory for item
+   * @param keyColumn generated key column name, null when keys are not needed
+   * @param keySetter sets generated key on item
+   * @return update counts, one per item
+   */
+  public static <T> int[] batchUpdate(
+      final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+      final String sql,
+      final List<T> items,
+      final int chunkSize,
+      final Function<T, SqlParameterSource> parameterSource,
+      final String keyColumn,
+      final BiConsumer<T, Number> keySetter) {
+    final int size = Math.max(1, chunkSize);
+    final int[] rowsAffected = new int[items.size()];
+    for (int from = 0; from < items.size(); from += size) {
+      final List<T> chunk = items.subList(from, Math.min(from + size, items.size()));
+      final int[] chunkRowsAffected =
+          keyColumn == null
+              ? namedParameterJdbcTemplate.batchUpdate(sql, toBatch(chunk, parameterSource))
+              : batchUpdateWithKeys(
+                  namedParameterJdbcTemplate, sql, chunk, parameterSource, keyColumn, keySetter);
+      System.arraycopy(chunkRowsAffected, 0, rowsAffected, from, chunkRowsAffected.length);
+    }
+    return rowsAffected;
+  }
+
+  private static <T> SqlParameterSource[] toBatch(
+      final List<T> chunk, final Function<T, SqlParameterSource> parameterSource) {
+    final SqlParameterSource[] batch = new SqlParameterSource[chunk.size()];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = parameterSource.apply(chunk.get(i));
+    }
+    return batch;
+  }
+
+  private static <T> int[] batchUpdateWithKeys(
+      final NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+      final String sql,
+      final List<T> chunk,
+      final Function<T, SqlParameterSource> parameterSource,
+      final String keyColumn,
+      final BiConsumer<T, Number> keySetter) {
+    final SqlParameterSource[] batch = toBatch(chunk, parameterSource);
+    final ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+    final String jdbcSql = NamedParameterUtils.substituteNamedParameters(parsedSql, batch[0]);
+    return namedParameterJdbcTemplate
+        .getJdbcOperations()
+        .execute(
+            (ConnectionCallback<int[]>)
+                connection -> {
+                  final boolean returnKeys = connection.getMetaData().supportsGetGeneratedKeys();
+                  try (PreparedStatement statement =
+                      returnKeys
+                          ? connection.prepareStatement(jdbcSql, new String[] {keyColumn})
+                          : connection.prepareStatement(jdbcSql)) {
+                    for (SqlParameterSource source : batch) {
+                      final Object[] values =
+                          NamedParameterUtils.buildValueArray(parsedSql, source, null);
+                      final int[] sqlTypes =
+                          NamedParameterUtils.buildSqlTypeArray(parsedSql, source);
+                      for (int i = 0; i < values.length; i++) {
+                        StatementCreatorUtils.setParameterValue(
+                            statement, i + 1, sqlTypes[i], values[i]);
+                      }
+                      statement.addBatch();
+                    }
+                    final int[] rowsAffected = statement.executeBatch();
+                    if (returnKeys) {
+                      try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (int i = 0; i < chunk.size() && keys.next(); i++) {
+                          final Object key = keys.getObject(1);
+                          if (key instanceof Number) {
+                            keySetter.accept(chunk.get(i), (Number) key);
+                          }
+                        }
+                      }
+                    }
+                    return rowsAffected;
+                  }
+                });
+  }
+
+  /**
+   * Transaction template over the same data source used by the jdbc template, so all chunks of a
+   * bulk request commit or rollback together
+   *
+   * @param namedParameterJdbcTemplate jdbc template
+   * @throws IllegalStateException when data source cannot be resolved from jdbc template
+   * @return transaction template
+   */
+  public static TransactionTemplate transactionTemplate(
+      final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    if (!(namedParameterJdbcTemplate.getJdbcOperations() instanceof JdbcTemplate)) {
+      throw new IllegalStateException(
+          "Data source cannot be resolved from " + namedParameterJdbcTemplate.getJdbcOperations());
+    }
+    final DataSource dataSource =
+        ((JdbcTemplate) namedParameterJdbcTemplate.getJdbcOperations()).getDataSource();
+    return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+  }
+}
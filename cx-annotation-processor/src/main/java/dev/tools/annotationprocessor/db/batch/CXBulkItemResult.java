@@ -0,0 +1,51 @@
+package dev.tools.annotationprocessor.db.batch;
+
+import java.sql.Statement;
+
+/**
+ * Result for one item of a bulk request, in the same position as the request array
+ *
+ * @author josue.rojas
+ */
+public class CXBulkItemResult {
+
+  private final int index;
+  private final int rowsAffected;
+  private final Object id;
+
+  public CXBulkItemResult(final int index, final int rowsAffected) {
+    this(index, rowsAffected, null);
+  }
+
+  public CXBulkItemResult(final int index, final int rowsAffected, final Object id) {
+    this.index = index;
+    this.rowsAffected = rowsAffected;
+    this.id = id;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Id of the item, generated ids are only present when the driver returns generated keys
+   *
+   * @return id or null
+   */
+  public Object getId() {
+    return id;
+  }
+
+  /**
+   * Rows affected reported by the driver
+   *
+   * @return rows affected, -2 (Statement.SUCCESS_NO_INFO) when the driver does not report counts
+   */
+  public int getRowsAffected() {
+    return rowsAffected;
+  }
+
+  public boolean isSuccess() {
+    return rowsAffected > 0 || rowsAffected == Statement.SUCCESS_NO_INFO;
+  }
+}
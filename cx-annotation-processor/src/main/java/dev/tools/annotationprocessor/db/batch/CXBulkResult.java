@@ -0,0 +1,67 @@
+package dev.tools.annotationprocessor.db.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Result for bulk requests, one item result per request item
+ *
+ * @author josue.rojas
+ */
+public class CXBulkResult {
+
+  private final List<CXBulkItemResult> items;
+
+  public CXBulkResult(final List<CXBulkItemResult> items) {
+    this.items = items;
+  }
+
+  /**
+   * Create result from batch update counts
+   *
+   * @param rowsAffected update counts, one per request item
+   * @return bulk result
+   */
+  public static CXBulkResult of(final int[] rowsAffected) {
+    final List<CXBulkItemResult> items = new ArrayList<>(rowsAffected.length);
+    for (int i = 0; i < rowsAffected.length; i++) {
+      items.add(new CXBulkItemResult(i, rowsAffected[i]));
+    }
+    return new CXBulkResult(Collections.unmodifiableList(items));
+  }
+
+  /**
+   * Create result from batch update counts and the ids of the request items
+   *
+   * @param rowsAffected update counts, one per request item
+   * @param instances request items
+   * @param idGetter id getter for item
+   * @return bulk result
+   */
+  public static <T> CXBulkResult of(
+      final int[] rowsAffected, final List<T> instances, final Function<T, ?> idGetter) {
+    final List<CXBulkItemResult> items = new ArrayList<>(rowsAffected.length);
+    for (int i = 0; i < rowsAffected.length; i++) {
+      items.add(new CXBulkItemResult(i, rowsAffected[i], idGetter.apply(instances.get(i))));
+    }
+    return new CXBulkResult(Collections.unmodifiableList(items));
+  }
+
+  public List<CXBulkItemResult> getItems() {
+    return items;
+  }
+
+  public int getTotal() {
+    return items.size();
+  }
+
+  public int getSucceeded() {
+    int succeeded = 0;
+    for (CXBulkItemResult item : items) {
+      if (item.isSuccess()) succeeded++;
+    }
+    return succeeded;
+  }
+}
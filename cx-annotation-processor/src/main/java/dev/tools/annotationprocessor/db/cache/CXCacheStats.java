@@ -0,0 +1,72 @@
+package dev.tools.annotationprocessor.db.cache;
+
+/**
+ * Snapshot of cache counters
+ *
+ * @author josue.rojas
+ */
+public class CXCacheStats {
+
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long expirations;
+  private final long invalidations;
+  private final int size;
+  private final int maxEntries;
+
+  public CXCacheStats(
+      final long hits,
+      final long misses,
+      final long evictions,
+      final long expirations,
+      final long invalidations,
+      final int size,
+      final int maxEntries) {
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.expirations = expirations;
+    this.invalidations = invalidations;
+    this.size = size;
+    this.maxEntries = maxEntries;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Entries removed to keep the cache under maxEntries
+   *
+   * @return evictions
+   */
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public long getExpirations() {
+    return expirations;
+  }
+
+  public long getInvalidations() {
+    return invalidations;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public double getHitRate() {
+    final long requests = hits + misses;
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+}
@@ -0,0 +1,183 @@
+package dev.tools.annotationprocessor.db.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache with time to live for generated services. Keys are spread over segments, each
+ * one an access ordered map guarded by its own lock, so readers of different ids rarely contend;
+ * least recently used order is kept per segment. Null values are not cached.
+ *
+ * @author josue.rojas
+ */
+public class CXEntityCache<K, V> {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private final Segment<K, V>[] segments;
+  private final int maxEntries;
+  private final long ttlNanos;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  /**
+   * @param maxEntries max cached entries
+   * @param ttl time to live, 0 or less for no expiration
+   * @param ttlUnit time unit for ttl
+   */
+  @SuppressWarnings("unchecked")
+  public CXEntityCache(final int maxEntries, final long ttl, final TimeUnit ttlUnit) {
+    if (maxEntries < 1) {
+      throw new IllegalArgumentException("maxEntries must be positive, found " + maxEntries);
+    }
+    this.maxEntries = maxEntries;
+    this.ttlNanos = ttl > 0 ? ttlUnit.toNanos(ttl) : 0;
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && segmentCount * 2 <= maxEntries) {
+      segmentCount *= 2;
+    }
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // spread remainder over the first segments so capacities add up to maxEntries
+      segments[i] =
+          new Segment<>(maxEntries / segmentCount + (i < maxEntries % segmentCount ? 1 : 0));
+    }
+  }
+
+  /**
+   * Get cached value or load it, loaded values are not cached when the key was invalidated while
+   * loading so a concurrent update is never hidden by a stale read
+   *
+   * @param key key
+   * @param loader loader for missing keys
+   * @return value, null when loader returns null
+   */
+  public V get(final K key, final Function<K, V> loader) {
+    final Segment<K, V> segment = segmentFor(key);
+    final long version;
+    synchronized (segment) {
+      final Entry<V> entry = segment.map.get(key);
+      if (entry != null) {
+        if (!isExpired(entry)) {
+          hits.increment();
+          return entry.value;
+        }
+        segment.map.remove(key);
+        expirations.increment();
+      }
+      version = segment.version;
+    }
+    misses.increment();
+    final V value = loader.apply(key);
+    if (value != null) {
+      synchronized (segment) {
+        if (segment.version == version) {
+          segment.map.put(key, new Entry<>(value, ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0));
+          evict(segment);
+        }
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Remove key from cache
+   *
+   * @param key key
+   */
+  public void invalidate(final K key) {
+    final Segment<K, V> segment = segmentFor(key);
+    synchronized (segment) {
+      segment.version++;
+      segment.map.remove(key);
+    }
+    invalidations.increment();
+  }
+
+  /** Remove all keys from cache */
+  public void invalidateAll() {
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        segment.version++;
+        segment.map.clear();
+      }
+    }
+    invalidations.increment();
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments) {
+      synchronized (segment) {
+        size += segment.map.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Snapshot of cache counters
+   *
+   * @return stats
+   */
+  public CXCacheStats stats() {
+    return new CXCacheStats(
+        hits.sum(),
+        misses.sum(),
+        evictions.sum(),
+        expirations.sum(),
+        invalidations.sum(),
+        size(),
+        maxEntries);
+  }
+
+  private boolean isExpired(final Entry<V> entry) {
+    return entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt > 0;
+  }
+
+  private void evict(final Segment<K, V> segment) {
+    final Iterator<Entry<V>> iterator = segment.map.values().iterator();
+    while (segment.map.size() > segment.capacity && iterator.hasNext()) {
+      final Entry<V> entry = iterator.next();
+      iterator.remove();
+      if (isExpired(entry)) {
+        expirations.increment();
+      } else {
+        evictions.increment();
+      }
+    }
+  }
+
+  private Segment<K, V> segmentFor(final K key) {
+    final int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  private static final class Segment<K, V> {
+    private final int capacity;
+    private final Map<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private long version;
+
+    private Segment(final int capacity) {
+      this.capacity = capacity;
+    }
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private final long expiresAt;
+
+    private Entry(final V value, final long expiresAt) {
+      this.value = value;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
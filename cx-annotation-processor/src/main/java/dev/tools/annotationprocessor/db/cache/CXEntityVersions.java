@@ -0,0 +1,28 @@
+package dev.tools.annotationprocessor.db.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-entity version counters, generated write methods bump the version of their entity so cached
+ * responses built on an older version are not served again
+ *
+ * @author josue.rojas
+ */
+public class CXEntityVersions {
+
+  private static final Map<Class<?>, AtomicLong> VERSIONS = new ConcurrentHashMap<>();
+
+  private CXEntityVersions() {}
+
+  /**
+   * Get version counter for entity
+   *
+   * @param entityClass CXEntity class
+   * @return version counter, shared by every caller for the same entity
+   */
+  public static AtomicLong of(final Class<?> entityClass) {
+    return VERSIONS.computeIfAbsent(entityClass, key -> new AtomicLong());
+  }
+}
@@ -0,0 +1,161 @@
+package dev.tools.annotationprocessor.db.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Versioned response cache for generated controllers. Responses are serialized once per query shape
+ * and entity version; the ETag is the entity version (plus a random epoch so tags do not survive
+ * restarts), so If-None-Match is answered without touching the database or the cache.
+ *
+ * @author josue.rojas
+ */
+public class CXVersionedResponseCache {
+
+  private static final int GZIP_MIN_SIZE = 256;
+
+  private final AtomicLong version;
+  private final boolean gzip;
+  private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+  private final Map<String, Response> responses;
+  private volatile ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * @param version entity version counter, see {@link CXEntityVersions}
+   * @param maxEntries max cached responses
+   * @param gzip keep gzip copy of responses
+   */
+  public CXVersionedResponseCache(
+      final AtomicLong version, final int maxEntries, final boolean gzip) {
+    this.version = version;
+    this.gzip = gzip;
+    this.responses =
+        new LinkedHashMap<String, Response>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, Response> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /**
+   * Use application object mapper so cached responses are serialized like the rest of the API
+   *
+   * @param objectMapper object mapper
+   */
+  public void setObjectMapper(final ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Get response for query shape
+   *
+   * @param shape query shape, unique per endpoint and parameters
+   * @param ifNoneMatch If-None-Match request header
+   * @param acceptEncoding Accept-Encoding request header
+   * @param loader result loader, null result is answered with 404 and not cached
+   * @return 304 when ifNoneMatch matches the current version, cached or loaded response otherwise
+   */
+  public ResponseEntity<byte[]> get(
+      final String shape,
+      final String ifNoneMatch,
+      final String acceptEncoding,
+      final Supplier<?> loader) {
+    // version is read before loading, a write during the load leaves the response on the old one
+    final long currentVersion = version.get();
+    final String etag =
+        "\"" + epoch + "-" + currentVersion + "-" + Integer.toHexString(shape.hashCode()) + "\"";
+    if (matches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    Response response;
+    synchronized (responses) {
+      response = responses.get(shape);
+    }
+    if (response == null || response.version != currentVersion) {
+      final Object result = loader.get();
+      if (result == null) {
+        return ResponseEntity.notFound().build();
+      }
+      response = new Response(currentVersion, serialize(result));
+      synchronized (responses) {
+        final Response cached = responses.get(shape);
+        if (cached == null || cached.version < currentVersion) {
+          responses.put(shape, response);
+        }
+      }
+    }
+
+    final boolean useGzip =
+        gzip
+            && response.gzipBody != null
+            && acceptEncoding != null
+            && acceptEncoding.contains("gzip");
+    final ResponseEntity.BodyBuilder builder =
+        ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (useGzip) {
+      return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.gzipBody);
+    }
+    return builder.body(response.body);
+  }
+
+  private byte[] serialize(final Object result) {
+    try {
+      return objectMapper.writeValueAsBytes(result);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static byte[] compress(final byte[] body) {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+      gzipOutputStream.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return outputStream.toByteArray();
+  }
+
+  private static boolean matches(final String ifNoneMatch, final String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      final String tag = candidate.trim();
+      if (tag.equals(etag) || tag.equals("W/" + etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private final class Response {
+    private final long version;
+    private final byte[] body;
+    private final byte[] gzipBody;
+
+    private Response(final long version, final byte[] body) {
+      this.version = version;
+      this.body = body;
+      this.gzipBody = gzip && body.length >= GZIP_MIN_SIZE ? compress(body) : null;
+    }
+  }
+}
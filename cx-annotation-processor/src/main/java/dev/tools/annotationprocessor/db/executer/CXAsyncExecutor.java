@@ -0,0 +1,93 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded executor for the blocking JDBC calls of one entity, request threads only wait on the
+ * returned futures. Tasks over the queue capacity are rejected instead of piling up.
+ *
+ * @author josue.rojas
+ */
+public class CXAsyncExecutor {
+
+  private final String name;
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * @param name entity name for thread names
+   * @param poolSize max threads, idle threads time out
+   * @param queueSize max queued tasks waiting for a thread
+   */
+  public CXAsyncExecutor(final String name, final int poolSize, final int queueSize) {
+    if (poolSize < 1 || queueSize < 1) {
+      throw new IllegalArgumentException(
+          "poolSize and queueSize must be positive, found " + poolSize + " and " + queueSize);
+    }
+    final AtomicInteger threads = new AtomicInteger();
+    this.name = name;
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "cx-" + name + "-" + threads.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Run task on the executor
+   *
+   * @param task blocking task
+   * @return future completed with the task result or its exception, completed with
+   *     CXAsyncRejectedException when the queue is full
+   */
+  public <T> CompletableFuture<T> supply(final Supplier<T> task) {
+    final CompletableFuture<T> future = new CompletableFuture<>();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              future.complete(task.get());
+            } catch (Throwable e) {
+              future.completeExceptionally(e);
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(
+          new CXAsyncRejectedException(
+              "Executor for " + name + " rejected the call, queue is full or it is shut down", e));
+    }
+    return future;
+  }
+
+  /**
+   * Tasks waiting for a thread
+   *
+   * @return queued tasks
+   */
+  public int getQueued() {
+    return executor.getQueue().size();
+  }
+
+  public int getActive() {
+    return executor.getActiveCount();
+  }
+
+  /** Stop accepting tasks, queued tasks still run */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
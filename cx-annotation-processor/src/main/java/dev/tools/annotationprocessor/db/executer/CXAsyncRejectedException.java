@@ -0,0 +1,19 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Entity executor queue is full, answered with 503 Service Unavailable so clients back off
+ *
+ * @author josue.rojas
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class CXAsyncRejectedException extends RejectedExecutionException {
+
+  public CXAsyncRejectedException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
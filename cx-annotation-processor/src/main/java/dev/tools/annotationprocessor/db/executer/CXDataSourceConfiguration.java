@@ -0,0 +1,42 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Pooled data source for generated APIs, imported by every generated entity BeansConfiguration and
+ * only active when {@code cx.datasource.url} is set, otherwise the application provides its own
+ * NamedParameterJdbcTemplate
+ *
+ * @author josue.rojas
+ */
+@Configuration
+@Conditional(CXDataSourceConfiguration.PoolEnabled.class)
+public class CXDataSourceConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public CXPooledDataSource cxPooledDataSource(final Environment env) {
+    return new CXPooledDataSource(CXPoolConfig.from(env::getProperty));
+  }
+
+  @Bean
+  public NamedParameterJdbcTemplate namedParameterJdbcTemplate(final DataSource dataSource) {
+    return new NamedParameterJdbcTemplate(dataSource);
+  }
+
+  /** Condition on the {@code cx.datasource.url} property */
+  public static class PoolEnabled implements Condition {
+    @Override
+    public boolean matches(final ConditionContext context, final AnnotatedTypeMetadata metadata) {
+      return context.getEnvironment().containsProperty(CXPoolConfig.URL_PROPERTY);
+    }
+  }
+}
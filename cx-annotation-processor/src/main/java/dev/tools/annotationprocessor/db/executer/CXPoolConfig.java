@@ -0,0 +1,158 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import java.util.function.Function;
+
+/**
+ * Configuration for CXPooledDataSource, read from {@code cx.datasource.*} properties
+ *
+ * @author josue.rojas
+ */
+public class CXPoolConfig {
+
+  public static final String PREFIX = "cx.datasource.";
+  public static final String URL_PROPERTY = PREFIX + "url";
+
+  private String driverClassName;
+  private String url;
+  private String username;
+  private String password;
+  private int maxSize = 10;
+  private long acquireTimeoutMillis = 30_000;
+  private long validationIdleMillis = 5_000;
+  private int validationTimeoutSeconds = 5;
+  private long leakDetectionMillis = 0;
+
+  /**
+   * Read configuration from properties, missing properties keep their defaults
+   *
+   * <p>{@code url}, {@code driverClassName}, {@code username}, {@code password}, {@code maxSize},
+   * {@code acquireTimeoutMillis}, {@code validationIdleMillis}, {@code validationTimeoutSeconds},
+   * {@code leakDetectionMillis}
+   *
+   * @param properties property lookup like Environment::getProperty or System::getProperty
+   * @return pool configuration
+   */
+  public static CXPoolConfig from(final Function<String, String> properties) {
+    final CXPoolConfig config =
+        new CXPoolConfig()
+            .setUrl(properties.apply(URL_PROPERTY))
+            .setDriverClassName(properties.apply(PREFIX + "driverClassName"))
+            .setUsername(properties.apply(PREFIX + "username"))
+            .setPassword(properties.apply(PREFIX + "password"));
+    final String maxSize = properties.apply(PREFIX + "maxSize");
+    if (maxSize != null) config.setMaxSize(Integer.parseInt(maxSize.trim()));
+    final String acquireTimeout = properties.apply(PREFIX + "acquireTimeoutMillis");
+    if (acquireTimeout != null)
+      config.setAcquireTimeoutMillis(Long.parseLong(acquireTimeout.trim()));
+    final String validationIdle = properties.apply(PREFIX + "validationIdleMillis");
+    if (validationIdle != null)
+      config.setValidationIdleMillis(Long.parseLong(validationIdle.trim()));
+    final String validationTimeout = properties.apply(PREFIX + "validationTimeoutSeconds");
+    if (validationTimeout != null)
+      config.setValidationTimeoutSeconds(Integer.parseInt(validationTimeout.trim()));
+    final String leakDetection = properties.apply(PREFIX + "leakDetectionMillis");
+    if (leakDetection != null) config.setLeakDetectionMillis(Long.parseLong(leakDetection.trim()));
+    return config;
+  }
+
+  public String getDriverClassName() {
+    return driverClassName;
+  }
+
+  public CXPoolConfig setDriverClassName(final String driverClassName) {
+    this.driverClassName = driverClassName;
+    return this;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public CXPoolConfig setUrl(final String url) {
+    this.url = url;
+    return this;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public CXPoolConfig setUsername(final String username) {
+    this.username = username;
+    return this;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  public CXPoolConfig setPassword(final String password) {
+    this.password = password;
+    return this;
+  }
+
+  /**
+   * Max physical connections, open or leased
+   *
+   * @return max pool size
+   */
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public CXPoolConfig setMaxSize(final int maxSize) {
+    this.maxSize = maxSize;
+    return this;
+  }
+
+  /**
+   * Max time a caller waits for a connection when the pool is exhausted
+   *
+   * @return acquire timeout in milliseconds
+   */
+  public long getAcquireTimeoutMillis() {
+    return acquireTimeoutMillis;
+  }
+
+  public CXPoolConfig setAcquireTimeoutMillis(final long acquireTimeoutMillis) {
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    return this;
+  }
+
+  /**
+   * Idle connections are validated before being handed out only when idle for longer than this
+   *
+   * @return idle time in milliseconds, 0 to validate on every borrow
+   */
+  public long getValidationIdleMillis() {
+    return validationIdleMillis;
+  }
+
+  public CXPoolConfig setValidationIdleMillis(final long validationIdleMillis) {
+    this.validationIdleMillis = validationIdleMillis;
+    return this;
+  }
+
+  public int getValidationTimeoutSeconds() {
+    return validationTimeoutSeconds;
+  }
+
+  public CXPoolConfig setValidationTimeoutSeconds(final int validationTimeoutSeconds) {
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    return this;
+  }
+
+  /**
+   * Connections leased for longer than this are reported with the stack trace of the borrower
+   *
+   * @return leak threshold in milliseconds, 0 to disable leak detection
+   */
+  public long getLeakDetectionMillis() {
+    return leakDetectionMillis;
+  }
+
+  public CXPoolConfig setLeakDetectionMillis(final long leakDetectionMillis) {
+    this.leakDetectionMillis = leakDetectionMillis;
+    return this;
+  }
+}
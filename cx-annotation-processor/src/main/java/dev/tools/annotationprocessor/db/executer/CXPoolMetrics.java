@@ -0,0 +1,101 @@
+package dev.tools.annotationprocessor.db.executer;
+
+/**
+ * Snapshot of connection pool counters
+ *
+ * @author josue.rojas
+ */
+public class CXPoolMetrics {
+
+  private final int active;
+  private final int idle;
+  private final int waiting;
+  private final int maxSize;
+  private final long created;
+  private final long acquired;
+  private final long timeouts;
+  private final long leaks;
+  private final long acquireNanos;
+
+  public CXPoolMetrics(
+      final int active,
+      final int idle,
+      final int waiting,
+      final int maxSize,
+      final long created,
+      final long acquired,
+      final long timeouts,
+      final long leaks,
+      final long acquireNanos) {
+    this.active = active;
+    this.idle = idle;
+    this.waiting = waiting;
+    this.maxSize = maxSize;
+    this.created = created;
+    this.acquired = acquired;
+    this.timeouts = timeouts;
+    this.leaks = leaks;
+    this.acquireNanos = acquireNanos;
+  }
+
+  /**
+   * Connections leased to callers
+   *
+   * @return active connections
+   */
+  public int getActive() {
+    return active;
+  }
+
+  /**
+   * Open connections ready to be leased
+   *
+   * @return idle connections
+   */
+  public int getIdle() {
+    return idle;
+  }
+
+  /**
+   * Callers blocked until a connection is released
+   *
+   * @return waiting callers
+   */
+  public int getWaiting() {
+    return waiting;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Physical connections opened since the pool was created
+   *
+   * @return created connections
+   */
+  public long getCreated() {
+    return created;
+  }
+
+  public long getAcquired() {
+    return acquired;
+  }
+
+  public long getTimeouts() {
+    return timeouts;
+  }
+
+  public long getLeaks() {
+    return leaks;
+  }
+
+  /**
+   * Mean time spent getting a connection, waiting and opening included
+   *
+   * @return mean acquire time in microseconds
+   */
+  public double getMeanAcquireMicros() {
+    return acquired == 0 ? 0 : acquireNanos / 1000.0 / acquired;
+  }
+}
@@ -0,0 +1,359 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import java.io.Closeable;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * Bounded connection pool, physical connections are opened on demand up to maxSize and reused after
+ * close. Callers over the limit wait up to the acquire timeout, idle connections are validated
+ * before reuse and leased connections held for too long are reported as leaks.
+ *
+ * @author josue.rojas
+ */
+public class CXPooledDataSource implements DataSource, Closeable {
+
+  private static final Logger LOGGER = Logger.getLogger(CXPooledDataSource.class.getName());
+
+  private final CXPoolConfig config;
+  private final Semaphore permits;
+  // most recently used first, so a few hot connections serve light traffic
+  private final ConcurrentLinkedDeque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+  private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService leakDetector;
+  private volatile boolean closed;
+
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final LongAdder created = new LongAdder();
+  private final LongAdder acquired = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final LongAdder leaks = new LongAdder();
+  private final LongAdder acquireNanos = new LongAdder();
+
+  private volatile Consumer<Throwable> leakListener = this::logLeak;
+  private PrintWriter logWriter;
+
+  /**
+   * @param config pool configuration
+   * @throws IllegalArgumentException when url is missing or maxSize is not positive
+   * @throws IllegalStateException when the driver class cannot be loaded
+   */
+  public CXPooledDataSource(final CXPoolConfig config) {
+    if (config.getUrl() == null || config.getUrl().isEmpty()) {
+      throw new IllegalArgumentException(CXPoolConfig.URL_PROPERTY + " is required");
+    }
+    if (config.getMaxSize() < 1) {
+      throw new IllegalArgumentException("maxSize must be positive, found " + config.getMaxSize());
+    }
+    if (config.getDriverClassName() != null) {
+      try {
+        Class.forName(config.getDriverClassName());
+      } catch (ClassNotFoundException e) {
+        throw new IllegalStateException(
+            "Could not load JDBC driver class " + config.getDriverClassName(), e);
+      }
+    }
+    this.config = config;
+    this.permits = new Semaphore(config.getMaxSize(), true);
+    if (config.getLeakDetectionMillis() > 0) {
+      leakDetector =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                final Thread thread = new Thread(runnable, "cx-pool-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+              });
+      final long period = Math.max(1, config.getLeakDetectionMillis() / 2);
+      leakDetector.scheduleAtFixedRate(this::detectLeaks, period, period, TimeUnit.MILLISECONDS);
+    } else {
+      leakDetector = null;
+    }
+  }
+
+  /**
+   * Lease a connection, closing it returns the connection to the pool
+   *
+   * @return pooled connection
+   * @throws SQLTimeoutException when no connection is released before the acquire timeout
+   */
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (closed) throw new SQLException("Connection pool is closed");
+    final long start = System.nanoTime();
+    waiting.incrementAndGet();
+    try {
+      if (!permits.tryAcquire(config.getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+        timeouts.increment();
+        throw new SQLTimeoutException(
+            "No connection available in "
+                + config.getAcquireTimeoutMillis()
+                + "ms, pool max size is "
+                + config.getMaxSize());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection", e);
+    } finally {
+      waiting.decrementAndGet();
+    }
+
+    try {
+      final PooledConnection connection = takeIdleOrOpen();
+      final Lease lease = new Lease(connection);
+      leases.add(lease);
+      acquired.increment();
+      acquireNanos.add(System.nanoTime() - start);
+      return lease.proxy;
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  private PooledConnection takeIdleOrOpen() throws SQLException {
+    PooledConnection connection;
+    while ((connection = idle.pollFirst()) != null) {
+      if (isValid(connection)) return connection;
+      closeQuietly(connection.physical);
+    }
+    final Connection physical =
+        DriverManager.getConnection(config.getUrl(), config.getUsername(), config.getPassword());
+    created.increment();
+    return new PooledConnection(physical);
+  }
+
+  private boolean isValid(final PooledConnection connection) {
+    if (System.nanoTime() - connection.lastUsedNanos
+        < TimeUnit.MILLISECONDS.toNanos(config.getValidationIdleMillis())) return true;
+    try {
+      return connection.physical.isValid(config.getValidationTimeoutSeconds());
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Return a leased connection, open transactions are rolled back and broken connections dropped
+   *
+   * @param lease released lease
+   */
+  private void release(final Lease lease) {
+    leases.remove(lease);
+    final PooledConnection connection = lease.connection;
+    try {
+      boolean reusable = !closed && !connection.physical.isClosed();
+      if (reusable && !connection.physical.getAutoCommit()) {
+        connection.physical.rollback();
+        connection.physical.setAutoCommit(true);
+      }
+      if (reusable) {
+        connection.lastUsedNanos = System.nanoTime();
+        idle.offerFirst(connection);
+        // close() may have drained the idle connections between the check and the offer
+        if (closed && idle.removeFirstOccurrence(connection)) closeQuietly(connection.physical);
+      } else {
+        closeQuietly(connection.physical);
+      }
+    } catch (SQLException e) {
+      closeQuietly(connection.physical);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void detectLeaks() {
+    final long threshold = TimeUnit.MILLISECONDS.toNanos(config.getLeakDetectionMillis());
+    final long now = System.nanoTime();
+    for (Lease lease : leases) {
+      if (!lease.reported && now - lease.borrowedNanos > threshold) {
+        lease.reported = true;
+        leaks.increment();
+        try {
+          leakListener.accept(lease.borrower);
+        } catch (RuntimeException e) {
+          LOGGER.log(Level.WARNING, "CX-Annotation-Processor: connection leak listener failed", e);
+        }
+      }
+    }
+  }
+
+  private void logLeak(final Throwable borrower) {
+    LOGGER.log(
+        Level.WARNING,
+        "CX-Annotation-Processor: connection leased for more than "
+            + config.getLeakDetectionMillis()
+            + "ms, possible leak",
+        borrower);
+  }
+
+  /**
+   * Replace the leak report, by default leaks are logged as warnings with the borrower stack trace
+   *
+   * @param leakListener receives the stack trace of the caller that leased the leaked connection
+   * @return this pool
+   */
+  public CXPooledDataSource setLeakListener(final Consumer<Throwable> leakListener) {
+    if (leakListener == null) throw new IllegalArgumentException("leakListener is required");
+    this.leakListener = leakListener;
+    return this;
+  }
+
+  /**
+   * Pool counters snapshot
+   *
+   * @return metrics
+   */
+  public CXPoolMetrics getMetrics() {
+    return new CXPoolMetrics(
+        leases.size(),
+        idle.size(),
+        waiting.get(),
+        config.getMaxSize(),
+        created.sum(),
+        acquired.sum(),
+        timeouts.sum(),
+        leaks.sum(),
+        acquireNanos.sum());
+  }
+
+  /** Close idle connections, leased connections are closed when they are released */
+  @Override
+  public void close() {
+    closed = true;
+    if (leakDetector != null) leakDetector.shutdownNow();
+    PooledConnection connection;
+    while ((connection = idle.pollFirst()) != null) {
+      closeQuietly(connection.physical);
+    }
+  }
+
+  private static void closeQuietly(final Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      // connection is dropped anyway
+    }
+  }
+
+  @Override
+  public Connection getConnection(final String username, final String password)
+      throws SQLException {
+    throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+  }
+
+  @Override
+  public PrintWriter getLogWriter() {
+    return logWriter;
+  }
+
+  @Override
+  public void setLogWriter(final PrintWriter out) {
+    this.logWriter = out;
+  }
+
+  @Override
+  public void setLoginTimeout(final int seconds) {
+    DriverManager.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() {
+    return DriverManager.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    throw new SQLFeatureNotSupportedException();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(final Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) return (T) this;
+    throw new SQLException(getClass().getName() + " does not wrap " + iface.getName());
+  }
+
+  @Override
+  public boolean isWrapperFor(final Class<?> iface) {
+    return iface.isInstance(this);
+  }
+
+  /** Physical connection kept by the pool */
+  private static class PooledConnection {
+    private final Connection physical;
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    private PooledConnection(final Connection physical) {
+      this.physical = physical;
+    }
+  }
+
+  /** Connection handed to one caller, close releases it back to the pool only once */
+  private class Lease implements InvocationHandler {
+    private final PooledConnection connection;
+    private final Connection proxy;
+    private final long borrowedNanos = System.nanoTime();
+    private final Throwable borrower;
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean reported;
+
+    private Lease(final PooledConnection connection) {
+      this.connection = connection;
+      this.borrower =
+          config.getLeakDetectionMillis() > 0 ? new Throwable("Connection borrowed here") : null;
+      this.proxy =
+          (Connection)
+              Proxy.newProxyInstance(
+                  CXPooledDataSource.class.getClassLoader(),
+                  new Class<?>[] {Connection.class},
+                  this);
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args)
+        throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (released.compareAndSet(false, true)) release(this);
+          return null;
+        case "isClosed":
+          return released.get() || connection.physical.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "CXPooledConnection[" + connection.physical + "]";
+        default:
+          if (released.get()) throw new SQLException("Connection is closed");
+          try {
+            return method.invoke(connection.physical, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+      }
+    }
+  }
+}
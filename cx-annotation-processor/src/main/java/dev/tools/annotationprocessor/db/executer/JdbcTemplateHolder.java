@@ -1,32 +1,60 @@
 package dev.tools.annotationprocessor.db.executer;
 
-import javax.sql.DataSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
+/**
+ * Shared NamedParameterJdbcTemplate outside a Spring context, backed by a CXPooledDataSource
+ * configured from {@code cx.datasource.*} system properties
+ *
+ * @author josue.rojas
+ */
 public class JdbcTemplateHolder {
 
-  private static NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private static volatile NamedParameterJdbcTemplate template;
+  private static CXPooledDataSource dataSource;
 
   private JdbcTemplateHolder() {}
 
+  /**
+   * Shared template, the pool is built on first call
+   *
+   * @throws IllegalStateException when {@code cx.datasource.url} is not set, later calls retry
+   * @return jdbc template
+   */
   public static NamedParameterJdbcTemplate getConnection() {
-    if (namedParameterJdbcTemplate == null)
-      namedParameterJdbcTemplate = namedParameterJdbcTemplate(dataSource());
-    return namedParameterJdbcTemplate;
+    NamedParameterJdbcTemplate current = template;
+    if (current == null) {
+      synchronized (JdbcTemplateHolder.class) {
+        current = template;
+        if (current == null) {
+          dataSource = createDataSource();
+          current = new NamedParameterJdbcTemplate(dataSource);
+          template = current;
+        }
+      }
+    }
+    return current;
   }
 
-  private static DataSource dataSource() {
-    DriverManagerDataSource dataSource = new DriverManagerDataSource();
-    dataSource.setDriverClassName("<driver_class_name>");
-    dataSource.setUrl("<url>");
-    dataSource.setUsername("<user>");
-    dataSource.setPassword("<pass>");
+  /**
+   * Pool behind the shared template
+   *
+   * @throws IllegalStateException when {@code cx.datasource.url} is not set
+   * @return pooled data source
+   */
+  public static CXPooledDataSource getDataSource() {
+    getConnection();
     return dataSource;
   }
 
-  private static NamedParameterJdbcTemplate namedParameterJdbcTemplate(
-      final DataSource dataSource) {
-    return new NamedParameterJdbcTemplate(dataSource);
+  private static CXPooledDataSource createDataSource() {
+    final String url = System.getProperty(CXPoolConfig.URL_PROPERTY);
+    if (url == null || url.trim().isEmpty()) {
+      throw new IllegalStateException(
+          "System property "
+              + CXPoolConfig.URL_PROPERTY
+              + " is not set, JdbcTemplateHolder has no database to connect to");
+    }
+    return new CXPooledDataSource(CXPoolConfig.from(System::getProperty));
   }
 }
@@ -0,0 +1,131 @@
+package dev.tools.annotationprocessor.db.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Filter for generated list endpoints. Request parameters name a filterable attribute and an
+ * optional operator ({@code field=v}, {@code field.gt=v}, {@code field.gte=v}, {@code field.lt=v},
+ * {@code field.lte=v}, {@code field.in=a,b,c}); statements are composed only from the column
+ * references generated at compile time and the fixed operators below, every value is a bound
+ * parameter. Results are keyset paginated by id.
+ *
+ * @author josue.rojas
+ */
+public class CXFilter {
+
+  /** Max values for one IN predicate */
+  public static final int MAX_IN_VALUES = 1000;
+
+  private static final Set<String> RESERVED_PARAMETERS =
+      new HashSet<>(Arrays.asList("after", "limit", "fields"));
+  private static final Map<String, String> OPERATORS = new LinkedHashMap<>();
+
+  static {
+    OPERATORS.put("eq", " = ");
+    OPERATORS.put("gt", " > ");
+    OPERATORS.put("gte", " >= ");
+    OPERATORS.put("lt", " < ");
+    OPERATORS.put("lte", " <= ");
+    OPERATORS.put("in", " in ");
+  }
+
+  private final String select;
+  private final String idColumnReference;
+  private final Map<String, CXFilterColumn> columns = new LinkedHashMap<>();
+
+  /**
+   * @param select select list and from clause, table alias t
+   * @param idColumnReference id column reference, used for keyset pagination
+   * @param columns filterable columns
+   */
+  public CXFilter(
+      final String select, final String idColumnReference, final List<CXFilterColumn> columns) {
+    this.select = select;
+    this.idColumnReference = idColumnReference;
+    columns.forEach(column -> this.columns.put(column.getFieldName(), column));
+  }
+
+  /**
+   * Build filter query
+   *
+   * @param parameters request parameters, parameters for pagination and projection are ignored
+   * @param after last id of the previous page, null for the first page
+   * @param limit page size
+   * @throws CXInvalidFilterException when a parameter is not a filterable attribute or operator
+   * @return filter statement and bound parameters
+   */
+  public CXFilterQuery query(
+      final Map<String, List<String>> parameters, final Object after, final int limit) {
+    final List<String> predicates = new ArrayList<>();
+    final MapSqlParameterSource bound = new MapSqlParameterSource();
+
+    for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+      if (RESERVED_PARAMETERS.contains(parameter.getKey())) continue;
+      final int separator = parameter.getKey().lastIndexOf('.');
+      final String fieldName =
+          separator < 0 ? parameter.getKey() : parameter.getKey().substring(0, separator);
+      final String operator = separator < 0 ? "eq" : parameter.getKey().substring(separator + 1);
+      final CXFilterColumn column = columns.get(fieldName);
+      if (column == null) {
+        throw new CXInvalidFilterException(
+            "Unknown filter '" + fieldName + "', filterable attributes are " + columns.keySet());
+      }
+      if (!OPERATORS.containsKey(operator)) {
+        throw new CXInvalidFilterException(
+            "Unknown operator '" + operator + "', operators are " + OPERATORS.keySet());
+      }
+
+      final List<String> values = values(operator, parameter.getValue());
+      if (values.isEmpty()) {
+        throw new CXInvalidFilterException("Missing value for filter '" + parameter.getKey() + "'");
+      }
+      if (operator.equals("in") || (operator.equals("eq") && values.size() > 1)) {
+        if (values.size() > MAX_IN_VALUES) {
+          throw new CXInvalidFilterException(
+              "Too many values for filter '" + parameter.getKey() + "', max " + MAX_IN_VALUES);
+        }
+        final List<Object> converted = new ArrayList<>(values.size());
+        values.forEach(value -> converted.add(column.convert(value)));
+        final String name = "p" + bound.getValues().size();
+        predicates.add(column.getColumnReference() + " in (:" + name + ")");
+        bound.addValue(name, converted);
+      } else {
+        for (String value : values) {
+          final String valueName = "p" + bound.getValues().size();
+          predicates.add(column.getColumnReference() + OPERATORS.get(operator) + ":" + valueName);
+          bound.addValue(valueName, column.convert(value), column.getSqlType());
+        }
+      }
+    }
+
+    if (after != null) {
+      predicates.add(idColumnReference + " > :after");
+      bound.addValue("after", after);
+    }
+    bound.addValue("limit", limit);
+
+    final StringBuilder sql = new StringBuilder(select);
+    if (!predicates.isEmpty()) {
+      sql.append(" where ").append(String.join(" and ", predicates));
+    }
+    sql.append(" order by ").append(idColumnReference).append(" limit :limit");
+    return new CXFilterQuery(sql.toString(), bound);
+  }
+
+  private static List<String> values(final String operator, final List<String> values) {
+    if (values == null) return Collections.emptyList();
+    if (!operator.equals("in")) return values;
+    final List<String> split = new ArrayList<>();
+    values.forEach(value -> split.addAll(Arrays.asList(value.split(","))));
+    return split;
+  }
+}
@@ -0,0 +1,62 @@
+package dev.tools.annotationprocessor.db.filter;
+
+import java.util.function.Function;
+
+/**
+ * Filterable column, generated at compile time with the column reference and a typed value
+ * converter
+ *
+ * @author josue.rojas
+ */
+public class CXFilterColumn {
+
+  private final String fieldName;
+  private final String columnReference;
+  private final int sqlType;
+  private final Function<String, Object> converter;
+
+  /**
+   * @param fieldName attribute name used as request parameter
+   * @param columnReference column reference in the generated select, e.g. t.`ID`
+   * @param sqlType java.sql.Types for bound values
+   * @param converter request value to column value
+   */
+  public CXFilterColumn(
+      final String fieldName,
+      final String columnReference,
+      final int sqlType,
+      final Function<String, Object> converter) {
+    this.fieldName = fieldName;
+    this.columnReference = columnReference;
+    this.sqlType = sqlType;
+    this.converter = converter;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public String getColumnReference() {
+    return columnReference;
+  }
+
+  public int getSqlType() {
+    return sqlType;
+  }
+
+  /**
+   * Convert request value
+   *
+   * @param value request value
+   * @throws CXInvalidFilterException when value cannot be converted to the column type
+   * @return column value
+   */
+  public Object convert(final String value) {
+    try {
+      return converter.apply(value);
+    } catch (RuntimeException e) {
+      throw new CXInvalidFilterException(
+          "Invalid value '" + value + "' for filter on '" + fieldName + "'", e);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package dev.tools.annotationprocessor.db.filter;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Filter statement and its bound parameters
+ *
+ * @author josue.rojas
+ */
+public class CXFilterQuery {
+
+  private final String sql;
+  private final MapSqlParameterSource parameters;
+
+  public CXFilterQuery(final String sql, final MapSqlParameterSource parameters) {
+    this.sql = sql;
+    this.parameters = parameters;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  public MapSqlParameterSource getParameters() {
+    return parameters;
+  }
+}
@@ -0,0 +1,23 @@
+package dev.tools.annotationprocessor.db.filter;
+
+import org.springframework.http.HttpStatus;
+
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Filter request is not valid for the entity (unknown column, operator or value), answered with 400
+ * Bad Request
+ *
+ * @author josue.rojas
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CXInvalidFilterException extends IllegalArgumentException {
+
+  public CXInvalidFilterException(final String message) {
+    super(message);
+  }
+
+  public CXInvalidFilterException(final String message, final Throwable cause) {
+    super(message, cause);
+  }
+}
@@ -0,0 +1,116 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Column metadata for a CXEntity attribute, resolved at compile time by the annotation processor
+ *
+ * @param <T> CXEntity annotated class
+ * @author josue.rojas
+ */
+public final class CXColumnMeta<T> {
+
+  private final String fieldName;
+  private final String columnName;
+  private final int sqlType;
+  private final String ddlType;
+  private final boolean id;
+  private final boolean generated;
+  private final Function<T, Object> getter;
+  private final BiConsumer<T, Object> setter;
+
+  public CXColumnMeta(
+      final String fieldName,
+      final String columnName,
+      final int sqlType,
+      final String ddlType,
+      final boolean id,
+      final boolean generated,
+      final Function<T, Object> getter,
+      final BiConsumer<T, Object> setter) {
+    this.fieldName = fieldName;
+    this.columnName = columnName;
+    this.sqlType = sqlType;
+    this.ddlType = ddlType;
+    this.id = id;
+    this.generated = generated;
+    this.getter = getter;
+    this.setter = setter;
+  }
+
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  public String getColumnName() {
+    return columnName;
+  }
+
+  /**
+   * Sql type for parameter binding
+   *
+   * @return java.sql.Types constant, SqlParameterSource.TYPE_UNKNOWN when not resolved
+   */
+  public int getSqlType() {
+    return sqlType;
+  }
+
+  /**
+   * MySQL column definition type
+   *
+   * @return column type like varchar(100), null when the attribute has no @*Column type annotation
+   */
+  public String getDdlType() {
+    return ddlType;
+  }
+
+  public boolean isId() {
+    return id;
+  }
+
+  public boolean isGenerated() {
+    return generated;
+  }
+
+  /**
+   * Read attribute value from instance
+   *
+   * @param instance CXEntity instance
+   * @return attribute value
+   */
+  public Object get(final T instance) {
+    return getter.apply(instance);
+  }
+
+  /**
+   * Write attribute value into instance
+   *
+   * @param instance CXEntity instance
+   * @param value attribute value
+   */
+  public void set(final T instance, final Object value) {
+    setter.accept(instance, value);
+  }
+
+  @Override
+  public String toString() {
+    return "CXColumnMeta{"
+        + "fieldName='"
+        + fieldName
+        + '\''
+        + ", columnName='"
+        + columnName
+        + '\''
+        + ", sqlType="
+        + sqlType
+        + ", ddlType='"
+        + ddlType
+        + '\''
+        + ", id="
+        + id
+        + ", generated="
+        + generated
+        + '}';
+  }
+}
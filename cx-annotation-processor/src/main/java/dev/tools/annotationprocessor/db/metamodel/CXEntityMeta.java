@@ -0,0 +1,102 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Entity metadata for a CXEntity annotated class, generated at compile time as {@code <Entity>Meta}
+ *
+ * @param <T> CXEntity annotated class
+ * @author josue.rojas
+ */
+public final class CXEntityMeta<T> {
+
+  private final Class<T> entityClass;
+  private final String tableName;
+  private final List<CXColumnMeta<T>> columns;
+  private final CXColumnMeta<T> idColumn;
+  private final Map<String, CXColumnMeta<T>> columnsByName;
+  private final List<CXIndexMeta> indexes;
+
+  /**
+   * @param entityClass CXEntity annotated class
+   * @param tableName table name from CXEntity
+   * @param columns columns in declaration order
+   * @throws IllegalStateException when no column is flagged as id
+   */
+  public CXEntityMeta(
+      final Class<T> entityClass, final String tableName, final List<CXColumnMeta<T>> columns) {
+    this(entityClass, tableName, columns, Collections.emptyList());
+  }
+
+  /**
+   * @param entityClass CXEntity annotated class
+   * @param tableName table name from CXEntity
+   * @param columns columns in declaration order
+   * @param indexes indexes from CXIndex annotations
+   * @throws IllegalStateException when no column is flagged as id
+   */
+  public CXEntityMeta(
+      final Class<T> entityClass,
+      final String tableName,
+      final List<CXColumnMeta<T>> columns,
+      final List<CXIndexMeta> indexes) {
+    this.entityClass = entityClass;
+    this.tableName = tableName;
+    this.columns = Collections.unmodifiableList(columns);
+    this.indexes = Collections.unmodifiableList(indexes);
+    this.columnsByName = new HashMap<>();
+    CXColumnMeta<T> id = null;
+    for (CXColumnMeta<T> column : columns) {
+      columnsByName.put(column.getColumnName(), column);
+      if (column.isId() && id == null) id = column;
+    }
+    if (id == null) {
+      throw new IllegalStateException(
+          "Id field must be annotated with @CXId for " + entityClass.getName() + " class");
+    }
+    this.idColumn = id;
+  }
+
+  public Class<T> getEntityClass() {
+    return entityClass;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * Columns in declaration order
+   *
+   * @return unmodifiable column list
+   */
+  public List<CXColumnMeta<T>> getColumns() {
+    return columns;
+  }
+
+  public CXColumnMeta<T> getIdColumn() {
+    return idColumn;
+  }
+
+  /**
+   * Indexes declared with CXIndex, the primary key is not included
+   *
+   * @return unmodifiable index list
+   */
+  public List<CXIndexMeta> getIndexes() {
+    return indexes;
+  }
+
+  /**
+   * Get column by database column name
+   *
+   * @param columnName column name from CXColumn
+   * @return column metadata, null when not found
+   */
+  public CXColumnMeta<T> getColumn(final String columnName) {
+    return columnsByName.get(columnName);
+  }
+}
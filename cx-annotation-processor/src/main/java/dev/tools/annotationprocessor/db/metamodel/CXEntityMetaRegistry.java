@@ -0,0 +1,75 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry for generated {@code <Entity>Meta} classes, lookups are a single map access once the
+ * meta class is loaded
+ *
+ * @author josue.rojas
+ */
+public class CXEntityMetaRegistry {
+
+  public static final String META_PACKAGE_SUFFIX = "meta";
+  public static final String META_CLASS_SUFFIX = "Meta";
+
+  private static final Map<Class<?>, CXEntityMeta<?>> metas = new ConcurrentHashMap<>();
+  private static final Set<Class<?>> withoutMeta = ConcurrentHashMap.newKeySet();
+
+  private CXEntityMetaRegistry() {}
+
+  /**
+   * Register entity metadata, called from the generated meta class static initialization
+   *
+   * @param meta entity metadata
+   * @return the same metadata
+   */
+  public static <T> CXEntityMeta<T> register(final CXEntityMeta<T> meta) {
+    metas.put(meta.getEntityClass(), meta);
+    return meta;
+  }
+
+  /**
+   * Get entity metadata, loading the generated meta class the first time an entity is requested
+   *
+   * @param clazz CXEntity annotated class
+   * @return entity metadata, null when no meta class was generated for the entity
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> CXEntityMeta<T> get(final Class<T> clazz) {
+    CXEntityMeta<?> meta = metas.get(clazz);
+    if (meta == null && !withoutMeta.contains(clazz)) {
+      load(clazz);
+      meta = metas.get(clazz);
+      if (meta == null) withoutMeta.add(clazz);
+    }
+    return (CXEntityMeta<T>) meta;
+  }
+
+  /**
+   * Get generated meta class name for entity
+   *
+   * @param clazz CXEntity annotated class
+   * @return fully qualified meta class name
+   */
+  public static String getMetaClassName(final Class<?> clazz) {
+    return String.format(
+        "%s.%s.%s%s",
+        NameGenerationTool.getPackageName(clazz.getName()),
+        META_PACKAGE_SUFFIX,
+        clazz.getSimpleName(),
+        META_CLASS_SUFFIX);
+  }
+
+  private static void load(final Class<?> clazz) {
+    try {
+      // static initialization registers the meta instance
+      Class.forName(getMetaClassName(clazz), true, clazz.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      // entity compiled without the processor, callers fallback to reflection
+    }
+  }
+}
@@ -0,0 +1,59 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index metadata for a CXEntity, resolved at compile time from CXIndex annotations
+ *
+ * @author josue.rojas
+ */
+public final class CXIndexMeta {
+
+  private final String name;
+  private final boolean unique;
+  private final boolean descending;
+  private final List<String> columnNames;
+
+  public CXIndexMeta(
+      final String name,
+      final boolean unique,
+      final boolean descending,
+      final List<String> columnNames) {
+    this.name = name;
+    this.unique = unique;
+    this.descending = descending;
+    this.columnNames = Collections.unmodifiableList(columnNames);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public boolean isUnique() {
+    return unique;
+  }
+
+  public boolean isDescending() {
+    return descending;
+  }
+
+  /**
+   * Database column names in index order
+   *
+   * @return unmodifiable column name list
+   */
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  /**
+   * Check if the column is the leading column of the index, so predicates on it can use the index
+   *
+   * @param columnName database column name
+   * @return true when the index starts with the column
+   */
+  public boolean covers(final String columnName) {
+    return !columnNames.isEmpty() && columnNames.get(0).equalsIgnoreCase(columnName);
+  }
+}
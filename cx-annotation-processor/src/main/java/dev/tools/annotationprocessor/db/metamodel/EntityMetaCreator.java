@@ -0,0 +1,441 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.annotations.entity.CXFilterable;
+import dev.tools.annotationprocessor.core.annotations.entity.CXIndex;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.filter.CXFilter;
+import dev.tools.annotationprocessor.db.filter.CXFilterColumn;
+import dev.tools.annotationprocessor.db.projection.CXProjection;
+import dev.tools.annotationprocessor.db.sqlwriter.SqlReadSentenceGenerator;
+import dev.tools.annotationprocessor.db.tablecreator.TableCreator;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Entity meta creator, generates {@code <Entity>Meta} with table name, ordered columns, id column,
+ * sql types and accessors so runtime code does not need to scan annotations
+ *
+ * @author josue.rojas
+ */
+public class EntityMetaCreator {
+
+  private static final String META_FIELD_NAME = "META";
+  public static final String PROJECTION_FIELD_NAME = "PROJECTION";
+  public static final String FILTER_FIELD_NAME = "FILTER";
+  private static final List<String> RESERVED_FIELD_NAMES =
+      Arrays.asList(META_FIELD_NAME, PROJECTION_FIELD_NAME, FILTER_FIELD_NAME);
+  private static final int MAX_INDEX_NAME_LENGTH = 64;
+
+  /**
+   * Build meta class
+   *
+   * @param clazz type element from annotation processing
+   * @param className class name as string
+   * @return TypeSpec for meta class
+   */
+  private TypeSpec buildMetaClass(final TypeElement clazz, final String className) {
+    final ClassName entityType = EntityModel.of(clazz).getClassName();
+    final TypeName columnMetaType =
+        ParameterizedTypeName.get(ClassName.get(CXColumnMeta.class), entityType);
+    final TypeName entityMetaType =
+        ParameterizedTypeName.get(ClassName.get(CXEntityMeta.class), entityType);
+
+    final List<FieldModel> columns = EntityModel.of(clazz).getColumns();
+
+    final TypeSpec.Builder typeSpecBuilder =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+            .addOriginatingElement(clazz)
+            .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+
+    // column constants, declared before META so they are initialized first
+    final List<String> constantNames =
+        columns.stream()
+            .map(
+                column -> {
+                  final String constantName = getConstantName(column);
+                  typeSpecBuilder.addField(
+                      FieldSpec.builder(
+                              columnMetaType,
+                              constantName,
+                              Modifier.PUBLIC,
+                              Modifier.STATIC,
+                              Modifier.FINAL)
+                          .initializer(buildColumnInitializer(entityType, column))
+                          .build());
+                  return constantName;
+                })
+            .collect(Collectors.toList());
+
+    final List<CXIndexMeta> indexes = getIndexes(clazz);
+    typeSpecBuilder.addField(
+        FieldSpec.builder(
+                entityMetaType, META_FIELD_NAME, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .initializer(
+                indexes.isEmpty()
+                    ? CodeBlock.of(
+                        "$T.register(new $T<>($T.class, $S, $T.asList($L)))",
+                        CXEntityMetaRegistry.class,
+                        CXEntityMeta.class,
+                        entityType,
+                        NameGenerationTool.getTableName(clazz),
+                        Arrays.class,
+                        String.join(", ", constantNames))
+                    : CodeBlock.of(
+                        "$T.register(\n$>$>new $T<>(\n$T.class,\n$S,\n$T.asList($L),\n"
+                            + "$T.asList(\n$>$L)))$<$<$<",
+                        CXEntityMetaRegistry.class,
+                        CXEntityMeta.class,
+                        entityType,
+                        NameGenerationTool.getTableName(clazz),
+                        Arrays.class,
+                        String.join(", ", constantNames),
+                        Arrays.class,
+                        buildIndexesInitializer(indexes)))
+            .build());
+
+    if (supportsProjection(clazz)) {
+      typeSpecBuilder.addField(buildProjectionField(clazz));
+    }
+    if (supportsFilter(clazz)) {
+      typeSpecBuilder.addField(buildFilterField(clazz));
+    }
+
+    return typeSpecBuilder.build();
+  }
+
+  /**
+   * Build projection field, select fragment per column and statement suffixes for sparse fieldsets
+   *
+   * @param clazz type element from annotation processing
+   * @return projection field
+   */
+  private FieldSpec buildProjectionField(final TypeElement clazz) {
+    final CodeBlock fragments =
+        joinStrings(
+            SqlReadSentenceGenerator.getSelectColumns(clazz).stream()
+                .map(SqlReadSentenceGenerator::getSelectColumnFragment)
+                .collect(Collectors.toList()));
+    final CodeBlock suffixes = joinStrings(SqlReadSentenceGenerator.writeSelectSuffixes(clazz));
+    return FieldSpec.builder(
+            CXProjection.class,
+            PROJECTION_FIELD_NAME,
+            Modifier.PUBLIC,
+            Modifier.STATIC,
+            Modifier.FINAL)
+        .initializer(
+            "new $T(\n$>$>$N,\nnew String[] {\n$>$L$<},\nnew String[] {\n$>$L$<})$<$<",
+            CXProjection.class,
+            META_FIELD_NAME,
+            fragments,
+            suffixes)
+        .build();
+  }
+
+  /**
+   * Build filter field, filterable columns with their column reference, sql type and typed
+   * converter
+   *
+   * @param clazz type element from annotation processing
+   * @return filter field
+   */
+  private FieldSpec buildFilterField(final TypeElement clazz) {
+    final List<FieldModel> columns = getFilterableColumns(clazz);
+    final CodeBlock.Builder filterColumns = CodeBlock.builder();
+    for (int i = 0; i < columns.size(); i++) {
+      final FieldModel column = columns.get(i);
+      filterColumns.add(
+          "new $T($S, $S, $T.$N, $L)$L",
+          CXFilterColumn.class,
+          column.getSimpleName(),
+          getColumnReference(column),
+          Types.class,
+          ClassReflectionTool.getSqlTypeName(column),
+          buildFilterConverter(column),
+          i < columns.size() - 1 ? ",\n" : "");
+    }
+    return FieldSpec.builder(
+            CXFilter.class, FILTER_FIELD_NAME, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+        .initializer(
+            "new $T(\n$>$>$S,\n$S,\n$T.asList(\n$>$L))$<$<$<",
+            CXFilter.class,
+            SqlReadSentenceGenerator.writeSelectSentence(clazz),
+            getColumnReference(ClassReflectionTool.getIdField(clazz)),
+            Arrays.class,
+            filterColumns.build())
+        .build();
+  }
+
+  private String getColumnReference(final FieldModel column) {
+    return "t.`" + column.getColumnName() + "`";
+  }
+
+  /**
+   * Build converter from request value to column value, dates are epoch millis like the JSON
+   * responses
+   *
+   * @param column filterable column
+   * @return converter lambda or method reference, null when the type cannot be filtered
+   */
+  public static CodeBlock buildFilterConverter(final FieldModel column) {
+    final TypeName type = column.getTypeName().box();
+    if (type.equals(ClassName.get(String.class))) return CodeBlock.of("value -> value");
+    else if (type.equals(ClassName.get(Integer.class))
+        || type.equals(ClassName.get(Long.class))
+        || type.equals(ClassName.get(Short.class))
+        || type.equals(ClassName.get(Byte.class))
+        || type.equals(ClassName.get(Float.class))
+        || type.equals(ClassName.get(Double.class))
+        || type.equals(ClassName.get(Boolean.class))) return CodeBlock.of("$T::valueOf", type);
+    else if (type.equals(ClassName.get(BigDecimal.class))) return CodeBlock.of("$T::new", type);
+    else if (type.equals(ClassName.get(java.util.Date.class))
+        || type.equals(ClassName.get(java.sql.Date.class))
+        || type.equals(ClassName.get(Timestamp.class)))
+      return CodeBlock.of("value -> new $T($T.parseLong(value))", type, Long.class);
+    return null;
+  }
+
+  /**
+   * Get filterable columns, CXFilterable columns with a supported type
+   *
+   * @param clazz type element from annotation processing
+   * @return filterable columns in declaration order
+   */
+  public static List<FieldModel> getFilterableColumns(final TypeElement clazz) {
+    return SqlReadSentenceGenerator.getSelectColumns(clazz).stream()
+        .filter(column -> column.getAnnotation(CXFilterable.class) != null)
+        .filter(column -> buildFilterConverter(column) != null)
+        .filter(column -> ClassReflectionTool.getSqlTypeName(column) != null)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Filter endpoint is generated when there is at least one filterable column
+   *
+   * @param clazz type element from annotation processing
+   * @return true when meta has a filter for the entity
+   */
+  public static boolean supportsFilter(final TypeElement clazz) {
+    return !getFilterableColumns(clazz).isEmpty();
+  }
+
+  private CodeBlock buildIndexesInitializer(final List<CXIndexMeta> indexes) {
+    final CodeBlock.Builder codeBlock = CodeBlock.builder();
+    for (int i = 0; i < indexes.size(); i++) {
+      final CXIndexMeta index = indexes.get(i);
+      codeBlock.add(
+          "new $T($S, $L, $L, $T.asList($L))$L",
+          CXIndexMeta.class,
+          index.getName(),
+          index.isUnique(),
+          index.isDescending(),
+          Arrays.class,
+          joinStrings(index.getColumnNames(), ", "),
+          i < indexes.size() - 1 ? ",\n" : "");
+    }
+    return codeBlock.build();
+  }
+
+  /**
+   * Get indexes declared with CXIndex on fields and on the entity class
+   *
+   * @param clazz type element from annotation processing
+   * @throws IllegalStateException when an index references an unknown attribute or a class level
+   *     index has no columns
+   * @return indexes in declaration order, class level indexes first
+   */
+  public static List<CXIndexMeta> getIndexes(final TypeElement clazz) {
+    final Map<String, String> columnNames = new LinkedHashMap<>();
+    SqlReadSentenceGenerator.getSelectColumns(clazz)
+        .forEach(column -> columnNames.put(column.getSimpleName(), column.getColumnName()));
+
+    final List<CXIndexMeta> indexes = new ArrayList<>();
+    for (CXIndex index : EntityModel.of(clazz).getIndexes()) {
+      if (index.columns().length == 0) {
+        throw new IllegalStateException(
+            EntityModel.of(clazz).getClassName() + " class level @CXIndex must list its columns");
+      }
+      indexes.add(buildIndexMeta(clazz, index, Arrays.asList(index.columns()), columnNames));
+    }
+    for (FieldModel column : SqlReadSentenceGenerator.getSelectColumns(clazz)) {
+      for (CXIndex index : column.getIndexes()) {
+        final List<String> attributes =
+            index.columns().length == 0
+                ? Collections.singletonList(column.getSimpleName())
+                : Arrays.asList(index.columns());
+        indexes.add(buildIndexMeta(clazz, index, attributes, columnNames));
+      }
+    }
+    return indexes;
+  }
+
+  private static CXIndexMeta buildIndexMeta(
+      final TypeElement clazz,
+      final CXIndex index,
+      final List<String> attributes,
+      final Map<String, String> columnNames) {
+    final List<String> indexColumns = new ArrayList<>();
+    for (String attribute : attributes) {
+      final String columnName = columnNames.get(attribute);
+      if (columnName == null) {
+        throw new IllegalStateException(
+            EntityModel.of(clazz).getClassName()
+                + " @CXIndex references unknown attribute '"
+                + attribute
+                + "', attributes are "
+                + columnNames.keySet());
+      }
+      indexColumns.add(columnName);
+    }
+    final String tableName = NameGenerationTool.getTableName(clazz);
+    final String name =
+        index.name().isEmpty()
+            ? (index.unique() ? "uk_" : "idx_") + tableName + "_" + String.join("_", indexColumns)
+            : index.name();
+    return new CXIndexMeta(
+        name.length() > MAX_INDEX_NAME_LENGTH ? name.substring(0, MAX_INDEX_NAME_LENGTH) : name,
+        index.unique(),
+        index.order() == CXIndex.Order.DESC,
+        indexColumns);
+  }
+
+  /**
+   * Get filterable columns that no index starts with, predicates on them scan the whole table. The
+   * id column is covered by the primary key, which is also the only sort column of the generated
+   * keyset pages
+   *
+   * @param clazz type element from annotation processing
+   * @return uncovered filterable columns in declaration order
+   */
+  public static List<FieldModel> getUncoveredFilterColumns(final TypeElement clazz) {
+    final List<CXIndexMeta> indexes = getIndexes(clazz);
+    return getFilterableColumns(clazz).stream()
+        .filter(column -> !column.isId())
+        .filter(column -> indexes.stream().noneMatch(index -> index.covers(column.getColumnName())))
+        .collect(Collectors.toList());
+  }
+
+  private static CodeBlock joinStrings(final List<String> values, final String separator) {
+    final CodeBlock.Builder codeBlock = CodeBlock.builder();
+    for (int i = 0; i < values.size(); i++) {
+      codeBlock.add(i < values.size() - 1 ? "$S" + separator : "$S", values.get(i));
+    }
+    return codeBlock.build();
+  }
+
+  private CodeBlock joinStrings(final List<String> values) {
+    final CodeBlock.Builder codeBlock = CodeBlock.builder();
+    for (int i = 0; i < values.size(); i++) {
+      codeBlock.add(i < values.size() - 1 ? "$S,\n" : "$S\n", values.get(i));
+    }
+    return codeBlock.build();
+  }
+
+  /**
+   * Sparse fieldsets need one mask bit per column
+   *
+   * @param clazz type element from annotation processing
+   * @return true when meta has a projection for the entity
+   */
+  public static boolean supportsProjection(final TypeElement clazz) {
+    return SqlReadSentenceGenerator.getSelectColumns(clazz).size() <= CXProjection.MAX_COLUMNS;
+  }
+
+  /**
+   * Get meta class name for entity
+   *
+   * @param clazz type element from annotation processing
+   * @param packageName package name
+   * @return meta class name
+   */
+  public static ClassName getMetaClassName(final TypeElement clazz, final String packageName) {
+    return ClassName.get(
+        packageName + "." + CXEntityMetaRegistry.META_PACKAGE_SUFFIX,
+        EntityModel.of(clazz).getSimpleName() + CXEntityMetaRegistry.META_CLASS_SUFFIX);
+  }
+
+  private CodeBlock buildColumnInitializer(final ClassName entityType, final FieldModel column) {
+    final String sqlTypeName = ClassReflectionTool.getSqlTypeName(column);
+    final CodeBlock sqlType =
+        sqlTypeName != null
+            ? CodeBlock.of("$T.$N", Types.class, sqlTypeName)
+            : CodeBlock.of("$T.TYPE_UNKNOWN", SqlParameterSource.class);
+
+    return CodeBlock.builder()
+        .add("new $T<>(\n", CXColumnMeta.class)
+        .indent()
+        .indent()
+        .add("$S,\n", column.getSimpleName())
+        .add("$S,\n", column.getColumnName())
+        .add("$L,\n", sqlType)
+        .add("$S,\n", TableCreator.getMySqlTypeBasedOnJavaType(column))
+        .add("$L,\n", column.isId())
+        .add("$L,\n", column.isGeneratedId())
+        .add("$T::$N,\n", entityType, NameGenerationTool.getGetterName(column))
+        .add(
+            "(instance, value) -> instance.$N(($T) value))",
+            NameGenerationTool.getSetterName(column),
+            column.getTypeName())
+        .unindent()
+        .unindent()
+        .build();
+  }
+
+  /**
+   * Get constant name for column, camelCase attribute to UPPER_SNAKE_CASE, suffixed when it
+   * clashes with the other constants of the meta class
+   *
+   * @param column field model from annotation processing
+   * @return constant name
+   */
+  private String getConstantName(final FieldModel column) {
+    final String constantName =
+        column.getSimpleName().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    return RESERVED_FIELD_NAMES.contains(constantName) ? constantName + "_COLUMN" : constantName;
+  }
+
+  /**
+   * Build meta java class file
+   *
+   * @param clazz type element from annotation processing
+   * @param packageName package name
+   * @return JavaClassFile for meta generated class
+   */
+  public JavaClassFile buildMetaJavaClassFile(final TypeElement clazz, final String packageName) {
+    final ClassName metaClassName = getMetaClassName(clazz, packageName);
+    final String className = metaClassName.simpleName();
+    final String filePackageName = metaClassName.packageName();
+    final JavaFile javaFile =
+        JavaFile.builder(filePackageName, buildMetaClass(clazz, className)).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(filePackageName)
+        .setFileName(String.format("%s.%s.java", filePackageName, className))
+        .setName((String.format("%s.%s", filePackageName, className)));
+  }
+}
@@ -0,0 +1,96 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets, 8 sub-buckets per power of
+ * two so percentiles are within 12.5% of the recorded value; the max is kept exactly
+ *
+ * @author josue.rojas
+ */
+public class CXLatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  // values under 2 * SUB_BUCKETS micros get one bucket each
+  private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;
+  private static final int MAX_EXPONENT = 40;
+  private static final int BUCKETS = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Record a latency
+   *
+   * @param nanos elapsed nanoseconds
+   */
+  public void record(final long nanos) {
+    final long micros = Math.max(0, nanos / 1000);
+    counts.incrementAndGet(bucket(micros));
+    max.accumulate(micros);
+  }
+
+  private static int bucket(final long micros) {
+    if (micros < LINEAR_LIMIT) return (int) micros;
+    final int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+    final int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return Math.min(
+        LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket, BUCKETS - 1);
+  }
+
+  private static long upperBound(final int bucket) {
+    if (bucket < LINEAR_LIMIT) return bucket;
+    final int exponent = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    final int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+  }
+
+  /**
+   * Percentiles of the recorded latencies, counts recorded while reading may be partially seen
+   *
+   * @param percentiles percentiles between 0 and 1
+   * @return latency in microseconds for each percentile, bucket upper bound capped by the max
+   */
+  public long[] percentiles(final double... percentiles) {
+    final long[] snapshot = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      total += snapshot[i];
+    }
+    final long maxMicros = max.get();
+    final long[] values = new long[percentiles.length];
+    if (total == 0) return values;
+    for (int p = 0; p < percentiles.length; p++) {
+      final long rank = Math.max(1, (long) Math.ceil(percentiles[p] * total));
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += snapshot[i];
+        if (seen >= rank) {
+          values[p] = Math.min(upperBound(i), maxMicros);
+          break;
+        }
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Max recorded latency
+   *
+   * @return max in microseconds
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /** Clear all buckets */
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.set(i, 0);
+    }
+    max.reset();
+  }
+}
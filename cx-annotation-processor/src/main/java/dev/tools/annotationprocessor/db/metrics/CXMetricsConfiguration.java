@@ -0,0 +1,53 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Metrics endpoint for instrumented generated APIs, imported by the generated entity
+ * BeansConfiguration classes unless instrumentation is disabled with the cx.metrics processor
+ * option. The Micrometer binding is only registered when Micrometer is on the classpath
+ *
+ * @author josue.rojas
+ */
+@Configuration
+public class CXMetricsConfiguration {
+
+  @Bean
+  public CXMetricsController cxMetricsController(final Environment env) {
+    CXSlowQueryLog.configure(env::getProperty);
+    return new CXMetricsController();
+  }
+
+  /** Micrometer binding, bound to the MeterRegistry bean when the application has one */
+  @Configuration
+  @Conditional(MicrometerPresent.class)
+  public static class MicrometerBinding {
+
+    @Bean
+    public CXMicrometerBinder cxMicrometerBinder(final ObjectProvider<MeterRegistry> registry) {
+      final CXMicrometerBinder binder = new CXMicrometerBinder();
+      final MeterRegistry meterRegistry = registry.getIfAvailable();
+      if (meterRegistry != null) binder.bindTo(meterRegistry);
+      return binder;
+    }
+  }
+
+  /** Condition on Micrometer classes */
+  public static class MicrometerPresent implements Condition {
+    @Override
+    public boolean matches(final ConditionContext context, final AnnotatedTypeMetadata metadata) {
+      return ClassUtils.isPresent(
+          "io.micrometer.core.instrument.MeterRegistry", context.getClassLoader());
+    }
+  }
+}
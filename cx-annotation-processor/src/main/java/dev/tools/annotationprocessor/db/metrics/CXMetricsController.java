@@ -0,0 +1,44 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * JSON snapshot of the operation metrics and slow query log of generated APIs
+ *
+ * @author josue.rojas
+ */
+@RestController
+public class CXMetricsController {
+
+  public static final String METRICS_PATH = "/CX/_metrics";
+  public static final String SLOW_QUERIES_PATH = "/CX/_slow-queries";
+
+  /**
+   * Metrics snapshot
+   *
+   * @param entity entity simple name, all entities when missing
+   * @return snapshots by entity and operation
+   */
+  @GetMapping(path = METRICS_PATH)
+  public Map<String, Map<String, CXOperationSnapshot>> getMetrics(
+      @RequestParam(value = "entity", required = false) final String entity) {
+    return CXMetricsRegistry.snapshot(entity);
+  }
+
+  /**
+   * Slow query log
+   *
+   * @param entity entity simple name, all entities when missing
+   * @return slow executions of generated repository SQL, most recent first
+   */
+  @GetMapping(path = SLOW_QUERIES_PATH)
+  public List<CXSlowQuery> getSlowQueries(
+      @RequestParam(value = "entity", required = false) final String entity) {
+    return CXSlowQueryLog.getEntries(entity);
+  }
+}
@@ -0,0 +1,93 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process registry of the operation metrics of generated classes, keyed by entity and operation
+ *
+ * @author josue.rojas
+ */
+public class CXMetricsRegistry {
+
+  private static final ConcurrentMap<String, ConcurrentMap<String, CXOperationMetrics>> OPERATIONS =
+      new ConcurrentHashMap<>();
+  private static final CopyOnWriteArrayList<Consumer<CXOperationMetrics>> LISTENERS =
+      new CopyOnWriteArrayList<>();
+
+  private CXMetricsRegistry() {}
+
+  /**
+   * Get or register the metrics of an operation
+   *
+   * @param entity entity simple name
+   * @param operation operation name like repository.getById
+   * @return operation metrics
+   */
+  public static CXOperationMetrics operation(final String entity, final String operation) {
+    return operation(entity, operation, null, 0);
+  }
+
+  /**
+   * Get or register the metrics of an operation running a SQL statement, slow executions are added
+   * to the {@link CXSlowQueryLog}
+   *
+   * @param entity entity simple name
+   * @param operation operation name like repository.getById
+   * @param sql SQL statement, or its template when the statement is built per call
+   * @param bindCount bound parameters
+   * @return operation metrics
+   */
+  public static CXOperationMetrics operation(
+      final String entity, final String operation, final String sql, final int bindCount) {
+    final ConcurrentMap<String, CXOperationMetrics> operations =
+        OPERATIONS.computeIfAbsent(entity, key -> new ConcurrentHashMap<>());
+    CXOperationMetrics metrics = operations.get(operation);
+    if (metrics != null) return metrics;
+    final CXOperationMetrics created = new CXOperationMetrics(entity, operation, sql, bindCount);
+    metrics = operations.putIfAbsent(operation, created);
+    if (metrics != null) return metrics;
+    LISTENERS.forEach(listener -> listener.accept(created));
+    return created;
+  }
+
+  /**
+   * Listen to registered operations, called for the existing ones and then for every new one
+   *
+   * @param listener operation consumer
+   */
+  public static void forEachOperation(final Consumer<CXOperationMetrics> listener) {
+    LISTENERS.add(listener);
+    OPERATIONS.values().forEach(operations -> operations.values().forEach(listener));
+  }
+
+  /**
+   * Snapshot of every operation
+   *
+   * @param entity entity simple name, null for all entities
+   * @return snapshots by entity and operation, sorted by name
+   */
+  public static Map<String, Map<String, CXOperationSnapshot>> snapshot(final String entity) {
+    final Map<String, Map<String, CXOperationSnapshot>> snapshot = new TreeMap<>();
+    OPERATIONS.forEach(
+        (name, operations) -> {
+          if (entity != null && !entity.equals(name)) return;
+          final Map<String, CXOperationSnapshot> entitySnapshot = new TreeMap<>();
+          operations.forEach(
+              (operation, metrics) -> entitySnapshot.put(operation, metrics.snapshot()));
+          snapshot.put(name, entitySnapshot);
+        });
+    return snapshot;
+  }
+
+  /** Clear the counters of every operation, registered operations are kept */
+  public static void reset() {
+    OPERATIONS
+        .values()
+        .forEach(operations -> operations.values().forEach(CXOperationMetrics::reset));
+  }
+}
@@ -0,0 +1,52 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Micrometer binding of the operation metrics, counters for calls, errors and rows plus latency
+ * gauges per percentile, tagged with entity and operation. Operations registered after binding are
+ * bound as they appear
+ *
+ * @author josue.rojas
+ */
+public class CXMicrometerBinder implements MeterBinder {
+
+  private static final double MICROS_PER_SECOND = 1_000_000d;
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    CXMetricsRegistry.forEachOperation(metrics -> bind(registry, metrics));
+  }
+
+  private static void bind(final MeterRegistry registry, final CXOperationMetrics metrics) {
+    final Tags tags = Tags.of("entity", metrics.getEntity(), "operation", metrics.getOperation());
+    FunctionCounter.builder("cx.operation.calls", metrics, CXOperationMetrics::getCalls)
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder("cx.operation.errors", metrics, CXOperationMetrics::getErrors)
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder("cx.operation.rows", metrics, CXOperationMetrics::getRows)
+        .tags(tags)
+        .register(registry);
+    for (double percentile : new double[] {0.5, 0.95, 0.99}) {
+      Gauge.builder(
+              "cx.operation.latency",
+              metrics,
+              value -> value.getPercentileMicros(percentile) / MICROS_PER_SECOND)
+          .tags(tags)
+          .tag("quantile", String.valueOf(percentile))
+          .baseUnit("seconds")
+          .register(registry);
+    }
+    Gauge.builder(
+            "cx.operation.latency.max", metrics, value -> value.getMaxMicros() / MICROS_PER_SECOND)
+        .tags(tags)
+        .baseUnit("seconds")
+        .register(registry);
+  }
+}
@@ -0,0 +1,197 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import dev.tools.annotationprocessor.db.batch.CXBulkResult;
+import dev.tools.annotationprocessor.db.pagination.CXPage;
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpEntity;
+
+/**
+ * Counters and latency histogram of one entity operation, generated code keeps an instance per
+ * operation in a static field so recording a call does not look up the registry. Operations with a
+ * SQL statement add their slow executions to the {@link CXSlowQueryLog}
+ *
+ * @author josue.rojas
+ */
+public class CXOperationMetrics {
+
+  private final String entity;
+  private final String operation;
+  private final String sql;
+  private final int bindCount;
+  // statement of the current call for operations whose SQL is built per call
+  private final ThreadLocal<Statement> statement = new ThreadLocal<>();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder totalMicros = new LongAdder();
+  private final CXLatencyHistogram histogram = new CXLatencyHistogram();
+
+  CXOperationMetrics(
+      final String entity, final String operation, final String sql, final int bindCount) {
+    this.entity = entity;
+    this.operation = operation;
+    this.sql = sql;
+    this.bindCount = bindCount;
+  }
+
+  /**
+   * Set the statement of the current call, for operations whose SQL is built per call
+   *
+   * @param sql executed SQL
+   * @param bindCount bound parameters
+   */
+  public void statement(final String sql, final int bindCount) {
+    statement.set(new Statement(sql, bindCount));
+  }
+
+  /**
+   * Run and record a call, rows are taken from the result
+   *
+   * @param call operation body
+   * @return call result
+   */
+  public <T> T record(final Supplier<T> call) {
+    final long start = System.nanoTime();
+    final T result;
+    try {
+      result = call.get();
+    } catch (RuntimeException | Error e) {
+      record(System.nanoTime() - start, 0, true);
+      throw e;
+    }
+    record(System.nanoTime() - start, rowsOf(result), false);
+    return result;
+  }
+
+  /**
+   * Record a finished call, the statement set for the call is cleared so it cannot be reported for
+   * a later call on the same thread
+   *
+   * @param nanos elapsed nanoseconds
+   * @param rowCount rows returned or affected
+   * @param failed true when the call threw
+   */
+  public void record(final long nanos, final long rowCount, final boolean failed) {
+    final Statement current = statement.get();
+    statement.remove();
+    calls.increment();
+    if (failed) errors.increment();
+    else rows.add(rowCount);
+    totalMicros.add(nanos / 1000);
+    histogram.record(nanos);
+    if (sql != null && CXSlowQueryLog.isSlow(nanos)) {
+      CXSlowQueryLog.add(
+          new CXSlowQuery(
+              System.currentTimeMillis(),
+              entity,
+              operation,
+              current == null ? sql : current.sql,
+              current == null ? bindCount : current.bindCount,
+              failed ? 0 : rowCount,
+              nanos / 1000,
+              failed));
+    }
+  }
+
+  /**
+   * Rows of a generated method result, lists and pages count their items, booleans count 1 when
+   * true, bulk results count succeeded items, responses count their body and any other non null
+   * value counts 1
+   *
+   * @param result generated method result
+   * @return rows
+   */
+  static long rowsOf(final Object result) {
+    if (result == null) return 0;
+    if (result instanceof HttpEntity) return rowsOf(((HttpEntity<?>) result).getBody());
+    if (result instanceof Boolean) return (Boolean) result ? 1 : 0;
+    if (result instanceof Collection) return ((Collection<?>) result).size();
+    if (result instanceof CXPage) return ((CXPage<?, ?>) result).getItems().size();
+    if (result instanceof CXBulkResult) return ((CXBulkResult) result).getSucceeded();
+    return 1;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  /**
+   * SQL statement of the operation, template of the statement when it is built per call
+   *
+   * @return sql or null when the operation does not run SQL directly
+   */
+  public String getSql() {
+    return sql;
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  public long getRows() {
+    return rows.sum();
+  }
+
+  /**
+   * Latency percentile
+   *
+   * @param percentile between 0 and 1
+   * @return latency in microseconds
+   */
+  public long getPercentileMicros(final double percentile) {
+    return histogram.percentiles(percentile)[0];
+  }
+
+  public long getMaxMicros() {
+    return histogram.getMax();
+  }
+
+  /**
+   * Snapshot of the counters
+   *
+   * @return snapshot
+   */
+  public CXOperationSnapshot snapshot() {
+    final long[] percentiles = histogram.percentiles(0.5, 0.95, 0.99);
+    return new CXOperationSnapshot(
+        calls.sum(),
+        errors.sum(),
+        rows.sum(),
+        percentiles[0],
+        percentiles[1],
+        percentiles[2],
+        histogram.getMax(),
+        totalMicros.sum());
+  }
+
+  /** Clear counters and histogram */
+  public void reset() {
+    calls.reset();
+    errors.reset();
+    rows.reset();
+    totalMicros.reset();
+    histogram.reset();
+  }
+
+  /** SQL built by one call */
+  private static class Statement {
+    private final String sql;
+    private final int bindCount;
+
+    private Statement(final String sql, final int bindCount) {
+      this.sql = sql;
+      this.bindCount = bindCount;
+    }
+  }
+}
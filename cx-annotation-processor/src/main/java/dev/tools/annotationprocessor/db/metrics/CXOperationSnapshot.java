@@ -0,0 +1,79 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+/**
+ * Snapshot of the counters of one entity operation, latencies in microseconds
+ *
+ * @author josue.rojas
+ */
+public class CXOperationSnapshot {
+
+  private final long calls;
+  private final long errors;
+  private final long rows;
+  private final long p50Micros;
+  private final long p95Micros;
+  private final long p99Micros;
+  private final long maxMicros;
+  private final long totalMicros;
+
+  public CXOperationSnapshot(
+      final long calls,
+      final long errors,
+      final long rows,
+      final long p50Micros,
+      final long p95Micros,
+      final long p99Micros,
+      final long maxMicros,
+      final long totalMicros) {
+    this.calls = calls;
+    this.errors = errors;
+    this.rows = rows;
+    this.p50Micros = p50Micros;
+    this.p95Micros = p95Micros;
+    this.p99Micros = p99Micros;
+    this.maxMicros = maxMicros;
+    this.totalMicros = totalMicros;
+  }
+
+  /**
+   * Completed calls, failed ones included
+   *
+   * @return calls
+   */
+  public long getCalls() {
+    return calls;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Rows returned or affected by successful calls
+   *
+   * @return rows
+   */
+  public long getRows() {
+    return rows;
+  }
+
+  public long getP50Micros() {
+    return p50Micros;
+  }
+
+  public long getP95Micros() {
+    return p95Micros;
+  }
+
+  public long getP99Micros() {
+    return p99Micros;
+  }
+
+  public long getMaxMicros() {
+    return maxMicros;
+  }
+
+  public long getMeanMicros() {
+    return calls == 0 ? 0 : totalMicros / calls;
+  }
+}
@@ -0,0 +1,84 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+/**
+ * Slow query log entry
+ *
+ * @author josue.rojas
+ */
+public class CXSlowQuery {
+
+  private final long timestamp;
+  private final String entity;
+  private final String operation;
+  private final String sql;
+  private final int bindCount;
+  private final long rows;
+  private final long durationMicros;
+  private final boolean failed;
+
+  public CXSlowQuery(
+      final long timestamp,
+      final String entity,
+      final String operation,
+      final String sql,
+      final int bindCount,
+      final long rows,
+      final long durationMicros,
+      final boolean failed) {
+    this.timestamp = timestamp;
+    this.entity = entity;
+    this.operation = operation;
+    this.sql = sql;
+    this.bindCount = bindCount;
+    this.rows = rows;
+    this.durationMicros = durationMicros;
+    this.failed = failed;
+  }
+
+  /**
+   * End of the execution
+   *
+   * @return epoch millis
+   */
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  public String getEntity() {
+    return entity;
+  }
+
+  public String getOperation() {
+    return operation;
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  /**
+   * Bound parameters, per row for batch statements
+   *
+   * @return bind count
+   */
+  public int getBindCount() {
+    return bindCount;
+  }
+
+  /**
+   * Rows returned or affected, 0 when the execution failed
+   *
+   * @return rows
+   */
+  public long getRows() {
+    return rows;
+  }
+
+  public long getDurationMicros() {
+    return durationMicros;
+  }
+
+  public boolean isFailed() {
+    return failed;
+  }
+}
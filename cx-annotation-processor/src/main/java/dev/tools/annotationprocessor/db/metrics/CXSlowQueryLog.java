@@ -0,0 +1,114 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Ring buffer with the most recent SQL executions of generated repositories that took longer than
+ * the threshold, older entries are overwritten once the buffer is full
+ *
+ * @author josue.rojas
+ */
+public class CXSlowQueryLog {
+
+  public static final String PREFIX = "cx.slow-query.";
+  public static final String THRESHOLD_PROPERTY = PREFIX + "threshold-ms";
+  public static final String CAPACITY_PROPERTY = PREFIX + "capacity";
+
+  private static final long DEFAULT_THRESHOLD_MILLIS = 500;
+  private static final int DEFAULT_CAPACITY = 100;
+
+  private static volatile long thresholdNanos =
+      TimeUnit.MILLISECONDS.toNanos(Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS));
+  private static volatile AtomicReferenceArray<CXSlowQuery> entries =
+      new AtomicReferenceArray<>(Integer.getInteger(CAPACITY_PROPERTY, DEFAULT_CAPACITY));
+  private static final AtomicLong sequence = new AtomicLong();
+
+  private CXSlowQueryLog() {}
+
+  /**
+   * Configure threshold and capacity from properties, missing properties keep the current values
+   *
+   * @param properties property resolver, like Environment::getProperty
+   */
+  public static void configure(final Function<String, String> properties) {
+    final String threshold = properties.apply(THRESHOLD_PROPERTY);
+    if (threshold != null) setThresholdMillis(Long.parseLong(threshold.trim()));
+    final String capacity = properties.apply(CAPACITY_PROPERTY);
+    if (capacity != null) setCapacity(Integer.parseInt(capacity.trim()));
+  }
+
+  /** @param millis executions taking at least this long are logged, negative disables the log */
+  public static void setThresholdMillis(final long millis) {
+    thresholdNanos = millis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  public static long getThresholdMillis() {
+    return thresholdNanos == Long.MAX_VALUE ? -1 : TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+  }
+
+  /**
+   * Resize the buffer, logged entries are dropped
+   *
+   * @param capacity max entries kept
+   * @throws IllegalArgumentException when capacity is not positive
+   */
+  public static void setCapacity(final int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+          "Slow query log capacity must be positive, found " + capacity);
+    }
+    entries = new AtomicReferenceArray<>(capacity);
+  }
+
+  /**
+   * Check if an execution is slow, meant to be called on every execution before building an entry
+   *
+   * @param nanos elapsed nanoseconds
+   * @return true when the execution must be logged
+   */
+  static boolean isSlow(final long nanos) {
+    return nanos >= thresholdNanos;
+  }
+
+  /**
+   * Add an entry, overwriting the oldest one when the buffer is full
+   *
+   * @param entry slow query
+   */
+  static void add(final CXSlowQuery entry) {
+    final AtomicReferenceArray<CXSlowQuery> buffer = entries;
+    buffer.set((int) (sequence.getAndIncrement() % buffer.length()), entry);
+  }
+
+  /**
+   * Logged entries, entries added while reading may be missed
+   *
+   * @param entity entity simple name, null for all entities
+   * @return entries, most recent first
+   */
+  public static List<CXSlowQuery> getEntries(final String entity) {
+    final AtomicReferenceArray<CXSlowQuery> buffer = entries;
+    final long last = sequence.get();
+    final List<CXSlowQuery> result = new ArrayList<>();
+    for (long i = last - 1; i >= 0 && i >= last - buffer.length(); i--) {
+      final CXSlowQuery entry = buffer.get((int) (i % buffer.length()));
+      if (entry != null && (entity == null || entity.equals(entry.getEntity()))) {
+        result.add(entry);
+      }
+    }
+    return result;
+  }
+
+  /** Drop logged entries */
+  public static void clear() {
+    final AtomicReferenceArray<CXSlowQuery> buffer = entries;
+    for (int i = 0; i < buffer.length(); i++) {
+      buffer.set(i, null);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package dev.tools.annotationprocessor.db.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset page for generated list endpoints, next is the cursor to request the following page (value
+ * of the last id), null when there are no more rows
+ *
+ * @param <T> CXEntity annotated class
+ * @param <K> id type
+ * @author josue.rojas
+ */
+public class CXPage<T, K> {
+
+  private final List<T> items;
+  private final K next;
+
+  public CXPage(final List<T> items, final K next) {
+    this.items = items;
+    this.next = next;
+  }
+
+  /**
+   * Create page from the rows of a keyset query
+   *
+   * @param items rows fetched, ordered by id
+   * @param limit requested limit
+   * @param idGetter id getter for cursor
+   * @return page with next cursor when the page is full
+   */
+  public static <T, K> CXPage<T, K> of(
+      final List<T> items, final int limit, final Function<T, K> idGetter) {
+    final K next = items.size() < limit ? null : idGetter.apply(items.get(items.size() - 1));
+    return new CXPage<>(items, next);
+  }
+
+  /**
+   * Resolve page size for requested limit
+   *
+   * @param limit requested limit, null for default
+   * @param defaultPageSize default page size
+   * @param maxPageSize max page size
+   * @return limit between 1 and maxPageSize
+   */
+  public static int resolveLimit(
+      final Integer limit, final int defaultPageSize, final int maxPageSize) {
+    final int max = Math.max(1, maxPageSize);
+    if (limit == null) return Math.min(Math.max(1, defaultPageSize), max);
+    return Math.min(Math.max(1, limit), max);
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public K getNext() {
+    return next;
+  }
+}
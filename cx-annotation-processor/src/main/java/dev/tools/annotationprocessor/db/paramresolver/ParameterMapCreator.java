@@ -5,6 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
 import dev.tools.annotationprocessor.core.annotations.entity.CXId;
 import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.db.metamodel.CXColumnMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMetaRegistry;
 import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -22,12 +25,26 @@ public class ParameterMapCreator {
   public static ObjectMapper objectMapper = new ObjectMapper();
 
   /**
-   * Build params map from CXEntity annotated class
+   * Build params map from CXEntity annotated class, reads the generated entity metadata when the
+   * class has it and falls back to reflection otherwise
    *
    * @param instance based on CXEntity annotated class
    * @return map sql parameter source
    */
   public static MapSqlParameterSource buildParamsMap(final Object instance) {
+    final CXEntityMeta<?> meta = CXEntityMetaRegistry.get(instance.getClass());
+    if (meta != null) return buildParamsMap(meta, instance);
+    return buildParamsMapReflective(instance);
+  }
+
+  /**
+   * Build params map from CXEntity annotated class through reflection only, the path used before
+   * the entity metadata was generated
+   *
+   * @param instance based on CXEntity annotated class
+   * @return map sql parameter source
+   */
+  public static MapSqlParameterSource buildParamsMapReflective(final Object instance) {
     Map<String, Object> kvObject =
         objectMapper.convertValue(instance, new TypeReference<Map<String, Object>>() {});
     final Map<String, String> tableNames =
@@ -53,4 +70,23 @@ public class ParameterMapCreator {
                         Collectors.toMap(kv -> tableNames.get(kv.getKey()), kv -> kv.getValue())));
     return paramSource;
   }
+
+  /**
+   * Build params map using generated entity metadata getters, no reflection involved
+   *
+   * @param meta generated CXEntity metadata
+   * @param instance based on CXEntity annotated class
+   * @return map sql parameter source
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> MapSqlParameterSource buildParamsMap(
+      final CXEntityMeta<T> meta, final Object instance) {
+    final MapSqlParameterSource paramSource = new MapSqlParameterSource();
+    for (CXColumnMeta<T> column : meta.getColumns()) {
+      if (column.isId()) continue;
+      paramSource.addValue(
+          column.getColumnName(), column.get((T) instance), column.getSqlType());
+    }
+    return paramSource;
+  }
 }
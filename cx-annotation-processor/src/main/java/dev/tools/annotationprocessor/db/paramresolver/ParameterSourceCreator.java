@@ -0,0 +1,186 @@
+package dev.tools.annotationprocessor.db.paramresolver;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import java.sql.Types;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Parameter source creator, generates a SqlParameterSource per CXEntity that binds every column
+ * through the entity getters (replacement for {@link ParameterMapCreator} on generated code)
+ *
+ * @author josue.rojas
+ */
+public class ParameterSourceCreator {
+
+  private static final String INSTANCE = "instance";
+  private static final String ID = "id";
+  private static final String PARAM_NAME = "paramName";
+
+  /**
+   * Build parameter source class
+   *
+   * @param clazz type element from annotation processing
+   * @param className class name as string
+   * @return TypeSpec for parameter source class
+   */
+  private TypeSpec buildParameterSourceClass(final TypeElement clazz, final String className) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
+    final TypeName idType = NameGenerationTool.getTypeNameForId(clazz);
+    final FieldModel idField = ClassReflectionTool.getIdField(clazz);
+    final List<FieldModel> columns = EntityModel.of(clazz).getColumns();
+
+    return TypeSpec.classBuilder(className)
+        .addModifiers(Modifier.PUBLIC)
+        .addOriginatingElement(clazz)
+        .addSuperinterface(SqlParameterSource.class)
+        .addField(entityType, INSTANCE, Modifier.PRIVATE, Modifier.FINAL)
+        .addField(idType, ID, Modifier.PRIVATE, Modifier.FINAL)
+        .addMethod(
+            MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(entityType, INSTANCE, Modifier.FINAL)
+                .addStatement(
+                    "this($N, $N.$N())",
+                    INSTANCE,
+                    INSTANCE,
+                    NameGenerationTool.getGetterName(idField))
+                .build())
+        .addMethod(
+            MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(entityType, INSTANCE, Modifier.FINAL)
+                .addParameter(idType, ID, Modifier.FINAL)
+                .addStatement("this.$N = $N", INSTANCE, INSTANCE)
+                .addStatement("this.$N = $N", ID, ID)
+                .build())
+        .addMethod(buildHasValueMethod(columns))
+        .addMethod(buildGetValueMethod(columns))
+        .addMethod(buildGetSqlTypeMethod(columns))
+        .addMethod(
+            MethodSpec.methodBuilder("getTypeName")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(String.class, PARAM_NAME, Modifier.FINAL)
+                .addStatement("return null")
+                .returns(String.class)
+                .build())
+        .build();
+  }
+
+  private MethodSpec buildHasValueMethod(final List<FieldModel> columns) {
+    final CodeBlock.Builder body = CodeBlock.builder().beginControlFlow("switch ($N)", PARAM_NAME);
+    columns.forEach(column -> body.add("case $S:\n", columnName(column)));
+    body.indent()
+        .addStatement("return true")
+        .unindent()
+        .add("default:\n")
+        .indent()
+        .addStatement("return false")
+        .unindent()
+        .endControlFlow();
+
+    return MethodSpec.methodBuilder("hasValue")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(String.class, PARAM_NAME, Modifier.FINAL)
+        .addCode(body.build())
+        .returns(boolean.class)
+        .build();
+  }
+
+  private MethodSpec buildGetValueMethod(final List<FieldModel> columns) {
+    final CodeBlock.Builder body = CodeBlock.builder().beginControlFlow("switch ($N)", PARAM_NAME);
+    columns.forEach(
+        column -> {
+          body.add("case $S:\n", columnName(column)).indent();
+          if (isId(column)) {
+            body.addStatement("return $N", ID);
+          } else {
+            body.addStatement("return $N.$N()", INSTANCE, NameGenerationTool.getGetterName(column));
+          }
+          body.unindent();
+        });
+    body.add("default:\n")
+        .indent()
+        .addStatement(
+            "throw new $T($S + $N + $S)",
+            IllegalArgumentException.class,
+            "No value registered for key '",
+            PARAM_NAME,
+            "'")
+        .unindent()
+        .endControlFlow();
+
+    return MethodSpec.methodBuilder("getValue")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(String.class, PARAM_NAME, Modifier.FINAL)
+        .addCode(body.build())
+        .returns(Object.class)
+        .build();
+  }
+
+  private MethodSpec buildGetSqlTypeMethod(final List<FieldModel> columns) {
+    final CodeBlock.Builder body = CodeBlock.builder().beginControlFlow("switch ($N)", PARAM_NAME);
+    columns.stream()
+        .filter(column -> ClassReflectionTool.getSqlTypeName(column) != null)
+        .forEach(
+            column ->
+                body.add("case $S:\n", columnName(column))
+                    .indent()
+                    .addStatement(
+                        "return $T.$N", Types.class, ClassReflectionTool.getSqlTypeName(column))
+                    .unindent());
+    body.add("default:\n").indent().addStatement("return TYPE_UNKNOWN").unindent().endControlFlow();
+
+    return MethodSpec.methodBuilder("getSqlType")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(String.class, PARAM_NAME, Modifier.FINAL)
+        .addCode(body.build())
+        .returns(int.class)
+        .build();
+  }
+
+  private String columnName(final FieldModel column) {
+    return column.getColumnName();
+  }
+
+  private boolean isId(final FieldModel column) {
+    return column.isId();
+  }
+
+  /**
+   * Build parameter source java class file
+   *
+   * @param clazz type element from annotation processing
+   * @param packageName package name
+   * @return JavaClassFile for parameter source generated class
+   */
+  public JavaClassFile buildParameterSourceJavaClassFile(
+      final TypeElement clazz, final String packageName) {
+    final String className = EntityModel.of(clazz).getSimpleName() + "ParameterSource";
+    final String filePackageName = packageName + ".parametersource";
+    final JavaFile javaFile =
+        JavaFile.builder(filePackageName, buildParameterSourceClass(clazz, className)).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(filePackageName)
+        .setFileName(String.format("%s.%s.java", filePackageName, className))
+        .setName((String.format("%s.%s", filePackageName, className)));
+  }
+}
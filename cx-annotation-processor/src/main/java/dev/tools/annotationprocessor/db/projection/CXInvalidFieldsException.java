@@ -0,0 +1,18 @@
+package dev.tools.annotationprocessor.db.projection;
+
+import org.springframework.http.HttpStatus;
+
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Requested fields are not columns of the entity, answered with 400 Bad Request
+ *
+ * @author josue.rojas
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CXInvalidFieldsException extends IllegalArgumentException {
+
+  public CXInvalidFieldsException(final String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,120 @@
+package dev.tools.annotationprocessor.db.projection;
+
+import dev.tools.annotationprocessor.db.metamodel.CXColumnMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMeta;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldset projection for generated read endpoints. Requested fields are validated against
+ * the entity columns and resolved to a column mask (bit i is the i-th column of the select list),
+ * projected statements are composed only from the select fragments and statement suffixes generated
+ * at compile time and are memoized per mask
+ *
+ * @author josue.rojas
+ */
+public class CXProjection {
+
+  /** Statement variants, same order as the suffixes passed to the constructor */
+  public static final int PAGE = 0;
+
+  public static final int PAGE_AFTER = 1;
+  public static final int BY_ID = 2;
+
+  /** Max columns for a projection, one bit per column */
+  public static final int MAX_COLUMNS = Long.SIZE - 1;
+
+  private static final int MAX_MEMOIZED_MASKS = 1024;
+
+  private final Map<String, Integer> indexByField = new LinkedHashMap<>();
+  private final String[] selectFragments;
+  private final String[] suffixes;
+  private final long requiredMask;
+  private final long allMask;
+  private final Map<Long, String[]> statements = new ConcurrentHashMap<>();
+
+  /**
+   * @param meta entity meta, columns in select list order
+   * @param selectFragments select list fragment per column
+   * @param suffixes statement suffixes (from, where, order by) for {@link #PAGE}, {@link
+   *     #PAGE_AFTER} and {@link #BY_ID}
+   */
+  public <T> CXProjection(
+      final CXEntityMeta<T> meta, final String[] selectFragments, final String[] suffixes) {
+    final List<CXColumnMeta<T>> columns = meta.getColumns();
+    if (columns.size() > MAX_COLUMNS || columns.size() != selectFragments.length) {
+      throw new IllegalArgumentException(
+          "Projection needs one select fragment per column and at most "
+              + MAX_COLUMNS
+              + " columns for "
+              + meta.getEntityClass());
+    }
+    for (int i = 0; i < columns.size(); i++) {
+      indexByField.put(columns.get(i).getFieldName(), i);
+    }
+    this.selectFragments = selectFragments;
+    this.suffixes = suffixes;
+    // id is always selected, pagination cursor and identity need it
+    this.requiredMask = 1L << indexByField.get(meta.getIdColumn().getFieldName());
+    this.allMask = (1L << columns.size()) - 1;
+  }
+
+  /**
+   * Resolve requested fields to a column mask
+   *
+   * @param fields comma separated field names, null or empty for all columns
+   * @throws CXInvalidFieldsException when a field is not a column of the entity
+   * @return column mask, id column always included
+   */
+  public long mask(final String fields) {
+    if (fields == null || fields.trim().isEmpty()) {
+      return allMask;
+    }
+    long mask = requiredMask;
+    for (String field : fields.split(",")) {
+      final Integer index = indexByField.get(field.trim());
+      if (index == null) {
+        throw new CXInvalidFieldsException(
+            "Unknown field '" + field.trim() + "', expected one of " + indexByField.keySet());
+      }
+      mask |= 1L << index;
+    }
+    return mask;
+  }
+
+  /**
+   * Get projected statement
+   *
+   * @param mask column mask from {@link #mask(String)}
+   * @param variant statement variant
+   * @return select statement for the mask
+   */
+  public String sql(final long mask, final int variant) {
+    String[] maskStatements = statements.get(mask);
+    if (maskStatements == null) {
+      maskStatements = buildStatements(mask);
+      // masks come from requests, memo is bounded so clients cannot grow it without limit
+      if (statements.size() < MAX_MEMOIZED_MASKS) {
+        statements.putIfAbsent(mask, maskStatements);
+      }
+    }
+    return maskStatements[variant];
+  }
+
+  private String[] buildStatements(final long mask) {
+    final StringBuilder select = new StringBuilder("select ");
+    for (int i = 0; i < selectFragments.length; i++) {
+      if ((mask & (1L << i)) != 0) {
+        if (select.length() > "select ".length()) select.append(",");
+        select.append(selectFragments[i]);
+      }
+    }
+    final String[] maskStatements = new String[suffixes.length];
+    for (int i = 0; i < suffixes.length; i++) {
+      maskStatements[i] = select + suffixes[i];
+    }
+    return maskStatements;
+  }
+}
@@ -0,0 +1,99 @@
+package dev.tools.annotationprocessor.db.reactive;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+/**
+ * Value conversions between entity attributes and R2DBC values, R2DBC drivers use java.time types
+ * and the widest numeric type of each column while entities keep the JDBC types
+ *
+ * @author josue.rojas
+ */
+public class CXR2dbcValues {
+
+  private CXR2dbcValues() {}
+
+  /**
+   * Convert a value read from an R2DBC row to the attribute type
+   *
+   * @param value row value
+   * @param type attribute type, boxed
+   * @return converted value, null for null values
+   * @throws IllegalArgumentException when the value cannot be converted
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> T as(final Object value, final Class<T> type) {
+    if (value == null || type.isInstance(value)) return (T) value;
+    if (value instanceof Number) {
+      final Number number = (Number) value;
+      if (type == Long.class) return (T) Long.valueOf(number.longValue());
+      if (type == Integer.class) return (T) Integer.valueOf(number.intValue());
+      if (type == Short.class) return (T) Short.valueOf(number.shortValue());
+      if (type == Byte.class) return (T) Byte.valueOf(number.byteValue());
+      if (type == Double.class) return (T) Double.valueOf(number.doubleValue());
+      if (type == Float.class) return (T) Float.valueOf(number.floatValue());
+      if (type == Boolean.class) return (T) Boolean.valueOf(number.intValue() != 0);
+      if (type == BigDecimal.class) return (T) new BigDecimal(number.toString());
+    }
+    if (value instanceof Boolean && Number.class.isAssignableFrom(type)) {
+      return as((Boolean) value ? 1 : 0, type);
+    }
+    final Instant instant = toInstant(value);
+    if (instant != null) {
+      if (type == Timestamp.class) return (T) Timestamp.from(instant);
+      if (type == java.sql.Date.class) return (T) new java.sql.Date(instant.toEpochMilli());
+      if (type == Date.class) return (T) Date.from(instant);
+    }
+    if (type == String.class) return (T) value.toString();
+    throw new IllegalArgumentException(
+        "Cannot convert " + value.getClass().getName() + " to " + type.getName());
+  }
+
+  /**
+   * Convert an attribute value to a value R2DBC drivers can bind, dates become java.time values;
+   * java.util.Date keeps its time like JDBC binds it as a timestamp
+   *
+   * @param value attribute value, not null
+   * @return bindable value
+   */
+  public static Object bindable(final Object value) {
+    if (value instanceof Timestamp) return ((Timestamp) value).toLocalDateTime();
+    if (value instanceof java.sql.Date) return ((java.sql.Date) value).toLocalDate();
+    if (value instanceof Date) {
+      return Instant.ofEpochMilli(((Date) value).getTime())
+          .atZone(ZoneId.systemDefault())
+          .toLocalDateTime();
+    }
+    return value;
+  }
+
+  /**
+   * Type used to bind null values of an attribute type
+   *
+   * @param type attribute type
+   * @return bindable type
+   */
+  public static Class<?> bindType(final Class<?> type) {
+    if (type == java.sql.Date.class) return LocalDate.class;
+    if (Date.class.isAssignableFrom(type)) return LocalDateTime.class;
+    return type;
+  }
+
+  private static Instant toInstant(final Object value) {
+    final ZoneId zone = ZoneId.systemDefault();
+    if (value instanceof LocalDate) return ((LocalDate) value).atStartOfDay(zone).toInstant();
+    if (value instanceof LocalDateTime) return ((LocalDateTime) value).atZone(zone).toInstant();
+    if (value instanceof OffsetDateTime) return ((OffsetDateTime) value).toInstant();
+    if (value instanceof ZonedDateTime) return ((ZonedDateTime) value).toInstant();
+    if (value instanceof Instant) return (Instant) value;
+    if (value instanceof Date) return Instant.ofEpochMilli(((Date) value).getTime());
+    return null;
+  }
+}
@@ -0,0 +1,101 @@
+package dev.tools.annotationprocessor.db.rowmapping;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.core.writer.reactive.ReactiveTypeNames;
+import dev.tools.annotationprocessor.db.reactive.CXR2dbcValues;
+import dev.tools.annotationprocessor.db.sqlwriter.SqlReadSentenceGenerator;
+import java.util.List;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Reactive row mapper creator, maps R2DBC rows read with the select list of {@link
+ * SqlReadSentenceGenerator}
+ *
+ * @author josue.rojas
+ */
+public class ReactiveRowMapperCreator {
+
+  /** Static method on generated reactive mappers reading a row as an entity */
+  public static final String MAP_METHOD = "map";
+
+  private TypeSpec buildRowMapperClass(final TypeElement clazz, final String className) {
+    return TypeSpec.classBuilder(className)
+        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+        .addOriginatingElement(clazz)
+        .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+        .addMethod(
+            MethodSpec.methodBuilder(MAP_METHOD)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ReactiveTypeNames.ROW, "row", Modifier.FINAL)
+                .addCode(generateMapping(clazz, "row", "instance"))
+                .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
+                .build())
+        .build();
+  }
+
+  /**
+   * Generate mapping body, columns are read by position (0-based for R2DBC) and converted to the
+   * attribute type, null values are skipped for primitive attributes
+   *
+   * @param clazz CXEntity annotated class
+   * @param rowKey row variable name
+   * @param instanceName instance variable name
+   * @return mapping code block
+   */
+  private CodeBlock generateMapping(
+      final TypeElement clazz, final String rowKey, final String instanceName) {
+    final TypeName entityType = NameGenerationTool.getTypeNameFromTypeElement(clazz);
+    final CodeBlock.Builder code =
+        CodeBlock.builder()
+            .addStatement("final $T $N = new $T()", entityType, instanceName, entityType);
+    final List<FieldModel> columns = SqlReadSentenceGenerator.getSelectColumns(clazz);
+    for (int i = 0; i < columns.size(); i++) {
+      final FieldModel column = columns.get(i);
+      final TypeName type = column.getTypeName();
+      final CodeBlock read =
+          CodeBlock.of("$T.as($N.get($L), $T.class)", CXR2dbcValues.class, rowKey, i, type.box());
+      if (type.isPrimitive()) {
+        final String valueName = column.getSimpleName() + "Value";
+        code.addStatement("final $T $N = $L", type.box(), valueName, read)
+            .beginControlFlow("if ($N != null)", valueName)
+            .addStatement(
+                "$N.$N($N)", instanceName, NameGenerationTool.getSetterName(column), valueName)
+            .endControlFlow();
+      } else {
+        code.addStatement(
+            "$N.$N($L)", instanceName, NameGenerationTool.getSetterName(column), read);
+      }
+    }
+    return code.addStatement("return $N", instanceName).build();
+  }
+
+  /**
+   * Build reactive row mapper java class file
+   *
+   * @param clazz type element from annotation processing
+   * @param packageName package name
+   * @return JavaClassFile for reactive mapper generated class
+   */
+  public JavaClassFile buildRowMapperJavaClassFile(
+      final TypeElement clazz, final String packageName) {
+    final String className = EntityModel.of(clazz).getSimpleName() + "ReactiveRowMapper";
+    final String filePackageName = packageName + ".rowmapper";
+    final JavaFile javaFile =
+        JavaFile.builder(filePackageName, buildRowMapperClass(clazz, className)).build();
+    return new JavaClassFile()
+        .setJavaFile(javaFile)
+        .setClassName(className)
+        .setPackageName(filePackageName)
+        .setFileName(String.format("%s.%s.java", filePackageName, className))
+        .setName((String.format("%s.%s", filePackageName, className)));
+  }
+}
@@ -1,15 +1,24 @@
 package dev.tools.annotationprocessor.db.rowmapping;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.squareup.javapoet.*;
-import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
 import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
 import dev.tools.annotationprocessor.core.writer.JavaClassFile;
+import dev.tools.annotationprocessor.db.metamodel.EntityMetaCreator;
+import dev.tools.annotationprocessor.db.sqlwriter.SqlReadSentenceGenerator;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import javax.lang.model.element.Element;
+import java.util.Objects;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
@@ -21,6 +30,13 @@ import org.springframework.jdbc.core.RowMapper;
  * @author josue.rojas
  */
 public class RowMapperCreator {
+
+  /** Static method on generated mappers writing current row as a JSON object */
+  public static final String WRITE_JSON_METHOD = "writeJson";
+
+  /** Static method on generated mappers reading a projected row (column mask) as a map */
+  public static final String MAP_PROJECTED_METHOD = "mapProjected";
+
   /**
    * Build row mapper class (for select queries)
    *
@@ -32,20 +48,44 @@ public class RowMapperCreator {
     final ParameterizedTypeName parameterizedTypeName =
         ParameterizedTypeName.get(
             ClassName.get(RowMapper.class), NameGenerationTool.getTypeNameFromTypeElement(clazz));
-    return TypeSpec.classBuilder(className)
-        .addModifiers(Modifier.PUBLIC)
-        .addSuperinterface(parameterizedTypeName)
-        .addMethod(
-            MethodSpec.methodBuilder("mapRow")
-                .addParameter(ResultSet.class, "rs", Modifier.FINAL)
-                .addParameter(int.class, "rowCount")
-                .addAnnotation(Override.class)
-                .addStatement(generateMappingForClassName(clazz, "rs", "instance"))
-                .addException(SQLException.class)
-                .addModifiers(Modifier.PUBLIC)
-                .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
-                .build())
-        .build();
+    final TypeSpec.Builder typeSpecBuilder =
+        TypeSpec.classBuilder(className)
+            .addModifiers(Modifier.PUBLIC)
+            .addOriginatingElement(clazz)
+            .addSuperinterface(parameterizedTypeName)
+            .addMethod(
+                MethodSpec.methodBuilder("mapRow")
+                    .addParameter(ResultSet.class, "rs", Modifier.FINAL)
+                    .addParameter(int.class, "rowCount")
+                    .addAnnotation(Override.class)
+                    .addCode(generateMappingForClassName(clazz, "rs", "instance"))
+                    .addException(SQLException.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(NameGenerationTool.getTypeNameFromTypeElement(clazz))
+                    .build())
+            .addMethod(
+                MethodSpec.methodBuilder(WRITE_JSON_METHOD)
+                    .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                    .addParameter(ResultSet.class, "rs", Modifier.FINAL)
+                    .addParameter(JsonGenerator.class, "json", Modifier.FINAL)
+                    .addCode(generateJsonWritingForClassName(clazz, "rs", "json"))
+                    .addException(SQLException.class)
+                    .addException(IOException.class)
+                    .build());
+    if (EntityMetaCreator.supportsProjection(clazz)) {
+      typeSpecBuilder.addMethod(
+          MethodSpec.methodBuilder(MAP_PROJECTED_METHOD)
+              .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+              .addParameter(ResultSet.class, "rs", Modifier.FINAL)
+              .addParameter(long.class, "mask", Modifier.FINAL)
+              .addCode(generateProjectedMappingForClassName(clazz, "rs", "mask", "row"))
+              .addException(SQLException.class)
+              .returns(
+                  ParameterizedTypeName.get(
+                      ClassName.get(Map.class), ClassName.get(String.class), TypeName.OBJECT))
+              .build());
+    }
+    return typeSpecBuilder.build();
   }
 
   /**
@@ -57,7 +97,7 @@ public class RowMapperCreator {
    */
   public JavaClassFile buildRowMapperJavaClassFile(
       final TypeElement clazz, final String packageName) {
-    final String className = clazz.getSimpleName().toString() + "RowMapper";
+    final String className = EntityModel.of(clazz).getSimpleName() + "RowMapper";
     final String filePackageName = packageName + ".rowmapper";
     final JavaFile javaFile =
         JavaFile.builder(filePackageName, buildRowMapperClass(clazz, className)).build();
@@ -69,74 +109,234 @@ public class RowMapperCreator {
         .setName((String.format("%s.%s", filePackageName, className)));
   }
 
-  private String generateMappingForClassName(
+  /**
+   * Generate mapping body, columns are read by their position in the select list generated by
+   * {@link SqlReadSentenceGenerator#getSelectColumns(TypeElement)}
+   *
+   * @param element CXEntity annotated class
+   * @param rsKey result set variable name
+   * @param instanceName instance variable name
+   * @return mapping code block
+   */
+  private CodeBlock generateMappingForClassName(
       final TypeElement element, final String rsKey, final String instanceName) {
+    final TypeName className = NameGenerationTool.getTypeNameFromTypeElement(element);
+    final CodeBlock.Builder codeBlock =
+        CodeBlock.builder()
+            .addStatement("final $T $N = new $T()", className, instanceName, className);
+
+    final List<FieldModel> columns = SqlReadSentenceGenerator.getSelectColumns(element);
+    for (int i = 0; i < columns.size(); i++) {
+      final FieldModel field = columns.get(i);
+      final String setter = NameGenerationTool.getSetterName(field);
+      final CodeBlock read = readColumn(field, rsKey, i + 1);
+      if (isNullablePrimitiveRead(field)) {
+        final String localName = "column" + (i + 1);
+        codeBlock
+            .addStatement("final $T $N = $L", field.getTypeName().unbox(), localName, read)
+            .addStatement(
+                "$N.$N($N.wasNull() ? null : $N)", instanceName, setter, rsKey, localName);
+      } else {
+        codeBlock.addStatement("$N.$N($L)", instanceName, setter, read);
+      }
+    }
+
+    return codeBlock.addStatement("return $N", instanceName).build();
+  }
+
+  /**
+   * Generate projected mapping body, only columns in the mask are in the select list and they keep
+   * the select list order, so every selected column is read at the next position
+   *
+   * @param element CXEntity annotated class
+   * @param rsKey result set variable name
+   * @param maskKey column mask variable name
+   * @param rowName row map variable name
+   * @return projected mapping code block
+   */
+  private CodeBlock generateProjectedMappingForClassName(
+      final TypeElement element, final String rsKey, final String maskKey, final String rowName) {
+    final List<FieldModel> columns = SqlReadSentenceGenerator.getSelectColumns(element);
+    final CodeBlock.Builder codeBlock =
+        CodeBlock.builder()
+            .addStatement(
+                "final $T<$T, $T> $N = new $T<>($L)",
+                Map.class,
+                String.class,
+                Object.class,
+                rowName,
+                LinkedHashMap.class,
+                columns.size() * 2)
+            .addStatement("int index = 1");
+
+    for (int i = 0; i < columns.size(); i++) {
+      final FieldModel field = columns.get(i);
+      final String property = field.getSimpleName();
+      final CodeBlock read = readColumn(field, rsKey, CodeBlock.of("index++"));
+      codeBlock.beginControlFlow("if (($N & $LL) != 0)", maskKey, 1L << i);
+      if (isNullablePrimitiveRead(field)) {
+        final String localName = "column" + (i + 1);
+        codeBlock
+            .addStatement("final $T $N = $L", field.getTypeName().unbox(), localName, read)
+            .addStatement(
+                "$N.put($S, $N.wasNull() ? null : $N)", rowName, property, rsKey, localName);
+      } else {
+        codeBlock.addStatement("$N.put($S, $L)", rowName, property, read);
+      }
+      codeBlock.endControlFlow();
+    }
+
+    return codeBlock.addStatement("return $N", rowName).build();
+  }
+
+  /**
+   * Generate JSON writing body, current row is written as an object with the same property names
+   * Jackson uses for the entity, without creating the entity instance
+   *
+   * @param element CXEntity annotated class
+   * @param rsKey result set variable name
+   * @param jsonKey json generator variable name
+   * @return json writing code block
+   */
+  private CodeBlock generateJsonWritingForClassName(
+      final TypeElement element, final String rsKey, final String jsonKey) {
+    final CodeBlock.Builder codeBlock =
+        CodeBlock.builder().addStatement("$N.writeStartObject()", jsonKey);
+
+    final List<FieldModel> columns = SqlReadSentenceGenerator.getSelectColumns(element);
+    for (int i = 0; i < columns.size(); i++) {
+      final FieldModel field = columns.get(i);
+      final String property = field.getSimpleName();
+      final String localName = "column" + (i + 1);
+      final TypeName type = field.getTypeName();
+      final TypeName valueType = type.isBoxedPrimitive() ? type.unbox() : type;
+      final String writeMethod = getJsonWriteMethod(valueType);
+
+      codeBlock.addStatement(
+          "final $T $N = $L", valueType, localName, readColumn(field, rsKey, i + 1));
+      if (valueType.isPrimitive()) {
+        if (type.isBoxedPrimitive()) {
+          codeBlock
+              .beginControlFlow("if ($N.wasNull())", rsKey)
+              .addStatement("$N.writeNullField($S)", jsonKey, property)
+              .nextControlFlow("else")
+              .addStatement("$N.$N($S, $N)", jsonKey, writeMethod, property, localName)
+              .endControlFlow();
+        } else {
+          codeBlock.addStatement("$N.$N($S, $N)", jsonKey, writeMethod, property, localName);
+        }
+      } else if (writeMethod.equals("writeStringField")
+          && !type.equals(TypeName.get(String.class))) {
+        codeBlock.addStatement(
+            "$N.writeStringField($S, $T.toString($N, null))",
+            jsonKey,
+            property,
+            Objects.class,
+            localName);
+      } else {
+        codeBlock
+            .beginControlFlow("if ($N == null)", localName)
+            .addStatement("$N.writeNullField($S)", jsonKey, property)
+            .nextControlFlow("else")
+            .addStatement(
+                "$N.$N($S, $N$L)",
+                jsonKey,
+                writeMethod,
+                property,
+                localName,
+                isDateType(valueType) ? ".getTime()" : "")
+            .endControlFlow();
+      }
+    }
+
+    return codeBlock.addStatement("$N.writeEndObject()", jsonKey).build();
+  }
+
+  /**
+   * JsonGenerator field write method, dates are written as epoch millis (Jackson default)
+   *
+   * @param valueType read value type
+   * @return json generator method name
+   */
+  private static String getJsonWriteMethod(final TypeName valueType) {
+    if (valueType.equals(TypeName.BOOLEAN)) return "writeBooleanField";
+    else if (valueType.isPrimitive()
+        || valueType.equals(TypeName.get(BigDecimal.class))
+        || isDateType(valueType)) return "writeNumberField";
+    else if (valueType.equals(ArrayTypeName.of(byte.class))) return "writeBinaryField";
+    return "writeStringField";
+  }
+
+  private static boolean isDateType(final TypeName type) {
+    return type.equals(TypeName.get(java.util.Date.class))
+        || type.equals(TypeName.get(Timestamp.class))
+        || type.equals(TypeName.get(Date.class))
+        || type.equals(TypeName.get(Time.class));
+  }
+
+  /**
+   * Boxed primitive attributes are read with the primitive getter and checked with wasNull
+   *
+   * @param field CXColumn annotated field
+   * @return true if the attribute is a boxed primitive
+   */
+  private static boolean isNullablePrimitiveRead(final FieldModel field) {
+    final TypeName type = field.getTypeName();
+    return type.isBoxedPrimitive();
+  }
+
+  /**
+   * Read column code for field type, primitive getters for primitives and boxes, typed getters for
+   * decimal and date types and getObject(int, Class) otherwise
+   *
+   * @param field CXColumn annotated field
+   * @param rsKey result set variable name
+   * @param index column position in select list (1-based)
+   * @return read expression
+   */
+  public static CodeBlock readColumn(final FieldModel field, final String rsKey, final int index) {
+    return readColumn(field, rsKey, CodeBlock.of("$L", index));
+  }
+
+  /**
+   * Read column code for field type, see {@link #readColumn(FieldModel, String, int)}
+   *
+   * @param field CXColumn annotated field
+   * @param rsKey result set variable name
+   * @param index column position expression
+   * @return read expression
+   */
+  public static CodeBlock readColumn(
+      final FieldModel field, final String rsKey, final CodeBlock index) {
+    final TypeName type = field.getTypeName();
+    final TypeName primitive = type.isBoxedPrimitive() ? type.unbox() : type;
+
+    if (primitive.equals(TypeName.INT)) return CodeBlock.of("$N.getInt($L)", rsKey, index);
+    else if (primitive.equals(TypeName.LONG)) return CodeBlock.of("$N.getLong($L)", rsKey, index);
+    else if (primitive.equals(TypeName.BOOLEAN))
+      return CodeBlock.of("$N.getBoolean($L)", rsKey, index);
+    else if (primitive.equals(TypeName.FLOAT)) return CodeBlock.of("$N.getFloat($L)", rsKey, index);
+    else if (primitive.equals(TypeName.DOUBLE))
+      return CodeBlock.of("$N.getDouble($L)", rsKey, index);
+    else if (primitive.equals(TypeName.SHORT)) return CodeBlock.of("$N.getShort($L)", rsKey, index);
+    else if (primitive.equals(TypeName.BYTE)) return CodeBlock.of("$N.getByte($L)", rsKey, index);
+    else if (type.equals(TypeName.get(String.class)))
+      return CodeBlock.of("$N.getString($L)", rsKey, index);
+    else if (type.equals(TypeName.get(BigDecimal.class)))
+      return CodeBlock.of("$N.getBigDecimal($L)", rsKey, index);
+    else if (type.equals(TypeName.get(java.util.Date.class))
+        || type.equals(TypeName.get(Timestamp.class)))
+      return CodeBlock.of("$N.getTimestamp($L)", rsKey, index);
+    else if (type.equals(TypeName.get(Date.class)))
+      return CodeBlock.of("$N.getDate($L)", rsKey, index);
+    else if (type.equals(TypeName.get(Time.class)))
+      return CodeBlock.of("$N.getTime($L)", rsKey, index);
+    else if (type.equals(ArrayTypeName.of(byte.class)))
+      return CodeBlock.of("$N.getBytes($L)", rsKey, index);
+    return CodeBlock.of("$N.getObject($L, $T.class)", rsKey, index, erasure(type));
+  }
 
-    final StringBuilder stringBuilder = new StringBuilder();
-    final String className = element.toString();
-
-    // add instance creation
-    stringBuilder
-        .append("final ")
-        .append(className)
-        .append(" ")
-        .append(instanceName)
-        .append(" = ")
-        .append("new ")
-        .append(className)
-        .append("();\n");
-
-    // get attributes
-    final List<? extends Element> fields = ClassReflectionTool.getDeclaredFields(element);
-
-    final Map<String, TypeName> typeMap =
-        fields.stream()
-            .collect(
-                Collectors.toMap(e -> e.getSimpleName().toString(), e -> TypeName.get(e.asType())));
-
-    final String mappingBody =
-        fields.stream()
-            .map(
-                field -> {
-                  final String fieldName = field.getSimpleName().toString();
-                  String setLine = "";
-                  final String setCallString =
-                      String.format(
-                          "set%s",
-                          ("" + fieldName.charAt(0)).toUpperCase() + fieldName.substring(1));
-                  final TypeName type = typeMap.get(fieldName);
-                  String setTypeFromRs = "";
-                  if (type.equals(TypeName.get(Integer.class))
-                      || type.equals(TypeName.get(int.class))) {
-                    setTypeFromRs = "getInt(";
-                  } else if (type.equals(TypeName.get(Boolean.class))
-                      || type.equals(TypeName.get(boolean.class))) {
-                    setTypeFromRs = "getBoolean(";
-                  } else if (type.equals(TypeName.get(String.class))) {
-                    setTypeFromRs = "getString(";
-                  } else if (type.equals(TypeName.get(Long.class))
-                      || type.equals(TypeName.get(long.class))) {
-                    setTypeFromRs = "getLong(";
-                  } else if (type.equals(TypeName.get(Float.class))
-                      || type.equals(TypeName.get(float.class))) {
-                    setTypeFromRs = "getFloat(";
-                  }
-                  setLine +=
-                      instanceName
-                          + "."
-                          + setCallString
-                          + "("
-                          + rsKey
-                          + "."
-                          + setTypeFromRs
-                          + "\""
-                          + fieldName
-                          + "\"));";
-                  return setLine;
-                })
-            .collect(Collectors.joining("\n"));
-    stringBuilder.append(mappingBody).append("\n");
-    stringBuilder.append("return " + instanceName + "");
-    return stringBuilder.toString();
+  private static TypeName erasure(final TypeName type) {
+    return type instanceof ParameterizedTypeName ? ((ParameterizedTypeName) type).rawType : type;
   }
 }
@@ -0,0 +1,52 @@
+package dev.tools.annotationprocessor.db.sqlwriter;
+
+import java.util.Locale;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * SQL dialects with their own upsert syntax, generated repositories keep a sentence per dialect and
+ * pick one from the database product name reported by the driver
+ *
+ * @author josue.rojas
+ */
+public enum CXSqlDialect {
+  /** MySQL and MariaDB: insert ... on duplicate key update */
+  MYSQL,
+  /** PostgreSQL: insert ... on conflict (id) do update */
+  POSTGRES,
+  /** H2: merge into ... key (id) */
+  H2,
+  /** Any other database: standard merge */
+  STANDARD;
+
+  /**
+   * Dialect of a database product
+   *
+   * @param productName DatabaseMetaData product name
+   * @return dialect, STANDARD when the product is not known
+   */
+  public static CXSqlDialect of(final String productName) {
+    final String name = productName == null ? "" : productName.toLowerCase(Locale.ROOT);
+    if (name.contains("mysql") || name.contains("mariadb")) return MYSQL;
+    if (name.contains("postgresql")) return POSTGRES;
+    if (name.equals("h2")) return H2;
+    return STANDARD;
+  }
+
+  /**
+   * Dialect of the database behind a jdbc template, borrows one connection to read its metadata
+   *
+   * @param namedParameterJdbcTemplate jdbc template
+   * @return dialect
+   */
+  public static CXSqlDialect of(final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    return of(
+        namedParameterJdbcTemplate
+            .getJdbcOperations()
+            .execute(
+                (ConnectionCallback<String>)
+                    connection -> connection.getMetaData().getDatabaseProductName()));
+  }
+}
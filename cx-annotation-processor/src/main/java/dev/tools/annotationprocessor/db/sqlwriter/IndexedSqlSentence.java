@@ -0,0 +1,57 @@
+package dev.tools.annotationprocessor.db.sqlwriter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sql sentence with indexed bind markers ({@code $1}, {@code $2}...) for R2DBC drivers, built from
+ * the named parameter sentences of the sql generators
+ *
+ * @author josue.rojas
+ */
+public class IndexedSqlSentence {
+
+  private static final Pattern NAMED_PARAMETER = Pattern.compile(":([A-Za-z_][A-Za-z0-9_]*)");
+
+  private final String sql;
+  private final List<String> parameterNames;
+
+  private IndexedSqlSentence(final String sql, final List<String> parameterNames) {
+    this.sql = sql;
+    this.parameterNames = Collections.unmodifiableList(parameterNames);
+  }
+
+  /**
+   * Replace named parameters with indexed bind markers, generated sentences have no quoted literals
+   *
+   * @param namedSql sql with :name parameters
+   * @return indexed sentence
+   */
+  public static IndexedSqlSentence of(final String namedSql) {
+    final Matcher matcher = NAMED_PARAMETER.matcher(namedSql);
+    final StringBuffer sql = new StringBuffer();
+    final List<String> names = new ArrayList<>();
+    while (matcher.find()) {
+      names.add(matcher.group(1));
+      matcher.appendReplacement(sql, "\\$" + names.size());
+    }
+    matcher.appendTail(sql);
+    return new IndexedSqlSentence(sql.toString(), names);
+  }
+
+  public String getSql() {
+    return sql;
+  }
+
+  /**
+   * Parameter names by bind marker position, 0-based
+   *
+   * @return parameter names
+   */
+  public List<String> getParameterNames() {
+    return parameterNames;
+  }
+}
@@ -1,9 +1,9 @@
 package dev.tools.annotationprocessor.db.sqlwriter;
 
-import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
-import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
-import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
-import java.util.Map;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
+import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 import javax.lang.model.element.TypeElement;
 
@@ -14,6 +14,27 @@ import javax.lang.model.element.TypeElement;
  */
 public class SqlReadSentenceGenerator {
 
+  /**
+   * Get columns in select list order, declaration order of CXColumn annotated fields. Generated row
+   * mappers read columns by this position (1-based)
+   *
+   * @param clazz CXEntity annotated class
+   * @return select list fields
+   */
+  public static List<FieldModel> getSelectColumns(final TypeElement clazz) {
+    return EntityModel.of(clazz).getColumns();
+  }
+
+  /**
+   * Get select list fragment for column
+   *
+   * @param field CXColumn annotated field
+   * @return column aliased to the attribute name
+   */
+  public static String getSelectColumnFragment(final FieldModel field) {
+    return String.format("t.`%s` as `%s`", field.getColumnName(), field.getSimpleName());
+  }
+
   /**
    * Write select with all columns
    *
@@ -21,42 +42,80 @@ public class SqlReadSentenceGenerator {
    * @return select query as string
    */
   public static String writeSelectSentence(final TypeElement clazz) {
-    final Map<String, String> columnNames =
-        ClassReflectionTool.getDeclaredFields(clazz).stream()
-            .filter(field -> field.getAnnotation(CXColumn.class) != null)
-            .collect(
-                Collectors.toMap(
-                    field -> field.getSimpleName().toString(),
-                    field -> field.getAnnotation(CXColumn.class).name()));
-
-    final StringBuilder selectSentence = new StringBuilder().append("select ");
-
-    selectSentence.append(
-        columnNames.entrySet().stream()
-            .map(entry -> String.format("t.`%s` as `%s`", entry.getValue(), entry.getKey()))
-            .collect(Collectors.joining(",")));
-
-    return selectSentence
-        .append(" from ")
-        .append(NameGenerationTool.getTableName(clazz))
-        .append(" t")
-        .toString();
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence(
+        "select", () -> writeSelectList(model) + " from " + model.getTableName() + " t");
+  }
+
+  private static String writeSelectList(final EntityModel model) {
+    return model.sentence(
+        "selectList",
+        () ->
+            "select "
+                + model.getColumns().stream()
+                    .map(SqlReadSentenceGenerator::getSelectColumnFragment)
+                    .collect(Collectors.joining(",")));
+  }
+
+  /**
+   * Write statement suffixes (everything after the select list) for keyset page, keyset page after
+   * cursor and by id, in that order. Projected selects are the projected select list plus one of
+   * these suffixes
+   *
+   * @param clazz CXEntity annotated class
+   * @return statement suffixes
+   */
+  public static List<String> writeSelectSuffixes(final TypeElement clazz) {
+    final int selectListLength = writeSelectList(EntityModel.of(clazz)).length();
+    return Arrays.asList(
+        writeSelectPageSentence(clazz, false).substring(selectListLength),
+        writeSelectPageSentence(clazz, true).substring(selectListLength),
+        writeSelectSentenceById(clazz).substring(selectListLength));
+  }
+
+  /**
+   * Write keyset page select, ordered by id. Parameters are :limit and, when afterCursor is set,
+   * :after with the last id of the previous page
+   *
+   * @param clazz CXEntity annotated class
+   * @param afterCursor true to filter rows after the :after id
+   * @return select query as string for a page
+   */
+  public static String writeSelectPageSentence(final TypeElement clazz, final boolean afterCursor) {
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence(
+        afterCursor ? "selectPageAfter" : "selectPage",
+        () -> {
+          final String idColumn = model.getIdColumnName();
+          final StringBuilder selectSentence = new StringBuilder(writeSelectSentence(clazz));
+          if (afterCursor) {
+            selectSentence.append(" where t.`").append(idColumn).append("` > :after");
+          }
+          return selectSentence
+              .append(" order by t.`")
+              .append(idColumn)
+              .append("` limit :limit")
+              .toString();
+        });
   }
 
   /**
-   * Write select sentence by id
+   * Write select sentence by id, same explicit column list as {@link
+   * #writeSelectSentence(TypeElement)} so the generated row mapper can read it
    *
    * @param clazz CXEntity annotated class
    * @return select query as string for id
    */
   public static String writeSelectSentenceById(TypeElement clazz) {
-    final String idFieldAsString =
-        ClassReflectionTool.getIdField(clazz).getAnnotation(CXColumn.class).name();
-    return "select * from "
-        + NameGenerationTool.getTableName(clazz)
-        + " where "
-        + idFieldAsString
-        + "= :"
-        + idFieldAsString;
+    final EntityModel model = EntityModel.of(clazz);
+    final String idFieldAsString = model.getIdColumnName();
+    return model.sentence(
+        "selectById",
+        () ->
+            writeSelectSentence(clazz)
+                + " where t.`"
+                + idFieldAsString
+                + "` = :"
+                + idFieldAsString);
   }
 }
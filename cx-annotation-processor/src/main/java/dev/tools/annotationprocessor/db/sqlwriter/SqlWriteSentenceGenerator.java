@@ -1,9 +1,7 @@
 package dev.tools.annotationprocessor.db.sqlwriter;
 
-import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
-import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
-import dev.tools.annotationprocessor.core.annotations.entity.CXId;
-import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.model.EntityModel;
+import dev.tools.annotationprocessor.core.model.FieldModel;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.lang.model.element.TypeElement;
@@ -22,44 +20,42 @@ public class SqlWriteSentenceGenerator {
    * @return delete query as string
    */
   public static String writeDeleteSentence(final TypeElement clazz) {
-    final StringBuilder deleteSentenceStringBuilder =
-        new StringBuilder("delete from ").append(clazz.getAnnotation(CXEntity.class).tableName());
-    final StringBuilder whereStringBuilder = new StringBuilder("where ");
-
-    final String whereSentence =
-        ClassReflectionTool.getDeclaredFields(clazz).stream()
-            .filter(
-                field ->
-                    field.getAnnotation(CXId.class) != null
-                        && field.getAnnotation(CXColumn.class) != null)
-            .map(field -> field.getAnnotation(CXColumn.class).name())
-            .map(field -> new StringBuilder(field).append("=:").append(field).toString())
-            .collect(Collectors.joining(","));
-
-    return deleteSentenceStringBuilder.append(" where ").append(whereSentence).toString();
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence(
+        "delete",
+        () -> {
+          final String idColumn = model.getIdColumnName();
+          return new StringBuilder("delete from ")
+              .append(model.getTableName())
+              .append(" where ")
+              .append(idColumn)
+              .append("=:")
+              .append(idColumn)
+              .toString();
+        });
   }
 
   /**
-   * Write insert sql sentence
+   * Write insert sql sentence, generated ids are left to the database
    *
    * @param clazz CXEntity annotated class
    * @return insert query as string
    */
   public static String writeInsertSentence(final TypeElement clazz) {
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence("insert", () -> writeInsertSentence(model));
+  }
+
+  private static String writeInsertSentence(final EntityModel model) {
     final StringBuilder insertStringBuilder =
-        new StringBuilder("insert into ")
-            .append(clazz.getAnnotation(CXEntity.class).tableName())
-            .append("(");
+        new StringBuilder("insert into ").append(model.getTableName()).append("(");
     final StringBuilder valuesStringBuilder = new StringBuilder("values(");
 
     // add insert columns
     final List<String> fields =
-        ClassReflectionTool.getDeclaredFields(clazz).stream()
-            .filter(
-                field ->
-                    field.getAnnotation(CXColumn.class) != null
-                        && field.getAnnotation(CXId.class) == null)
-            .map(field -> field.getAnnotation(CXColumn.class).name())
+        model.getColumns().stream()
+            .filter(field -> !field.isGeneratedId())
+            .map(FieldModel::getColumnName)
             .collect(Collectors.toList());
 
     for (int i = 0; i < fields.size(); i++) {
@@ -81,19 +77,19 @@ public class SqlWriteSentenceGenerator {
    * @return update query as string
    */
   public static String writeUpdateSentence(final TypeElement clazz) {
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence("update", () -> writeUpdateSentence(model));
+  }
+
+  private static String writeUpdateSentence(final EntityModel model) {
     final StringBuilder updateStringBuilder =
-        new StringBuilder("update ")
-            .append(clazz.getAnnotation(CXEntity.class).tableName())
-            .append(" ");
+        new StringBuilder("update ").append(model.getTableName()).append(" ");
     final StringBuilder setStringBuilder = new StringBuilder("set ");
 
     final List<String> fields =
-        ClassReflectionTool.getDeclaredFields(clazz).stream()
-            .filter(
-                field ->
-                    field.getAnnotation(CXColumn.class) != null
-                        && field.getAnnotation(CXId.class) == null)
-            .map(field -> field.getAnnotation(CXColumn.class).name())
+        model.getColumns().stream()
+            .filter(field -> !field.isId())
+            .map(FieldModel::getColumnName)
             .collect(Collectors.toList());
 
     for (int i = 0; i < fields.size(); i++) {
@@ -106,8 +102,7 @@ public class SqlWriteSentenceGenerator {
     }
 
     final StringBuilder whereStringBuilder = new StringBuilder(" ");
-    final String idField =
-        ClassReflectionTool.getIdField(clazz).getAnnotation(CXColumn.class).name();
+    final String idField = model.getIdColumnName();
     whereStringBuilder.append("where ").append(idField).append(" =:").append(idField);
 
     return updateStringBuilder
@@ -117,4 +112,103 @@ public class SqlWriteSentenceGenerator {
         .append(whereStringBuilder)
         .toString();
   }
+
+  /**
+   * Write upsert sql sentence, inserts the row or updates every column but the id when the id
+   * exists, all columns are bound (generated ids included)
+   *
+   * @param clazz CXEntity annotated class
+   * @param dialect database dialect
+   * @return upsert query as string
+   */
+  public static String writeUpsertSentence(final TypeElement clazz, final CXSqlDialect dialect) {
+    final EntityModel model = EntityModel.of(clazz);
+    return model.sentence("upsert." + dialect.name(), () -> writeUpsertSentence(model, dialect));
+  }
+
+  private static String writeUpsertSentence(final EntityModel model, final CXSqlDialect dialect) {
+    final String idColumn = model.getIdColumnName();
+    final List<String> columns =
+        model.getColumns().stream().map(FieldModel::getColumnName).collect(Collectors.toList());
+    final List<String> updatedColumns =
+        columns.stream().filter(column -> !column.equals(idColumn)).collect(Collectors.toList());
+    final String columnList = String.join(", ", columns);
+    final String valueList =
+        columns.stream().map(column -> ":" + column).collect(Collectors.joining(", "));
+
+    switch (dialect) {
+      case MYSQL:
+        return new StringBuilder("insert into ")
+            .append(model.getTableName())
+            .append("(")
+            .append(columnList)
+            .append(") values(")
+            .append(valueList)
+            .append(") on duplicate key update ")
+            .append(
+                updatedColumns.isEmpty()
+                    ? idColumn + "=" + idColumn
+                    : updatedColumns.stream()
+                        .map(column -> column + "=values(" + column + ")")
+                        .collect(Collectors.joining(", ")))
+            .toString();
+      case POSTGRES:
+        return new StringBuilder("insert into ")
+            .append(model.getTableName())
+            .append("(")
+            .append(columnList)
+            .append(") values(")
+            .append(valueList)
+            .append(") on conflict (")
+            .append(idColumn)
+            .append(") do ")
+            .append(
+                updatedColumns.isEmpty()
+                    ? "nothing"
+                    : updatedColumns.stream()
+                        .map(column -> column + "=excluded." + column)
+                        .collect(Collectors.joining(", ", "update set ", "")))
+            .toString();
+      case H2:
+        return new StringBuilder("merge into ")
+            .append(model.getTableName())
+            .append("(")
+            .append(columnList)
+            .append(") key(")
+            .append(idColumn)
+            .append(") values(")
+            .append(valueList)
+            .append(")")
+            .toString();
+      default:
+        final StringBuilder merge =
+            new StringBuilder("merge into ")
+                .append(model.getTableName())
+                .append(" target using (values(")
+                .append(valueList)
+                .append(")) as source(")
+                .append(columnList)
+                .append(") on (target.")
+                .append(idColumn)
+                .append(" = source.")
+                .append(idColumn)
+                .append(")");
+        if (!updatedColumns.isEmpty()) {
+          merge.append(
+              updatedColumns.stream()
+                  .map(column -> column + "=source." + column)
+                  .collect(Collectors.joining(", ", " when matched then update set ", "")));
+        }
+        return merge
+            .append(" when not matched then insert(")
+            .append(columnList)
+            .append(") values(")
+            .append(
+                columns.stream()
+                    .map(column -> "source." + column)
+                    .collect(Collectors.joining(", ")))
+            .append(")")
+            .toString();
+    }
+  }
 }
@@ -0,0 +1,92 @@
+package dev.tools.annotationprocessor.db.tablecreator;
+
+/**
+ * Result of the schema bootstrap for one CXEntity table
+ *
+ * @author josue.rojas
+ */
+public class CXTableCreationResult {
+
+  public enum Status {
+    CREATED,
+    EXISTING,
+    FAILED
+  }
+
+  private final Class<?> entityClass;
+  private final String tableName;
+  private final Status status;
+  private final int createdIndexes;
+  private final long elapsedMillis;
+  private final String error;
+
+  public CXTableCreationResult(
+      final Class<?> entityClass,
+      final String tableName,
+      final Status status,
+      final int createdIndexes,
+      final long elapsedMillis,
+      final String error) {
+    this.entityClass = entityClass;
+    this.tableName = tableName;
+    this.status = status;
+    this.createdIndexes = createdIndexes;
+    this.elapsedMillis = elapsedMillis;
+    this.error = error;
+  }
+
+  public Class<?> getEntityClass() {
+    return entityClass;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public Status getStatus() {
+    return status;
+  }
+
+  public boolean isCreated() {
+    return status == Status.CREATED;
+  }
+
+  /**
+   * Missing CXIndex indexes created for the table
+   *
+   * @return number of created indexes
+   */
+  public int getCreatedIndexes() {
+    return createdIndexes;
+  }
+
+  /**
+   * Time spent creating the table and its indexes
+   *
+   * @return elapsed milliseconds
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * Failure message
+   *
+   * @return error message, null unless status is FAILED
+   */
+  public String getError() {
+    return error;
+  }
+
+  @Override
+  public String toString() {
+    return tableName
+        + " "
+        + status
+        + " in "
+        + elapsedMillis
+        + "ms"
+        + (createdIndexes > 0 ? ", " + createdIndexes + " indexes created" : "")
+        + (error != null ? ", " + error : "");
+  }
+}
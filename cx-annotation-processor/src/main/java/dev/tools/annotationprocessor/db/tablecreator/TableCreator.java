@@ -7,16 +7,38 @@ import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt
 import dev.tools.annotationprocessor.core.annotations.entity.types.column.Decimal;
 import dev.tools.annotationprocessor.core.annotations.entity.types.column.Int;
 import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import dev.tools.annotationprocessor.core.model.FieldModel;
 import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
 import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.db.metamodel.CXColumnMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMeta;
+import dev.tools.annotationprocessor.db.metamodel.CXEntityMetaRegistry;
+import dev.tools.annotationprocessor.db.metamodel.CXIndexMeta;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.springframework.jdbc.BadSqlGrammarException;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
 /**
@@ -27,49 +49,249 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 public class TableCreator {
 
   public NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+  private final int parallelism;
 
   public TableCreator(final NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    this(namedParameterJdbcTemplate, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * @param namedParameterJdbcTemplate template for the target database
+   * @param parallelism max tables created at the same time, one connection each
+   */
+  public TableCreator(
+      final NamedParameterJdbcTemplate namedParameterJdbcTemplate, final int parallelism) {
     this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    this.parallelism = Math.max(1, parallelism);
   }
 
   /**
-   * Create table if not exists in current db connection
+   * Create table if not exists in current db connection, missing CXIndex indexes are created
+   * afterwards
    *
    * @param clazz CXEntity annotated class
    * @return true if the table created correctly, false otherwise
    */
   public Boolean createTableIfNotExists(final Class<?> clazz) {
-    final String creationScript = createQueryBasedOnType(clazz);
-    final String tableExistenceScript =
-        getTableExistenceScript(NameGenerationTool.getTableName(clazz));
+    return createTablesIfNotExist(Collections.singletonList(clazz)).get(0).isCreated();
+  }
+
+  /**
+   * Create the missing tables for all the entities. Existing tables are read with a single
+   * DatabaseMetaData query, then missing tables and indexes are created in parallel on a bounded
+   * executor
+   *
+   * @param classes CXEntity annotated classes
+   * @return result per class, in the same order, with the time spent on each table
+   */
+  public List<CXTableCreationResult> createTablesIfNotExist(final Collection<Class<?>> classes) {
+    if (classes.isEmpty()) return Collections.emptyList();
+    final long start = System.nanoTime();
+    final Set<String> existingTables = getTableNames();
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(classes.size(), parallelism),
+            runnable -> {
+              final Thread thread = new Thread(runnable, "cx-table-creator");
+              thread.setDaemon(true);
+              return thread;
+            });
     try {
-      namedParameterJdbcTemplate.queryForObject(
-          tableExistenceScript, new MapSqlParameterSource(), Integer.class);
-    } catch (Exception e) {
-      if (e.toString().matches("already exists")) {
-        System.out.println(
-                "CX-Annotation-Processor: table '"
-                        + NameGenerationTool.getTableName(clazz)
-                        + "' already created");
-        return false;
+      final List<Future<CXTableCreationResult>> futures = new ArrayList<>();
+      for (Class<?> clazz : classes) {
+        futures.add(
+            executor.submit(
+                () ->
+                    createTable(
+                        clazz,
+                        existingTables.contains(
+                            NameGenerationTool.getTableName(clazz).toLowerCase()))));
+      }
+      final List<CXTableCreationResult> results = new ArrayList<>();
+      for (Future<CXTableCreationResult> future : futures) {
+        final CXTableCreationResult result = getResult(future);
+        System.out.println("CX-Annotation-Processor: table " + result);
+        results.add(result);
       }
-      try {
+      System.out.println(
+          "CX-Annotation-Processor: "
+              + results.size()
+              + " tables checked in "
+              + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+              + "ms");
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private CXTableCreationResult getResult(final Future<CXTableCreationResult> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Table creation interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * Create table when it is missing, then its missing indexes
+   *
+   * @param clazz CXEntity annotated class
+   * @param exists true when the table is already in the database
+   * @return creation result with elapsed time
+   */
+  private CXTableCreationResult createTable(final Class<?> clazz, final boolean exists) {
+    final String tableName = NameGenerationTool.getTableName(clazz);
+    final long start = System.nanoTime();
+    try {
+      if (!exists) {
         namedParameterJdbcTemplate.execute(
-            creationScript,
+            createQueryBasedOnType(clazz),
             (PreparedStatement preparedStatement) -> preparedStatement.executeUpdate());
-      } catch (BadSqlGrammarException ex) {
-        System.out.println(
-            "CX-Annotation-Processor: table '"
-                + NameGenerationTool.getTableName(clazz)
-                + "' generated correctly");
-        return true;
       }
+      final int createdIndexes = createIndexesIfNotExist(clazz);
+      return new CXTableCreationResult(
+          clazz,
+          tableName,
+          exists ? CXTableCreationResult.Status.EXISTING : CXTableCreationResult.Status.CREATED,
+          createdIndexes,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+          null);
+    } catch (RuntimeException e) {
+      return new CXTableCreationResult(
+          clazz,
+          tableName,
+          CXTableCreationResult.Status.FAILED,
+          0,
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+          e.getMessage());
     }
-    return false;
   }
 
-  private final String getTableExistenceScript(final String tableName) {
-    return "SHOW TABLE LIKE `" + tableName + "`;";
+  /**
+   * Get table names of the current catalog and schema from the connection metadata
+   *
+   * @return lower case table names
+   */
+  private Set<String> getTableNames() {
+    return namedParameterJdbcTemplate
+        .getJdbcOperations()
+        .execute(
+            (ConnectionCallback<Set<String>>)
+                connection -> {
+                  final Set<String> names = new HashSet<>();
+                  try (ResultSet resultSet =
+                      connection
+                          .getMetaData()
+                          .getTables(
+                              connection.getCatalog(),
+                              getSchema(connection),
+                              "%",
+                              new String[] {"TABLE"})) {
+                    while (resultSet.next()) {
+                      names.add(resultSet.getString("TABLE_NAME").toLowerCase());
+                    }
+                  }
+                  return names;
+                });
+  }
+
+  /**
+   * Create CXIndex indexes missing in current db connection, existing indexes are matched by name
+   *
+   * @param clazz CXEntity annotated class
+   * @return number of created indexes
+   */
+  public int createIndexesIfNotExist(final Class<?> clazz) {
+    final CXEntityMeta<?> meta = CXEntityMetaRegistry.get(clazz);
+    if (meta == null || meta.getIndexes().isEmpty()) return 0;
+
+    final Set<String> existingIndexes = getIndexNames(meta.getTableName());
+    int created = 0;
+    for (CXIndexMeta index : meta.getIndexes()) {
+      if (existingIndexes.contains(index.getName().toLowerCase())) continue;
+      namedParameterJdbcTemplate.getJdbcOperations().execute(createIndexQuery(meta, index));
+      System.out.println(
+          "CX-Annotation-Processor: index '"
+              + index.getName()
+              + "' on table '"
+              + meta.getTableName()
+              + "' generated correctly");
+      created++;
+    }
+    return created;
+  }
+
+  /**
+   * Get index names of a table from the connection metadata
+   *
+   * @param tableName table name
+   * @return lower case index names
+   */
+  private Set<String> getIndexNames(final String tableName) {
+    return namedParameterJdbcTemplate
+        .getJdbcOperations()
+        .execute(
+            (ConnectionCallback<Set<String>>)
+                connection -> {
+                  final DatabaseMetaData metaData = connection.getMetaData();
+                  final String table =
+                      metaData.storesUpperCaseIdentifiers()
+                          ? tableName.toUpperCase()
+                          : metaData.storesLowerCaseIdentifiers()
+                              ? tableName.toLowerCase()
+                              : tableName;
+                  final Set<String> names = new HashSet<>();
+                  try (ResultSet resultSet =
+                      metaData.getIndexInfo(
+                          connection.getCatalog(), getSchema(connection), table, false, true)) {
+                    while (resultSet.next()) {
+                      final String name = resultSet.getString("INDEX_NAME");
+                      if (name != null) names.add(name.toLowerCase());
+                    }
+                  }
+                  return names;
+                });
+  }
+
+  /**
+   * Get current schema, so tables with the same name in other schemas are not matched
+   *
+   * @param connection jdbc connection
+   * @return schema, null when the driver predates JDBC 4.1 or does not support schemas
+   */
+  private static String getSchema(final Connection connection) throws SQLException {
+    try {
+      return connection.getSchema();
+    } catch (AbstractMethodError | SQLFeatureNotSupportedException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Create query for a CXIndex index
+   *
+   * @param meta generated CXEntity metadata
+   * @param index index metadata
+   * @return create index query
+   */
+  private String createIndexQuery(final CXEntityMeta<?> meta, final CXIndexMeta index) {
+    return new StringBuilder("CREATE ")
+        .append(index.isUnique() ? "UNIQUE " : "")
+        .append("INDEX `")
+        .append(index.getName())
+        .append("` ON `")
+        .append(meta.getTableName())
+        .append("` (")
+        .append(
+            index.getColumnNames().stream()
+                .map(column -> "`" + column + "`" + (index.isDescending() ? " DESC" : " ASC"))
+                .collect(Collectors.joining(", ")))
+        .append(")")
+        .toString();
   }
 
   /**
@@ -79,6 +301,9 @@ public class TableCreator {
    * @return
    */
   private String createQueryBasedOnType(final Class<?> clazz) {
+    final CXEntityMeta<?> meta = CXEntityMetaRegistry.get(clazz);
+    if (meta != null) return createQueryBasedOnMeta(meta);
+
     final StringBuilder stringBuilder = new StringBuilder();
     stringBuilder
         .append("CREATE TABLE `")
@@ -123,6 +348,74 @@ public class TableCreator {
         .toString();
   }
 
+  /**
+   * Create query for table creation based on generated entity metadata, no reflection involved
+   *
+   * @param meta generated CXEntity metadata
+   * @return
+   */
+  private <T> String createQueryBasedOnMeta(final CXEntityMeta<T> meta) {
+    final Class<T> clazz = meta.getEntityClass();
+    final StringBuilder stringBuilder = new StringBuilder();
+    stringBuilder.append("CREATE TABLE `").append(meta.getTableName()).append("` (\n");
+
+    final String fieldDefinitionString =
+        meta.getColumns().stream()
+            .map(
+                column -> {
+                  if (column.getDdlType() == null) {
+                    throw new IllegalStateException(
+                        clazz.getName()
+                            + "=>"
+                            + column.getFieldName()
+                            + " must be annotated with a supported @*Column annotation for"
+                            + " database type definition");
+                  }
+                  final StringBuilder fieldStr = new StringBuilder();
+                  fieldStr.append("`").append(column.getColumnName()).append("` ");
+                  fieldStr.append(column.getDdlType()).append(" ");
+                  if (column.isId()) fieldStr.append("AUTO_INCREMENT ");
+                  fieldStr
+                      .append("COMMENT '")
+                      .append(clazz.getSimpleName())
+                      .append("->")
+                      .append(column.getFieldName())
+                      .append(" CX Annotation Processor field'");
+                  return fieldStr.toString();
+                })
+            .collect(Collectors.joining(",\n"));
+
+    final CXColumnMeta<T> idColumn = meta.getIdColumn();
+    stringBuilder
+        .append(fieldDefinitionString)
+        .append(",\n")
+        .append("PRIMARY KEY (")
+        .append("`")
+        .append(idColumn.getColumnName())
+        .append("`)");
+    return stringBuilder
+        .append(") ROW_FORMAT=COMPRESSED COMMENT='")
+        .append(clazz)
+        .append(" CX Annotation processor generated table")
+        .append("';")
+        .toString();
+  }
+
+  /**
+   * Get Mysql datatype for annotation processing element, resolved at compile time for generated
+   * entity metadata
+   *
+   * @param field field model from annotation processing
+   * @return mysql data type, null when the type or its @*Column annotation is not supported
+   */
+  public static String getMySqlTypeBasedOnJavaType(final FieldModel field) {
+    try {
+      return getMySqlType(field.getTypeName(), field::getAnnotation);
+    } catch (NullPointerException e) {
+      return null;
+    }
+  }
+
   /**
    * Get Mysql datatype on java class
    *
@@ -131,30 +424,57 @@ public class TableCreator {
    * @return mysql data type
    */
   private String getMySqlTypeBasedOnJavaType(final Class<?> clazz, final Field field) {
-    final TypeName type = TypeName.get(field.getType());
+    final String mySqlType;
     try {
-      if (type.equals(TypeName.get(Date.class))) return "date";
-      else if (type.equals(TypeName.get(Boolean.class)) || type.equals(TypeName.get(boolean.class)))
-        return "tinyint(1)";
-      else if (type.equals(TypeName.get(Integer.class)) || type.equals(TypeName.get(int.class)))
-        return "int(" + field.getAnnotation(Int.class).length() + ")";
-      else if (type.equals(TypeName.get(Long.class)) || type.equals(TypeName.get(long.class)))
-        return "bigint(" + field.getAnnotation(BigInt.class).length() + ")";
-      else if (type.equals(TypeName.get(String.class)))
-        return "varchar(" + field.getAnnotation(Varchar.class).length() + ")";
-      else if (type.equals(TypeName.get(Float.class)) || type.equals(TypeName.get(float.class)))
-        return "decimal("
-            + field.getAnnotation(Decimal.class).max()
-            + ","
-            + field.getAnnotation(Decimal.class).precision()
-            + ")";
+      mySqlType = getMySqlType(TypeName.get(field.getType()), field::getAnnotation);
     } catch (NullPointerException e) {
       throw new IllegalStateException(
           clazz.getName()
               + " must be annotated with @*Column annotation for database type definition "
               + e);
     }
-    throw new IllegalStateException(
-        clazz.getName() + "=>" + field.getName() + " type not supported yet");
+    if (mySqlType == null) {
+      throw new IllegalStateException(
+          clazz.getName() + "=>" + field.getName() + " type not supported yet");
+    }
+    return mySqlType;
+  }
+
+  /** Annotation lookup, implemented by both reflection fields and entity field models */
+  private interface AnnotationLookup {
+    <A extends Annotation> A getAnnotation(Class<A> annotationType);
+  }
+
+  /**
+   * Get Mysql datatype based on java type and @*Column annotations
+   *
+   * @param type field type
+   * @param annotations annotation lookup for the field
+   * @throws NullPointerException when the @*Column annotation for the type is missing
+   * @return mysql data type, null when type is not supported
+   */
+  private static String getMySqlType(final TypeName type, final AnnotationLookup annotations) {
+    if (type.equals(TypeName.get(java.sql.Date.class))) return "date";
+    else if (type.equals(TypeName.get(Date.class)) || type.equals(TypeName.get(Timestamp.class)))
+      return "datetime";
+    else if (type.equals(TypeName.get(Boolean.class)) || type.equals(TypeName.get(boolean.class)))
+      return "tinyint(1)";
+    else if (type.equals(TypeName.get(Integer.class)) || type.equals(TypeName.get(int.class)))
+      return "int(" + annotations.getAnnotation(Int.class).length() + ")";
+    else if (type.equals(TypeName.get(Long.class)) || type.equals(TypeName.get(long.class)))
+      return "bigint(" + annotations.getAnnotation(BigInt.class).length() + ")";
+    else if (type.equals(TypeName.get(String.class)))
+      return "varchar(" + annotations.getAnnotation(Varchar.class).length() + ")";
+    else if (type.equals(TypeName.get(Float.class))
+        || type.equals(TypeName.get(float.class))
+        || type.equals(TypeName.get(Double.class))
+        || type.equals(TypeName.get(double.class))
+        || type.equals(TypeName.get(BigDecimal.class)))
+      return "decimal("
+          + annotations.getAnnotation(Decimal.class).max()
+          + ","
+          + annotations.getAnnotation(Decimal.class).precision()
+          + ")";
+    return null;
   }
 }
@@ -0,0 +1,157 @@
+package dev.tools.annotationprocessor.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Processor generation, sources generated by the worker pool must match the serial ones
+ *
+ * @author josue.rojas
+ */
+public class CXAnnotationProcessorTest {
+
+  private static final List<String> PACKAGES =
+      Arrays.asList("alpha", "bravo", "charlie", "delta", "echo", "foxtrot");
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void parallelGenerationMatchesSerialGeneration() throws IOException {
+    final Map<String, String> serial = generate(1);
+    final Map<String, String> parallel = generate(4);
+
+    assertFalse(serial.isEmpty());
+    assertEquals(serial.keySet(), parallel.keySet());
+    serial.forEach((name, source) -> assertEquals(name, source, parallel.get(name)));
+  }
+
+  private Map<String, String> generate(final int parallelism) throws IOException {
+    final File output = folder.newFolder("parallelism" + parallelism);
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    final List<JavaFileObject> sources = new ArrayList<>();
+    for (String packageName : PACKAGES) {
+      sources.add(source(packageName, "Message", message(packageName)));
+      sources.add(source(packageName, "Tag", tag(packageName)));
+    }
+
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      final JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              Arrays.asList(
+                  "-proc:only",
+                  "-s",
+                  output.getPath(),
+                  "-classpath",
+                  System.getProperty("java.class.path"),
+                  "-Acx.parallelism=" + parallelism),
+              null,
+              sources);
+      task.setProcessors(Arrays.asList(new CXAnnotationProcessor()));
+      final boolean success = task.call();
+      final String errors =
+          diagnostics.getDiagnostics().stream()
+              .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+              .map(Object::toString)
+              .collect(Collectors.joining("\n"));
+      assertTrue(errors, success);
+    }
+
+    final Map<String, String> generated = new TreeMap<>();
+    try (Stream<Path> files = Files.walk(output.toPath())) {
+      for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+        generated.put(
+            output.toPath().relativize(file).toString(),
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+      }
+    }
+    return generated;
+  }
+
+  private JavaFileObject source(
+      final String packageName, final String className, final String code) {
+    return new SimpleJavaFileObject(
+        URI.create("string:///" + packageName + "/" + className + ".java"),
+        JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+        return code;
+      }
+    };
+  }
+
+  private String message(final String packageName) {
+    return "package "
+        + packageName
+        + ";\n"
+        + "import dev.tools.annotationprocessor.core.annotations.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.types.column.*;\n"
+        + "@CXResponseCache\n"
+        + "@CXCache(maxEntries = 2)\n"
+        + "@CXSpringRestCrudApi(path = \"/"
+        + packageName
+        + "\", async = true)\n"
+        + "@CXIndex(columns = {\"readBy\", \"sent\"}, order = CXIndex.Order.DESC)\n"
+        + "@CXEntity(tableName = \"t_"
+        + packageName
+        + "\")\n"
+        + "public class Message {\n"
+        + "  @CXId(generated = true) @CXColumn(name = \"ID\") @BigInt private Long id;\n"
+        + "  @CXFilterable @CXIndex @CXColumn(name = \"CONTENT\") @Varchar private String content;\n"
+        + "  @CXFilterable @CXColumn(name = \"READERS\") @Int private Integer readBy;\n"
+        + "  @CXColumn(name = \"SCORE\") @Decimal private java.math.BigDecimal score;\n"
+        + "  @CXFilterable @CXColumn(name = \"SENT\") @Date private java.util.Date sent;\n"
+        + "  @CXFilterable @CXColumn(name = \"ACTIVE\") private boolean active;\n"
+        + "}\n";
+  }
+
+  private String tag(final String packageName) {
+    return "package "
+        + packageName
+        + ";\n"
+        + "import dev.tools.annotationprocessor.core.annotations.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.types.column.*;\n"
+        + "@CXSpringRestCrudApi(path = \"/"
+        + packageName
+        + "/tag\")\n"
+        + "@CXEntity(tableName = \"tag_"
+        + packageName
+        + "\")\n"
+        + "public class Tag {\n"
+        + "  @CXId @CXColumn(name = \"CODE\") @Int private int code;\n"
+        + "  @CXColumn(name = \"LABEL\") @Varchar private String label;\n"
+        + "}\n";
+  }
+}
@@ -0,0 +1,284 @@
+package dev.tools.annotationprocessor.core.writer.reactive;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dev.tools.annotationprocessor.core.CXAnnotationProcessor;
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive API generation, the generated service runs the CRUD operations on r2dbc h2 and its list
+ * flux emits no more rows than requested
+ *
+ * @author josue.rojas
+ */
+public class ReactiveRestApiWriterTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  private static final int ROWS = 50;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private String database;
+  private Connection jdbc;
+  private URLClassLoader classLoader;
+  private Class<?> noteClass;
+  private Object service;
+
+  @Before
+  public void generate() throws Exception {
+    final File sources = folder.newFolder("sources");
+    final File generated = folder.newFolder("generated");
+    final File classes = folder.newFolder("classes");
+    final File note = new File(sources, "rx/Note.java");
+    assertTrue(note.getParentFile().mkdirs());
+    Files.write(note.toPath(), note().getBytes(StandardCharsets.UTF_8));
+
+    compile(Collections.singletonList(note), "-proc:only", "-s", generated.getPath());
+    // the service and repository are enough to run the queries, routers are left out
+    final List<File> compiled = new ArrayList<>(Collections.singletonList(note));
+    try (Stream<Path> files = Files.walk(generated.toPath())) {
+      compiled.addAll(
+          files
+              .filter(file -> file.toString().endsWith(".java"))
+              .filter(file -> !file.getParent().endsWith("controller"))
+              .map(Path::toFile)
+              .collect(Collectors.toList()));
+    }
+    compile(compiled, "-proc:none", "-d", classes.getPath());
+
+    database = "reactive_" + System.nanoTime();
+    jdbc = DriverManager.getConnection("jdbc:h2:mem:" + database + ";" + options(), "sa", "");
+    try (Statement statement = jdbc.createStatement()) {
+      statement.execute(
+          "create table note_rx(ID bigint auto_increment primary key, CONTENT varchar(100),"
+              + " ACTIVE boolean, HITS int)");
+    }
+
+    classLoader =
+        new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader());
+    noteClass = classLoader.loadClass("rx.Note");
+    final ConnectionFactory connectionFactory =
+        new H2ConnectionFactory(
+            H2ConnectionConfiguration.builder()
+                .url("mem:" + database + ";" + options())
+                .username("sa")
+                .build());
+    final Object repository =
+        classLoader
+            .loadClass("rx.repository.NoteReactiveRepository")
+            .getConstructor(ConnectionFactory.class)
+            .newInstance(connectionFactory);
+    service =
+        classLoader
+            .loadClass("rx.service.NoteReactiveService")
+            .getConstructor(repository.getClass())
+            .newInstance(repository);
+  }
+
+  @After
+  public void close() throws IOException, SQLException {
+    if (classLoader != null) classLoader.close();
+    if (jdbc != null) jdbc.close();
+  }
+
+  @Test
+  public void crud() throws Exception {
+    final Object created = this.<Mono<?>>call("create", note("hello", 3)).block(TIMEOUT);
+    final Long id = (Long) get(created, "getId");
+    assertNotNull(id);
+
+    final Object read = this.<Mono<?>>call("getById", id).block(TIMEOUT);
+    assertEquals("hello", get(read, "getContent"));
+    assertEquals(3, get(read, "getHits"));
+    assertEquals(true, get(read, "isActive"));
+    assertEquals(1L, (long) this.<Flux<?>>call("get").count().block(TIMEOUT));
+
+    set(read, "setContent", String.class, "updated");
+    assertEquals(true, this.<Mono<?>>call("update", id, read).block(TIMEOUT));
+    assertEquals("updated", get(this.<Mono<?>>call("getById", id).block(TIMEOUT), "getContent"));
+
+    assertEquals(true, this.<Mono<?>>call("delete", id).block(TIMEOUT));
+    assertEquals(false, this.<Mono<?>>call("delete", id).block(TIMEOUT));
+    assertNull(this.<Mono<?>>call("getById", id).block(TIMEOUT));
+    assertEquals(0L, (long) this.<Flux<?>>call("get").count().block(TIMEOUT));
+  }
+
+  @Test
+  public void listEmitsOnlyRequestedRows() throws Exception {
+    for (int i = 0; i < ROWS; i++) {
+      this.<Mono<?>>call("create", note("note" + i, i)).block(TIMEOUT);
+    }
+    final List<Object> received = Collections.synchronizedList(new ArrayList<>());
+    final BaseSubscriber<Object> subscriber =
+        new BaseSubscriber<Object>() {
+          @Override
+          protected void hookOnSubscribe(final Subscription subscription) {
+            request(1);
+          }
+
+          @Override
+          protected void hookOnNext(final Object value) {
+            received.add(value);
+          }
+        };
+
+    this.<Flux<Object>>call("get").subscribe(subscriber);
+    await(received, 1);
+    Thread.sleep(100);
+    assertEquals(1, received.size());
+
+    subscriber.request(3);
+    await(received, 4);
+    Thread.sleep(100);
+    assertEquals(4, received.size());
+    assertFalse(subscriber.isDisposed());
+
+    subscriber.cancel();
+    assertEquals(4, received.size());
+    assertEquals("note0", get(received.get(0), "getContent"));
+    assertEquals((long) ROWS, (long) this.<Flux<?>>call("get").count().block(TIMEOUT));
+  }
+
+  private void await(final List<Object> received, final int size) throws InterruptedException {
+    final long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (received.size() < size && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+    assertTrue("received " + received.size() + " of " + size, received.size() >= size);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T call(final String name, final Object... args) throws Exception {
+    for (Method method : service.getClass().getMethods()) {
+      if (method.getName().equals(name) && method.getParameterCount() == args.length) {
+        try {
+          return (T) method.invoke(service, args);
+        } catch (InvocationTargetException e) {
+          throw (Exception) e.getCause();
+        }
+      }
+    }
+    throw new NoSuchMethodException(name);
+  }
+
+  private Object note(final String content, final int hits) throws Exception {
+    final Object note = noteClass.getConstructor().newInstance();
+    set(note, "setContent", String.class, content);
+    set(note, "setHits", int.class, hits);
+    set(note, "setActive", boolean.class, true);
+    return note;
+  }
+
+  private Object get(final Object instance, final String getter) throws Exception {
+    return noteClass.getMethod(getter).invoke(instance);
+  }
+
+  private void set(
+      final Object instance, final String setter, final Class<?> type, final Object value)
+      throws Exception {
+    noteClass.getMethod(setter, type).invoke(instance, value);
+  }
+
+  private void compile(final List<File> files, final String... options) throws IOException {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+      final List<String> arguments = new ArrayList<>(Arrays.asList(options));
+      arguments.addAll(Arrays.asList("-classpath", System.getProperty("java.class.path")));
+      final JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              arguments,
+              null,
+              fileManager.getJavaFileObjectsFromFiles(files));
+      task.setProcessors(Collections.singletonList(new CXAnnotationProcessor()));
+      task.call();
+      final String errors =
+          diagnostics.getDiagnostics().stream()
+              .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+              .filter(diagnostic -> !isRouter(diagnostic.getSource()))
+              .map(Object::toString)
+              .collect(Collectors.joining("\n"));
+      assertTrue(errors, errors.isEmpty());
+    }
+  }
+
+  /** Routers need webflux, which is not on the test classpath */
+  private boolean isRouter(final JavaFileObject source) {
+    return source != null
+        && source.getName().contains(File.separator + "controller" + File.separator);
+  }
+
+  /** Generated queries quote columns with backticks */
+  private String options() {
+    return "MODE=MySQL;DB_CLOSE_DELAY=-1";
+  }
+
+  private String note() {
+    return "package rx;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.*;\n"
+        + "import dev.tools.annotationprocessor.core.annotations.entity.types.column.*;\n"
+        + "@CXSpringRestCrudApi(path = \"/note\", reactive = true)\n"
+        + "@CXEntity(tableName = \"note_rx\")\n"
+        + "public class Note {\n"
+        + "  @CXId(generated = true) @CXColumn(name = \"ID\") @BigInt private Long id;\n"
+        + "  @CXColumn(name = \"CONTENT\") @Varchar private String content;\n"
+        + "  @CXColumn(name = \"ACTIVE\") private boolean active;\n"
+        + "  @CXColumn(name = \"HITS\") @Int private int hits;\n"
+        + "  public Long getId() { return id; }\n"
+        + "  public void setId(Long id) { this.id = id; }\n"
+        + "  public String getContent() { return content; }\n"
+        + "  public void setContent(String content) { this.content = content; }\n"
+        + "  public boolean isActive() { return active; }\n"
+        + "  public void setActive(boolean active) { this.active = active; }\n"
+        + "  public int getHits() { return hits; }\n"
+        + "  public void setHits(int hits) { this.hits = hits; }\n"
+        + "}\n";
+  }
+}
@@ -0,0 +1,84 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+import dev.tools.annotationprocessor.entity.reserved.Reserved;
+import dev.tools.annotationprocessor.entity.reserved.repository.ReservedRepository;
+
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Create returns the stored entity, with its generated id when the database assigns it
+ *
+ * @author josue.rojas
+ */
+public class CreateEndpointTest {
+
+  @Test
+  public void createSetsTheGeneratedId() {
+    final MessageRepository repository =
+        new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    repository.create(new Message());
+    final Message message = new Message();
+    message.setContent("second");
+
+    final Message created = repository.create(message);
+
+    assertSame(message, created);
+    assertEquals(Long.valueOf(2), created.getId());
+    assertEquals("second", repository.getById(2L).getContent());
+  }
+
+  @Test
+  public void createEndpointAnswersCreatedWithTheId() throws Exception {
+    final MockMvc mvc =
+        MockMvcBuilders.standaloneSetup(
+                new MessageController(
+                    new MessageService(
+                        new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE)))))
+            .build();
+
+    final String body =
+        mvc.perform(
+                post("/CX/message")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"content\":\"hello\"}"))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final Message created = new ObjectMapper().readValue(body, Message.class);
+    assertEquals(Long.valueOf(1), created.getId());
+    assertEquals("hello", created.getContent());
+  }
+
+  @Test
+  public void clientSuppliedIdIsInserted() {
+    final ReservedRepository repository =
+        new ReservedRepository(TestDatabase.create(TestDatabase.RESERVED_TABLE));
+    final Reserved reserved = new Reserved();
+    reserved.setId(42L);
+    reserved.setMeta("supplied");
+
+    repository.create(reserved);
+
+    assertEquals("supplied", repository.getById(42L).getMeta());
+    assertTrue(repository.delete(42L));
+    assertNull(repository.getById(42L));
+  }
+}
@@ -0,0 +1,71 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * GET-by-id endpoint, a primary key lookup mapped by the positional row mapper
+ *
+ * @author josue.rojas
+ */
+public class GetByIdEndpointTest {
+
+  private MessageRepository repository;
+  private MockMvc mvc;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    for (String content : new String[] {"first", "second"}) {
+      final Message message = new Message();
+      message.setContent(content);
+      message.setReadBy(content.length());
+      repository.create(message);
+    }
+    mvc =
+        MockMvcBuilders.standaloneSetup(new MessageController(new MessageService(repository)))
+            .build();
+  }
+
+  @Test
+  public void repositoryFindsTheRowById() {
+    final Message message = repository.getById(2L);
+    assertEquals(Long.valueOf(2), message.getId());
+    assertEquals("second", message.getContent());
+    assertEquals(Integer.valueOf(6), message.getReadBy());
+    assertNull(repository.getById(99L));
+  }
+
+  @Test
+  public void endpointAnswersTheRow() throws Exception {
+    final String body =
+        mvc.perform(get("/CX/message/1"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final Message message = new ObjectMapper().readValue(body, Message.class);
+    assertEquals(Long.valueOf(1), message.getId());
+    assertEquals("first", message.getContent());
+  }
+
+  @Test
+  public void missingIdIsNotFound() throws Exception {
+    mvc.perform(get("/CX/message/99")).andExpect(status().isNotFound());
+  }
+}
@@ -0,0 +1,80 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Streaming list endpoint, rows are written as JSON straight from the ResultSet
+ *
+ * @author josue.rojas
+ */
+public class StreamEndpointTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private MessageRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    final Message full = new Message();
+    full.setContent("quoted \"content\"");
+    full.setReadBy(5);
+    full.setActive(true);
+    full.setScore(new BigDecimal("2.25"));
+    full.setSent(new Date(1589725845123L));
+    repository.create(full);
+    repository.create(new Message());
+  }
+
+  @Test
+  public void writesTheSameJsonAsJackson() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    repository.stream(out);
+
+    final JsonNode streamed = objectMapper.readTree(out.toByteArray());
+    assertEquals(
+        objectMapper.readTree(objectMapper.writeValueAsString(repository.get())), streamed);
+    assertEquals(2, streamed.size());
+    assertEquals("quoted \"content\"", streamed.get(0).get("content").asText());
+    assertEquals(true, streamed.get(1).get("readBy").isNull());
+  }
+
+  @Test
+  public void streamEndpointReturnsEveryRow() throws Exception {
+    final MockMvc mvc =
+        MockMvcBuilders.standaloneSetup(new MessageController(new MessageService(repository)))
+            .build();
+
+    final MvcResult result =
+        mvc.perform(get("/CX/message/_stream")).andExpect(request().asyncStarted()).andReturn();
+    mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+    assertTrue(
+        MediaType.APPLICATION_JSON.isCompatibleWith(
+            MediaType.parseMediaType(result.getResponse().getContentType())));
+
+    assertEquals(2, objectMapper.readTree(result.getResponse().getContentAsString()).size());
+  }
+}
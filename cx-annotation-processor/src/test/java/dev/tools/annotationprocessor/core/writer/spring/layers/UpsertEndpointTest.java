@@ -0,0 +1,107 @@
+package dev.tools.annotationprocessor.core.writer.spring.layers;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * PUT without id in the path inserts the body or updates the row with its id, one item or a bulk
+ * array
+ *
+ * @author josue.rojas
+ */
+public class UpsertEndpointTest {
+
+  private MessageRepository repository;
+  private MockMvc mvc;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    final Message message = new Message();
+    message.setContent("stored");
+    repository.create(message);
+    mvc =
+        MockMvcBuilders.standaloneSetup(new MessageController(new MessageService(repository)))
+            .build();
+  }
+
+  @Test
+  public void upsertUpdatesTheStoredRow() throws Exception {
+    mvc.perform(
+            put("/CX/message")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":1,\"content\":\"updated\"}"))
+        .andExpect(status().isOk());
+
+    assertEquals("updated", repository.getById(1L).getContent());
+    assertEquals(1, repository.get().size());
+  }
+
+  @Test
+  public void upsertInsertsAnUnknownId() throws Exception {
+    mvc.perform(
+            put("/CX/message")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":50,\"content\":\"inserted\"}"))
+        .andExpect(status().isOk());
+
+    assertEquals("inserted", repository.getById(50L).getContent());
+    assertEquals("stored", repository.getById(1L).getContent());
+  }
+
+  @Test
+  public void upsertWithoutIdIsBadRequest() throws Exception {
+    mvc.perform(
+            put("/CX/message")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"content\":\"no id\"}"))
+        .andExpect(status().isBadRequest());
+
+    assertEquals(1, repository.get().size());
+  }
+
+  @Test
+  public void bulkUpsertReportsEveryItem() throws Exception {
+    final String body =
+        mvc.perform(
+                put("/CX/message/_bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[{\"id\":1,\"content\":\"first\"},{\"id\":60,\"content\":\"new\"}]"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final JsonNode result = new ObjectMapper().readTree(body);
+    assertEquals(2, result.get("total").asInt());
+    assertEquals(2, result.get("succeeded").asInt());
+    assertEquals("first", repository.getById(1L).getContent());
+    assertEquals("new", repository.getById(60L).getContent());
+  }
+
+  @Test
+  public void bulkUpsertWithAMissingIdIsBadRequest() throws Exception {
+    mvc.perform(
+            put("/CX/message/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":1,\"content\":\"first\"},{\"content\":\"no id\"}]"))
+        .andExpect(status().isBadRequest());
+
+    assertEquals("stored", repository.getById(1L).getContent());
+  }
+}
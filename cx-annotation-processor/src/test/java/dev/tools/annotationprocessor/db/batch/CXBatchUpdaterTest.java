@@ -0,0 +1,151 @@
+package dev.tools.annotationprocessor.db.batch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.parametersource.MessageParameterSource;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Bulk create, chunked JDBC batches in one transaction
+ *
+ * @author josue.rojas
+ */
+public class CXBatchUpdaterTest {
+
+  private static final String INSERT = "insert into message_test(CONTENT) values(:CONTENT)";
+
+  private NamedParameterJdbcTemplate template;
+
+  @Before
+  public void setUp() {
+    template = TestDatabase.create(TestDatabase.MESSAGE_TABLE);
+  }
+
+  @Test
+  public void splitsTheItemsInChunks() {
+    final List<Integer> chunks = new ArrayList<>();
+    final NamedParameterJdbcTemplate counting =
+        new NamedParameterJdbcTemplate(template.getJdbcOperations()) {
+          @Override
+          public int[] batchUpdate(final String sql, final SqlParameterSource[] batchArgs) {
+            chunks.add(batchArgs.length);
+            return super.batchUpdate(sql, batchArgs);
+          }
+        };
+
+    final int[] rowsAffected =
+        CXBatchUpdater.batchUpdate(counting, INSERT, messages(5), 2, MessageParameterSource::new);
+
+    assertArrayEquals(new int[] {1, 1, 1, 1, 1}, rowsAffected);
+    assertEquals("[2, 2, 1]", chunks.toString());
+    assertEquals(5, count());
+  }
+
+  @Test
+  public void createAllReportsEveryItem() {
+    final CXBulkResult result = new MessageRepository(template).createAll(messages(3));
+
+    assertEquals(3, result.getTotal());
+    assertEquals(3, result.getSucceeded());
+    assertEquals(2, result.getItems().get(2).getIndex());
+    assertEquals(3L, result.getItems().get(2).getId());
+    assertEquals(3, count());
+  }
+
+  @Test
+  public void generatedKeysAreSetOnEveryChunk() {
+    final List<Message> messages = messages(5);
+
+    final int[] rowsAffected =
+        CXBatchUpdater.batchUpdate(
+            template,
+            INSERT,
+            messages,
+            2,
+            MessageParameterSource::new,
+            "ID",
+            (message, key) -> message.setId(key.longValue()));
+
+    assertEquals(5, rowsAffected.length);
+    for (int i = 0; i < messages.size(); i++) {
+      assertEquals(Long.valueOf(i + 1), messages.get(i).getId());
+    }
+  }
+
+  @Test
+  public void failingItemRollsBackTheRequest() {
+    final List<Message> messages = messages(3);
+    messages.get(2).setContent(new String(new char[200]).replace('\0', 'x'));
+
+    try {
+      new MessageRepository(template).createAll(messages);
+      fail("content longer than the column must fail");
+    } catch (DataAccessException e) {
+      assertEquals(0, count());
+    }
+  }
+
+  @Test
+  public void noInfoCountsAsSuccess() {
+    final CXBulkResult result =
+        CXBulkResult.of(new int[] {1, Statement.SUCCESS_NO_INFO, Statement.EXECUTE_FAILED});
+
+    assertTrue(result.getItems().get(1).isSuccess());
+    assertFalse(result.getItems().get(2).isSuccess());
+    assertEquals(2, result.getSucceeded());
+  }
+
+  @Test
+  public void bulkEndpointInsertsTheArray() throws Exception {
+    final MockMvc mvc =
+        MockMvcBuilders.standaloneSetup(
+                new MessageController(new MessageService(new MessageRepository(template))))
+            .build();
+
+    mvc.perform(
+            post("/CX/message/_bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"content\":\"a\"},{\"content\":\"b\"}]"))
+        .andExpect(status().isOk());
+
+    assertEquals(2, count());
+  }
+
+  private int count() {
+    return template
+        .getJdbcOperations()
+        .queryForObject("select count(*) from message_test", Integer.class);
+  }
+
+  private static List<Message> messages(final int size) {
+    final List<Message> messages = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      final Message message = new Message();
+      message.setContent("message " + i);
+      messages.add(message);
+    }
+    return messages;
+  }
+}
@@ -0,0 +1,121 @@
+package dev.tools.annotationprocessor.db.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Entity cache, a value loaded while its key is invalidated is returned but never cached
+ *
+ * @author josue.rojas
+ */
+public class CXEntityCacheTest {
+
+  @Test
+  public void invalidateDuringLoadDiscardsLoadedValue() throws Exception {
+    final CXEntityCache<Long, String> cache = new CXEntityCache<>(16, 0, TimeUnit.SECONDS);
+    final CountDownLatch loading = new CountDownLatch(1);
+    final CountDownLatch invalidated = new CountDownLatch(1);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      final Future<String> stale =
+          executor.submit(
+              () ->
+                  cache.get(
+                      1L,
+                      key -> {
+                        loading.countDown();
+                        await(invalidated);
+                        return "stale";
+                      }));
+      await(loading);
+      cache.invalidate(1L);
+      invalidated.countDown();
+
+      assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+      assertEquals(0, cache.size());
+      assertEquals("fresh", cache.get(1L, key -> "fresh"));
+      assertEquals("fresh", cache.get(1L, key -> "unexpected load"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void concurrentUpdatesNeverLeaveStaleValues() throws Exception {
+    final CXEntityCache<Long, Long> cache = new CXEntityCache<>(64, 0, TimeUnit.SECONDS);
+    final int keys = 8;
+    final AtomicLong[] database = new AtomicLong[keys];
+    for (int i = 0; i < keys; i++) {
+      database[i] = new AtomicLong();
+    }
+    final AtomicInteger remainingWrites = new AtomicInteger(2_000);
+    final ExecutorService executor = Executors.newFixedThreadPool(6);
+    try {
+      final List<Future<?>> tasks = new ArrayList<>();
+      for (int writer = 0; writer < 2; writer++) {
+        tasks.add(
+            executor.submit(
+                () -> {
+                  int i = 0;
+                  while (remainingWrites.decrementAndGet() >= 0) {
+                    final long key = i++ % keys;
+                    // same order as generated services: write the row, then invalidate
+                    database[(int) key].incrementAndGet();
+                    cache.invalidate(key);
+                  }
+                }));
+      }
+      for (int reader = 0; reader < 4; reader++) {
+        tasks.add(
+            executor.submit(
+                () -> {
+                  int i = 0;
+                  while (remainingWrites.get() > 0) {
+                    cache.get(
+                        (long) (i++ % keys),
+                        key -> {
+                          final long value = database[key.intValue()].get();
+                          Thread.yield();
+                          return value;
+                        });
+                  }
+                }));
+      }
+      for (Future<?> task : tasks) {
+        task.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (int i = 0; i < keys; i++) {
+      final long key = i;
+      assertEquals(
+          "key " + key,
+          database[i].get(),
+          (long) cache.get(key, missing -> database[missing.intValue()].get()));
+    }
+    assertTrue(cache.stats().getInvalidations() >= 2_000);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
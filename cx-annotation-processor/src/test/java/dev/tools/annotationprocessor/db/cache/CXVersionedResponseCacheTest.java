@@ -0,0 +1,74 @@
+package dev.tools.annotationprocessor.db.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Versioned response cache, a repeated ETag is answered with 304 until the entity version changes
+ *
+ * @author josue.rojas
+ */
+public class CXVersionedResponseCacheTest {
+
+  private static final String SHAPE = "get";
+
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final CXVersionedResponseCache cache = new CXVersionedResponseCache(version, 4, false);
+
+  @Test
+  public void repeatedEtagIsNotModified() {
+    final ResponseEntity<byte[]> first = get(null);
+    final String etag = first.getHeaders().getETag();
+
+    assertEquals(HttpStatus.OK, first.getStatusCode());
+    for (int i = 0; i < 3; i++) {
+      final ResponseEntity<byte[]> repeated = get(etag);
+      assertEquals(HttpStatus.NOT_MODIFIED, repeated.getStatusCode());
+      assertEquals(etag, repeated.getHeaders().getETag());
+      assertNull(repeated.getBody());
+    }
+    assertEquals(HttpStatus.NOT_MODIFIED, get("\"other\", W/" + etag).getStatusCode());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void cachedBodyIsServedWithoutLoading() {
+    final ResponseEntity<byte[]> first = get(null);
+    final ResponseEntity<byte[]> second = get(null);
+
+    assertEquals(HttpStatus.OK, second.getStatusCode());
+    assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+    assertArrayEquals(first.getBody(), second.getBody());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void versionChangeInvalidatesEtag() {
+    final String etag = get(null).getHeaders().getETag();
+    version.incrementAndGet();
+
+    final ResponseEntity<byte[]> changed = get(etag);
+
+    assertEquals(HttpStatus.OK, changed.getStatusCode());
+    assertNotEquals(etag, changed.getHeaders().getETag());
+    assertEquals("[\"row-2\"]", new String(changed.getBody(), StandardCharsets.UTF_8));
+    assertEquals(2, loads.get());
+  }
+
+  private ResponseEntity<byte[]> get(final String ifNoneMatch) {
+    return cache.get(
+        SHAPE, ifNoneMatch, null, () -> Arrays.asList("row-" + loads.incrementAndGet()));
+  }
+}
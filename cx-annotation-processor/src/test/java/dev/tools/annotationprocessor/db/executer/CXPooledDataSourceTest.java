@@ -0,0 +1,178 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Pooled data source, permits are released once per lease, nothing stays idle after close and leaks
+ * go to the leak listener
+ *
+ * @author josue.rojas
+ */
+public class CXPooledDataSourceTest {
+
+  private static final int MAX_SIZE = 2;
+
+  private CXPooledDataSource dataSource;
+
+  @After
+  public void close() {
+    if (dataSource != null) dataSource.close();
+  }
+
+  @Test
+  public void closeTwiceReleasesOnePermit() throws SQLException {
+    dataSource = new CXPooledDataSource(config(0));
+
+    final Connection connection = dataSource.getConnection();
+    connection.close();
+    connection.close();
+
+    assertTrue(connection.isClosed());
+    assertEquals(0, dataSource.getMetrics().getActive());
+    assertEquals(1, dataSource.getMetrics().getIdle());
+    assertPermits(MAX_SIZE);
+  }
+
+  @Test
+  public void concurrentCloseReleasesOnePermit() throws Exception {
+    dataSource = new CXPooledDataSource(config(0));
+    final int rounds = 200;
+
+    for (int i = 0; i < rounds; i++) {
+      final Connection connection = dataSource.getConnection();
+      final CyclicBarrier barrier = new CyclicBarrier(2);
+      final AtomicReference<Exception> failure = new AtomicReference<>();
+      final Thread other =
+          new Thread(
+              () -> {
+                try {
+                  barrier.await();
+                  connection.close();
+                } catch (Exception e) {
+                  failure.set(e);
+                }
+              });
+      other.start();
+      barrier.await();
+      connection.close();
+      other.join();
+      if (failure.get() != null) throw failure.get();
+    }
+
+    assertEquals(0, dataSource.getMetrics().getActive());
+    assertEquals(rounds, dataSource.getMetrics().getAcquired());
+    assertPermits(MAX_SIZE);
+  }
+
+  @Test
+  public void releaseAfterCloseClosesTheConnection() throws SQLException {
+    dataSource = new CXPooledDataSource(config(0));
+    final Connection connection = dataSource.getConnection();
+
+    dataSource.close();
+    connection.close();
+
+    assertEquals(0, dataSource.getMetrics().getIdle());
+    assertEquals(0, dataSource.getMetrics().getActive());
+  }
+
+  @Test
+  public void releaseRacingCloseLeavesNoIdleConnection() throws Exception {
+    for (int i = 0; i < 200; i++) {
+      final CXPooledDataSource pool = new CXPooledDataSource(config(0));
+      final Connection connection = pool.getConnection();
+      final CyclicBarrier barrier = new CyclicBarrier(2);
+      final AtomicReference<Exception> failure = new AtomicReference<>();
+      final Thread other =
+          new Thread(
+              () -> {
+                try {
+                  barrier.await();
+                  pool.close();
+                } catch (Exception e) {
+                  failure.set(e);
+                }
+              });
+      other.start();
+      barrier.await();
+      connection.close();
+      other.join();
+      if (failure.get() != null) throw failure.get();
+
+      assertEquals(0, pool.getMetrics().getIdle());
+    }
+  }
+
+  @Test
+  public void leakIsReportedToListener() throws Exception {
+    dataSource = new CXPooledDataSource(config(20));
+    final CountDownLatch reported = new CountDownLatch(1);
+    final AtomicReference<Throwable> borrower = new AtomicReference<>();
+    dataSource.setLeakListener(
+        stackTrace -> {
+          borrower.set(stackTrace);
+          reported.countDown();
+        });
+
+    try (Connection connection = dataSource.getConnection()) {
+      assertTrue(reported.await(5, TimeUnit.SECONDS));
+      // reported once even if the detector runs again while the lease is held
+      Thread.sleep(50);
+      assertEquals(1, dataSource.getMetrics().getLeaks());
+      assertTrue(leasedHere(borrower.get()));
+    }
+  }
+
+  private boolean leasedHere(final Throwable borrower) {
+    for (StackTraceElement element : borrower.getStackTrace()) {
+      if (element.getClassName().equals(CXPooledDataSourceTest.class.getName())) return true;
+    }
+    return false;
+  }
+
+  /** Exactly {@code expected} connections can be leased at the same time */
+  private void assertPermits(final int expected) throws SQLException {
+    final List<Connection> connections = new ArrayList<>();
+    try {
+      for (int i = 0; i < expected; i++) {
+        connections.add(dataSource.getConnection());
+      }
+      try {
+        connections.add(dataSource.getConnection());
+        fail("pool handed out more than " + expected + " connections");
+      } catch (SQLTimeoutException e) {
+        assertEquals(1, dataSource.getMetrics().getTimeouts());
+      }
+    } finally {
+      for (Connection connection : connections) {
+        connection.close();
+      }
+    }
+  }
+
+  private CXPoolConfig config(final long leakDetectionMillis) {
+    return new CXPoolConfig()
+        .setDriverClassName("org.h2.Driver")
+        .setUrl("jdbc:h2:mem:pool_" + System.nanoTime())
+        .setUsername("sa")
+        .setPassword("")
+        .setMaxSize(MAX_SIZE)
+        .setAcquireTimeoutMillis(50)
+        .setLeakDetectionMillis(leakDetectionMillis);
+  }
+}
@@ -0,0 +1,45 @@
+package dev.tools.annotationprocessor.db.executer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Shared template outside Spring, a missing url fails the call instead of the class
+ *
+ * @author josue.rojas
+ */
+public class JdbcTemplateHolderTest {
+
+  @Test
+  public void missingUrlFailsUntilItIsSet() {
+    System.clearProperty(CXPoolConfig.URL_PROPERTY);
+    for (int i = 0; i < 2; i++) {
+      try {
+        JdbcTemplateHolder.getConnection();
+        fail("the pool cannot be built without " + CXPoolConfig.URL_PROPERTY);
+      } catch (IllegalStateException e) {
+        assertTrue(e.getMessage(), e.getMessage().contains(CXPoolConfig.URL_PROPERTY));
+      }
+    }
+
+    System.setProperty(CXPoolConfig.URL_PROPERTY, "jdbc:h2:mem:holder;DB_CLOSE_DELAY=-1");
+    System.setProperty(CXPoolConfig.PREFIX + "username", "sa");
+    try {
+      final NamedParameterJdbcTemplate template = JdbcTemplateHolder.getConnection();
+      assertSame(template, JdbcTemplateHolder.getConnection());
+      assertEquals(
+          Integer.valueOf(1),
+          template.getJdbcOperations().queryForObject("select 1", Integer.class));
+    } finally {
+      JdbcTemplateHolder.getDataSource().close();
+      System.clearProperty(CXPoolConfig.URL_PROPERTY);
+      System.clearProperty(CXPoolConfig.PREFIX + "username");
+    }
+  }
+}
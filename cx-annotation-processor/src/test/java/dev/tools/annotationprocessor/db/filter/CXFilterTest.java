@@ -0,0 +1,151 @@
+package dev.tools.annotationprocessor.db.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.db.pagination.CXPage;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.meta.MessageMeta;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Filter queries, request parameters become predicates over compile-time column references
+ *
+ * @author josue.rojas
+ */
+public class CXFilterTest {
+
+  private static final CXFilter FILTER = MessageMeta.FILTER;
+
+  private MessageRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    for (int i = 1; i <= 5; i++) {
+      final Message message = new Message();
+      message.setContent(i % 2 == 0 ? "even" : "odd");
+      message.setReadBy(i);
+      message.setScore(new BigDecimal(i + ".50"));
+      repository.create(message);
+    }
+  }
+
+  @Test
+  public void bindsConvertedValues() {
+    final Map<String, List<String>> params = new LinkedHashMap<>();
+    params.put("content", Collections.singletonList("odd"));
+    params.put("readBy.gt", Collections.singletonList("2"));
+    params.put("limit", Collections.singletonList("10"));
+
+    final CXFilterQuery query = FILTER.query(params, 1L, 10);
+
+    assertEquals(
+        "select t.`ID` as `id`,t.`CONTENT` as `content`,t.`READERS_COUNTER` as `readBy`,"
+            + "t.`ACTIVE` as `active`,t.`SCORE` as `score`,t.`SENT` as `sent` from message_test t"
+            + " where t.`CONTENT` = :p0 and t.`READERS_COUNTER` > :p1 and t.`ID` > :after"
+            + " order by t.`ID` limit :limit",
+        query.getSql());
+    assertEquals("odd", query.getParameters().getValue("p0"));
+    assertEquals(2, query.getParameters().getValue("p1"));
+    assertEquals(Types.INTEGER, query.getParameters().getSqlType("p1"));
+    assertEquals(10, query.getParameters().getValue("limit"));
+  }
+
+  @Test
+  public void inAndRepeatedValuesBecomeOneList() {
+    final Map<String, List<String>> params = new LinkedHashMap<>();
+    params.put("readBy.in", Collections.singletonList("1,3"));
+    params.put("content", Arrays.asList("odd", "even"));
+
+    final CXFilterQuery query = FILTER.query(params, null, 10);
+
+    assertEquals(Arrays.asList(1, 3), query.getParameters().getValue("p0"));
+    assertEquals(Arrays.asList("odd", "even"), query.getParameters().getValue("p1"));
+  }
+
+  @Test
+  public void repositoryRunsTheFilter() {
+    final Map<String, List<String>> params = new LinkedHashMap<>();
+    params.put("content", Collections.singletonList("odd"));
+    params.put("score.gte", Collections.singletonList("2"));
+
+    final CXPage<Message, Long> first = repository.filter(params, null, 1);
+    assertEquals(Arrays.asList(3L), ids(first));
+    assertEquals(Long.valueOf(3), first.getNext());
+
+    final CXPage<Message, Long> second = repository.filter(params, first.getNext(), 1);
+    assertEquals(Arrays.asList(5L), ids(second));
+    assertNull(repository.filter(params, second.getNext(), 1).getNext());
+  }
+
+  @Test(expected = CXInvalidFilterException.class)
+  public void unknownAttributeIsRejected() {
+    FILTER.query(Collections.singletonMap("id", Collections.singletonList("1")), null, 10);
+  }
+
+  @Test(expected = CXInvalidFilterException.class)
+  public void unknownOperatorIsRejected() {
+    FILTER.query(
+        Collections.singletonMap("content.like", Collections.singletonList("o%")), null, 10);
+  }
+
+  @Test(expected = CXInvalidFilterException.class)
+  public void unparsableValueIsRejected() {
+    FILTER.query(Collections.singletonMap("readBy", Collections.singletonList("abc")), null, 10);
+  }
+
+  @Test
+  public void filterEndpointAnswersTheMatchingPage() throws Exception {
+    final String body =
+        mvc()
+            .perform(get("/CX/message/_filter?readBy.in=2,4,5&content=even&limit=5"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    final JsonNode items = new ObjectMapper().readTree(body).get("items");
+    assertEquals(2, items.size());
+    assertEquals(2, items.get(0).get("id").asInt());
+    assertEquals(4, items.get(1).get("id").asInt());
+  }
+
+  @Test
+  public void invalidFiltersAreBadRequest() throws Exception {
+    final MockMvc mvc = mvc();
+    mvc.perform(get("/CX/message/_filter?nope=1")).andExpect(status().isBadRequest());
+    mvc.perform(get("/CX/message/_filter?readBy.like=1")).andExpect(status().isBadRequest());
+    mvc.perform(get("/CX/message/_filter?readBy=abc")).andExpect(status().isBadRequest());
+    mvc.perform(get("/CX/message/_filter?readBy.in=")).andExpect(status().isBadRequest());
+  }
+
+  private MockMvc mvc() {
+    return MockMvcBuilders.standaloneSetup(new MessageController(new MessageService(repository)))
+        .build();
+  }
+
+  private static List<Long> ids(final CXPage<Message, Long> page) {
+    return page.getItems().stream().map(Message::getId).collect(Collectors.toList());
+  }
+}
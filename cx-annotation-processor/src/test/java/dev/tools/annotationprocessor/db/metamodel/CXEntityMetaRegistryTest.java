@@ -0,0 +1,120 @@
+package dev.tools.annotationprocessor.db.metamodel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import dev.tools.annotationprocessor.core.reflection.ClassReflectionTool;
+import dev.tools.annotationprocessor.core.reflection.NameGenerationTool;
+import dev.tools.annotationprocessor.db.paramresolver.ParameterMapCreator;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.meta.MessageMeta;
+import dev.tools.annotationprocessor.entity.reserved.Reserved;
+import dev.tools.annotationprocessor.entity.reserved.meta.ReservedMeta;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+/**
+ * Generated entity metadata, looked up through the registry instead of reflection
+ *
+ * @author josue.rojas
+ */
+public class CXEntityMetaRegistryTest {
+
+  @Test
+  public void resolvesTheGeneratedMeta() {
+    final CXEntityMeta<Message> meta = CXEntityMetaRegistry.get(Message.class);
+
+    assertSame(MessageMeta.META, meta);
+    assertEquals(Message.class, meta.getEntityClass());
+    assertEquals("message_test", meta.getTableName());
+    assertSame(MessageMeta.ID, meta.getIdColumn());
+    assertSame(MessageMeta.READ_BY, meta.getColumn("READERS_COUNTER"));
+    assertNull(meta.getColumn("readBy"));
+  }
+
+  @Test
+  public void keepsTheDeclarationOrderAndTypes() {
+    final List<String> columns =
+        MessageMeta.META.getColumns().stream()
+            .map(CXColumnMeta::getColumnName)
+            .collect(Collectors.toList());
+
+    assertEquals(6, columns.size());
+    assertEquals("ID", columns.get(0));
+    assertEquals("CONTENT", columns.get(1));
+    assertEquals("READERS_COUNTER", columns.get(2));
+    assertEquals("ACTIVE", columns.get(3));
+    assertEquals("SCORE", columns.get(4));
+    assertEquals("SENT", columns.get(5));
+    assertEquals(Types.BIGINT, MessageMeta.ID.getSqlType());
+    assertEquals(Types.BOOLEAN, MessageMeta.ACTIVE.getSqlType());
+    assertTrue(MessageMeta.ID.isId());
+    assertTrue(MessageMeta.ID.isGenerated());
+    assertFalse(MessageMeta.CONTENT.isId());
+  }
+
+  @Test
+  public void readsAndWritesThroughTheAccessors() {
+    final Message message = new Message();
+    MessageMeta.CONTENT.set(message, "hello");
+    MessageMeta.READ_BY.set(message, 3);
+    MessageMeta.ACTIVE.set(message, true);
+
+    assertEquals("hello", message.getContent());
+    assertEquals("hello", MessageMeta.CONTENT.get(message));
+    assertEquals(3, MessageMeta.READ_BY.get(message));
+    assertEquals(true, MessageMeta.ACTIVE.get(message));
+  }
+
+  @Test
+  public void classesWithoutMetaAreNotFound() {
+    assertNull(CXEntityMetaRegistry.get(String.class));
+  }
+
+  @Test
+  public void reflectionToolsReadTheMeta() throws Exception {
+    assertEquals("message_test", NameGenerationTool.getTableName(Message.class));
+    assertEquals(
+        Message.class.getDeclaredField("id"), ClassReflectionTool.getIdField(Message.class));
+  }
+
+  @Test
+  public void metaParamsMapMatchesTheReflectiveOne() {
+    final Message message = new Message();
+    message.setId(7L);
+    message.setContent("hello");
+    message.setReadBy(3);
+    message.setActive(true);
+    message.setScore(new BigDecimal("1.50"));
+    message.setSent(new Date());
+
+    final MapSqlParameterSource meta = ParameterMapCreator.buildParamsMap(message);
+    final MapSqlParameterSource reflective = ParameterMapCreator.buildParamsMapReflective(message);
+
+    // the reflective path goes through jackson, so only the plain columns keep their java type
+    assertEquals(reflective.getValues().keySet(), meta.getValues().keySet());
+    for (String column : new String[] {"CONTENT", "READERS_COUNTER", "ACTIVE"}) {
+      assertEquals(reflective.getValue(column), meta.getValue(column));
+    }
+  }
+
+  @Test
+  public void reservedFieldNamesGetASuffix() {
+    assertEquals("META", ReservedMeta.META_COLUMN.getColumnName());
+    assertEquals("PROJECTION", ReservedMeta.PROJECTION_COLUMN.getColumnName());
+    assertNotNull(ReservedMeta.PROJECTION);
+    assertEquals("FILTER", ReservedMeta.FILTER_COLUMN.getColumnName());
+    assertNotNull(ReservedMeta.FILTER);
+    assertSame(ReservedMeta.META, CXEntityMetaRegistry.get(Reserved.class));
+  }
+}
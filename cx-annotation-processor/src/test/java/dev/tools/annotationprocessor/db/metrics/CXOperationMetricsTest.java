@@ -0,0 +1,181 @@
+package dev.tools.annotationprocessor.db.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Operation counters and latency percentiles, recorded directly and through the generated
+ * repository; slow query entries report the statement of their own call only
+ *
+ * @author josue.rojas
+ */
+public class CXOperationMetricsTest {
+
+  private static final String TEMPLATE = "select * from t_message t order by t.ID limit :limit";
+  private static final String FILTERED =
+      "select * from t_message t where t.CONTENT = :p0 order by t.ID limit :limit";
+
+  private long threshold;
+
+  @Before
+  public void resetRegistry() {
+    CXMetricsRegistry.reset();
+    threshold = CXSlowQueryLog.getThresholdMillis();
+    CXSlowQueryLog.clear();
+  }
+
+  @After
+  public void restoreThreshold() {
+    CXSlowQueryLog.setThresholdMillis(threshold);
+    CXSlowQueryLog.clear();
+  }
+
+  @Test
+  public void countsCallsRowsAndErrors() {
+    final CXOperationMetrics metrics = new CXOperationMetrics("Message", "repository.get", null, 0);
+
+    metrics.record(() -> Arrays.asList("a", "b", "c"));
+    metrics.record(() -> Boolean.TRUE);
+    try {
+      metrics.record(
+          () -> {
+            throw new IllegalStateException("connection refused");
+          });
+      fail("call failure must be rethrown");
+    } catch (IllegalStateException e) {
+      // recorded as failed
+    }
+
+    final CXOperationSnapshot snapshot = metrics.snapshot();
+    assertEquals(3, snapshot.getCalls());
+    assertEquals(1, snapshot.getErrors());
+    assertEquals(4, snapshot.getRows());
+  }
+
+  @Test
+  public void rowsOfGeneratedResults() {
+    assertEquals(0, CXOperationMetrics.rowsOf(null));
+    assertEquals(0, CXOperationMetrics.rowsOf(Boolean.FALSE));
+    assertEquals(2, CXOperationMetrics.rowsOf(Arrays.asList(1, 2)));
+    assertEquals(0, CXOperationMetrics.rowsOf(ResponseEntity.notFound().build()));
+    assertEquals(1, CXOperationMetrics.rowsOf(ResponseEntity.ok(new Message())));
+    assertEquals(
+        3, CXOperationMetrics.rowsOf(ResponseEntity.ok(Collections.nCopies(3, new Message()))));
+  }
+
+  @Test
+  public void percentilesStayWithinTheBucketError() {
+    final CXLatencyHistogram histogram = new CXLatencyHistogram();
+    for (int micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1000L);
+    }
+
+    final long[] percentiles = histogram.percentiles(0.5, 0.99, 1);
+    assertWithin(500, percentiles[0]);
+    assertWithin(990, percentiles[1]);
+    assertEquals(1000, percentiles[2]);
+    assertEquals(1000, histogram.getMax());
+
+    histogram.reset();
+    assertEquals(0, histogram.percentiles(0.5)[0]);
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void generatedRepositoryRecordsItsOperations() {
+    final MessageRepository repository =
+        new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    for (int i = 1; i <= 3; i++) {
+      final Message message = new Message();
+      message.setContent("message " + i);
+      repository.create(message);
+    }
+    repository.get();
+    repository.getById(2L);
+    repository.getById(404L);
+
+    final Map<String, CXOperationSnapshot> operations =
+        CXMetricsRegistry.snapshot("Message").get("Message");
+    assertEquals(3, operations.get("repository.create").getCalls());
+    assertEquals(3, operations.get("repository.create").getRows());
+    assertEquals(1, operations.get("repository.get").getCalls());
+    assertEquals(3, operations.get("repository.get").getRows());
+    assertEquals(2, operations.get("repository.getById").getCalls());
+    assertEquals(1, operations.get("repository.getById").getRows());
+    assertEquals(0, operations.get("repository.getById").getErrors());
+    assertSame(
+        CXMetricsRegistry.operation("Message", "repository.get"),
+        CXMetricsRegistry.operation("Message", "repository.get"));
+  }
+
+  @Test
+  public void statementIsClearedAfterTheCall() {
+    CXSlowQueryLog.setThresholdMillis(0);
+    final CXOperationMetrics metrics = filterOperation();
+
+    metrics.record(
+        () -> {
+          metrics.statement(FILTERED, 2);
+          return "row";
+        });
+    metrics.record(() -> "row");
+
+    final List<CXSlowQuery> entries = CXSlowQueryLog.getEntries("Message");
+    assertEquals(2, entries.size());
+    assertEquals(TEMPLATE, entries.get(0).getSql());
+    assertEquals(1, entries.get(0).getBindCount());
+    assertEquals(FILTERED, entries.get(1).getSql());
+    assertEquals(2, entries.get(1).getBindCount());
+  }
+
+  @Test
+  public void failedCallWithoutStatementReportsTheTemplate() {
+    CXSlowQueryLog.setThresholdMillis(0);
+    final CXOperationMetrics metrics = filterOperation();
+    metrics.record(
+        () -> {
+          metrics.statement(FILTERED, 2);
+          return "row";
+        });
+
+    try {
+      metrics.record(
+          () -> {
+            throw new IllegalArgumentException("Unknown filter 'missing'");
+          });
+      fail("call failure must be rethrown");
+    } catch (IllegalArgumentException e) {
+      // recorded as failed
+    }
+
+    final CXSlowQuery failed = CXSlowQueryLog.getEntries("Message").get(0);
+    assertTrue(failed.isFailed());
+    assertEquals(TEMPLATE, failed.getSql());
+    assertEquals(1, metrics.getErrors());
+  }
+
+  private static CXOperationMetrics filterOperation() {
+    return new CXOperationMetrics("Message", "repository.filter", TEMPLATE, 1);
+  }
+
+  private static void assertWithin(final long expected, final long actual) {
+    assertTrue(
+        actual + " not within 12.5% of " + expected,
+        actual >= expected && actual <= expected + expected / 8);
+  }
+}
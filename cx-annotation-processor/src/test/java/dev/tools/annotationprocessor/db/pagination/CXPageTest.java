@@ -0,0 +1,69 @@
+package dev.tools.annotationprocessor.db.pagination;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Keyset pagination through the generated repository
+ *
+ * @author josue.rojas
+ */
+public class CXPageTest {
+
+  private MessageRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    for (int i = 1; i <= 5; i++) {
+      final Message message = new Message();
+      message.setContent("message " + i);
+      repository.create(message);
+    }
+  }
+
+  @Test
+  public void walksEveryPageByCursor() {
+    final CXPage<Message, Long> first = repository.getPage(null, 2);
+    assertEquals(Arrays.asList(1L, 2L), ids(first));
+    assertEquals(Long.valueOf(2), first.getNext());
+
+    final CXPage<Message, Long> second = repository.getPage(first.getNext(), 2);
+    assertEquals(Arrays.asList(3L, 4L), ids(second));
+    assertEquals(Long.valueOf(4), second.getNext());
+
+    final CXPage<Message, Long> last = repository.getPage(second.getNext(), 2);
+    assertEquals(Arrays.asList(5L), ids(last));
+    assertNull(last.getNext());
+  }
+
+  @Test
+  public void pastTheLastIdIsEmpty() {
+    final CXPage<Message, Long> page = repository.getPage(5L, 2);
+    assertEquals(0, page.getItems().size());
+    assertNull(page.getNext());
+  }
+
+  @Test
+  public void limitIsClampedToThePageSizes() {
+    assertEquals(100, CXPage.resolveLimit(null, 100, 1000));
+    assertEquals(1000, CXPage.resolveLimit(5000, 100, 1000));
+    assertEquals(1, CXPage.resolveLimit(0, 100, 1000));
+    assertEquals(1, CXPage.resolveLimit(-3, 100, 1000));
+    assertEquals(20, CXPage.resolveLimit(20, 100, 1000));
+  }
+
+  private static List<Long> ids(final CXPage<Message, Long> page) {
+    return page.getItems().stream().map(Message::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,109 @@
+package dev.tools.annotationprocessor.db.paramresolver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.parametersource.MessageParameterSource;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import java.sql.Types;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Generated parameter source, columns are bound through the entity getters with their sql types
+ *
+ * @author josue.rojas
+ */
+public class ParameterSourceCreatorTest {
+
+  private NamedParameterJdbcTemplate template;
+  private MessageRepository repository;
+
+  @Before
+  public void setUp() {
+    template = TestDatabase.create(TestDatabase.MESSAGE_TABLE);
+    repository = new MessageRepository(template);
+  }
+
+  @Test
+  public void bindsEveryColumnThroughTheGetters() {
+    final Message message = message("hello", 3);
+    message.setId(7L);
+    final MessageParameterSource source = new MessageParameterSource(message);
+
+    assertTrue(source.hasValue("CONTENT"));
+    assertFalse(source.hasValue("content"));
+    assertEquals(7L, source.getValue("ID"));
+    assertEquals("hello", source.getValue("CONTENT"));
+    assertEquals(3, source.getValue("READERS_COUNTER"));
+    assertEquals(true, source.getValue("ACTIVE"));
+    assertEquals(Types.BIGINT, source.getSqlType("ID"));
+    assertEquals(Types.VARCHAR, source.getSqlType("CONTENT"));
+    assertEquals(Types.INTEGER, source.getSqlType("READERS_COUNTER"));
+    assertEquals(Types.BOOLEAN, source.getSqlType("ACTIVE"));
+    assertEquals(Types.DECIMAL, source.getSqlType("SCORE"));
+    assertEquals(Types.TIMESTAMP, source.getSqlType("SENT"));
+    assertEquals(SqlParameterSource.TYPE_UNKNOWN, source.getSqlType("OTHER"));
+  }
+
+  @Test
+  public void explicitIdReplacesTheInstanceId() {
+    final Message message = message("hello", 3);
+    message.setId(7L);
+
+    assertEquals(9L, new MessageParameterSource(message, 9L).getValue("ID"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownParameterHasNoValue() {
+    new MessageParameterSource(message("hello", 3)).getValue("OTHER");
+  }
+
+  @Test
+  public void bindsTheSameValuesAsTheParamsMap() {
+    final Message message = message("hello", 3);
+    final MessageParameterSource source = new MessageParameterSource(message);
+    final MapSqlParameterSource paramsMap = ParameterMapCreator.buildParamsMap(message);
+
+    assertFalse(paramsMap.getValues().isEmpty());
+    for (Map.Entry<String, Object> value : paramsMap.getValues().entrySet()) {
+      assertEquals(value.getKey(), value.getValue(), source.getValue(value.getKey()));
+    }
+  }
+
+  @Test
+  public void createAndUpdateBindTheGeneratedSource() {
+    repository.create(message("hello", 3));
+    final Message created = repository.get().get(0);
+    assertEquals("hello", created.getContent());
+    assertEquals(Integer.valueOf(3), created.getReadBy());
+
+    created.setContent("updated");
+    created.setReadBy(null);
+    assertTrue(repository.update(created.getId(), created));
+
+    final Map<String, Object> row =
+        template
+            .getJdbcOperations()
+            .queryForMap("select CONTENT, READERS_COUNTER from message_test");
+    assertEquals("updated", row.get("CONTENT"));
+    assertNull(row.get("READERS_COUNTER"));
+  }
+
+  private Message message(final String content, final Integer readBy) {
+    final Message message = new Message();
+    message.setContent(content);
+    message.setReadBy(readBy);
+    message.setActive(true);
+    return message;
+  }
+}
@@ -0,0 +1,133 @@
+package dev.tools.annotationprocessor.db.projection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.controller.MessageController;
+import dev.tools.annotationprocessor.entity.message.meta.MessageMeta;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.message.service.MessageService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+/**
+ * Sparse fieldsets, requested fields resolve to a column mask and a compile-time select list
+ *
+ * @author josue.rojas
+ */
+public class CXProjectionTest {
+
+  private static final CXProjection PROJECTION = MessageMeta.PROJECTION;
+
+  private MessageRepository repository;
+
+  @Before
+  public void setUp() {
+    repository = new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    for (int i = 1; i <= 3; i++) {
+      final Message message = new Message();
+      message.setContent("message " + i);
+      message.setReadBy(i);
+      repository.create(message);
+    }
+  }
+
+  @Test
+  public void maskAlwaysIncludesTheId() {
+    assertEquals(0b11, PROJECTION.mask("content"));
+    assertEquals(0b101, PROJECTION.mask(" readBy "));
+    assertEquals(0b111111, PROJECTION.mask(null));
+    assertEquals(0b111111, PROJECTION.mask(""));
+  }
+
+  @Test
+  public void statementSelectsOnlyTheMaskedColumns() {
+    final long mask = PROJECTION.mask("content");
+    final String sql = PROJECTION.sql(mask, CXProjection.BY_ID);
+
+    assertTrue(sql, sql.startsWith("select t.`ID` as `id`,t.`CONTENT` as `content` from"));
+    assertFalse(sql, sql.contains("READERS_COUNTER"));
+    assertSame(sql, PROJECTION.sql(mask, CXProjection.BY_ID));
+  }
+
+  @Test(expected = CXInvalidFieldsException.class)
+  public void unknownFieldIsRejected() {
+    PROJECTION.mask("content,password");
+  }
+
+  @Test
+  public void repositoryReadsTheProjectedColumns() {
+    final List<Map<String, Object>> items =
+        repository.getPageProjected(1L, 10, PROJECTION.mask("readBy")).getItems();
+
+    assertEquals(2, items.size());
+    assertEquals(Arrays.asList("id", "readBy"), new ArrayList<>(items.get(0).keySet()));
+    assertEquals(2L, items.get(0).get("id"));
+    assertEquals(2, items.get(0).get("readBy"));
+
+    final Map<String, Object> byId = repository.getByIdProjected(3L, PROJECTION.mask("content"));
+    assertEquals("message 3", byId.get("content"));
+    assertEquals(2, byId.size());
+  }
+
+  @Test
+  public void endpointsAnswerTheRequestedFields() throws Exception {
+    final MockMvc mvc = mvc();
+    final ObjectMapper objectMapper = new ObjectMapper();
+
+    final JsonNode page =
+        objectMapper.readTree(
+            mvc.perform(get("/CX/message?fields=content&limit=2"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    assertEquals(2, page.get("items").size());
+    assertEquals(Arrays.asList("id", "content"), names(page.get("items").get(0)));
+
+    final JsonNode byId =
+        objectMapper.readTree(
+            mvc.perform(get("/CX/message/2?fields=readBy"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+    assertEquals(Arrays.asList("id", "readBy"), names(byId));
+  }
+
+  @Test
+  public void unknownFieldIsBadRequest() throws Exception {
+    final MockMvc mvc = mvc();
+    mvc.perform(get("/CX/message?fields=nope")).andExpect(status().isBadRequest());
+    mvc.perform(get("/CX/message/1?fields=nope")).andExpect(status().isBadRequest());
+  }
+
+  private MockMvc mvc() {
+    return MockMvcBuilders.standaloneSetup(new MessageController(new MessageService(repository)))
+        .build();
+  }
+
+  private static List<String> names(final JsonNode node) {
+    final List<String> names = new ArrayList<>();
+    for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+      names.add(it.next());
+    }
+    return names;
+  }
+}
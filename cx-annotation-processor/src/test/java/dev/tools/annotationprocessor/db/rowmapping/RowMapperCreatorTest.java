@@ -0,0 +1,85 @@
+package dev.tools.annotationprocessor.db.rowmapping;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.event.Event;
+import dev.tools.annotationprocessor.entity.event.repository.EventRepository;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Generated positional row mappers, every column is written and read back through the generated
+ * repository
+ *
+ * @author josue.rojas
+ */
+public class RowMapperCreatorTest {
+
+  private static final long SENT = 1589725845123L;
+
+  @Test
+  public void readsBackEveryColumn() {
+    final MessageRepository repository =
+        new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    final Message message = new Message();
+    message.setContent("hello");
+    message.setReadBy(3);
+    message.setActive(true);
+    message.setScore(new BigDecimal("12.34"));
+    message.setSent(new java.util.Date(SENT));
+    repository.create(message);
+
+    final Message read = single(repository.get());
+    assertEquals(Long.valueOf(1), read.getId());
+    assertEquals("hello", read.getContent());
+    assertEquals(Integer.valueOf(3), read.getReadBy());
+    assertEquals(true, read.isActive());
+    assertEquals(new BigDecimal("12.34"), read.getScore());
+    // java.util.Date is bound and stored as a timestamp, the time of day survives
+    assertEquals(SENT, read.getSent().getTime());
+  }
+
+  @Test
+  public void nullColumnsStayNull() {
+    final MessageRepository repository =
+        new MessageRepository(TestDatabase.create(TestDatabase.MESSAGE_TABLE));
+    final Message message = new Message();
+    message.setContent("hello");
+    repository.create(message);
+
+    final Message read = single(repository.get());
+    assertNull(read.getReadBy());
+    assertFalse(read.isActive());
+    assertNull(read.getScore());
+    assertNull(read.getSent());
+  }
+
+  @Test
+  public void readsTheSqlDateTypes() {
+    final NamedParameterJdbcTemplate template = TestDatabase.create(TestDatabase.EVENT_TABLE);
+    final EventRepository repository = new EventRepository(template);
+    final Event event = new Event();
+    event.setDay(Date.valueOf("2020-05-17"));
+    event.setAt(new Timestamp(SENT));
+    repository.create(event);
+
+    final Event read = single(repository.get());
+    assertEquals(Date.valueOf("2020-05-17"), read.getDay());
+    assertEquals(new Timestamp(SENT), read.getAt());
+  }
+
+  private static <T> T single(final List<T> items) {
+    assertEquals(1, items.size());
+    return items.get(0);
+  }
+}
@@ -0,0 +1,149 @@
+package dev.tools.annotationprocessor.db.sqlwriter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.util.function.Function;
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Upsert sentence of each dialect, picked by the generated repository from the product name the
+ * driver reports; H2 runs the MySQL and H2 sentences, it has no ON CONFLICT nor a column list on
+ * the MERGE source
+ *
+ * @author josue.rojas
+ */
+public class CXSqlDialectTest {
+
+  @Test
+  public void dialectOfProductName() {
+    assertEquals(CXSqlDialect.MYSQL, CXSqlDialect.of("MySQL"));
+    assertEquals(CXSqlDialect.MYSQL, CXSqlDialect.of("MariaDB"));
+    assertEquals(CXSqlDialect.POSTGRES, CXSqlDialect.of("PostgreSQL"));
+    assertEquals(CXSqlDialect.H2, CXSqlDialect.of("H2"));
+    assertEquals(CXSqlDialect.STANDARD, CXSqlDialect.of("Apache Derby"));
+    assertEquals(CXSqlDialect.STANDARD, CXSqlDialect.of((String) null));
+  }
+
+  @Test
+  public void h2MergeInsertsThenUpdates() {
+    final NamedParameterJdbcTemplate template = TestDatabase.create(TestDatabase.MESSAGE_TABLE);
+    assertEquals(CXSqlDialect.H2, CXSqlDialect.of(template));
+    assertUpsertInsertsThenUpdates(template);
+  }
+
+  @Test
+  public void mysqlInsertOnDuplicateKeyInsertsThenUpdates() {
+    assertUpsertInsertsThenUpdates(
+        reporting("MySQL", TestDatabase.create(TestDatabase.MESSAGE_TABLE)));
+  }
+
+  @Test
+  public void postgresInsertOnConflictUpdatesEveryColumnButTheId() {
+    assertEquals(
+        "insert into message_test(ID, CONTENT, READERS_COUNTER, ACTIVE, SCORE, SENT)"
+            + " values(?, ?, ?, ?, ?, ?) on conflict (ID) do update set CONTENT=excluded.CONTENT,"
+            + " READERS_COUNTER=excluded.READERS_COUNTER, ACTIVE=excluded.ACTIVE,"
+            + " SCORE=excluded.SCORE, SENT=excluded.SENT",
+        rejectedUpsert("PostgreSQL"));
+  }
+
+  @Test
+  public void standardMergeUsesAValuesSource() {
+    assertEquals(
+        "merge into message_test target using (values(?, ?, ?, ?, ?, ?))"
+            + " as source(ID, CONTENT, READERS_COUNTER, ACTIVE, SCORE, SENT)"
+            + " on (target.ID = source.ID) when matched then update set CONTENT=source.CONTENT,"
+            + " READERS_COUNTER=source.READERS_COUNTER, ACTIVE=source.ACTIVE,"
+            + " SCORE=source.SCORE, SENT=source.SENT"
+            + " when not matched then insert(ID, CONTENT, READERS_COUNTER, ACTIVE, SCORE, SENT)"
+            + " values(source.ID, source.CONTENT, source.READERS_COUNTER, source.ACTIVE,"
+            + " source.SCORE, source.SENT)",
+        rejectedUpsert("Apache Derby"));
+  }
+
+  /** Upsert sentence of a dialect H2 cannot run, as sent to the driver */
+  private static String rejectedUpsert(final String productName) {
+    final MessageRepository repository =
+        new MessageRepository(
+            reporting(productName, TestDatabase.create(TestDatabase.MESSAGE_TABLE)));
+    try {
+      repository.upsert(message(7L, "first"));
+    } catch (BadSqlGrammarException e) {
+      return e.getSql();
+    }
+    throw new AssertionError(productName + " upsert must be rejected by H2");
+  }
+
+  private static void assertUpsertInsertsThenUpdates(final NamedParameterJdbcTemplate template) {
+    final MessageRepository repository = new MessageRepository(template);
+
+    assertTrue(repository.upsert(message(7L, "first")));
+    assertEquals("first", repository.getById(7L).getContent());
+
+    assertTrue(repository.upsert(message(7L, "second")));
+    assertEquals("second", repository.getById(7L).getContent());
+    assertEquals(1, repository.get().size());
+  }
+
+  private static Message message(final Long id, final String content) {
+    final Message message = new Message();
+    message.setId(id);
+    message.setContent(content);
+    return message;
+  }
+
+  /** Template whose connections report another database product name */
+  private static NamedParameterJdbcTemplate reporting(
+      final String productName, final NamedParameterJdbcTemplate template) {
+    final DataSource dataSource = ((JdbcTemplate) template.getJdbcOperations()).getDataSource();
+    return new NamedParameterJdbcTemplate(
+        proxy(
+            DataSource.class,
+            dataSource,
+            "getConnection",
+            connection ->
+                proxy(
+                    Connection.class,
+                    (Connection) connection,
+                    "getMetaData",
+                    metaData ->
+                        proxy(
+                            DatabaseMetaData.class,
+                            (DatabaseMetaData) metaData,
+                            "getDatabaseProductName",
+                            name -> productName))));
+  }
+
+  private static <T> T proxy(
+      final Class<T> type,
+      final T target,
+      final String methodName,
+      final Function<Object, Object> replacement) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            CXSqlDialectTest.class.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              final Object result;
+              try {
+                result = method.invoke(target, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+              return method.getName().equals(methodName) ? replacement.apply(result) : result;
+            }));
+  }
+}
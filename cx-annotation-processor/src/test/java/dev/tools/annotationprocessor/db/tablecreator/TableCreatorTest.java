@@ -0,0 +1,131 @@
+package dev.tools.annotationprocessor.db.tablecreator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import dev.tools.annotationprocessor.db.metamodel.CXIndexMeta;
+import dev.tools.annotationprocessor.entity.TestDatabase;
+import dev.tools.annotationprocessor.entity.event.Event;
+import dev.tools.annotationprocessor.entity.message.Message;
+import dev.tools.annotationprocessor.entity.message.meta.MessageMeta;
+import dev.tools.annotationprocessor.entity.message.repository.MessageRepository;
+import dev.tools.annotationprocessor.entity.reserved.Reserved;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Table and index DDL run against H2, from the compile-time metadata of the test entities
+ *
+ * @author josue.rojas
+ */
+public class TableCreatorTest {
+
+  private NamedParameterJdbcTemplate template;
+  private TableCreator tableCreator;
+
+  @Before
+  public void setUp() {
+    template = TestDatabase.create(TestDatabase.MESSAGE_TABLE);
+    tableCreator = new TableCreator(template);
+  }
+
+  @Test
+  public void indexesAreResolvedAtCompileTime() {
+    final List<CXIndexMeta> indexes = MessageMeta.META.getIndexes();
+    assertEquals(2, indexes.size());
+
+    final CXIndexMeta unique = indexes.get(0);
+    assertEquals("uk_message_content_sent", unique.getName());
+    assertTrue(unique.isUnique());
+    assertEquals(Arrays.asList("CONTENT", "SENT"), unique.getColumnNames());
+    assertTrue(unique.covers("CONTENT"));
+    assertFalse(unique.covers("SENT"));
+
+    final CXIndexMeta field = indexes.get(1);
+    assertEquals("idx_message_test_READERS_COUNTER", field.getName());
+    assertFalse(field.isUnique());
+    assertTrue(field.isDescending());
+  }
+
+  @Test
+  public void createsOnlyTheMissingIndexes() {
+    assertEquals(2, tableCreator.createIndexesIfNotExist(Message.class));
+    assertEquals(0, tableCreator.createIndexesIfNotExist(Message.class));
+
+    final List<Map<String, Object>> indexes =
+        template
+            .getJdbcOperations()
+            .queryForList(
+                "select INDEX_NAME, NON_UNIQUE from INFORMATION_SCHEMA.INDEXES"
+                    + " where TABLE_NAME = 'MESSAGE_TEST' and COLUMN_NAME = 'READERS_COUNTER'");
+    assertEquals(1, indexes.size());
+    assertEquals(true, indexes.get(0).get("NON_UNIQUE"));
+  }
+
+  @Test(expected = DataIntegrityViolationException.class)
+  public void uniqueIndexIsEnforced() {
+    tableCreator.createIndexesIfNotExist(Message.class);
+    template
+        .getJdbcOperations()
+        .execute("insert into message_test(CONTENT, SENT) values('a', '2020-05-17 10:00:00')");
+    template
+        .getJdbcOperations()
+        .execute("insert into message_test(CONTENT, SENT) values('a', '2020-05-17 10:00:00')");
+  }
+
+  @Test
+  public void bootstrapCreatesTheMissingTables() {
+    final NamedParameterJdbcTemplate empty = TestDatabase.create();
+    final TableCreator creator = new TableCreator(empty, 2);
+    final List<Class<?>> classes = Arrays.asList(Message.class, Event.class, Reserved.class);
+
+    final List<CXTableCreationResult> created = creator.createTablesIfNotExist(classes);
+    assertEquals(3, created.size());
+    for (int i = 0; i < classes.size(); i++) {
+      assertEquals(classes.get(i), created.get(i).getEntityClass());
+      assertEquals(CXTableCreationResult.Status.CREATED, created.get(i).getStatus());
+    }
+    assertEquals(2, created.get(0).getCreatedIndexes());
+
+    final List<CXTableCreationResult> existing = creator.createTablesIfNotExist(classes);
+    for (CXTableCreationResult result : existing) {
+      assertEquals(CXTableCreationResult.Status.EXISTING, result.getStatus());
+      assertEquals(0, result.getCreatedIndexes());
+    }
+    assertFalse(creator.createTableIfNotExists(Event.class));
+
+    final MessageRepository repository = new MessageRepository(empty);
+    final Message message = new Message();
+    message.setContent("stored");
+    repository.create(message);
+    assertEquals("stored", repository.getById(message.getId()).getContent());
+  }
+
+  @Test
+  public void failuresAreReportedPerTable() {
+    final NamedParameterJdbcTemplate database = TestDatabase.create();
+    database.getJdbcOperations().execute("create view event_test as select 1 as ID");
+
+    final List<CXTableCreationResult> results =
+        new TableCreator(database)
+            .createTablesIfNotExist(Arrays.asList(Event.class, Reserved.class));
+
+    assertEquals(CXTableCreationResult.Status.FAILED, results.get(0).getStatus());
+    assertNotNull(results.get(0).getError());
+    assertFalse(results.get(0).isCreated());
+    assertEquals(CXTableCreationResult.Status.CREATED, results.get(1).getStatus());
+  }
+
+  @Test
+  public void entitiesWithoutIndexesCreateNone() {
+    assertEquals(0, tableCreator.createIndexesIfNotExist(String.class));
+  }
+}
@@ -0,0 +1,50 @@
+package dev.tools.annotationprocessor.entity;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * In-memory H2 databases for the tests of generated code, MySQL mode runs the backtick quoted
+ * sentences of the generated repositories
+ *
+ * @author josue.rojas
+ */
+public final class TestDatabase {
+
+  public static final String MESSAGE_TABLE =
+      "create table message_test(ID bigint auto_increment primary key, CONTENT varchar(100),"
+          + " READERS_COUNTER int, ACTIVE tinyint(1), SCORE decimal(10,2), SENT datetime)";
+
+  public static final String RESERVED_TABLE =
+      "create table reserved_test(ID bigint primary key, META varchar(100), PROJECTION varchar(100),"
+          + " FILTER varchar(100))";
+
+  public static final String EVENT_TABLE =
+      "create table event_test(ID bigint auto_increment primary key, DAY date, AT datetime)";
+
+  private static final AtomicInteger DATABASES = new AtomicInteger();
+
+  private TestDatabase() {}
+
+  /**
+   * New database, every call gets its own schema
+   *
+   * @param tables create table sentences run on the new database
+   * @return jdbc template of the database
+   */
+  public static NamedParameterJdbcTemplate create(final String... tables) {
+    final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:test_" + DATABASES.incrementAndGet() + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+            "sa",
+            "");
+    dataSource.setDriverClassName("org.h2.Driver");
+    final NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(dataSource);
+    for (String table : tables) {
+      template.getJdbcOperations().execute(table);
+    }
+    return template;
+  }
+}
@@ -0,0 +1,32 @@
+package dev.tools.annotationprocessor.entity.event;
+
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import java.sql.Date;
+import java.sql.Timestamp;
+import lombok.Data;
+
+/**
+ * Test entity with the java.sql date types
+ *
+ * @author josue.rojas
+ */
+@Data
+@CXSpringRestCrudApi(path = "/event")
+@CXEntity(tableName = "event_test")
+public class Event {
+
+  @CXId(generated = true)
+  @CXColumn(name = "ID")
+  @BigInt
+  private Long id;
+
+  @CXColumn(name = "DAY")
+  private Date day;
+
+  @CXColumn(name = "AT")
+  private Timestamp at;
+}
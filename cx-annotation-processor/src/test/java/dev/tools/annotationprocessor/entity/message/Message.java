@@ -0,0 +1,59 @@
+package dev.tools.annotationprocessor.entity.message;
+
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXFilterable;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.CXIndex;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Decimal;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Int;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import java.math.BigDecimal;
+import java.util.Date;
+import lombok.Data;
+
+/**
+ * Test entity, the processor generates its layers when the tests are compiled
+ *
+ * @author josue.rojas
+ */
+@Data
+@CXSpringRestCrudApi(path = "/message")
+@CXEntity(tableName = "message_test")
+@CXIndex(
+    name = "uk_message_content_sent",
+    unique = true,
+    columns = {"content", "sent"})
+public class Message {
+
+  @CXId(generated = true)
+  @CXColumn(name = "ID")
+  @BigInt
+  private Long id;
+
+  @CXFilterable
+  @CXColumn(name = "CONTENT")
+  @Varchar
+  private String content;
+
+  @CXFilterable
+  @CXIndex(order = CXIndex.Order.DESC)
+  @CXColumn(name = "READERS_COUNTER")
+  @Int
+  private Integer readBy;
+
+  @CXFilterable
+  @CXColumn(name = "ACTIVE")
+  private boolean active;
+
+  @CXFilterable
+  @CXColumn(name = "SCORE")
+  @Decimal(max = 10, precision = 2)
+  private BigDecimal score;
+
+  @CXFilterable
+  @CXColumn(name = "SENT")
+  private Date sent;
+}
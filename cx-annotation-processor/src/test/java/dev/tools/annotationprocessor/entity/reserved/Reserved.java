@@ -0,0 +1,40 @@
+package dev.tools.annotationprocessor.entity.reserved;
+
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXFilterable;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import lombok.Data;
+
+/**
+ * Test entity with a client supplied id, its fields share their names with the constants of the
+ * generated classes
+ *
+ * @author josue.rojas
+ */
+@Data
+@CXSpringRestCrudApi(path = "/reserved")
+@CXEntity(tableName = "reserved_test")
+public class Reserved {
+
+  @CXId
+  @CXColumn(name = "ID")
+  @BigInt
+  private Long id;
+
+  @CXColumn(name = "META")
+  @Varchar
+  private String meta;
+
+  @CXColumn(name = "PROJECTION")
+  @Varchar
+  private String projection;
+
+  @CXFilterable
+  @CXColumn(name = "FILTER")
+  @Varchar
+  private String filter;
+}
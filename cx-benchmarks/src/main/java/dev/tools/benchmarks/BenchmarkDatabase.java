@@ -0,0 +1,76 @@
+package dev.tools.benchmarks;
+
+import dev.tools.annotationprocessor.db.executer.CXPoolConfig;
+import dev.tools.annotationprocessor.db.executer.CXPooledDataSource;
+import dev.tools.annotationprocessor.db.tablecreator.TableCreator;
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Embedded H2 database in MySQL mode behind the CX connection pool, one private in-memory database
+ * per instance so benchmarks do not share rows
+ *
+ * @author josue.rojas
+ */
+public class BenchmarkDatabase implements Closeable {
+
+  private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+  private final CXPooledDataSource dataSource;
+  private final NamedParameterJdbcTemplate template;
+
+  /**
+   * Open the database and create the entity table
+   *
+   * @param width benchmark entity
+   */
+  public BenchmarkDatabase(final EntityWidth width) {
+    dataSource =
+        new CXPooledDataSource(
+            new CXPoolConfig()
+                .setDriverClassName("org.h2.Driver")
+                .setUrl(
+                    "jdbc:h2:mem:cx_bench_"
+                        + SEQUENCE.incrementAndGet()
+                        + ";MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .setUsername("sa")
+                .setPassword("")
+                .setMaxSize(4));
+    template = new NamedParameterJdbcTemplate(dataSource);
+    new TableCreator(template)
+        .createTablesIfNotExist(Collections.<Class<?>>singletonList(width.getEntityClass()));
+  }
+
+  /**
+   * Insert rows through the generated repository
+   *
+   * @param width benchmark entity
+   * @param rows number of rows
+   * @return id of the first inserted row
+   */
+  public long seed(final EntityWidth width, final int rows) {
+    final EntityWidth.Crud crud = width.crud(template);
+    long first = 0;
+    for (int i = 0; i < rows; i++) {
+      final Long id = crud.create(width.newInstance(i));
+      if (i == 0) first = id;
+    }
+    return first;
+  }
+
+  public CXPooledDataSource getDataSource() {
+    return dataSource;
+  }
+
+  public NamedParameterJdbcTemplate getTemplate() {
+    return template;
+  }
+
+  @Override
+  public void close() {
+    template.getJdbcOperations().execute("SHUTDOWN");
+    dataSource.close();
+  }
+}
@@ -0,0 +1,34 @@
+package dev.tools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Benchmarks entry point, takes the JMH command line and writes the results as JSON to
+ * jmh-result-{processor version}.json unless -rf/-rff are given, so runs of two versions can be
+ * compared file to file
+ *
+ * @author josue.rojas
+ */
+public class BenchmarkMain {
+
+  public static void main(final String[] args) throws Exception {
+    final CommandLineOptions commandLine = new CommandLineOptions(args);
+    final List<String> arguments = new ArrayList<>();
+    if (!commandLine.getResultFormat().hasValue()) arguments.addAll(Arrays.asList("-rf", "json"));
+    if (!commandLine.getResult().hasValue()) {
+      arguments.addAll(Arrays.asList("-rff", "jmh-result-" + getVersion() + ".json"));
+    }
+    arguments.addAll(Arrays.asList(args));
+    Main.main(arguments.toArray(new String[0]));
+  }
+
+  /** @return cx-annotation-processor version the benchmarks were built with */
+  private static String getVersion() {
+    final String version = BenchmarkMain.class.getPackage().getImplementationVersion();
+    return version == null ? "dev" : version;
+  }
+}
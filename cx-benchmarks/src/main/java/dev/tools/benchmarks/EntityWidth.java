@@ -0,0 +1,247 @@
+package dev.tools.benchmarks;
+
+import dev.tools.benchmarks.entity.Invoice;
+import dev.tools.benchmarks.entity.Message;
+import dev.tools.benchmarks.entity.Tag;
+import dev.tools.benchmarks.entity.parametersource.InvoiceParameterSource;
+import dev.tools.benchmarks.entity.parametersource.MessageParameterSource;
+import dev.tools.benchmarks.entity.parametersource.TagParameterSource;
+import dev.tools.benchmarks.entity.repository.InvoiceRepository;
+import dev.tools.benchmarks.entity.repository.MessageRepository;
+import dev.tools.benchmarks.entity.repository.TagRepository;
+import dev.tools.benchmarks.entity.rowmapper.InvoiceRowMapper;
+import dev.tools.benchmarks.entity.rowmapper.MessageRowMapper;
+import dev.tools.benchmarks.entity.rowmapper.TagRowMapper;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Benchmark entities by column count, each width exposes its generated classes behind the same
+ * methods so one benchmark covers every width through a JMH parameter
+ *
+ * @author josue.rojas
+ */
+public enum EntityWidth {
+  NARROW(Tag.class, "tag_bench") {
+    @Override
+    public Object newInstance(final long seed) {
+      final Tag tag = new Tag();
+      tag.setName("tag-" + seed);
+      tag.setUsages((int) seed);
+      return tag;
+    }
+
+    @Override
+    public SqlParameterSource parameterSource(final Object instance) {
+      return new TagParameterSource((Tag) instance);
+    }
+
+    @Override
+    public RowMapper<?> rowMapper() {
+      return new TagRowMapper();
+    }
+
+    @Override
+    public Crud crud(final NamedParameterJdbcTemplate template) {
+      final TagRepository repository = new TagRepository(template);
+      return new Crud() {
+        @Override
+        public Long create(final Object instance) {
+          return repository.create((Tag) instance).getId();
+        }
+
+        @Override
+        public Object getById(final Long id) {
+          return repository.getById(id);
+        }
+
+        @Override
+        public Object getPage(final Long after, final int limit) {
+          return repository.getPage(after, limit);
+        }
+
+        @Override
+        public boolean update(final Long id, final Object instance) {
+          return repository.update(id, (Tag) instance);
+        }
+
+        @Override
+        public boolean delete(final Long id) {
+          return repository.delete(id);
+        }
+      };
+    }
+  },
+
+  MEDIUM(Message.class, "message_bench") {
+    @Override
+    public Object newInstance(final long seed) {
+      final Message message = new Message();
+      message.setContent("benchmark content " + seed);
+      message.setFrom("from contact");
+      message.setTo("to contact");
+      message.setReadBy((int) seed);
+      return message;
+    }
+
+    @Override
+    public SqlParameterSource parameterSource(final Object instance) {
+      return new MessageParameterSource((Message) instance);
+    }
+
+    @Override
+    public RowMapper<?> rowMapper() {
+      return new MessageRowMapper();
+    }
+
+    @Override
+    public Crud crud(final NamedParameterJdbcTemplate template) {
+      final MessageRepository repository = new MessageRepository(template);
+      return new Crud() {
+        @Override
+        public Long create(final Object instance) {
+          return repository.create((Message) instance).getId();
+        }
+
+        @Override
+        public Object getById(final Long id) {
+          return repository.getById(id);
+        }
+
+        @Override
+        public Object getPage(final Long after, final int limit) {
+          return repository.getPage(after, limit);
+        }
+
+        @Override
+        public boolean update(final Long id, final Object instance) {
+          return repository.update(id, (Message) instance);
+        }
+
+        @Override
+        public boolean delete(final Long id) {
+          return repository.delete(id);
+        }
+      };
+    }
+  },
+
+  WIDE(Invoice.class, "invoice_bench") {
+    @Override
+    public Object newInstance(final long seed) {
+      final Invoice invoice = new Invoice();
+      invoice.setNumber("INV-" + seed);
+      invoice.setCustomerId(seed % 1000);
+      invoice.setCustomerName("customer " + seed % 1000);
+      invoice.setCustomerEmail("customer" + seed % 1000 + "@example.com");
+      invoice.setBillingAddress("221B Baker Street, London");
+      invoice.setShippingAddress("742 Evergreen Terrace, Springfield");
+      invoice.setCurrency("USD");
+      invoice.setStatus("ISSUED");
+      invoice.setLineCount(3);
+      invoice.setItemCount(12);
+      invoice.setWarehouseId(7L);
+      invoice.setSubtotal(new BigDecimal("1250.40"));
+      invoice.setTotal(new BigDecimal("1487.98"));
+      invoice.setIssuedAt(new Timestamp(1_600_000_000_000L + seed * 1000));
+      invoice.setDueAt(new Timestamp(1_602_592_000_000L + seed * 1000));
+      return invoice;
+    }
+
+    @Override
+    public SqlParameterSource parameterSource(final Object instance) {
+      return new InvoiceParameterSource((Invoice) instance);
+    }
+
+    @Override
+    public RowMapper<?> rowMapper() {
+      return new InvoiceRowMapper();
+    }
+
+    @Override
+    public Crud crud(final NamedParameterJdbcTemplate template) {
+      final InvoiceRepository repository = new InvoiceRepository(template);
+      return new Crud() {
+        @Override
+        public Long create(final Object instance) {
+          return repository.create((Invoice) instance).getId();
+        }
+
+        @Override
+        public Object getById(final Long id) {
+          return repository.getById(id);
+        }
+
+        @Override
+        public Object getPage(final Long after, final int limit) {
+          return repository.getPage(after, limit);
+        }
+
+        @Override
+        public boolean update(final Long id, final Object instance) {
+          return repository.update(id, (Invoice) instance);
+        }
+
+        @Override
+        public boolean delete(final Long id) {
+          return repository.delete(id);
+        }
+      };
+    }
+  };
+
+  private final Class<?> entityClass;
+  private final String tableName;
+
+  EntityWidth(final Class<?> entityClass, final String tableName) {
+    this.entityClass = entityClass;
+    this.tableName = tableName;
+  }
+
+  public Class<?> getEntityClass() {
+    return entityClass;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  /**
+   * New entity without id, attribute values vary with the seed
+   *
+   * @param seed value mixed into the attributes
+   * @return entity instance
+   */
+  public abstract Object newInstance(long seed);
+
+  /**
+   * @param instance entity of this width
+   * @return generated parameter source for the entity
+   */
+  public abstract SqlParameterSource parameterSource(Object instance);
+
+  /** @return generated row mapper of the entity */
+  public abstract RowMapper<?> rowMapper();
+
+  /**
+   * @param template template over the benchmark database
+   * @return generated repository of the entity
+   */
+  public abstract Crud crud(NamedParameterJdbcTemplate template);
+
+  /** Generated repository operations used by the benchmarks */
+  public interface Crud {
+    Long create(Object instance);
+
+    Object getById(Long id);
+
+    Object getPage(Long after, int limit);
+
+    boolean update(Long id, Object instance);
+
+    boolean delete(Long id);
+  }
+}
@@ -0,0 +1,68 @@
+package dev.tools.benchmarks;
+
+import dev.tools.annotationprocessor.db.paramresolver.ParameterMapCreator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+/**
+ * Reflection based ParameterMapCreator vs its generated metadata path vs generated ParameterSource,
+ * binding every insert column the way NamedParameterJdbcTemplate does (getValue + getSqlType per
+ * placeholder)
+ *
+ * @author josue.rojas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterSourceBenchmark {
+
+  @Param({"NARROW", "MEDIUM", "WIDE"})
+  private EntityWidth width;
+
+  private Object instance;
+  private String[] insertColumns;
+
+  @Setup
+  public void setup() {
+    instance = width.newInstance(42);
+    insertColumns =
+        ParameterMapCreator.buildParamsMap(instance).getValues().keySet().toArray(new String[0]);
+  }
+
+  @Benchmark
+  public void reflectionParamsMap(final Blackhole blackhole) {
+    bind(ParameterMapCreator.buildParamsMapReflective(instance), blackhole);
+  }
+
+  @Benchmark
+  public void metaParamsMap(final Blackhole blackhole) {
+    bind(ParameterMapCreator.buildParamsMap(instance), blackhole);
+  }
+
+  @Benchmark
+  public void generatedParameterSource(final Blackhole blackhole) {
+    bind(width.parameterSource(instance), blackhole);
+  }
+
+  private void bind(final SqlParameterSource source, final Blackhole blackhole) {
+    for (String column : insertColumns) {
+      blackhole.consume(source.getValue(column));
+      blackhole.consume(source.getSqlType(column));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package dev.tools.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Generated repository CRUD against embedded H2, covers the whole request path below the service:
+ * parameter binding, SQL execution through the CX pool and row mapping
+ *
+ * @author josue.rojas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+  @Param({"NARROW", "MEDIUM", "WIDE"})
+  private EntityWidth width;
+
+  @Param({"1000"})
+  private int rows;
+
+  private BenchmarkDatabase database;
+  private EntityWidth.Crud crud;
+  private Object instance;
+  private long firstId;
+  private long sequence;
+
+  @Setup
+  public void setup() {
+    database = new BenchmarkDatabase(width);
+    firstId = database.seed(width, rows);
+    crud = width.crud(database.getTemplate());
+    instance = width.newInstance(rows);
+  }
+
+  @TearDown
+  public void tearDown() {
+    database.close();
+  }
+
+  /** @return seeded id, cycling over every seeded row */
+  private Long nextId() {
+    return firstId + sequence++ % rows;
+  }
+
+  @Benchmark
+  public Object getById() {
+    return crud.getById(nextId());
+  }
+
+  @Benchmark
+  public Object getPage() {
+    return crud.getPage(nextId(), 20);
+  }
+
+  @Benchmark
+  public boolean update() {
+    return crud.update(nextId(), instance);
+  }
+
+  /** Insert and delete the same row so the table size stays constant between iterations */
+  @Benchmark
+  public boolean createAndDelete() {
+    return crud.delete(crud.create(instance));
+  }
+}
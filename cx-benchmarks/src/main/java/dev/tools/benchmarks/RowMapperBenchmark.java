@@ -0,0 +1,89 @@
+package dev.tools.benchmarks;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * Generated RowMapper vs Spring ColumnMapRowMapper over an H2 result set, the query runs once in
+ * setup and every invocation rewinds the scrollable result set so only row mapping is measured
+ *
+ * @author josue.rojas
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+  @Param({"NARROW", "MEDIUM", "WIDE"})
+  private EntityWidth width;
+
+  @Param({"100"})
+  private int rows;
+
+  private BenchmarkDatabase database;
+  private Connection connection;
+  private Statement statement;
+  private ResultSet resultSet;
+  private RowMapper<?> generated;
+  private RowMapper<?> columnMap;
+
+  @Setup
+  public void setup() throws SQLException {
+    database = new BenchmarkDatabase(width);
+    database.seed(width, rows);
+    connection = database.getDataSource().getConnection();
+    statement =
+        connection.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+    // columns in declaration order, the order the generated mapper reads them by index
+    resultSet = statement.executeQuery("select * from " + width.getTableName() + " order by ID");
+    generated = width.rowMapper();
+    columnMap = new ColumnMapRowMapper();
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    resultSet.close();
+    statement.close();
+    connection.close();
+    database.close();
+  }
+
+  @Benchmark
+  public void generatedRowMapper(final Blackhole blackhole) throws SQLException {
+    map(generated, blackhole);
+  }
+
+  @Benchmark
+  public void columnMapRowMapper(final Blackhole blackhole) throws SQLException {
+    map(columnMap, blackhole);
+  }
+
+  private void map(final RowMapper<?> mapper, final Blackhole blackhole) throws SQLException {
+    resultSet.beforeFirst();
+    int row = 0;
+    while (resultSet.next()) {
+      blackhole.consume(mapper.mapRow(resultSet, row++));
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package dev.tools.benchmarks.compile;
+
+import dev.tools.annotationprocessor.core.CXAnnotationProcessor;
+import dev.tools.annotationprocessor.core.profile.CXProcessingProfiler;
+import dev.tools.annotationprocessor.core.profile.CXRoundTiming;
+import dev.tools.annotationprocessor.core.profile.CXStepTiming;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Compile time harness, compiles N synthetic CX entities with CXAnnotationProcessor through the
+ * in-memory javax.tools compiler and reports javac time, processing time per round and writer,
+ * allocations and generated file counts
+ *
+ * <p>Usage: {@code java -cp target/benchmarks.jar dev.tools.benchmarks.compile.CompileTimeBenchmark
+ * [--entities 200] [--widths 3,8,16,32] [--warmup 2] [--iterations 3] [--proc-only] [-Akey=value]}
+ *
+ * @author josue.rojas
+ */
+public class CompileTimeBenchmark {
+
+  private int entities = 200;
+  private int[] widths = {3, 8, 16, 32};
+  private int warmup = 2;
+  private int iterations = 3;
+  private boolean procOnly;
+  private final List<String> processorOptions = new ArrayList<>();
+
+  public static void main(final String[] args) {
+    final CompileTimeBenchmark benchmark = new CompileTimeBenchmark();
+    benchmark.parse(args);
+    benchmark.run();
+  }
+
+  private void parse(final String[] args) {
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "--entities":
+          entities = Integer.parseInt(args[++i]);
+          break;
+        case "--widths":
+          widths = Arrays.stream(args[++i].split(",")).mapToInt(Integer::parseInt).toArray();
+          break;
+        case "--warmup":
+          warmup = Integer.parseInt(args[++i]);
+          break;
+        case "--iterations":
+          iterations = Integer.parseInt(args[++i]);
+          break;
+        case "--proc-only":
+          procOnly = true;
+          break;
+        default:
+          if (!args[i].startsWith("-A")) {
+            throw new IllegalArgumentException("Unknown argument " + args[i]);
+          }
+          processorOptions.add(args[i]);
+      }
+    }
+  }
+
+  private void run() {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) throw new IllegalStateException("Run the harness with a JDK, not a JRE");
+    final List<JavaFileObject> sources = SyntheticEntities.generate(entities, widths);
+    System.out.printf(
+        "%d entities, widths %s, %s%n",
+        entities, Arrays.toString(widths), procOnly ? "processing only" : "full compilation");
+
+    for (int i = 0; i < warmup; i++) {
+      final Result result = compile(compiler, sources);
+      System.out.printf("warmup %d: %.1f ms%n", i + 1, result.nanos / 1e6);
+    }
+    final List<Result> results = new ArrayList<>();
+    for (int i = 0; i < iterations; i++) {
+      final Result result = compile(compiler, sources);
+      results.add(result);
+      System.out.printf(
+          "iteration %d: %.1f ms, %s allocated%n",
+          i + 1, result.nanos / 1e6, formatBytes(result.allocatedBytes));
+    }
+    report(results);
+  }
+
+  private Result compile(final JavaCompiler compiler, final List<JavaFileObject> sources) {
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    final InMemoryFileManager fileManager =
+        new InMemoryFileManager(compiler.getStandardFileManager(diagnostics, null, null));
+    final List<String> options = new ArrayList<>();
+    options.addAll(
+        Arrays.asList(
+            "-classpath",
+            System.getProperty("java.class.path"),
+            "-source",
+            "8",
+            "-target",
+            "8",
+            "-nowarn",
+            "-Xlint:-options",
+            "-A" + CXAnnotationProcessor.PROFILE_OPTION + "=true"));
+    options.addAll(processorOptions);
+    if (procOnly) options.add("-proc:only");
+
+    final CXAnnotationProcessor processor = new CXAnnotationProcessor();
+    final JavaCompiler.CompilationTask task =
+        compiler.getTask(null, fileManager, diagnostics, options, null, sources);
+    task.setProcessors(Collections.singletonList(processor));
+
+    final long allocated = allocatedBytes();
+    final long start = System.nanoTime();
+    final boolean success = task.call();
+    final long nanos = System.nanoTime() - start;
+    final long allocatedBytes = allocated < 0 ? -1 : allocatedBytes() - allocated;
+    if (!success) {
+      diagnostics.getDiagnostics().stream()
+          .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+          .limit(10)
+          .forEach(System.err::println);
+      throw new IllegalStateException("Compilation failed");
+    }
+    return new Result(nanos, allocatedBytes, processor.getProfiler(), fileManager);
+  }
+
+  private void report(final List<Result> results) {
+    if (results.isEmpty()) return;
+    final long[] javac = results.stream().mapToLong(result -> result.nanos).sorted().toArray();
+    final Result last = results.get(results.size() - 1);
+    System.out.printf(
+        "%njavac: min %.1f ms, median %.1f ms, max %.1f ms%n",
+        javac[0] / 1e6, javac[javac.length / 2] / 1e6, javac[javac.length - 1] / 1e6);
+    System.out.printf(
+        "generated: %d sources (%s), %d class files%n",
+        last.generatedSources, formatBytes(last.generatedSourceBytes), last.classFiles);
+
+    System.out.printf("%nrounds (last iteration)%n");
+    for (CXRoundTiming round : last.profiler.getRounds()) {
+      System.out.printf(
+          "  round %d: %5d entities %6d files %10.1f ms %12s%n",
+          round.getRound(),
+          round.getElements(),
+          round.getGeneratedFiles(),
+          round.getNanos() / 1e6,
+          formatBytes(round.getAllocatedBytes()));
+    }
+
+    System.out.printf("%nsteps (last iteration)%n");
+    for (CXStepTiming step : last.profiler.getSteps()) {
+      System.out.printf(
+          "  %-32s %6d calls %10.1f ms %8.1f us/call %12s%n",
+          step.getName(),
+          step.getCalls(),
+          step.getNanos() / 1e6,
+          step.getNanos() / 1e3 / step.getCalls(),
+          formatBytes(step.getAllocatedBytes()));
+    }
+  }
+
+  private static String formatBytes(final long bytes) {
+    return bytes < 0 ? "n/a" : String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+  }
+
+  private static long allocatedBytes() {
+    final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+    return ((com.sun.management.ThreadMXBean) threads)
+        .getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /** One compilation */
+  private static class Result {
+    private final long nanos;
+    private final long allocatedBytes;
+    private final CXProcessingProfiler profiler;
+    private final int generatedSources;
+    private final long generatedSourceBytes;
+    private final int classFiles;
+
+    private Result(
+        final long nanos,
+        final long allocatedBytes,
+        final CXProcessingProfiler profiler,
+        final InMemoryFileManager fileManager) {
+      this.nanos = nanos;
+      this.allocatedBytes = allocatedBytes;
+      this.profiler = profiler;
+      this.generatedSources = fileManager.getGeneratedSources();
+      this.generatedSourceBytes = fileManager.getGeneratedSourceBytes();
+      this.classFiles = fileManager.getClassFiles();
+    }
+  }
+}
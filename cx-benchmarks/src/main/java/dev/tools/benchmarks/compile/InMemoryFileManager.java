@@ -0,0 +1,100 @@
+package dev.tools.benchmarks.compile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * File manager keeping every compiler output in memory, generated sources and class files are
+ * counted instead of written to disk so the harness measures the compiler, not the file system
+ *
+ * @author josue.rojas
+ */
+public class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+  private int generatedSources;
+  private int classFiles;
+  private long generatedSourceBytes;
+
+  public InMemoryFileManager(final StandardJavaFileManager fileManager) {
+    super(fileManager);
+  }
+
+  @Override
+  public JavaFileObject getJavaFileForOutput(
+      final JavaFileManager.Location location,
+      final String className,
+      final JavaFileObject.Kind kind,
+      final FileObject sibling) {
+    if (kind == JavaFileObject.Kind.SOURCE) generatedSources++;
+    else if (kind == JavaFileObject.Kind.CLASS) classFiles++;
+    return new OutputFile(className, kind);
+  }
+
+  @Override
+  public FileObject getFileForOutput(
+      final JavaFileManager.Location location,
+      final String packageName,
+      final String relativeName,
+      final FileObject sibling) {
+    return new OutputFile(packageName + "." + relativeName, JavaFileObject.Kind.OTHER);
+  }
+
+  @Override
+  public boolean isSameFile(final FileObject a, final FileObject b) {
+    if (a instanceof OutputFile || b instanceof OutputFile) return a.equals(b);
+    return super.isSameFile(a, b);
+  }
+
+  public int getGeneratedSources() {
+    return generatedSources;
+  }
+
+  public int getClassFiles() {
+    return classFiles;
+  }
+
+  public long getGeneratedSourceBytes() {
+    return generatedSourceBytes;
+  }
+
+  /** Output kept in memory, generated sources are read back by the compiler in the next round */
+  private class OutputFile extends SimpleJavaFileObject {
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+    private OutputFile(final String name, final Kind kind) {
+      super(URI.create("mem:///" + name.replace('.', '/') + kind.extension), kind);
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      return new ByteArrayOutputStream() {
+        @Override
+        public void close() {
+          content.reset();
+          content.write(buf, 0, count);
+          if (getKind() == Kind.SOURCE) generatedSourceBytes += count;
+        }
+      };
+    }
+
+    @Override
+    public InputStream openInputStream() {
+      return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+      return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+  }
+}
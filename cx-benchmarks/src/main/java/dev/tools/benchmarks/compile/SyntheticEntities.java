@@ -0,0 +1,125 @@
+package dev.tools.benchmarks.compile;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * Source generator for synthetic CX entities in a single package, every entity gets a column count
+ * taken in turn from the configured widths
+ *
+ * @author josue.rojas
+ */
+public class SyntheticEntities {
+
+  private static final String PACKAGE_NAME = "synthetic.entity";
+  private static final String[] TYPES = {
+    "String", "Integer", "Long", "java.math.BigDecimal", "java.sql.Timestamp"
+  };
+  private static final String[] COLUMN_ANNOTATIONS = {
+    "Varchar", "Int", "BigInt", "Decimal", "Date"
+  };
+
+  private SyntheticEntities() {}
+
+  /**
+   * @param count number of entities
+   * @param widths column counts, id included, used in turn
+   * @return in-memory sources
+   */
+  public static List<JavaFileObject> generate(final int count, final int[] widths) {
+    final List<JavaFileObject> sources = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      sources.add(source(i, widths[i % widths.length]));
+    }
+    return sources;
+  }
+
+  private static JavaFileObject source(final int index, final int width) {
+    // generated class names may not contain digits
+    final String code = letters(index);
+    final String className = "Synthetic" + capitalize(code);
+    final StringBuilder source = new StringBuilder();
+    source
+        .append("package ")
+        .append(PACKAGE_NAME)
+        .append(";\n\n")
+        .append("import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;\n")
+        .append("import dev.tools.annotationprocessor.core.annotations.entity.*;\n")
+        .append("import dev.tools.annotationprocessor.core.annotations.entity.types.column.*;\n\n")
+        .append("@CXSpringRestCrudApi(path = \"/")
+        .append(code)
+        .append("\")\n")
+        .append("@CXEntity(tableName = \"")
+        .append(code)
+        .append("_synthetic\")\n")
+        .append("public class ")
+        .append(className)
+        .append(" {\n")
+        .append("  @CXId(generated = true)\n  @CXColumn(name = \"ID\")\n  @BigInt\n")
+        .append("  private Long id;\n")
+        .append("  public Long getId() { return id; }\n")
+        .append("  public void setId(Long id) { this.id = id; }\n");
+    for (int column = 1; column < width; column++) {
+      final String type = TYPES[column % TYPES.length];
+      final String field = "column" + capitalize(letters(column));
+      final String accessor = capitalize(field);
+      source
+          .append("  @CXColumn(name = \"COLUMN_")
+          .append(column)
+          .append("\")\n  @")
+          .append(COLUMN_ANNOTATIONS[column % COLUMN_ANNOTATIONS.length])
+          .append("\n  private ")
+          .append(type)
+          .append(' ')
+          .append(field)
+          .append(";\n  public ")
+          .append(type)
+          .append(" get")
+          .append(accessor)
+          .append("() { return ")
+          .append(field)
+          .append("; }\n  public void set")
+          .append(accessor)
+          .append('(')
+          .append(type)
+          .append(" value) { this.")
+          .append(field)
+          .append(" = value; }\n");
+    }
+    source.append("}\n");
+    return new SourceFile(PACKAGE_NAME.replace('.', '/') + '/' + className, source.toString());
+  }
+
+  /** @return index as lowercase letters, 0 = a, 25 = z, 26 = ba */
+  private static String letters(final int index) {
+    final StringBuilder letters = new StringBuilder();
+    int value = index;
+    do {
+      letters.insert(0, (char) ('a' + value % 26));
+      value /= 26;
+    } while (value > 0);
+    return letters.toString();
+  }
+
+  private static String capitalize(final String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  /** Source held in memory */
+  private static class SourceFile extends SimpleJavaFileObject {
+    private final String content;
+
+    private SourceFile(final String path, final String content) {
+      super(URI.create("string:///" + path + Kind.SOURCE.extension), Kind.SOURCE);
+      this.content = content;
+    }
+
+    @Override
+    public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+      return content;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package dev.tools.benchmarks.entity;
+
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Date;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Decimal;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Int;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import lombok.Data;
+
+/**
+ * Wide benchmark entity, sixteen columns mixing every supported column type
+ *
+ * @author josue.rojas
+ */
+@Data
+@CXSpringRestCrudApi(path = "/invoice")
+@CXEntity(tableName = "invoice_bench")
+public class Invoice {
+
+  @CXId(generated = true)
+  @CXColumn(name = "ID")
+  @BigInt
+  private Long id;
+
+  @CXColumn(name = "INVOICE_NUMBER")
+  @Varchar(length = 40)
+  private String number;
+
+  @CXColumn(name = "CUSTOMER_ID")
+  @BigInt
+  private Long customerId;
+
+  @CXColumn(name = "CUSTOMER_NAME")
+  @Varchar(length = 120)
+  private String customerName;
+
+  @CXColumn(name = "CUSTOMER_EMAIL")
+  @Varchar(length = 120)
+  private String customerEmail;
+
+  @CXColumn(name = "BILLING_ADDRESS")
+  @Varchar
+  private String billingAddress;
+
+  @CXColumn(name = "SHIPPING_ADDRESS")
+  @Varchar
+  private String shippingAddress;
+
+  @CXColumn(name = "CURRENCY")
+  @Varchar(length = 3)
+  private String currency;
+
+  @CXColumn(name = "STATUS")
+  @Varchar(length = 20)
+  private String status;
+
+  @CXColumn(name = "LINE_COUNT")
+  @Int
+  private Integer lineCount;
+
+  @CXColumn(name = "ITEM_COUNT")
+  @Int
+  private Integer itemCount;
+
+  @CXColumn(name = "WAREHOUSE_ID")
+  @BigInt
+  private Long warehouseId;
+
+  @CXColumn(name = "SUBTOTAL")
+  @Decimal(max = 12, precision = 2)
+  private BigDecimal subtotal;
+
+  @CXColumn(name = "TOTAL")
+  @Decimal(max = 12, precision = 2)
+  private BigDecimal total;
+
+  @CXColumn(name = "ISSUED_AT")
+  @Date
+  private Timestamp issuedAt;
+
+  @CXColumn(name = "DUE_AT")
+  @Date
+  private Timestamp dueAt;
+}
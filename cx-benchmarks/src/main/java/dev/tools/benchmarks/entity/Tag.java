@@ -0,0 +1,34 @@
+package dev.tools.benchmarks.entity;
+
+import dev.tools.annotationprocessor.core.annotations.CXSpringRestCrudApi;
+import dev.tools.annotationprocessor.core.annotations.entity.CXColumn;
+import dev.tools.annotationprocessor.core.annotations.entity.CXEntity;
+import dev.tools.annotationprocessor.core.annotations.entity.CXId;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.BigInt;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Int;
+import dev.tools.annotationprocessor.core.annotations.entity.types.column.Varchar;
+import lombok.Data;
+
+/**
+ * Narrow benchmark entity, three columns
+ *
+ * @author josue.rojas
+ */
+@Data
+@CXSpringRestCrudApi(path = "/tag")
+@CXEntity(tableName = "tag_bench")
+public class Tag {
+
+  @CXId(generated = true)
+  @CXColumn(name = "ID")
+  @BigInt
+  private Long id;
+
+  @CXColumn(name = "NAME")
+  @Varchar(length = 60)
+  private String name;
+
+  @CXColumn(name = "USAGES")
+  @Int
+  private Integer usages;
+}
@@ -1,6 +1,7 @@
 package com.javatpoint;
 
 import dev.tools.annotationprocessor.db.tablecreator.TableCreator;
+import java.util.Collections;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
@@ -19,6 +20,6 @@ public class CommandStartupLineRunner implements CommandLineRunner {
     @Override
     public void run(String...args) {
         final TableCreator tableCreator = new TableCreator(namedParameterJdbcTemplate);
-        tableCreator.createTableIfNotExists(Message.class);
+        tableCreator.createTablesIfNotExist(Collections.singletonList(Message.class));
     }
 }
\ No newline at end of file